@@ -0,0 +1,204 @@
+package com.testpire.testpire.repository.specification;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page (20 rows + total count) of an institute-scoped question search, in the SQL shape
+ * {@link QuestionSpecification} produces for each {@code searchMode}:
+ * <ul>
+ *   <li>{@code likeSeqScan} – the pre-V33 plan: three {@code lower(col) LIKE '%term%'} predicates with index scans disabled.</li>
+ *   <li>{@code likeTrigram} – the same predicates, now served by the V33 trigram indexes.</li>
+ *   <li>{@code fullText} – {@code searchMode=FTS}, ranked by {@code ts_rank_cd}.</li>
+ *   <li>{@code fuzzy} – {@code searchMode=FUZZY}, ranked by word similarity.</li>
+ * </ul>
+ * Needs a scratch PostgreSQL database: set {@code TESTPIRE_BENCH_DB_URL} (and {@code _USER} /
+ * {@code _PASSWORD}). Setup migrates it with the application's Flyway scripts and seeds
+ * {@code questions} synthetic questions into a dedicated institute, once per size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuestionSearchBenchmark {
+
+    private static final String LIKE = "lower(text) LIKE ? OR lower(question_type) LIKE ? OR lower(explanation) LIKE ?";
+    private static final String FTS = "question_fts_match(search_vector, ?)";
+    private static final String FUZZY = "question_fuzzy_match(text, ?)";
+
+    private static final String[] WORDS = {
+            "velocity", "acceleration", "momentum", "friction", "torque", "pressure", "density", "current",
+            "resistance", "voltage", "oxidation", "reduction", "equilibrium", "catalyst", "isomer", "polymer",
+            "enzyme", "photosynthesis", "respiration", "mitosis", "integral", "derivative", "matrix", "vector",
+            "probability", "parabola", "ellipse", "logarithm", "sequence", "permutation", "wavelength", "entropy"};
+
+    @Param({"200000"})
+    public int questions;
+
+    @Param({"equilibrium"})
+    public String term;
+
+    private Connection connection;
+    private long instituteId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getenv("TESTPIRE_BENCH_DB_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("Set TESTPIRE_BENCH_DB_URL to a scratch PostgreSQL database");
+        }
+        String user = System.getenv().getOrDefault("TESTPIRE_BENCH_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("TESTPIRE_BENCH_DB_PASSWORD", "");
+        Flyway.configure().dataSource(url, user, password).load().migrate();
+        connection = DriverManager.getConnection(url, user, password);
+        instituteId = seed();
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE questions");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeSeqScan(Blackhole bh) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("SET enable_bitmapscan = off");
+            st.execute("SET enable_indexscan = off");
+        }
+        try {
+            likeTrigram(bh);
+        } finally {
+            try (Statement st = connection.createStatement()) {
+                st.execute("RESET enable_bitmapscan");
+                st.execute("RESET enable_indexscan");
+            }
+        }
+    }
+
+    @Benchmark
+    public void likeTrigram(Blackhole bh) throws SQLException {
+        String pattern = "%" + term.toLowerCase() + "%";
+        page(bh, LIKE, "created_at DESC", pattern, pattern, pattern);
+    }
+
+    @Benchmark
+    public void fullText(Blackhole bh) throws SQLException {
+        page(bh, FTS, "question_fts_rank(search_vector, " + quote(term) + ") DESC, created_at DESC", term);
+    }
+
+    @Benchmark
+    public void fuzzy(Blackhole bh) throws SQLException {
+        // A typo: fuzzy matching should still find the term.
+        String typo = term.substring(0, term.length() - 1);
+        page(bh, FUZZY, "question_fuzzy_rank(text, " + quote(typo) + ") DESC, created_at DESC", typo);
+    }
+
+    /** The two statements of a Spring Data page: the rows, then the count. */
+    private void page(Blackhole bh, String match, String orderBy, String... args) throws SQLException {
+        String where = " FROM questions WHERE institute_id = ? AND (" + match + ")";
+        try (PreparedStatement ps = connection.prepareStatement("SELECT id" + where + " ORDER BY " + orderBy + " LIMIT 20")) {
+            bind(ps, args);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    bh.consume(rs.getLong(1));
+                }
+            }
+        }
+        try (PreparedStatement ps = connection.prepareStatement("SELECT count(*)" + where)) {
+            bind(ps, args);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                bh.consume(rs.getLong(1));
+            }
+        }
+    }
+
+    private static String quote(String literal) {
+        return "'" + literal.replace("'", "''") + "'";
+    }
+
+    private void bind(PreparedStatement ps, String... args) throws SQLException {
+        ps.setLong(1, instituteId);
+        for (int i = 0; i < args.length; i++) {
+            ps.setString(i + 2, args[i]);
+        }
+    }
+
+    /** Creates the benchmark institute with {@link #questions} questions unless it already exists. */
+    private long seed() throws SQLException {
+        String code = "QSB" + questions;
+        try (PreparedStatement ps = connection.prepareStatement("SELECT id FROM institutes WHERE code = ?")) {
+            ps.setString(1, code);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getLong(1);
+                }
+            }
+        }
+        connection.setAutoCommit(false);
+        long institute = insertReturningId("INSERT INTO institutes (code, name) VALUES (?, ?) RETURNING id", code, "Search benchmark " + questions);
+        long course = insertReturningId("INSERT INTO courses (name, code, institute_id) VALUES ('Bench', 'BENCH', ?) RETURNING id", institute);
+        long subject = insertReturningId("INSERT INTO subjects (name, code, institute_id) VALUES ('Bench', 'BENCH', ?) RETURNING id", institute);
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO course_subjects (course_id, subject_id) VALUES (?, ?)")) {
+            ps.setLong(1, course);
+            ps.setLong(2, subject);
+            ps.executeUpdate();
+        }
+        long chapter = insertReturningId("INSERT INTO chapters (name, code, subject_id, institute_id) VALUES ('Bench', 'BENCH', ?, ?) RETURNING id", subject, institute);
+        long topic = insertReturningId("INSERT INTO topics (name, code, chapter_id, institute_id) VALUES ('Bench', 'BENCH', ?, ?) RETURNING id", chapter, institute);
+        String words = "ARRAY['" + String.join("','", WORDS) + "']";
+        String word = "(" + words + ")[1 + floor(random() * " + WORDS.length + ")::int]";
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO questions (text, explanation, question_type, difficulty_level, topic_id, institute_id, marks, negative_marks)"
+                        + " SELECT 'Which statement about the ' || " + word + " || ' of the ' || " + word + " || ' is correct in case ' || g || '?',"
+                        + " 'Consider the ' || " + word + " || ' and ' || " + word + " || '.', 'MCQ',"
+                        + " (ARRAY['EASY','MEDIUM','HARD'])[1 + g % 3], ?, ?, 4, 1"
+                        + " FROM generate_series(1, ?) g")) {
+            ps.setLong(1, topic);
+            ps.setLong(2, institute);
+            ps.setInt(3, questions);
+            ps.executeUpdate();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        return institute;
+    }
+
+    private long insertReturningId(String sql, Object... args) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+}
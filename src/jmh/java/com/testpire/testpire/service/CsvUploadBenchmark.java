@@ -0,0 +1,130 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.BulkUploadResponseDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.entity.Institute;
+import com.testpire.testpire.repository.InstituteRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import com.testpire.testpire.util.CsvReader;
+import com.testpire.testpire.util.CsvRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The CPU side of a bulk upload, on the checked-in {@code sample-questions.csv} and
+ * {@code sample-curriculum.csv} with their data rows repeated to {@code rows} rows:
+ * {@link CsvUploadService#processBulkUpload} end to end with the writer, repositories and image
+ * fetches mocked out (parsing, header and row validation, topic resolution), and reading the
+ * curriculum file as {@code CurriculumUploadService} does before it touches the database.
+ *
+ * <p>The fixtures are read from the project root, which is the working directory of
+ * {@code -Pbenchmark}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvUploadBenchmark {
+
+    private static final long INSTITUTE_ID = 1L;
+
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private CsvUploadService csvUploadService;
+    private byte[] questions;
+    private String curriculum;
+
+    @Setup
+    public void setUp() throws IOException {
+        questions = repeat(Path.of("sample-questions.csv"), true).getBytes(StandardCharsets.UTF_8);
+        curriculum = repeat(Path.of("sample-curriculum.csv"), false);
+
+        QuestionImportWriter writer = mock(QuestionImportWriter.class);
+        QuestionResponseDto saved = QuestionResponseDto.builder().id(1L).build();
+        when(writer.write(any(), anyString(), any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), saved));
+        QuestionImageService images = mock(QuestionImageService.class);
+        when(images.uploadFromUrl(anyLong(), anyString(), anyBoolean())).thenReturn("questions/1/image.png");
+        InstituteRepository institutes = mock(InstituteRepository.class);
+        when(institutes.findById(INSTITUTE_ID)).thenReturn(Optional.of(Institute.builder().id(INSTITUTE_ID).code("BENCH").build()));
+        TopicRepository topics = mock(TopicRepository.class);
+        List<Object[]> topicIds = new ArrayList<>();
+        topicIds.add(new Object[]{"T-GEO-01", 11L});
+        topicIds.add(new Object[]{"1D-1.0", 12L});
+        when(topics.findIdsByInstituteIdAndCodeIn(eq(INSTITUTE_ID), anyCollection())).thenReturn(topicIds);
+
+        csvUploadService = new CsvUploadService(writer, images, institutes, topics,
+                new HotPathMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public BulkUploadResponseDto questionUpload() {
+        return csvUploadService.processBulkUpload(
+                new MockMultipartFile("file", "questions.csv", "text/csv", questions), INSTITUTE_ID, "bench");
+    }
+
+    @Benchmark
+    public List<CsvRow> curriculumParse() throws IOException {
+        List<CsvRow> parsed = new ArrayList<>(rows);
+        try (CsvReader csv = new CsvReader(new StringReader(curriculum))) {
+            csv.next();
+            CurriculumUploadService.validateHeader(csv.toArray());
+            while (csv.next()) {
+                parsed.add(new CsvRow((int) csv.recordNumber(), csv.toArray()));
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * The fixture's header followed by its data rows cycled to {@code rows} rows. Question Ids must be
+     * unique within a file, so the leading id of each question row is numbered instead.
+     */
+    private String repeat(Path fixture, boolean renumberQuestionId) throws IOException {
+        List<String> lines = Files.readAllLines(fixture, StandardCharsets.UTF_8);
+        List<String> data = lines.subList(1, lines.size()).stream().filter(line -> !line.isBlank()).toList();
+        StringBuilder csv = new StringBuilder(lines.get(0)).append('\n');
+        for (int i = 0; i < rows; i++) {
+            String line = data.get(i % data.size());
+            if (renumberQuestionId) {
+                line = "Q" + i + line.substring(line.indexOf(','));
+            }
+            csv.append(line).append('\n');
+        }
+        return csv.toString();
+    }
+}
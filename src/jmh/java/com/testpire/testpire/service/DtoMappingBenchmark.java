@@ -0,0 +1,116 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.EnrollmentResponseDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.dto.response.StudentResponseDto;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.StudentDetails;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.entity.User;
+import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.Gender;
+import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Entity-to-response mapping for one page of {@code size} rows: {@link QuestionDtoAssembler#toDtos}
+ * with four options per question (the option query is mocked, so this is the grouping and building
+ * alone), and {@link StudentResponseDto#fromEntity} with two enrollments per student.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    @Param({"20", "500"})
+    public int size;
+
+    private QuestionDtoAssembler assembler;
+    private List<Question> questions;
+    private List<User> users;
+    private List<StudentDetails> details;
+    private List<EnrollmentResponseDto> enrollments;
+
+    @Setup
+    public void setUp() {
+        Topic topic = Topic.builder().id(11L).name("Kinematics").code("T-GEO-01").build();
+        questions = new ArrayList<>(size);
+        List<Option> options = new ArrayList<>(size * OPTIONS_PER_QUESTION);
+        for (long q = 1; q <= size; q++) {
+            Question question = Question.builder()
+                    .id(q).externalId("BENCH_Q" + q).text("What is the SI unit of force? (" + q + ")")
+                    .questionImagePath(q % 4 == 0 ? "https://cdn.example.com/questions/" + q + ".png" : null)
+                    .difficultyLevel(DifficultyLevel.MEDIUM).topic(topic).instituteId(1L)
+                    .questionType("MCQ").marks(4).negativeMarks(1).explanation("Force is measured in newtons.")
+                    .build();
+            questions.add(question);
+            for (int o = 1; o <= OPTIONS_PER_QUESTION; o++) {
+                options.add(Option.builder()
+                        .id(q * OPTIONS_PER_QUESTION + o).text("Option " + o).question(question)
+                        .optionOrder(o).isCorrect(o == 1).build());
+            }
+        }
+        OptionRepository optionRepository = mock(OptionRepository.class);
+        when(optionRepository.findByQuestionIdIn(anyCollection())).thenReturn(options);
+        assembler = new QuestionDtoAssembler(optionRepository, mock(TopicRepository.class),
+                new QuestionImageService(mock(S3Service.class), mock(TopicRepository.class)));
+
+        users = new ArrayList<>(size);
+        details = new ArrayList<>(size);
+        for (long s = 1; s <= size; s++) {
+            User user = User.builder()
+                    .id(s).username("student" + s).email("student" + s + "@example.com")
+                    .firstName("Student").lastName(String.valueOf(s)).role(UserRole.STUDENT).instituteId(1L)
+                    .build();
+            users.add(user);
+            details.add(StudentDetails.builder()
+                    .user(user).phone("9000000000").course("JEE").currentClass(12).gender(Gender.FEMALE)
+                    .rollNumber("R" + s).parentName("Parent").parentPhone("9000000001")
+                    .dateOfBirth(LocalDate.of(2008, 1, 1)).build());
+        }
+        enrollments = List.of(
+                new EnrollmentResponseDto(1L, 1L, "JEE Main", 1L, "Morning"),
+                new EnrollmentResponseDto(2L, 2L, "JEE Advanced", 2L, "Evening"));
+    }
+
+    @Benchmark
+    public List<QuestionResponseDto> questionPage() {
+        return assembler.toDtos(questions);
+    }
+
+    @Benchmark
+    public List<StudentResponseDto> studentPage() {
+        List<StudentResponseDto> page = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            page.add(StudentResponseDto.fromEntity(users.get(i), details.get(i), enrollments));
+        }
+        return page;
+    }
+}
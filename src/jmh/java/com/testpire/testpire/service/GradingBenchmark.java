@@ -0,0 +1,95 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.TestQuestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Grading one multi-select answer of a question with {@code options} options, half of them correct:
+ * {@link TestAttemptService#gradeAnswer} comparing option-id sets, the same through the cached
+ * {@link AnswerKey} (the path {@code grade} takes), a wrong answer that differs only in its last id,
+ * and {@link TestAttemptService#parseOptionIds} reading the stored selection back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GradingBenchmark {
+
+    private static final BigDecimal MARKS = new BigDecimal("4.00");
+    private static final BigDecimal NEGATIVE = new BigDecimal("1.00");
+
+    @Param({"4", "64", "1024"})
+    public int options;
+
+    private Set<Long> correct;
+    private Set<Long> selectedRight;
+    private Set<Long> selectedWrong;
+    private AnswerKey key;
+    private String storedSelection;
+
+    @Setup
+    public void setUp() {
+        Question question = Question.builder().id(1L).marks(4).negativeMarks(1).build();
+        List<Option> optionEntities = new ArrayList<>(options);
+        correct = new LinkedHashSet<>();
+        for (long id = 1; id <= options; id++) {
+            boolean isCorrect = id % 2 == 1;
+            optionEntities.add(Option.builder().id(id).question(question).isCorrect(isCorrect).build());
+            if (isCorrect) {
+                correct.add(id);
+            }
+        }
+        // Selected in the reverse of the stored order, as a client may send them.
+        List<Long> reversed = new ArrayList<>(correct).reversed();
+        selectedRight = new LinkedHashSet<>(reversed);
+        selectedWrong = new LinkedHashSet<>(reversed.subList(0, reversed.size() - 1));
+        selectedWrong.add((long) options); // an incorrect (even) id in place of the last correct one
+
+        key = AnswerKey.of(10L, Instant.now(), List.of(TestQuestion.builder().question(question).build()),
+                optionEntities);
+        storedSelection = selectedRight.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    @Benchmark
+    public TestAttemptService.GradedAnswer gradeBySetEquality() {
+        return TestAttemptService.gradeAnswer(selectedRight, correct, MARKS, NEGATIVE, true);
+    }
+
+    @Benchmark
+    public TestAttemptService.GradedAnswer gradeWrongBySetEquality() {
+        return TestAttemptService.gradeAnswer(selectedWrong, correct, MARKS, NEGATIVE, true);
+    }
+
+    @Benchmark
+    public TestAttemptService.GradedAnswer gradeByAnswerKey() {
+        return TestAttemptService.gradeAnswer(selectedRight, key.matches(0, selectedRight), MARKS, NEGATIVE, true);
+    }
+
+    @Benchmark
+    public Set<Long> parseOptionIds() {
+        return TestAttemptService.parseOptionIds(storedSelection);
+    }
+}
@@ -0,0 +1,82 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.entity.RolePermission;
+import com.testpire.testpire.enums.Permission;
+import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.repository.RolePermissionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PermissionService#hasPermission}, which {@code AuthorizationAspect} runs on every secured
+ * request, against a grant table where INST_ADMIN holds every permission and TEACHER every other one:
+ * the usual any-of check, a require-all check, a denied check that scans every required permission,
+ * and the SUPER_ADMIN short circuit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionCheckBenchmark {
+
+    private static final Permission[] ANY_OF = {Permission.QUESTION_READ, Permission.QUESTION_UPDATE};
+    private static final Permission[] ALL_OF = {
+            Permission.QUESTION_CREATE, Permission.QUESTION_READ, Permission.QUESTION_BULK_UPLOAD};
+    private static final Permission[] STUDENT_ONLY = {
+            Permission.INSTITUTE_CREATE, Permission.INSTITUTE_DELETE, Permission.COURSE_DELETE, Permission.QUESTION_DELETE};
+
+    private PermissionService permissionService;
+
+    @Setup
+    public void setUp() {
+        List<RolePermission> grants = new ArrayList<>();
+        Permission[] all = Permission.values();
+        for (int i = 0; i < all.length; i++) {
+            grants.add(RolePermission.builder().role(UserRole.INST_ADMIN.name()).permissionCode(all[i].name()).build());
+            if (i % 2 == 0) {
+                grants.add(RolePermission.builder().role(UserRole.TEACHER.name()).permissionCode(all[i].name()).build());
+            }
+        }
+        RolePermissionRepository repository = mock(RolePermissionRepository.class);
+        when(repository.findAll()).thenReturn(grants);
+        permissionService = new PermissionService(repository);
+        permissionService.reload();
+    }
+
+    @Benchmark
+    public boolean anyOf() {
+        return permissionService.hasPermission(UserRole.TEACHER, ANY_OF, false);
+    }
+
+    @Benchmark
+    public boolean requireAll() {
+        return permissionService.hasPermission(UserRole.INST_ADMIN, ALL_OF, true);
+    }
+
+    @Benchmark
+    public boolean denied() {
+        return permissionService.hasPermission(UserRole.STUDENT, STUDENT_ONLY, false);
+    }
+
+    @Benchmark
+    public boolean superAdmin() {
+        return permissionService.hasPermission(UserRole.SUPER_ADMIN, ALL_OF, true);
+    }
+}
@@ -0,0 +1,110 @@
+package com.testpire.testpire.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a 100k-row question CSV (the bulk-upload format: 10 fixed columns and four option groups,
+ * every field quoted) with {@link CsvReader} against the per-line parser both importers used before
+ * it, reproduced in {@link #legacyParseLine}. Both produce a {@code String[]} per row, as the
+ * importers need; {@code csvReaderFieldCount} shows the cost of the scan alone.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    private static final int ROWS = 100_000;
+
+    private String csv;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder(ROWS * 160);
+        sb.append("Question Id,Question Text,Question Image URL,Difficulty Level,Question Type,Marks,"
+                + "Negative Marks,Explanation,Topic,Text Format");
+        for (int g = 1; g <= 4; g++) {
+            sb.append(",Option Text,Option Image URL,Option IsCorrect");
+        }
+        sb.append('\n');
+        for (int i = 1; i <= ROWS; i++) {
+            sb.append("\"Q").append(i).append("\",\"What is ").append(i).append(" + ").append(i)
+                    .append(", given x = 2?\",\"\",\"MEDIUM\",\"MCQ\",\"4\",\"1\",\"Add the two numbers.\",\"ALG-")
+                    .append(i % 50).append("\",\"PLAIN\"");
+            for (int g = 0; g < 4; g++) {
+                sb.append(",\"").append(2 * i + g).append("\",\"\",\"").append(g == 0).append('"');
+            }
+            sb.append('\n');
+        }
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    public void legacyLineParser(Blackhole bh) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(csv))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    bh.consume(legacyParseLine(line));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void csvReader(Blackhole bh) throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            while (reader.next()) {
+                bh.consume(reader.toArray());
+            }
+        }
+    }
+
+    @Benchmark
+    public void csvReaderFieldCount(Blackhole bh) throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            while (reader.next()) {
+                bh.consume(reader.fieldCount());
+            }
+        }
+    }
+
+    /** The parser {@code CsvUploadService} and {@code CurriculumUploadService} each carried before {@link CsvReader}. */
+    private static String[] legacyParseLine(String line) {
+        List<String> result = new ArrayList<>();
+        boolean inQuotes = false;
+        StringBuilder currentField = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                inQuotes = !inQuotes;
+            } else if (c == ',' && !inQuotes) {
+                result.add(currentField.toString().trim());
+                currentField = new StringBuilder();
+            } else {
+                currentField.append(c);
+            }
+        }
+        result.add(currentField.toString().trim());
+        return result.toArray(new String[0]);
+    }
+}
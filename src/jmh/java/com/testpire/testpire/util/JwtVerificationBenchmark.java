@@ -0,0 +1,96 @@
+package com.testpire.testpire.util;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of bearer-token verification in {@link JwksJwtUtil}: a cold verify (parse + RSA),
+ * a cached verify (same token seen before), and the pre-cache path, which split the token and then
+ * fully parsed and verified it twice (once in {@code isTokenValid}, once in {@code extractUsername}).
+ * Tokens are signed with a throwaway RSA-2048 key registered alongside the bundled JWKS.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String KID = "benchmark-key";
+    private static final String REGION = "ap-south-1";
+    private static final String USER_POOL_ID = "ap-south-1_benchmark";
+    private static final String CLIENT_ID = "benchmark-client";
+
+    private JwksJwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keys = generator.generateKeyPair();
+
+        jwtUtil = new JwksJwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "userPoolId", USER_POOL_ID);
+        ReflectionTestUtils.setField(jwtUtil, "region", REGION);
+        ReflectionTestUtils.setField(jwtUtil, "appClientId", CLIENT_ID);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 10_000L);
+        jwtUtil.init();
+        jwtUtil.registerKey(KID, keys.getPublic());
+
+        Instant now = Instant.now();
+        token = Jwts.builder()
+                .setHeaderParam("kid", KID)
+                .setSubject("0f6b7c3e-benchmark")
+                .claim("cognito:username", "0f6b7c3e-benchmark")
+                .claim("custom:roles", "STUDENT")
+                .claim("custom:instituteId", "1")
+                .setIssuer("https://cognito-idp." + REGION + ".amazonaws.com/" + USER_POOL_ID)
+                .setAudience(CLIENT_ID)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                .signWith(keys.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+
+        if (jwtUtil.verify(token).isEmpty()) {
+            throw new IllegalStateException("Benchmark token failed verification");
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken coldVerify() {
+        return jwtUtil.verifyUncached(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify() {
+        return jwtUtil.verify(token).orElseThrow();
+    }
+
+    @Benchmark
+    public void legacyDoubleParse(Blackhole bh) {
+        bh.consume(token.split("\\."));
+        bh.consume(jwtUtil.verifyUncached(token));
+        bh.consume(jwtUtil.verifyUncached(token).username());
+    }
+}
@@ -0,0 +1,151 @@
+package com.testpire.testpire.loadtest;
+
+import com.testpire.testpire.entity.Batch;
+import com.testpire.testpire.entity.Chapter;
+import com.testpire.testpire.entity.Course;
+import com.testpire.testpire.entity.Institute;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.StudentEnrollment;
+import com.testpire.testpire.entity.Subject;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.entity.TestAssignment;
+import com.testpire.testpire.entity.TestQuestion;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.entity.User;
+import com.testpire.testpire.enums.AssignmentTargetType;
+import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.TestStatus;
+import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.repository.BatchRepository;
+import com.testpire.testpire.repository.ChapterRepository;
+import com.testpire.testpire.repository.CourseRepository;
+import com.testpire.testpire.repository.InstituteRepository;
+import com.testpire.testpire.repository.QuestionRepository;
+import com.testpire.testpire.repository.StudentEnrollmentRepository;
+import com.testpire.testpire.repository.SubjectRepository;
+import com.testpire.testpire.repository.TestAssignmentRepository;
+import com.testpire.testpire.repository.TestRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import com.testpire.testpire.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds one institute for a scenario: a course with one batch, every student enrolled in it, and a
+ * published test of {@code questions} questions assigned to the batch. The exam window is set
+ * separately ({@link #schedule}) once seeding is done, so slow seeding never eats into the exam. The
+ * test has no duration of its own, so every attempt expires at the window's end, as on exam day.
+ */
+@RequiredArgsConstructor
+class ExamDayFixture {
+
+    private static final String ACTOR = "loadtest";
+
+    private final InstituteRepository instituteRepository;
+    private final CourseRepository courseRepository;
+    private final BatchRepository batchRepository;
+    private final SubjectRepository subjectRepository;
+    private final ChapterRepository chapterRepository;
+    private final TopicRepository topicRepository;
+    private final QuestionRepository questionRepository;
+    private final TestRepository testRepository;
+    private final TestAssignmentRepository assignmentRepository;
+    private final UserRepository userRepository;
+    private final StudentEnrollmentRepository enrollmentRepository;
+
+    /** A seeded exam: the test, its assignment and the students' Cognito principals (in seeding order). */
+    record Exam(Long testId, Long assignmentId, Long instituteId, List<String> principals) {}
+
+    Exam seed(LoadScenario scenario) {
+        Institute institute = instituteRepository.save(Institute.builder()
+                .code("LOAD" + System.currentTimeMillis()).name("Load Test Institute").createdBy(ACTOR).build());
+        Long instituteId = institute.getId();
+        Course course = courseRepository.save(Course.builder()
+                .code("JEE").name("JEE Main").instituteId(instituteId).createdBy(ACTOR).build());
+        Batch batch = batchRepository.save(Batch.builder()
+                .name("Exam Day").courseId(course.getId()).instituteId(instituteId).createdBy(ACTOR).build());
+
+        Test test = testRepository.save(paper(scenario, topic(instituteId), instituteId));
+        TestAssignment assignment = assignmentRepository.save(TestAssignment.builder()
+                .testId(test.getId()).instituteId(instituteId)
+                .targetType(AssignmentTargetType.BATCH).targetId(batch.getId()).assignedBy(ACTOR)
+                .build());
+
+        List<User> students = new ArrayList<>(scenario.students());
+        for (int i = 1; i <= scenario.students(); i++) {
+            students.add(User.builder()
+                    .username("student" + i + "@" + institute.getCode().toLowerCase() + ".example")
+                    .email("student" + i + "@" + institute.getCode().toLowerCase() + ".example")
+                    .firstName("Student").lastName(String.valueOf(i))
+                    .role(UserRole.STUDENT).instituteId(instituteId)
+                    .cognitoUserId(institute.getCode().toLowerCase() + "-student-" + i)
+                    .createdBy(ACTOR)
+                    .build());
+        }
+        students = userRepository.saveAll(students);
+        enrollmentRepository.saveAll(students.stream()
+                .map(student -> StudentEnrollment.builder()
+                        .studentUserId(student.getId()).courseId(course.getId()).batchId(batch.getId())
+                        .instituteId(instituteId).createdBy(ACTOR)
+                        .build())
+                .toList());
+
+        return new Exam(test.getId(), assignment.getId(), instituteId,
+                students.stream().map(User::getCognitoUserId).toList());
+    }
+
+    /** Opens the exam from {@code opensAt} until {@code deadline}, on the test and on its assignment. */
+    void schedule(Exam exam, Instant opensAt, Instant deadline) {
+        Test test = testRepository.findById(exam.testId()).orElseThrow();
+        test.setAvailableFrom(opensAt);
+        test.setAvailableUntil(deadline);
+        testRepository.save(test);
+        TestAssignment assignment = assignmentRepository.findById(exam.assignmentId()).orElseThrow();
+        assignment.setAvailableFrom(opensAt);
+        assignment.setAvailableUntil(deadline);
+        assignmentRepository.save(assignment);
+    }
+
+    private Topic topic(Long instituteId) {
+        Subject subject = subjectRepository.save(Subject.builder()
+                .code("PHY").name("Physics").instituteId(instituteId).createdBy(ACTOR).build());
+        Chapter chapter = chapterRepository.save(Chapter.builder()
+                .code("PHY-01").name("Mechanics").subject(subject).instituteId(instituteId).createdBy(ACTOR).build());
+        return topicRepository.save(Topic.builder()
+                .code("PHY-01-01").name("Kinematics").chapter(chapter).instituteId(instituteId).createdBy(ACTOR).build());
+    }
+
+    private Test paper(LoadScenario scenario, Topic topic, Long instituteId) {
+        Test test = Test.builder()
+                .title("Exam day: " + scenario.name()).instituteId(instituteId)
+                .status(TestStatus.PUBLISHED).negativeMarking(true)
+                .createdBy(ACTOR)
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int q = 1; q <= scenario.questions(); q++) {
+            Question question = Question.builder()
+                    .text("Load test question " + q).difficultyLevel(DifficultyLevel.MEDIUM)
+                    .topic(topic).instituteId(instituteId).questionType("MCQ").marks(4).negativeMarks(1)
+                    .createdBy(ACTOR)
+                    .build();
+            List<Option> options = new ArrayList<>(scenario.options());
+            for (int o = 1; o <= scenario.options(); o++) {
+                options.add(Option.builder()
+                        .text("Option " + o).question(question).optionOrder(o).isCorrect(o == 1).createdBy(ACTOR)
+                        .build());
+            }
+            question.setOptions(options);
+            question = questionRepository.save(question);
+            test.getTestQuestions().add(TestQuestion.builder()
+                    .test(test).question(question).sortOrder(q).addedBy(ACTOR).build());
+            total = total.add(BigDecimal.valueOf(question.getMarks()));
+        }
+        test.setTotalMarks(total);
+        return test;
+    }
+}
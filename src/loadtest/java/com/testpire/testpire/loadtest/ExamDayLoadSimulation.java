@@ -0,0 +1,148 @@
+package com.testpire.testpire.loadtest;
+
+import com.testpire.testpire.service.AttemptDeadlineSweeper;
+import com.testpire.testpire.service.S3Service;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exam day against the real application: the full Spring context on a random port, PostgreSQL in a
+ * container ({@link LoadTestStack}), Cognito and S3 stubbed out. Bearer tokens are real RS256 tokens
+ * ({@link StudentTokens}), so authentication runs as in production.
+ *
+ * <p>The scenario ({@code -Dloadtest.scenario}; {@code smoke} when run from an IDE) seeds one test for
+ * its students, then runs every student's {@link StudentScript} on its own virtual thread over HTTP.
+ * After the deadline it waits for the deadline sweeper to auto-submit the attempts nobody submitted. The report
+ * (throughput, p50/p95/p99 latency and SQL statements per phase) is logged and written as JSON to
+ * {@code -Dloadtest.report-file}. The run fails if any request failed or any attempt is left ungraded;
+ * latencies are reported, not asserted.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import({LoadTestStack.class, ExamDayFixture.class, StudentTokens.class})
+@Slf4j
+class ExamDayLoadSimulation {
+
+    private static final LoadScenario SCENARIO = LoadScenario.load(System.getProperty("loadtest.scenario", "smoke"));
+    /** Time to spin up every student's script before the exam opens. */
+    private static final Duration LEAD_TIME = Duration.ofSeconds(5);
+
+    @MockitoBean
+    CognitoIdentityProviderClient cognitoClient;
+
+    @MockitoBean
+    S3Service s3Service;
+
+    @Autowired
+    ExamDayFixture fixture;
+
+    @Autowired
+    StudentTokens studentTokens;
+
+    @Autowired
+    AttemptDeadlineSweeper sweeper;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${local.server.port}")
+    int port;
+
+    @DynamicPropertySource
+    static void scenarioOverrides(DynamicPropertyRegistry registry) {
+        SCENARIO.applicationProperties().forEach((key, value) -> registry.add(key, () -> value));
+    }
+
+    @Test
+    void examDay() throws Exception {
+        ExamDayFixture.Exam exam = fixture.seed(SCENARIO);
+        List<String> tokens = exam.principals().stream()
+                .map(principal -> studentTokens.token(principal, exam.instituteId()))
+                .toList();
+        Instant opensAt = Instant.now().plus(LEAD_TIME);
+        Instant deadline = opensAt.plus(SCENARIO.startWindow()).plus(SCENARIO.examLength());
+        fixture.schedule(exam, opensAt, deadline);
+
+        LoadReport report = new LoadReport();
+        Random random = new Random(42);
+        URI api = URI.create("http://localhost:" + port + "/api/student/tests");
+        Instant startedAt = Instant.now();
+        try (ExecutorService students = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(students).build()) {
+            List<Future<Void>> scripts = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Instant startAt = opensAt.plusMillis(random.nextLong(SCENARIO.startWindow().toMillis() + 1));
+                Instant submitAt = random.nextDouble() < SCENARIO.submitFraction()
+                        ? deadline.minusMillis(random.nextLong(SCENARIO.submitSpread().toMillis() + 1))
+                        : null;
+                scripts.add(students.submit(new StudentScript(http, api, token, exam.testId(), SCENARIO, startAt,
+                        submitAt, deadline, report, new Random(random.nextLong()))));
+            }
+            for (Future<Void> script : scripts) {
+                script.get();
+            }
+        }
+
+        LoadReport.AutoSubmit autoSubmit = awaitDeadlineSweep(exam, deadline);
+        LoadReport.Summary summary = report.summarize(SCENARIO, startedAt, meterRegistry, autoSubmit);
+        log.warn(summary.table());
+        Path reportFile = Path.of(System.getProperty("loadtest.report-file",
+                "target/loadtest-" + SCENARIO.name() + ".json"));
+        summary.writeJson(reportFile);
+        log.warn("Load report written to {}", reportFile.toAbsolutePath());
+
+        assertThat(report.errors()).as("failed requests").isZero();
+        assertThat(ungraded(exam)).as("attempts still in progress %s after the deadline", SCENARIO.sweepTimeout())
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM test_attempts WHERE test_id = ?", Long.class,
+                exam.testId())).as("attempts").isEqualTo(SCENARIO.students());
+    }
+
+    /** Waits for the sweeper to finalize every attempt left in progress at the deadline. */
+    private LoadReport.AutoSubmit awaitDeadlineSweep(ExamDayFixture.Exam exam, Instant deadline)
+            throws InterruptedException {
+        Instant giveUpAt = deadline.plus(SCENARIO.sweepTimeout());
+        while (ungraded(exam) > 0 && Instant.now().isBefore(giveUpAt)) {
+            Thread.sleep(250);
+        }
+        long drainMillis = Math.max(0, Duration.between(deadline, Instant.now()).toMillis());
+        Long autoSubmitted = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM test_attempts WHERE test_id = ? AND status = 'AUTO_SUBMITTED'", Long.class,
+                exam.testId());
+        return new LoadReport.AutoSubmit(autoSubmitted, drainMillis, sweeper.stats().maxLagMillis());
+    }
+
+    private long ungraded(ExamDayFixture.Exam exam) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM test_attempts WHERE test_id = ? AND status = 'IN_PROGRESS'", Long.class,
+                exam.testId());
+    }
+}
@@ -0,0 +1,159 @@
+package com.testpire.testpire.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testpire.testpire.constants.ApplicationConstants.Metrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Client-side latencies of every request, by phase, and the report built from them. Percentiles are
+ * exact (every sample is kept; an exam-day run is a few hundred thousand requests). Throughput is
+ * requests over the phase's active window, from its first request sent to its last response. SQL
+ * statement counts come from the application's own per-handler meter
+ * ({@code SqlStatementBudgetInterceptor}), so they cover exactly the requests of each phase.
+ */
+final class LoadReport {
+
+    /** A step of the student script and the controller handler that serves it. */
+    enum Phase {
+        START("TestAttemptController.startAttempt"),
+        SAVE("TestAttemptController.saveAnswer"),
+        SUBMIT("TestAttemptController.submit");
+
+        private final String handler;
+
+        Phase(String handler) {
+            this.handler = handler;
+        }
+    }
+
+    private static final int ERROR_SAMPLES = 20;
+
+    private final Map<Phase, Recorder> recorders = new EnumMap<>(Phase.class);
+    private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+
+    LoadReport() {
+        for (Phase phase : Phase.values()) {
+            recorders.put(phase, new Recorder());
+        }
+    }
+
+    /** One request of {@code phase}, sent at {@code startNanos}; {@code error} is null if it succeeded. */
+    void record(Phase phase, long startNanos, String error) {
+        long endNanos = System.nanoTime();
+        Recorder recorder = recorders.get(phase);
+        recorder.latencies.add(endNanos - startNanos);
+        recorder.firstStart.accumulate(startNanos);
+        recorder.lastEnd.accumulate(endNanos);
+        if (error != null) {
+            recorder.errors.incrementAndGet();
+            if (errorSamples.size() < ERROR_SAMPLES) {
+                errorSamples.add(phase + ": " + error);
+            }
+        }
+    }
+
+    long errors() {
+        return recorders.values().stream().mapToLong(r -> r.errors.get()).sum();
+    }
+
+    Summary summarize(LoadScenario scenario, Instant startedAt, MeterRegistry applicationMeters, AutoSubmit autoSubmit) {
+        List<PhaseSummary> phases = new ArrayList<>();
+        for (Phase phase : Phase.values()) {
+            phases.add(recorders.get(phase).summarize(phase, applicationMeters));
+        }
+        return new Summary(scenario.name(), startedAt.toString(), scenario.students(), scenario.questions(), phases,
+                autoSubmit, List.copyOf(errorSamples));
+    }
+
+    /** The deadline sweep: attempts nobody submitted, and how long after the deadline the last was graded. */
+    record AutoSubmit(long attempts, long drainMillis, long maxLagMillis) {}
+
+    record PhaseSummary(String phase, long requests, long errors, double throughputPerSecond, double p50Millis,
+                        double p95Millis, double p99Millis, double maxMillis, long sqlStatements,
+                        double sqlStatementsPerRequest, long requestsOverSqlBudget) {}
+
+    record Summary(String scenario, String startedAt, int students, int questions, List<PhaseSummary> phases,
+                   AutoSubmit autoSubmit, List<String> errorSamples) {
+
+        String table() {
+            StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                    "%nLoad scenario '%s': %d students, %d questions%n", scenario, students, questions));
+            out.append(String.format(Locale.ROOT, "%-8s %9s %7s %9s %9s %9s %9s %9s %8s %8s%n",
+                    "phase", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "sql/req", "over"));
+            for (PhaseSummary p : phases) {
+                out.append(String.format(Locale.ROOT, "%-8s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %8.1f %8d%n",
+                        p.phase(), p.requests(), p.errors(), p.throughputPerSecond(), p.p50Millis(), p.p95Millis(),
+                        p.p99Millis(), p.maxMillis(), p.sqlStatementsPerRequest(), p.requestsOverSqlBudget()));
+            }
+            out.append(String.format(Locale.ROOT, "auto-submitted %d attempt(s); all graded %d ms after the deadline (max sweep lag %d ms)%n",
+                    autoSubmit.attempts(), autoSubmit.drainMillis(), autoSubmit.maxLagMillis()));
+            errorSamples.forEach(e -> out.append("  error: ").append(e).append('\n'));
+            return out.toString();
+        }
+
+        void writeJson(Path file) throws IOException {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+        }
+    }
+
+    private static final class Recorder {
+
+        final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final AtomicLong errors = new AtomicLong();
+        final LongAccumulator firstStart = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        final LongAccumulator lastEnd = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        PhaseSummary summarize(Phase phase, MeterRegistry applicationMeters) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long windowNanos = sorted.length == 0 ? 0 : lastEnd.get() - firstStart.get();
+            double throughput = windowNanos <= 0 ? 0 : sorted.length * 1e9 / windowNanos;
+
+            DistributionSummary statements = applicationMeters.find(Metrics.SQL_STATEMENTS_PER_REQUEST)
+                    .tag(Metrics.TAG_HANDLER, phase.handler).summary();
+            Counter overBudget = applicationMeters.find(Metrics.SQL_BUDGET_EXCEEDED)
+                    .tag(Metrics.TAG_HANDLER, phase.handler).counter();
+            long sqlRequests = statements == null ? 0 : statements.count();
+            long sqlStatements = statements == null ? 0 : (long) statements.totalAmount();
+
+            return new PhaseSummary(phase.name(), sorted.length, errors.get(), throughput,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]),
+                    sqlStatements, sqlRequests == 0 ? 0 : (double) sqlStatements / sqlRequests,
+                    overBudget == null ? 0 : (long) overBudget.count());
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(rank, 0)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.testpire.testpire.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * One exam-day script, read from {@code scenarios/<name>.properties}. Keys under {@code scenario.} shape
+ * the load; every other key is an application property override for the run (e.g. the write-behind
+ * answer buffer or the connection pool size), so one scenario can be replayed against different
+ * settings.
+ *
+ * @param students         students assigned the test, each running one script
+ * @param questions        questions on the paper
+ * @param options          options per question, one of them correct
+ * @param startWindow      students start their attempt at a uniformly random point in this window
+ * @param examLength       from the end of the start window to the deadline
+ * @param saveInterval     mean gap between two answer saves of one student (jittered by half either way)
+ * @param submitFraction   share of students whose client submits before the deadline; the rest walk
+ *                         away and are auto-submitted by the deadline sweeper
+ * @param submitSpread     submitting clients fire within this long before the deadline
+ * @param sweepTimeout     how long after the deadline the sweeper has to finalize every attempt
+ */
+record LoadScenario(String name, int students, int questions, int options, Duration startWindow,
+                    Duration examLength, Duration saveInterval, double submitFraction, Duration submitSpread,
+                    Duration sweepTimeout, Map<String, String> applicationProperties) {
+
+    private static final String PREFIX = "scenario.";
+
+    static LoadScenario load(String name) {
+        Properties properties = new Properties();
+        ClassPathResource resource = new ClassPathResource("scenarios/" + name + ".properties");
+        try (InputStream in = resource.getInputStream()) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unknown load scenario '" + name + "' (no " + resource.getPath() + ")", e);
+        }
+
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(PREFIX)) {
+                overrides.put(key, properties.getProperty(key));
+            }
+        }
+        return new LoadScenario(name,
+                Integer.parseInt(required(properties, "students")),
+                Integer.parseInt(required(properties, "questions")),
+                Integer.parseInt(required(properties, "options")),
+                duration(properties, "start-window"),
+                duration(properties, "exam-length"),
+                duration(properties, "save-interval"),
+                Double.parseDouble(required(properties, "submit-fraction")),
+                duration(properties, "submit-spread"),
+                duration(properties, "sweep-timeout"),
+                Map.copyOf(overrides));
+    }
+
+    private static Duration duration(Properties properties, String key) {
+        return DurationStyle.detectAndParse(required(properties, key));
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(PREFIX + key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Load scenario is missing " + PREFIX + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,22 @@
+package com.testpire.testpire.loadtest;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * The database of the load-test stack: a throwaway PostgreSQL container, wired in as the application's
+ * datasource and migrated by Flyway on startup like any other environment. The extensions the
+ * migrations need (pg_trgm) ship with the official image.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestStack {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer postgres() {
+        return new PostgreSQLContainer("postgres:16-alpine")
+                .withCommand("postgres", "-c", "max_connections=200");
+    }
+}
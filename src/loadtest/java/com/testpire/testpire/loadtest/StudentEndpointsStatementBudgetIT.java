@@ -0,0 +1,104 @@
+package com.testpire.testpire.loadtest;
+
+import com.jayway.jsonpath.JsonPath;
+import com.testpire.testpire.service.S3Service;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.testpire.testpire.config.SqlStatementMatchers.withinStatementBudget;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The SQL statement budget of the exam-day endpoints, asserted against PostgreSQL: the application
+ * context is real down to the statement inspector, so a change that adds an N+1 (or otherwise pushes a
+ * request over {@code testpire.sql.statement-budget}) fails this build rather than only logging a warning
+ * in production.
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+@Import({LoadTestStack.class, ExamDayFixture.class, StudentTokens.class})
+class StudentEndpointsStatementBudgetIT {
+
+    @MockitoBean
+    CognitoIdentityProviderClient cognitoClient;
+
+    @MockitoBean
+    S3Service s3Service;
+
+    @Autowired
+    ExamDayFixture fixture;
+
+    @Autowired
+    StudentTokens studentTokens;
+
+    @Autowired
+    WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private ExamDayFixture.Exam exam;
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        exam = fixture.seed(LoadScenario.load("smoke"));
+        fixture.schedule(exam, Instant.now().minus(Duration.ofMinutes(1)), Instant.now().plus(Duration.ofHours(1)));
+        bearer = "Bearer " + studentTokens.token(exam.principals().getFirst(), exam.instituteId());
+    }
+
+    @Test
+    void examDayRequestsStayWithinTheirStatementBudget() throws Exception {
+        mockMvc.perform(get("/api/student/tests/available").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+
+        String started = mockMvc.perform(post("/api/student/tests/{testId}/attempts", exam.testId())
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget())
+                .andReturn().getResponse().getContentAsString();
+        long attemptId = id(started, "$.data.attemptId");
+        long questionId = id(started, "$.data.questions[0].questionId");
+        long optionId = id(started, "$.data.questions[0].options[0].id");
+
+        mockMvc.perform(put("/api/student/tests/attempts/{attemptId}/answers", attemptId)
+                        .header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"questionId\":" + questionId + ",\"selectedOptionIds\":[" + optionId + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+
+        mockMvc.perform(post("/api/student/tests/attempts/{attemptId}/submit", attemptId)
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+
+        mockMvc.perform(get("/api/student/tests/attempts/{attemptId}", attemptId).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+
+        mockMvc.perform(get("/api/student/tests/attempts").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+    }
+
+    private static long id(String json, String path) {
+        return JsonPath.<Number>read(json, path).longValue();
+    }
+}
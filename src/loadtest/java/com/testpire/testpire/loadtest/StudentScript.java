@@ -0,0 +1,128 @@
+package com.testpire.testpire.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.testpire.testpire.loadtest.LoadReport.Phase;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.random.RandomGenerator;
+
+/**
+ * One student's exam, as their browser would play it against {@code /api/student/tests}: start (or
+ * resume) the attempt at {@code startAt}, save an answer to the next question every save interval
+ * (jittered), and, if the student's client submits, send the submit at {@code submitAt}; otherwise
+ * stop saving one interval before the deadline and leave the attempt to the deadline sweeper.
+ * Answers are random, so scores vary. A failed start ends the script; other failures are recorded
+ * and the script carries on.
+ */
+final class StudentScript implements Callable<Void> {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient http;
+    private final URI api;
+    private final String bearerToken;
+    private final Long testId;
+    private final LoadScenario scenario;
+    private final Instant startAt;
+    private final Instant submitAt;
+    private final Instant deadline;
+    private final LoadReport report;
+    private final RandomGenerator random;
+
+    /** @param submitAt when the client submits, or null for a student who walks away */
+    StudentScript(HttpClient http, URI api, String bearerToken, Long testId, LoadScenario scenario, Instant startAt,
+                  Instant submitAt, Instant deadline, LoadReport report, RandomGenerator random) {
+        this.http = http;
+        this.api = api;
+        this.bearerToken = bearerToken;
+        this.testId = testId;
+        this.scenario = scenario;
+        this.startAt = startAt;
+        this.submitAt = submitAt;
+        this.deadline = deadline;
+        this.report = report;
+        this.random = random;
+    }
+
+    @Override
+    public Void call() throws InterruptedException {
+        sleepUntil(startAt);
+        JsonNode attempt = send(Phase.START, "POST", "/" + testId + "/attempts", null);
+        if (attempt == null) {
+            return null;
+        }
+        long attemptId = attempt.path("attemptId").asLong();
+        List<JsonNode> questions = new ArrayList<>();
+        attempt.path("questions").forEach(questions::add);
+
+        Instant stopSaving = submitAt != null ? submitAt : deadline.minus(scenario.saveInterval());
+        long meanMillis = scenario.saveInterval().toMillis();
+        int next = 0;
+        while (!questions.isEmpty()) {
+            Instant saveAt = Instant.now().plusMillis(meanMillis / 2 + random.nextLong(meanMillis + 1));
+            if (!saveAt.isBefore(stopSaving)) {
+                break;
+            }
+            sleepUntil(saveAt);
+            JsonNode question = questions.get(next++ % questions.size());
+            JsonNode options = question.path("options");
+            long optionId = options.get(random.nextInt(options.size())).path("id").asLong();
+            send(Phase.SAVE, "PUT", "/attempts/" + attemptId + "/answers",
+                    Map.of("questionId", question.path("questionId").asLong(), "selectedOptionIds", List.of(optionId)));
+        }
+
+        if (submitAt != null) {
+            sleepUntil(submitAt);
+            send(Phase.SUBMIT, "POST", "/attempts/" + attemptId + "/submit", null);
+        }
+        return null;
+    }
+
+    /** Sends one request and returns the {@code data} of a successful response, or null on failure. */
+    private JsonNode send(Phase phase, String method, String path, Object body) {
+        long started = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(api + path))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + bearerToken)
+                    .header("Content-Type", "application/json");
+            request.method(method, body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            JsonNode json = JSON.readTree(response.body());
+            if (response.statusCode() != 200 || !json.path("success").asBoolean()) {
+                report.record(phase, started, response.statusCode() + " " + json.path("message").asText());
+                return null;
+            }
+            report.record(phase, started, null);
+            return json.path("data");
+        } catch (IOException e) {
+            report.record(phase, started, e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.record(phase, started, "interrupted");
+            return null;
+        }
+    }
+
+    private static void sleepUntil(Instant at) throws InterruptedException {
+        long millis = Duration.between(Instant.now(), at).toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
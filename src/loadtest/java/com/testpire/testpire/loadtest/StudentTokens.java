@@ -0,0 +1,72 @@
+package com.testpire.testpire.loadtest;
+
+import com.testpire.testpire.util.JwksJwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Real RS256 bearer tokens for seeded students, signed with a throwaway key registered in
+ * {@link JwksJwtUtil}, so authentication runs as in production and identities resolve from the token
+ * claims and the {@code users} table.
+ */
+class StudentTokens {
+
+    private static final String KID = "loadtest-key";
+
+    private final JwksJwtUtil jwtUtil;
+    private final String issuer;
+    private final String clientId;
+    private PrivateKey signingKey;
+
+    StudentTokens(JwksJwtUtil jwtUtil,
+                  @Value("${aws.cognito.region}") String region,
+                  @Value("${aws.cognito.userPoolId}") String userPoolId,
+                  @Value("${aws.cognito.clientId}") String clientId) {
+        this.jwtUtil = jwtUtil;
+        this.issuer = "https://cognito-idp." + region + ".amazonaws.com/" + userPoolId;
+        this.clientId = clientId;
+    }
+
+    /** A Cognito-shaped ID token for one student, valid for an hour. */
+    synchronized String token(String principal, Long instituteId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setHeaderParam("kid", KID)
+                .setSubject(principal)
+                .claim("cognito:username", principal)
+                .claim("custom:roles", "STUDENT")
+                .claim("custom:instituteId", String.valueOf(instituteId))
+                .setIssuer(issuer)
+                .setAudience(clientId)
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(1, ChronoUnit.HOURS)))
+                .signWith(signingKey(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    /** Generated and trusted on first use, alongside the bundled JWKS for the rest of the run. */
+    private PrivateKey signingKey() {
+        if (signingKey == null) {
+            try {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                KeyPair keys = generator.generateKeyPair();
+                ReflectionTestUtils.invokeMethod(jwtUtil, "registerKey", KID, keys.getPublic());
+                signingKey = keys.getPrivate();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return signingKey;
+    }
+}
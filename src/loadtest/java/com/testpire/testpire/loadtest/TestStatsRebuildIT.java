@@ -0,0 +1,94 @@
+package com.testpire.testpire.loadtest;
+
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.repository.TestStatsRepository;
+import com.testpire.testpire.repository.TestStatsRepository.BucketCount;
+import com.testpire.testpire.repository.TestStatsRepository.QuestionTotals;
+import com.testpire.testpire.repository.TestStatsRepository.TestTotals;
+import com.testpire.testpire.service.S3Service;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import software.amazon.awssdk.services.cognitoidentityprovider.CognitoIdentityProviderClient;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * {@link TestStatsRepository#rebuild} against PostgreSQL: it must count exactly the attempts the
+ * incremental path records, so a finished-but-ungraded attempt (GRADING_FAILED, VOIDED) is left out of
+ * the totals, the score buckets and the per-question ratios.
+ */
+@SpringBootTest
+@ActiveProfiles("loadtest")
+@Import({LoadTestStack.class, ExamDayFixture.class})
+class TestStatsRebuildIT {
+
+    private static final int BUCKETS = 20;
+
+    @MockitoBean
+    CognitoIdentityProviderClient cognitoClient;
+
+    @MockitoBean
+    S3Service s3Service;
+
+    @Autowired
+    ExamDayFixture fixture;
+
+    @Autowired
+    TestStatsRepository statsRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuild_leavesOutAttemptsThatWereNeverGraded() {
+        ExamDayFixture.Exam exam = fixture.seed(LoadScenario.load("smoke"));
+        Long questionId = jdbcTemplate.queryForObject(
+                "SELECT question_id FROM test_questions WHERE test_id = ? ORDER BY sort_order LIMIT 1",
+                Long.class, exam.testId());
+        // 20 questions x 4 marks: 8/80 lands in bucket 2, 4/80 in bucket 1.
+        attempt(exam, 0, AttemptStatus.AUTO_SUBMITTED, new BigDecimal("8"), true, questionId, true);
+        attempt(exam, 1, AttemptStatus.GRADED, new BigDecimal("4"), false, questionId, false);
+        // Answers of ungraded attempts may carry stale grades; they still must not be counted.
+        attempt(exam, 2, AttemptStatus.GRADING_FAILED, null, null, questionId, false);
+        attempt(exam, 3, AttemptStatus.VOIDED, null, null, questionId, false);
+        attempt(exam, 4, AttemptStatus.IN_PROGRESS, null, null, questionId, null);
+
+        statsRepository.rebuild(exam.testId(), BUCKETS);
+
+        assertThat(statsRepository.findTotals(exam.testId())).get()
+                .extracting(TestTotals::gradedAttempts, TestTotals::passedAttempts)
+                .containsExactly(2L, 1L);
+        assertThat(statsRepository.findTotals(exam.testId()).orElseThrow().scoreSum()).isEqualByComparingTo("12");
+        assertThat(statsRepository.findBuckets(exam.testId()))
+                .extracting(BucketCount::bucket, BucketCount::attempts)
+                .containsExactly(tuple(1, 1L), tuple(2, 1L));
+        List<QuestionTotals> questions = statsRepository.findQuestionTotals(exam.testId());
+        assertThat(questions).singleElement()
+                .extracting(QuestionTotals::attempted, QuestionTotals::correct)
+                .containsExactly(2L, 1L);
+    }
+
+    /** Inserts the {@code index}-th seeded student's attempt, with one answer to {@code questionId}. */
+    private void attempt(ExamDayFixture.Exam exam, int index, AttemptStatus status, BigDecimal score,
+                         Boolean passed, Long questionId, Boolean correct) {
+        Long studentId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE cognito_user_id = ?",
+                Long.class, exam.principals().get(index));
+        Long attemptId = jdbcTemplate.queryForObject("INSERT INTO test_attempts"
+                        + " (test_id, student_user_id, institute_id, status, score, max_score, passed)"
+                        + " VALUES (?, ?, ?, ?, ?, 80, ?) RETURNING id",
+                Long.class, exam.testId(), studentId, exam.instituteId(), status.name(), score, passed);
+        jdbcTemplate.update("INSERT INTO test_attempt_answers (attempt_id, question_id, selected_option_ids,"
+                        + " is_correct, marks_awarded) VALUES (?, ?, '1', ?, ?)",
+                attemptId, questionId, correct,
+                correct == null ? null : correct ? new BigDecimal("4") : new BigDecimal("-1"));
+    }
+}
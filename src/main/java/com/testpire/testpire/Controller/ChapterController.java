@@ -1,6 +1,8 @@
 package com.testpire.testpire.Controller;
 
+import com.testpire.testpire.annotation.ConditionalGet;
 import com.testpire.testpire.annotation.RequirePermission;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.dto.request.ChapterCriteriaDto;
 import com.testpire.testpire.dto.request.ChapterSearchRequestDto;
@@ -201,6 +203,7 @@ public class ChapterController {
 
     @GetMapping("/{id}")
     @RequirePermission(Permission.CHAPTER_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Get chapter by ID",
         description = "Retrieves a chapter by its ID. All authenticated users can view chapters."
@@ -248,6 +251,7 @@ public class ChapterController {
 
     @GetMapping("/code/{code}")
     @RequirePermission(Permission.CHAPTER_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Get chapter by code",
         description = "Retrieves a chapter by its code within a specific institute. All authenticated users can view chapters."
@@ -371,6 +375,7 @@ public class ChapterController {
 
     @GetMapping("/search/advanced")
     @RequirePermission(Permission.CHAPTER_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Advanced search for chapters (GET)",
         description = "Performs advanced search for chapters using query parameters. Supports filtering by name, code, description, order index, duration, and more. Supports pagination and sorting. All authenticated users can search chapters."
@@ -438,6 +443,10 @@ public class ChapterController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @Parameter(description = "Page size (optional)", example = "20")
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort by field (optional)", example = "createdAt")
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (optional)", example = "desc")
@@ -493,6 +502,8 @@ public class ChapterController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
                     
             SortingRequestDto sorting = SortingRequestDto.builder()
@@ -1,6 +1,8 @@
 package com.testpire.testpire.Controller;
 
+import com.testpire.testpire.annotation.ConditionalGet;
 import com.testpire.testpire.annotation.RequirePermission;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.dto.request.CreateCourseRequestDto;
 import com.testpire.testpire.dto.request.CourseCriteriaDto;
@@ -202,6 +204,7 @@ public class CourseController {
 
     @GetMapping("/{id}")
     @RequirePermission(Permission.COURSE_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Get course by ID",
         description = "Retrieves a course by its ID. All authenticated users can view courses."
@@ -249,6 +252,7 @@ public class CourseController {
 
     @GetMapping("/code/{code}")
     @RequirePermission(Permission.COURSE_READ)
+    @ConditionalGet(value = ETagSource.CURRICULUM, instituteParam = "instituteId")
     @Operation(
         summary = "Get course by code",
         description = "Retrieves a course by its code within a specific institute. All authenticated users can view courses."
@@ -350,6 +354,7 @@ public class CourseController {
 
     @GetMapping("/search/advanced")
     @RequirePermission(Permission.COURSE_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Advanced search for courses (GET)",
         description = "Performs advanced search for courses using query parameters. Supports filtering by name, code, description, duration, level, and more. Supports pagination and sorting. All authenticated users can search courses."
@@ -413,6 +418,10 @@ public class CourseController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @Parameter(description = "Page size (optional)", example = "20")
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort by field (optional)", example = "createdAt")
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (optional)", example = "desc")
@@ -466,6 +475,8 @@ public class CourseController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
                     
             SortingRequestDto sorting = SortingRequestDto.builder()
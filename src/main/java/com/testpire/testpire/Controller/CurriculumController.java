@@ -3,8 +3,11 @@ package com.testpire.testpire.Controller;
 import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.dto.response.ApiResponseDto;
 import com.testpire.testpire.dto.response.CurriculumUploadResponseDto;
+import com.testpire.testpire.dto.response.UploadJobResponseDto;
 import com.testpire.testpire.enums.Permission;
+import com.testpire.testpire.enums.UploadJobKind;
 import com.testpire.testpire.service.CurriculumUploadService;
+import com.testpire.testpire.service.UploadJobService;
 import com.testpire.testpire.util.RequestUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +17,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -30,6 +34,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class CurriculumController {
 
     private final CurriculumUploadService curriculumUploadService;
+    private final UploadJobService uploadJobService;
 
     @PostMapping("/bulk-upload")
     @RequirePermission(Permission.CURRICULUM_BULK_UPLOAD)
@@ -59,4 +64,35 @@ public class CurriculumController {
                     .body(ApiResponseDto.error("Failed to process curriculum upload: " + e.getMessage()));
         }
     }
+
+    @PostMapping("/bulk-upload/jobs")
+    @RequirePermission(Permission.CURRICULUM_BULK_UPLOAD)
+    @Operation(
+            summary = "Queue a curriculum upload",
+            description = "Accepts the same CSV as /bulk-upload but returns at once with a job id. "
+                    + "Poll GET /api/upload-jobs/{jobId} for progress and GET /api/upload-jobs/{jobId}/errors for row errors."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Upload queued"),
+            @ApiResponse(responseCode = "400", description = "Bad request — empty file or header mismatch"),
+            @ApiResponse(responseCode = "403", description = "Forbidden — insufficient permissions")
+    })
+    public ResponseEntity<ApiResponseDto> queueCurriculumUpload(
+            @Parameter(description = "CSV file containing curriculum rows", required = true)
+            @RequestParam("file") MultipartFile file) {
+        try {
+            Long instituteId = RequestUtils.getCurrentUserInstituteId();
+            UploadJobResponseDto job = uploadJobService.submit(
+                    UploadJobKind.CURRICULUM, file, instituteId, RequestUtils.getCurrentUsername());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponseDto.success("Curriculum upload queued", job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to queue curriculum upload: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error queueing curriculum upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to queue curriculum upload: " + e.getMessage()));
+        }
+    }
 }
@@ -324,6 +324,10 @@ public class InstituteController {
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
             @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort field")
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (asc/desc)")
@@ -376,6 +380,8 @@ public class InstituteController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
             
             SortingRequestDto sorting = SortingRequestDto.builder()
@@ -156,6 +156,8 @@ public class LeadController {
             @RequestParam(required = false) String searchText,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @RequestParam(required = false, defaultValue = "desc") String sortDirection) {
         try {
@@ -173,7 +175,7 @@ public class LeadController {
 
             LeadSearchRequestDto request = LeadSearchRequestDto.builder()
                 .criteria(criteria)
-                .pagination(PaginationRequestDto.builder().page(page).size(size).build())
+                .pagination(PaginationRequestDto.builder().page(page).size(size).cursor(cursor).includeTotal(includeTotal).build())
                 .sorting(SortingRequestDto.builder().field(sortBy).direction(sortDirection).build())
                 .build();
 
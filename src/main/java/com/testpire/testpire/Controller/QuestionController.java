@@ -12,10 +12,15 @@ import com.testpire.testpire.dto.response.ApiResponseDto;
 import com.testpire.testpire.dto.response.BulkUploadResponseDto;
 import com.testpire.testpire.dto.response.QuestionListResponseDto;
 import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.dto.response.UploadJobResponseDto;
 import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionSearchMode;
+import com.testpire.testpire.enums.QuestionView;
+import com.testpire.testpire.enums.UploadJobKind;
 import com.testpire.testpire.service.CsvUploadService;
 import com.testpire.testpire.service.QuestionImageService;
 import com.testpire.testpire.service.QuestionService;
+import com.testpire.testpire.service.UploadJobService;
 import com.testpire.testpire.util.RequestUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,6 +34,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -44,6 +50,7 @@ public class QuestionController {
     private final QuestionService questionService;
     private final CsvUploadService csvUploadService;
     private final QuestionImageService questionImageService;
+    private final UploadJobService uploadJobService;
 
     @PostMapping
     @RequirePermission(Permission.QUESTION_CREATE)
@@ -258,11 +265,13 @@ public class QuestionController {
     })
     public ResponseEntity<ApiResponseDto> getQuestionsByTopic(
             @Parameter(description = "Topic ID", required = true, example = "1")
-            @PathVariable Long topicId) {
+            @PathVariable Long topicId,
+            @Parameter(description = "Row shape (optional): FULL (default) or SUMMARY, which returns id, externalId, text snippet, difficulty, marks and topic in summaries", example = "SUMMARY")
+            @RequestParam(required = false, defaultValue = "FULL") QuestionView view) {
         try {
             Long instituteId = RequestUtils.getCurrentUserInstituteId();
             log.info("Getting questions for topic: {} in institute: {}", topicId, instituteId);
-            QuestionListResponseDto questions = questionService.getQuestionsByTopic(topicId, instituteId);
+            QuestionListResponseDto questions = questionService.getQuestionsByTopic(topicId, instituteId, view);
             return ResponseEntity.ok(ApiResponseDto.success("Questions retrieved successfully", questions));
         } catch (Exception e) {
             log.error("Error getting questions by topic", e);
@@ -294,11 +303,13 @@ public class QuestionController {
             )
         )
     })
-    public ResponseEntity<ApiResponseDto> getQuestionsByInstitute() {
+    public ResponseEntity<ApiResponseDto> getQuestionsByInstitute(
+            @Parameter(description = "Row shape (optional): FULL (default) or SUMMARY, which returns id, externalId, text snippet, difficulty, marks and topic in summaries", example = "SUMMARY")
+            @RequestParam(required = false, defaultValue = "FULL") QuestionView view) {
         try {
             Long instituteId = RequestUtils.getCurrentUserInstituteId();
             log.info("Getting questions for institute: {}", instituteId);
-            QuestionListResponseDto questions = questionService.getQuestionsByInstitute(instituteId);
+            QuestionListResponseDto questions = questionService.getQuestionsByInstitute(instituteId, view);
             return ResponseEntity.ok(ApiResponseDto.success("Questions retrieved successfully", questions));
         } catch (Exception e) {
             log.error("Error getting questions by institute", e);
@@ -348,7 +359,9 @@ public class QuestionController {
         try {
             Long instituteId = RequestUtils.getCurrentUserInstituteId();
             log.info("Bulk uploading questions for institute: {}", instituteId);
-            BulkUploadResponseDto result = csvUploadService.processBulkUpload(file, instituteId, "system");
+            String uploadedBy = RequestUtils.getCurrentUsername();
+            BulkUploadResponseDto result = csvUploadService.processBulkUpload(
+                    file, instituteId, uploadedBy != null ? uploadedBy : "system");
             return ResponseEntity.ok(ApiResponseDto.success("Bulk upload completed", result));
         } catch (Exception e) {
             log.error("Error in bulk upload", e);
@@ -356,6 +369,35 @@ public class QuestionController {
         }
     }
 
+    @PostMapping("/bulk-upload/jobs")
+    @RequirePermission(Permission.QUESTION_BULK_UPLOAD)
+    @Operation(
+        summary = "Queue a bulk question upload",
+        description = "Accepts the same CSV as /bulk-upload but returns at once with a job id instead of holding the request open. Poll GET /api/upload-jobs/{jobId} for progress and GET /api/upload-jobs/{jobId}/errors for row errors. An invalid header is still rejected immediately."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Upload queued"),
+        @ApiResponse(responseCode = "400", description = "Bad request - empty file or invalid CSV header"),
+        @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions")
+    })
+    public ResponseEntity<ApiResponseDto> queueBulkUploadQuestions(
+            @Parameter(description = "CSV file containing questions", required = true)
+            @RequestParam("file") MultipartFile file) {
+        try {
+            Long instituteId = RequestUtils.getCurrentUserInstituteId();
+            String uploadedBy = RequestUtils.getCurrentUsername();
+            UploadJobResponseDto job = uploadJobService.submit(UploadJobKind.QUESTIONS, file, instituteId,
+                    uploadedBy != null ? uploadedBy : "system");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponseDto.success("Bulk upload queued", job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to queue bulk upload: " + e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error queueing bulk upload", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to queue bulk upload: " + e.getMessage()));
+        }
+    }
+
     @PostMapping(value = "/images", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE)
     @RequirePermission(Permission.QUESTION_IMAGE_UPLOAD)
     @Operation(
@@ -497,6 +539,8 @@ public class QuestionController {
             @RequestParam(required = false) Long topicId,
             @Parameter(description = "Search text (optional)", example = "What is")
             @RequestParam(required = false) String searchText,
+            @Parameter(description = "How searchText is matched: LIKE (substring, default), FTS (full-text, ranked by relevance) or FUZZY (typo-tolerant, ranked by similarity)", example = "FTS")
+            @RequestParam(required = false, defaultValue = "LIKE") QuestionSearchMode searchMode,
             @Parameter(description = "Difficulty Level (optional)", example = "EASY")
             @RequestParam(required = false) String difficultyLevel,
             @Parameter(description = "Question Type (optional)", example = "MCQ")
@@ -509,10 +553,16 @@ public class QuestionController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @Parameter(description = "Page size (optional)", example = "20")
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort by field (optional)", example = "createdAt")
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (optional)", example = "desc")
-            @RequestParam(required = false, defaultValue = "desc") String sortDirection) {
+            @RequestParam(required = false, defaultValue = "desc") String sortDirection,
+            @Parameter(description = "Row shape (optional): FULL (default) or SUMMARY, which returns id, externalId, text snippet, difficulty, marks and topic in summaries", example = "SUMMARY")
+            @RequestParam(required = false, defaultValue = "FULL") QuestionView view) {
         try {
             // No instituteId GET param; non-SA scoped to JWT, SA honors X-Institute-Id header.
             Long instituteId = RequestUtils.resolveInstituteId(null);
@@ -535,6 +585,7 @@ public class QuestionController {
                     .chapterId(chapterId)
                     .topicId(topicId)
                     .searchText(searchText)
+                    .searchMode(searchMode)
                     .difficultyLevel(difficultyLevelEnum)
                     .questionType(questionType)
                     .minMarks(minMarks)
@@ -544,6 +595,8 @@ public class QuestionController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
                     
             SortingRequestDto sorting = SortingRequestDto.builder()
@@ -555,6 +608,7 @@ public class QuestionController {
                     .criteria(criteria)
                     .pagination(pagination)
                     .sorting(sorting)
+                    .view(view)
                     .build();
             
             QuestionListResponseDto questions = questionService.searchQuestionsWithSpecification(request);
@@ -4,6 +4,7 @@ import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.dto.request.UpdateRolePermissionsRequestDto;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.service.IdentityCacheService;
 import com.testpire.testpire.service.PermissionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -37,6 +38,7 @@ import org.springframework.web.bind.annotation.*;
 public class RbacController {
 
     private final PermissionService permissionService;
+    private final IdentityCacheService identityCache;
 
     @GetMapping("/permissions")
     @RequirePermission(Permission.RBAC_MANAGE)
@@ -122,4 +124,19 @@ public class RbacController {
         log.info("RBAC role-permission cache reloaded on request");
         return ResponseEntity.ok(Map.of("message", "Role-permission cache reloaded"));
     }
+
+    @GetMapping("/identity-cache")
+    @RequirePermission(Permission.RBAC_MANAGE)
+    @Operation(summary = "Show identity cache hit/miss/eviction counters")
+    public ResponseEntity<?> identityCacheStats() {
+        return ResponseEntity.ok(identityCache.stats());
+    }
+
+    @PostMapping("/identity-cache/clear")
+    @RequirePermission(Permission.RBAC_MANAGE)
+    @Operation(summary = "Drop every cached caller identity")
+    public ResponseEntity<?> clearIdentityCache() {
+        identityCache.invalidateAll();
+        return ResponseEntity.ok(Map.of("message", "Identity cache cleared"));
+    }
 }
@@ -506,6 +506,10 @@ public class StudentController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @Parameter(description = "Page size (optional)", example = "20")
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort by field (optional)", example = "createdAt")
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (optional)", example = "desc")
@@ -562,6 +566,8 @@ public class StudentController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
                     
             SortingRequestDto sorting = SortingRequestDto.builder()
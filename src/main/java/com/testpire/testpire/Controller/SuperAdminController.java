@@ -4,7 +4,10 @@ import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.entity.User;
 import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.service.AnswerWriteBehindBuffer;
+import com.testpire.testpire.service.AttemptDeadlineSweeper;
 import com.testpire.testpire.service.CognitoService;
+import com.testpire.testpire.service.EligibilityCacheService;
 import com.testpire.testpire.service.InstituteService;
 import com.testpire.testpire.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +32,9 @@ public class SuperAdminController {
     private final CognitoService cognitoService;
     private final InstituteService instituteService;
     private final UserService userService;
+    private final AttemptDeadlineSweeper attemptDeadlineSweeper;
+    private final AnswerWriteBehindBuffer answerWriteBehindBuffer;
+    private final EligibilityCacheService eligibilityCacheService;
 
     // ========== GENERAL USER MANAGEMENT ==========
 
@@ -91,4 +97,28 @@ public class SuperAdminController {
         }
     }
 
+    @GetMapping("/attempt-sweeper")
+    @RequirePermission(Permission.SYSTEM_DASHBOARD)
+    @Operation(summary = "Get attempt deadline sweeper stats",
+        description = "Auto-submit throughput and lag of the background deadline sweeper on this node")
+    public ResponseEntity<?> getAttemptSweeperStats() {
+        return ResponseEntity.ok(attemptDeadlineSweeper.stats());
+    }
+
+    @GetMapping("/answer-buffer")
+    @RequirePermission(Permission.SYSTEM_DASHBOARD)
+    @Operation(summary = "Get write-behind answer buffer stats",
+        description = "Tracked attempts, pending answers and flush counters of the answer buffer on this node")
+    public ResponseEntity<?> getAnswerBufferStats() {
+        return ResponseEntity.ok(answerWriteBehindBuffer.stats());
+    }
+
+    @GetMapping("/eligibility-cache")
+    @RequirePermission(Permission.SYSTEM_DASHBOARD)
+    @Operation(summary = "Get student eligibility cache stats",
+        description = "Size and hit rate of the per-student test eligibility cache on this node")
+    public ResponseEntity<?> getEligibilityCacheStats() {
+        return ResponseEntity.ok(eligibilityCacheService.stats());
+    }
+
 }
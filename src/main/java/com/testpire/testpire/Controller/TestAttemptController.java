@@ -1,5 +1,6 @@
 package com.testpire.testpire.Controller;
 
+import com.testpire.testpire.annotation.ConditionalGet;
 import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.dto.request.SubmitAnswerRequestDto;
 import com.testpire.testpire.dto.request.SubmitAttemptRequestDto;
@@ -8,6 +9,7 @@ import com.testpire.testpire.dto.response.AttemptSummaryResponseDto;
 import com.testpire.testpire.dto.response.AvailableTestResponseDto;
 import com.testpire.testpire.dto.response.TestAttemptResponseDto;
 import com.testpire.testpire.entity.User;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.service.TestAttemptService;
 import com.testpire.testpire.service.TestResolutionService;
@@ -43,6 +45,7 @@ public class TestAttemptController {
 
     @GetMapping("/available")
     @RequirePermission(Permission.TEST_TAKE)
+    @ConditionalGet(ETagSource.CONTENT)
     @Operation(summary = "List available tests", description = "Tests the current student may take right now")
     public ResponseEntity<ApiResponseDto> getAvailableTests() {
         try {
@@ -108,6 +111,7 @@ public class TestAttemptController {
 
     @GetMapping("/attempts")
     @RequirePermission(Permission.TEST_ATTEMPT_READ)
+    @ConditionalGet(ETagSource.CONTENT)
     @Operation(summary = "List my attempts",
             description = "The calling student's own attempt history (backs the Results tab); includes graded attempts even after the assignment window closes")
     public ResponseEntity<ApiResponseDto> getMyAttempts() {
@@ -123,6 +127,7 @@ public class TestAttemptController {
 
     @GetMapping("/attempts/{attemptId}")
     @RequirePermission(Permission.TEST_ATTEMPT_READ)
+    @ConditionalGet(value = ETagSource.ATTEMPT, idVariable = "attemptId")
     @Operation(summary = "View an attempt", description = "The student's own attempt and (once graded) result")
     public ResponseEntity<ApiResponseDto> getAttempt(
             @Parameter(description = "Attempt ID", required = true) @PathVariable Long attemptId) {
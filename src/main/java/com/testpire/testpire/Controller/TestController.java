@@ -1,15 +1,21 @@
 package com.testpire.testpire.Controller;
 
+import com.testpire.testpire.annotation.ConditionalGet;
 import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.dto.request.AddTestQuestionsRequestDto;
 import com.testpire.testpire.dto.request.CreateTestRequestDto;
 import com.testpire.testpire.dto.request.UpdateTestRequestDto;
 import com.testpire.testpire.dto.response.ApiResponseDto;
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto;
 import com.testpire.testpire.dto.response.TestAttemptResponseDto;
 import com.testpire.testpire.dto.response.TestResponseDto;
 import com.testpire.testpire.dto.response.TestResultResponseDto;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.enums.Permission;
+import com.testpire.testpire.service.TestAnalyticsService;
 import com.testpire.testpire.service.TestAttemptService;
+import com.testpire.testpire.service.TestResultsExporter;
 import com.testpire.testpire.service.TestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -18,8 +24,11 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,6 +42,8 @@ public class TestController {
 
     private final TestService testService;
     private final TestAttemptService testAttemptService;
+    private final TestResultsExporter testResultsExporter;
+    private final TestAnalyticsService testAnalyticsService;
 
     @PostMapping
     @RequirePermission(Permission.TEST_CREATE)
@@ -78,6 +89,7 @@ public class TestController {
 
     @GetMapping("/{id}")
     @RequirePermission(Permission.TEST_READ)
+    @ConditionalGet(ETagSource.TEST)
     @Operation(summary = "Get test by ID", description = "Retrieve a test with its questions (staff view)")
     public ResponseEntity<ApiResponseDto> getTestById(
             @Parameter(description = "Test ID", required = true) @PathVariable Long id) {
@@ -92,6 +104,7 @@ public class TestController {
 
     @GetMapping
     @RequirePermission(Permission.TEST_READ)
+    @ConditionalGet(ETagSource.CONTENT)
     @Operation(summary = "List tests", description = "List all tests in the caller's institute")
     public ResponseEntity<ApiResponseDto> listTests() {
         try {
@@ -149,11 +162,17 @@ public class TestController {
 
     @GetMapping("/{id}/results")
     @RequirePermission(Permission.TEST_RESULTS_READ)
-    @Operation(summary = "View test results", description = "Every student's marks for the test (staff)")
+    @Operation(summary = "View test results",
+            description = "Students' marks for the test, one page at a time in student order (staff). "
+                    + "Pass the returned nextCursor to get the next page")
     public ResponseEntity<ApiResponseDto> getResults(
-            @Parameter(description = "Test ID", required = true) @PathVariable Long id) {
+            @Parameter(description = "Test ID", required = true) @PathVariable Long id,
+            @Parameter(description = "nextCursor of the previous page (omit for the first page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 1000)", example = "200")
+            @RequestParam(required = false, defaultValue = "200") Integer limit) {
         try {
-            TestResultResponseDto results = testAttemptService.getResults(id);
+            TestResultResponseDto results = testAttemptService.getResults(id, cursor, limit);
             return ResponseEntity.ok(ApiResponseDto.success("Results retrieved successfully", results));
         } catch (Exception e) {
             log.error("Error getting test results", e);
@@ -161,6 +180,59 @@ public class TestController {
         }
     }
 
+    @GetMapping("/{id}/results/export")
+    @RequirePermission(Permission.TEST_RESULTS_READ)
+    @Operation(summary = "Export test results",
+            description = "Every attempt's marks streamed as CSV or NDJSON, in student order (staff)")
+    public ResponseEntity<?> exportResults(
+            @Parameter(description = "Test ID", required = true) @PathVariable Long id,
+            @Parameter(description = "csv or ndjson", example = "csv")
+            @RequestParam(required = false, defaultValue = "csv") String format) {
+        try {
+            TestResultsExporter.Format exportFormat = TestResultsExporter.Format.from(format);
+            Test test = testResultsExporter.requireTest(id); // scope on the request thread; rows stream asynchronously
+            StreamingResponseBody body = out -> testResultsExporter.export(test, exportFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"test-" + id + "-results." + exportFormat.extension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            log.error("Error exporting test results", e);
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to export results: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/analytics")
+    @RequirePermission(Permission.TEST_RESULTS_READ)
+    @Operation(summary = "View test analytics",
+            description = "Score distribution, percentiles and per-question difficulty over graded attempts (staff)")
+    public ResponseEntity<ApiResponseDto> getAnalytics(
+            @Parameter(description = "Test ID", required = true) @PathVariable Long id) {
+        try {
+            TestAnalyticsResponseDto analytics = testAnalyticsService.getAnalytics(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Analytics retrieved successfully", analytics));
+        } catch (Exception e) {
+            log.error("Error getting test analytics", e);
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to get analytics: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/{id}/analytics/rebuild")
+    @RequirePermission(Permission.TEST_UPDATE)
+    @Operation(summary = "Rebuild test analytics",
+            description = "Recompute the test's analytics from its raw attempts and answers (repair; scans every answer)")
+    public ResponseEntity<ApiResponseDto> rebuildAnalytics(
+            @Parameter(description = "Test ID", required = true) @PathVariable Long id) {
+        try {
+            TestAnalyticsResponseDto analytics = testAnalyticsService.rebuild(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Analytics rebuilt successfully", analytics));
+        } catch (Exception e) {
+            log.error("Error rebuilding test analytics", e);
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to rebuild analytics: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{testId}/attempts/{attemptId}")
     @RequirePermission(Permission.TEST_RESULTS_READ)
     @Operation(summary = "View a student's attempt",
@@ -176,4 +248,20 @@ public class TestController {
             return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to get attempt: " + e.getMessage()));
         }
     }
+
+    @PostMapping("/{testId}/attempts/{attemptId}/regrade")
+    @RequirePermission(Permission.TEST_UPDATE)
+    @Operation(summary = "Regrade a failed attempt",
+            description = "Grade again an attempt whose automatic grading at the deadline kept failing (GRADING_FAILED)")
+    public ResponseEntity<ApiResponseDto> regradeAttempt(
+            @Parameter(description = "Test ID", required = true) @PathVariable Long testId,
+            @Parameter(description = "Attempt ID", required = true) @PathVariable Long attemptId) {
+        try {
+            TestAttemptResponseDto attempt = testAttemptService.regrade(testId, attemptId);
+            return ResponseEntity.ok(ApiResponseDto.success("Attempt regraded", attempt));
+        } catch (Exception e) {
+            log.error("Error regrading attempt", e);
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to regrade attempt: " + e.getMessage()));
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.testpire.testpire.Controller;
 
+import com.testpire.testpire.annotation.ConditionalGet;
 import com.testpire.testpire.annotation.RequirePermission;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.enums.Permission;
 import com.testpire.testpire.dto.request.CreateTopicRequestDto;
 import com.testpire.testpire.dto.request.TopicCriteriaDto;
@@ -201,6 +203,7 @@ public class TopicController {
 
     @GetMapping("/{id}")
     @RequirePermission(Permission.TOPIC_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Get topic by ID",
         description = "Retrieves a topic by its ID. All authenticated users can view topics."
@@ -246,6 +249,7 @@ public class TopicController {
 
     @GetMapping("/code/{code}")
     @RequirePermission(Permission.TOPIC_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Get topic by code",
         description = "Retrieves a topic by its code within a specific institute. All authenticated users can view topics."
@@ -367,6 +371,7 @@ public class TopicController {
 
     @GetMapping("/search/advanced")
     @RequirePermission(Permission.TOPIC_READ)
+    @ConditionalGet(ETagSource.CURRICULUM)
     @Operation(
         summary = "Advanced search for topics (GET)",
         description = "Performs advanced search for topics using query parameters. Supports filtering by name, code, description, order index, duration, content, and more. Supports pagination and sorting. All authenticated users can search topics."
@@ -440,6 +445,10 @@ public class TopicController {
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @Parameter(description = "Page size (optional)", example = "20")
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @Parameter(description = "Keyset paging (optional): empty for the first page, then the previous page's nextCursor; page is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether a keyset page also counts all matches (optional)", example = "false")
+            @RequestParam(required = false, defaultValue = "true") Boolean includeTotal,
             @Parameter(description = "Sort by field (optional)", example = "createdAt")
             @RequestParam(required = false, defaultValue = "createdAt") String sortBy,
             @Parameter(description = "Sort direction (optional)", example = "desc")
@@ -496,6 +505,8 @@ public class TopicController {
             PaginationRequestDto pagination = PaginationRequestDto.builder()
                     .page(page)
                     .size(size)
+                    .cursor(cursor)
+                    .includeTotal(includeTotal)
                     .build();
                     
             SortingRequestDto sorting = SortingRequestDto.builder()
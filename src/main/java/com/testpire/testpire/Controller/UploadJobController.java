@@ -0,0 +1,79 @@
+package com.testpire.testpire.Controller;
+
+import com.testpire.testpire.annotation.RequirePermission;
+import com.testpire.testpire.dto.response.ApiResponseDto;
+import com.testpire.testpire.dto.response.UploadJobErrorListResponseDto;
+import com.testpire.testpire.dto.response.UploadJobResponseDto;
+import com.testpire.testpire.enums.Permission;
+import com.testpire.testpire.service.UploadJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/upload-jobs")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Upload Jobs", description = "Progress and errors of queued bulk uploads")
+@SecurityRequirement(name = "bearerAuth")
+public class UploadJobController {
+
+    private final UploadJobService uploadJobService;
+
+    @GetMapping("/{jobId}")
+    @RequirePermission({Permission.QUESTION_BULK_UPLOAD, Permission.CURRICULUM_BULK_UPLOAD})
+    @Operation(
+            summary = "Get an upload job",
+            description = "Status, progress (rows committed so far) and counts of a queued bulk upload in the caller's institute."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found"),
+            @ApiResponse(responseCode = "400", description = "Bad request — no such job in the caller's institute"),
+            @ApiResponse(responseCode = "403", description = "Forbidden — insufficient permissions")
+    })
+    public ResponseEntity<ApiResponseDto> getJob(@PathVariable Long jobId) {
+        try {
+            UploadJobResponseDto job = uploadJobService.getJob(jobId);
+            return ResponseEntity.ok(ApiResponseDto.success("Upload job retrieved", job));
+        } catch (Exception e) {
+            log.error("Error getting upload job {}", jobId, e);
+            return ResponseEntity.badRequest().body(ApiResponseDto.error("Failed to get upload job: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{jobId}/errors")
+    @RequirePermission({Permission.QUESTION_BULK_UPLOAD, Permission.CURRICULUM_BULK_UPLOAD})
+    @Operation(
+            summary = "Page through an upload job's errors",
+            description = "Row errors and warnings recorded so far, in row order, worded as in the synchronous upload responses."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Errors retrieved"),
+            @ApiResponse(responseCode = "400", description = "Bad request — no such job in the caller's institute"),
+            @ApiResponse(responseCode = "403", description = "Forbidden — insufficient permissions")
+    })
+    public ResponseEntity<ApiResponseDto> getErrors(
+            @PathVariable Long jobId,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 500)") @RequestParam(defaultValue = "50") int size) {
+        try {
+            UploadJobErrorListResponseDto errors = uploadJobService.getErrors(jobId, page, size);
+            return ResponseEntity.ok(ApiResponseDto.success("Upload job errors retrieved", errors));
+        } catch (Exception e) {
+            log.error("Error getting errors of upload job {}", jobId, e);
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to get upload job errors: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.testpire.testpire.annotation;
+
+import com.testpire.testpire.enums.ETagSource;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a GET endpoint into HTTP conditional requests ({@code ETag} / {@code If-None-Match}).
+ * Handled by {@code ConditionalRequestAspect}, which runs inside {@code AuthorizationAspect}. Only an
+ * authorized caller can get a 304, and the tag is resolved with that caller's institute scope.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    ETagSource value();
+    String idVariable() default "id"; // path variable holding the TEST / ATTEMPT id
+    String instituteParam() default ""; // request param a SUPER_ADMIN scopes a CURRICULUM read with, if the endpoint has one
+}
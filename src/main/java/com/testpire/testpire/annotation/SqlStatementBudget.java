@@ -0,0 +1,17 @@
+package com.testpire.testpire.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides {@code testpire.sql.statement-budget} for one endpoint, for the few whose statement count
+ * legitimately grows with their input (bulk writes, exports). Enforced by
+ * {@code SqlStatementBudgetInterceptor}, which only logs and counts a request over budget.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlStatementBudget {
+    int value();
+}
@@ -4,15 +4,21 @@ import com.testpire.testpire.annotation.RequirePermission;
 import com.testpire.testpire.constants.ApplicationConstants;
 import com.testpire.testpire.dto.UserDto;
 import com.testpire.testpire.dto.response.ApiResponseDto;
-import com.testpire.testpire.service.CognitoService;
+import com.testpire.testpire.service.DependencyBulkheads.BulkheadFullException;
+import com.testpire.testpire.service.HotPathMetrics;
+import com.testpire.testpire.service.HotPathMetrics.AuthPhase;
+import com.testpire.testpire.service.IdentityCacheService;
 import com.testpire.testpire.service.PermissionService;
 import com.testpire.testpire.util.JwksJwtUtil;
+import com.testpire.testpire.util.VerifiedToken;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -23,47 +29,61 @@ import java.util.Arrays;
 
 @Aspect
 @Component
+@Order(0) // outermost: authenticate and authorize before ConditionalRequestAspect
 @RequiredArgsConstructor
 @Slf4j
 public class AuthorizationAspect {
 
   private final JwksJwtUtil jwtUtil;
-  private final CognitoService cognitoService;
+  private final IdentityCacheService identityCache;
   private final PermissionService permissionService;
+  private final HotPathMetrics metrics;
 
+  /**
+   * Authenticates the caller and checks {@code requirePermission} before the handler runs. Only
+   * failures to authenticate become a 401. A saturated Cognito bulkhead is not a bad credential and
+   * propagates (503 + Retry-After via GlobalExceptionHandler), as does anything the handler throws.
+   */
   @Around("@annotation(requirePermission)")
   public Object authorize(ProceedingJoinPoint joinPoint, RequirePermission requirePermission) throws Throwable {
+    Object resolved;
     try {
       // Resolve and authenticate the caller; sets currentUser/currentUsername request attributes.
-      Object resolved = resolveCurrentUser();
-      if (resolved instanceof ResponseEntity<?>) {
-        return resolved; // authentication failure
-      }
-      UserDto user = (UserDto) resolved;
-
-      log.info("Authorizing user: {} with role: {} for required permission(s): {}",
-          user.username(), user.role(), Arrays.toString(requirePermission.value()));
-
-      if (!permissionService.hasPermission(user.role(), requirePermission.value(),
-          requirePermission.requireAll())) {
-        log.warn("Access DENIED for user: {} with role: {} trying to access endpoint requiring: {}",
-            user.username(), user.role(), Arrays.toString(requirePermission.value()));
-        return forbidden("You do not have permission to perform this action.");
-      }
-
-      log.info("Access GRANTED for user: {} with role: {}", user.username(), user.role());
-      return joinPoint.proceed();
-
+      resolved = resolveCurrentUser();
+    } catch (BulkheadFullException e) {
+      throw e;
     } catch (Exception e) {
-      log.error("Authorization error", e);
+      log.error("Authentication error", e);
       return unauthorized("Authentication failed.");
     }
+    if (resolved instanceof ResponseEntity<?>) {
+      return resolved; // authentication failure
+    }
+    UserDto user = (UserDto) resolved;
+
+    log.info("Authorizing user: {} with role: {} for required permission(s): {}",
+        user.username(), user.role(), Arrays.toString(requirePermission.value()));
+
+    Timer.Sample permissionCheck = Timer.start();
+    boolean permitted = permissionService.hasPermission(user.role(), requirePermission.value(),
+        requirePermission.requireAll());
+    permissionCheck.stop(metrics.authPhase(AuthPhase.PERMISSION_CHECK));
+    if (!permitted) {
+      log.warn("Access DENIED for user: {} with role: {} trying to access endpoint requiring: {}",
+          user.username(), user.role(), Arrays.toString(requirePermission.value()));
+      return forbidden("You do not have permission to perform this action.");
+    }
+
+    log.info("Access GRANTED for user: {} with role: {}", user.username(), user.role());
+    return joinPoint.proceed();
   }
 
   /**
-   * Validates the bearer token, loads the user from Cognito and stashes it on the request.
+   * Validates the bearer token, resolves the user (via {@link IdentityCacheService}) and stashes it on
+   * the request.
    *
-   * @return the resolved {@link UserDto} on success, or a 403 {@link ResponseEntity} on failure.
+   * @return the resolved {@link UserDto} on success, or a 401 {@link ResponseEntity} (see
+   *     {@link #unauthorized}) when the token or the identity cannot be resolved.
    */
   private Object resolveCurrentUser() {
     ServletRequestAttributes attributes =
@@ -82,15 +102,22 @@ public class AuthorizationAspect {
 
     String token = authHeader.substring(ApplicationConstants.Headers.BEARER_PREFIX.length());
 
-    if (!jwtUtil.isTokenValid(token)) {
+    // Single verification per token; repeat requests with the same token are served from cache.
+    Timer.Sample jwtVerify = Timer.start();
+    VerifiedToken verified = jwtUtil.verify(token).orElse(null);
+    jwtVerify.stop(metrics.authPhase(AuthPhase.JWT_VERIFY));
+    if (verified == null) {
       return unauthorized("Invalid or expired token.");
     }
 
-    String username = jwtUtil.extractUsername(token);
+    String username = verified.username();
     log.info("Extracted username from JWT: {}", username);
 
-    UserDto user = cognitoService.getUser(username);
-    log.info("Retrieved user from Cognito: username={}, role={}, email={}",
+    // Served from the identity cache; only a miss reaches the DB or Cognito.
+    Timer.Sample identityResolve = Timer.start();
+    UserDto user = identityCache.resolve(verified);
+    identityResolve.stop(metrics.authPhase(AuthPhase.IDENTITY_RESOLVE));
+    log.info("Resolved user identity: username={}, role={}, email={}",
         user.username(), user.role(), user.email());
 
     // Add user info to request attributes for use in controllers
@@ -0,0 +1,131 @@
+package com.testpire.testpire.aspect;
+
+import com.testpire.testpire.annotation.ConditionalGet;
+import com.testpire.testpire.service.ETagService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Serves {@link ConditionalGet} endpoints. When the endpoint's source has a version tag and the
+ * client's {@code If-None-Match} matches it, the handler is never invoked: the client gets a 304.
+ * Otherwise the handler runs and a 2xx response is sent with the version tag or, failing that, a
+ * hash of its body. A matching hash also turns the response into a 304, which saves the transfer
+ * but not the work.
+ *
+ * <p>Ordered after {@link AuthorizationAspect}, so only authorized callers get a 304 and the current
+ * user is set before tags are resolved.</p>
+ */
+@Aspect
+@Component
+@Order(1)
+@RequiredArgsConstructor
+@Slf4j
+public class ConditionalRequestAspect {
+
+  // Responses are per user and must be revalidated on every use.
+  private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+  private final ETagService eTagService;
+
+  @Around("@annotation(conditionalGet)")
+  public Object handle(ProceedingJoinPoint joinPoint, ConditionalGet conditionalGet) throws Throwable {
+    ServletRequestAttributes attributes =
+        (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+    if (attributes == null || !isSafe(attributes.getRequest())) {
+      return joinPoint.proceed();
+    }
+    HttpServletRequest request = attributes.getRequest();
+
+    String eTag = eTagService.versionTag(conditionalGet.value(),
+        pathId(request, conditionalGet.idVariable()), requestedInstituteId(request, conditionalGet));
+    if (eTag != null && matches(request, eTag)) {
+      log.debug("{} {} not modified ({})", request.getMethod(), request.getRequestURI(), eTag);
+      return notModified(eTag);
+    }
+
+    Object result = joinPoint.proceed();
+    if (!(result instanceof ResponseEntity<?> response)
+        || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+      return result; // errors and empty bodies are never tagged
+    }
+    if (eTag == null) {
+      eTag = eTagService.contentTag(response.getBody());
+      if (eTag == null) {
+        return result;
+      }
+      if (matches(request, eTag)) {
+        return notModified(eTag);
+      }
+    }
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .eTag(eTag)
+        .cacheControl(REVALIDATE)
+        .body(response.getBody());
+  }
+
+  /** Weak comparison (RFC 9110 §13.1.2) against every tag in every {@code If-None-Match} header. */
+  private static boolean matches(HttpServletRequest request, String eTag) {
+    String opaque = opaqueTag(eTag);
+    for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+      for (String candidate : header.split(",")) {
+        String trimmed = candidate.trim();
+        if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaque)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+
+  private static boolean isSafe(HttpServletRequest request) {
+    return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Long pathId(HttpServletRequest request, String variable) {
+    Map<String, String> variables =
+        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    return variables == null ? null : parseLong(variables.get(variable));
+  }
+
+  private static Long requestedInstituteId(HttpServletRequest request, ConditionalGet conditionalGet) {
+    String param = conditionalGet.instituteParam();
+    return param.isEmpty() ? null : parseLong(request.getParameter(param));
+  }
+
+  private static Long parseLong(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static ResponseEntity<Void> notModified(String eTag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+  }
+}
@@ -0,0 +1,71 @@
+package com.testpire.testpire.aspect;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Tallies the repository calls made while serving a request, and the time spent in them, on a
+ * request attribute; {@code RequestMetricsInterceptor} records the totals when the request completes.
+ * A call made from inside another repository call (a custom fragment using a second repository)
+ * counts once, with the outer call's time. Calls off the request thread (schedulers, upload workers,
+ * streamed responses) are not tallied.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+  private static final String STATS_ATTRIBUTE = RepositoryMetricsAspect.class.getName() + ".stats";
+
+  @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object tally(ProceedingJoinPoint joinPoint) throws Throwable {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return joinPoint.proceed();
+    }
+    RequestStats stats = (RequestStats) attributes.getAttribute(STATS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (stats == null) {
+      stats = new RequestStats();
+      attributes.setAttribute(STATS_ATTRIBUTE, stats, RequestAttributes.SCOPE_REQUEST);
+    }
+    if (stats.depth++ > 0) {
+      try {
+        return joinPoint.proceed();
+      } finally {
+        stats.depth--;
+      }
+    }
+    long start = System.nanoTime();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      stats.depth--;
+      stats.calls++;
+      stats.nanos += System.nanoTime() - start;
+    }
+  }
+
+  /** The tally for {@code request}, or null if it made no repository calls. */
+  public static RequestStats statsOf(HttpServletRequest request) {
+    return (RequestStats) request.getAttribute(STATS_ATTRIBUTE);
+  }
+
+  /** Repository work of one request; only touched by the thread serving it. */
+  public static final class RequestStats {
+    private int depth;
+    private int calls;
+    private long nanos;
+
+    public int calls() {
+      return calls;
+    }
+
+    public long nanos() {
+      return nanos;
+    }
+  }
+}
@@ -2,11 +2,13 @@ package com.testpire.testpire.config;
 
 import com.testpire.testpire.constants.ApplicationConstants;
 import com.testpire.testpire.dto.response.ApiResponseDto;
+import com.testpire.testpire.service.DependencyBulkheads.BulkheadFullException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -20,8 +22,8 @@ import org.springframework.web.method.annotation.HandlerMethodValidationExceptio
  * validation failures) so clients see one consistent shape. Internal details (class names, stack
  * traces, raw exception messages from unexpected faults) are logged server-side, never returned.
  *
- * <p>Status mapping: 400 for bad/invalid input, 409 for conflicts/business-rule violations, 500 for
- * anything unexpected (generic message only).
+ * <p>Status mapping: 400 for bad/invalid input, 409 for conflicts/business-rule violations, 503 when a
+ * dependency's bulkhead is full, 500 for anything unexpected (generic message only).
  */
 @RestControllerAdvice
 @Slf4j
@@ -110,6 +112,18 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResponseDto.error(e.getMessage()));
   }
 
+  /**
+   * Cognito, S3 or an image host is at its concurrency limit (DependencyBulkheads) -> 503 with a short
+   * Retry-After, so clients back off instead of piling more blocked requests onto the dependency.
+   */
+  @ExceptionHandler(BulkheadFullException.class)
+  public ResponseEntity<ApiResponseDto> handleBulkheadFull(BulkheadFullException e) {
+    log.warn("bulkhead full: {}", e.getMessage());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(ApiResponseDto.error("The service is busy. Please retry shortly."));
+  }
+
   /** Anything unexpected -> 500 with a generic message; the real cause is logged, never returned. */
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ApiResponseDto> handleException(Exception e) {
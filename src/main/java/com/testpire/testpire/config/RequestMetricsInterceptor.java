@@ -0,0 +1,36 @@
+package com.testpire.testpire.config;
+
+import com.testpire.testpire.aspect.RepositoryMetricsAspect;
+import com.testpire.testpire.aspect.RepositoryMetricsAspect.RequestStats;
+import com.testpire.testpire.service.HotPathMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records each API request's repository work, as tallied by {@link RepositoryMetricsAspect}, against
+ * the handler's URI pattern. Requests that made no repository calls record zero, so the histograms
+ * also show how many requests are served without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+  private static final String UNKNOWN_URI = "UNKNOWN";
+
+  private final HotPathMetrics metrics;
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    RequestStats stats = RepositoryMetricsAspect.statsOf(request);
+    metrics.recordRequestRepositoryWork(pattern != null ? pattern.toString() : UNKNOWN_URI,
+        request.getMethod(),
+        stats != null ? stats.calls() : 0,
+        stats != null ? stats.nanos() : 0L);
+  }
+}
@@ -0,0 +1,10 @@
+package com.testpire.testpire.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables {@code @Scheduled} background jobs (e.g. the attempt deadline sweeper). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
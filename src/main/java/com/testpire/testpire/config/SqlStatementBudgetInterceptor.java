@@ -0,0 +1,84 @@
+package com.testpire.testpire.config;
+
+import com.testpire.testpire.annotation.SqlStatementBudget;
+import com.testpire.testpire.config.SqlStatementCounter.Repeated;
+import com.testpire.testpire.config.SqlStatementCounter.Tally;
+import com.testpire.testpire.service.HotPathMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Per-request SQL statement budget. Counts the Hibernate statements of each API request with
+ * {@link SqlStatementCounter} and records them against the handler method. A request that runs more
+ * than its budget ({@code testpire.sql.statement-budget}, or {@link SqlStatementBudget} on the handler),
+ * or that runs one statement {@code testpire.sql.repeat-threshold} times or more (the mark of an N+1),
+ * is logged with its most repeated statement and counted as over budget. The request itself is
+ * never failed.
+ *
+ * <p>The count and the verdict are left on the request ({@link #STATEMENT_COUNT_ATTRIBUTE},
+ * {@link #OVER_BUDGET_ATTRIBUTE}) for tests to assert on.</p>
+ */
+@Component
+@Slf4j
+public class SqlStatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+  public static final String STATEMENT_COUNT_ATTRIBUTE = SqlStatementBudgetInterceptor.class.getName() + ".count";
+  public static final String OVER_BUDGET_ATTRIBUTE = SqlStatementBudgetInterceptor.class.getName() + ".overBudget";
+
+  private final HotPathMetrics metrics;
+  private final int defaultBudget;
+  private final int repeatThreshold;
+
+  public SqlStatementBudgetInterceptor(HotPathMetrics metrics,
+      @Value("${testpire.sql.statement-budget:30}") int defaultBudget,
+      @Value("${testpire.sql.repeat-threshold:10}") int repeatThreshold) {
+    this.metrics = metrics;
+    this.defaultBudget = defaultBudget;
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod) {
+      SqlStatementCounter.begin();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+      Exception ex) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return;
+    }
+    Tally tally = SqlStatementCounter.end();
+    String handlerName = ClassUtils.getUserClass(handlerMethod.getBeanType()).getSimpleName()
+        + "." + handlerMethod.getMethod().getName();
+    SqlStatementBudget override = handlerMethod.getMethodAnnotation(SqlStatementBudget.class);
+    int budget = override != null ? override.value() : defaultBudget;
+
+    Repeated repeated = tally.mostRepeated();
+    boolean overBudget = tally.count() > budget || (repeated != null && repeated.times() >= repeatThreshold);
+    request.setAttribute(STATEMENT_COUNT_ATTRIBUTE, tally.count());
+    request.setAttribute(OVER_BUDGET_ATTRIBUTE, overBudget);
+    metrics.recordRequestStatements(handlerName, tally.count(), overBudget);
+    if (overBudget) {
+      log.warn("{} {} ({}) ran {} SQL statement(s), budget {}; most repeated ({}x): {}",
+          request.getMethod(), request.getRequestURI(), handlerName, tally.count(), budget,
+          repeated.times(), repeated.sql());
+    }
+  }
+
+  /** The handler continues on another thread, which this thread's tally cannot follow; drop it. */
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    SqlStatementCounter.end();
+  }
+}
@@ -0,0 +1,71 @@
+package com.testpire.testpire.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()} and
+ * {@link #end()}, and how often each distinct statement ran, which is how an N+1 shows up: the same
+ * select once per row. Hibernate instantiates this class itself (application.properties), so the tally
+ * is static and thread-bound.
+ *
+ * <p>Statements sent straight through {@code JdbcTemplate} (the batch writers in the repository
+ * fragments) bypass Hibernate and are not counted.</p>
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+  private static final ThreadLocal<Tally> TALLY = new ThreadLocal<>();
+
+  @Override
+  public String inspect(String sql) {
+    Tally tally = TALLY.get();
+    if (tally != null) {
+      tally.count++;
+      tally.bySql.merge(sql, 1, Integer::sum);
+    }
+    return sql;
+  }
+
+  /** Starts a fresh tally on this thread, replacing any tally left open. */
+  public static void begin() {
+    TALLY.set(new Tally());
+  }
+
+  /** Ends this thread's tally and returns it; an empty tally if none was open. */
+  public static Tally end() {
+    Tally tally = TALLY.get();
+    TALLY.remove();
+    return tally != null ? tally : new Tally();
+  }
+
+  /** Statements counted so far by this thread's open tally, or 0 if none is open. */
+  public static int current() {
+    Tally tally = TALLY.get();
+    return tally != null ? tally.count : 0;
+  }
+
+  /** Statements of one unit of work. */
+  public static final class Tally {
+    private int count;
+    private final Map<String, Integer> bySql = new HashMap<>();
+
+    public int count() {
+      return count;
+    }
+
+    /** The statement that ran most often, or null if none ran. */
+    public Repeated mostRepeated() {
+      Map.Entry<String, Integer> top = null;
+      for (Map.Entry<String, Integer> e : bySql.entrySet()) {
+        if (top == null || e.getValue() > top.getValue()) {
+          top = e;
+        }
+      }
+      return top == null ? null : new Repeated(top.getKey(), top.getValue());
+    }
+  }
+
+  public record Repeated(String sql, int times) {}
+}
@@ -17,15 +17,23 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
 
   private final DefaultDenyInterceptor defaultDenyInterceptor;
+  private final RequestMetricsInterceptor requestMetricsInterceptor;
+  private final SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor;
 
-  public WebConfig(DefaultDenyInterceptor defaultDenyInterceptor) {
+  public WebConfig(DefaultDenyInterceptor defaultDenyInterceptor,
+      RequestMetricsInterceptor requestMetricsInterceptor,
+      SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor) {
     this.defaultDenyInterceptor = defaultDenyInterceptor;
+    this.requestMetricsInterceptor = requestMetricsInterceptor;
+    this.sqlStatementBudgetInterceptor = sqlStatementBudgetInterceptor;
   }
 
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     // Default-deny baseline: any /api endpoint lacking @RequirePermission and not explicitly public is blocked.
     registry.addInterceptor(defaultDenyInterceptor).addPathPatterns("/api/**");
+    registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+    registry.addInterceptor(sqlStatementBudgetInterceptor).addPathPatterns("/api/**");
   }
 
   @Override
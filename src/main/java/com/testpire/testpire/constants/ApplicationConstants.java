@@ -113,6 +113,7 @@ public final class ApplicationConstants {
     public static final String USERS_TABLE = "users";
     public static final String INSTITUTES_TABLE = "institutes";
     public static final String QUESTION_TABLE = "questions";
+    public static final String QUESTION_COURSES_TABLE = "question_courses";
     public static final String OPTION_TABLE = "options";
     public static final String TEACHER_DETAILS_TABLE = "teacher_details";
     public static final String STUDENT_DETAILS_TABLE = "student_details";
@@ -129,6 +130,8 @@ public final class ApplicationConstants {
     public static final String TEST_ASSIGNMENTS_TABLE = "test_assignments";
     public static final String TEST_ATTEMPTS_TABLE = "test_attempts";
     public static final String TEST_ATTEMPT_ANSWERS_TABLE = "test_attempt_answers";
+    public static final String UPLOAD_JOBS_TABLE = "upload_jobs";
+    public static final String UPLOAD_JOB_ERRORS_TABLE = "upload_job_errors";
     public static final String CREATED_AT_COLUMN = "created_at";
     public static final String UPDATED_AT_COLUMN = "updated_at";
     public static final String CREATED_BY_COLUMN = "created_by";
@@ -233,6 +236,32 @@ public final class ApplicationConstants {
     }
   }
 
+  // Micrometer meter names and tags (exported at /actuator/prometheus)
+  public static final class Metrics {
+    public static final String AUTH_PHASE = "testpire.auth.phase";
+    public static final String REPOSITORY_CALLS_PER_REQUEST = "testpire.repository.calls.per.request";
+    public static final String REPOSITORY_TIME_PER_REQUEST = "testpire.repository.time.per.request";
+    public static final String GRADING = "testpire.grading";
+    public static final String GRADED_QUESTIONS = "testpire.grading.questions";
+    public static final String IMPORT_ROWS = "testpire.import.rows";
+    public static final String SQL_STATEMENTS_PER_REQUEST = "testpire.sql.statements.per.request";
+    public static final String SQL_BUDGET_EXCEEDED = "testpire.sql.budget.exceeded";
+    public static final String BULKHEAD_IN_USE = "testpire.bulkhead.in.use";
+    public static final String BULKHEAD_WAIT = "testpire.bulkhead.wait";
+    public static final String BULKHEAD_REJECTED = "testpire.bulkhead.rejected";
+    public static final String TAG_PHASE = "phase";
+    public static final String TAG_STATUS = "status";
+    public static final String TAG_KIND = "kind";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_URI = "uri";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_HANDLER = "handler";
+    public static final String TAG_DEPENDENCY = "dependency";
+
+    private Metrics() {
+    }
+  }
+
   // Phone Number Constants
   public static final class Phone {
     public static final String DEFAULT_PHONE = "+919905536608";
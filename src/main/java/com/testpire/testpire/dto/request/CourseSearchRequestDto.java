@@ -32,6 +32,14 @@ public class CourseSearchRequestDto {
         return pagination != null ? pagination.getSize() : 20;
     }
     
+    public String getCursor() {
+        return pagination != null ? pagination.getCursor() : null;
+    }
+    
+    public boolean isIncludeTotal() {
+        return pagination == null || !Boolean.FALSE.equals(pagination.getIncludeTotal());
+    }
+    
     public String getSortBy() {
         return sorting != null ? sorting.getField() : "createdAt";
     }
@@ -34,6 +34,14 @@ public class LeadSearchRequestDto {
         return pagination != null ? pagination.getSize() : 20;
     }
 
+    public String getCursor() {
+        return pagination != null ? pagination.getCursor() : null;
+    }
+
+    public boolean isIncludeTotal() {
+        return pagination == null || !Boolean.FALSE.equals(pagination.getIncludeTotal());
+    }
+
     public String getSortBy() {
         return sorting != null ? sorting.getField() : "createdAt";
     }
@@ -21,4 +21,15 @@ public class PaginationRequestDto {
     @Max(value = 100, message = "Page size cannot exceed 100")
     @Builder.Default
     private Integer size = 20;
+
+    /**
+     * Opt-in keyset paging: {@code null} pages by {@code page}/{@code size} (OFFSET); {@code ""} asks
+     * for the first keyset page; any other value is the {@code nextCursor} of the previous page, and
+     * {@code page} is ignored.
+     */
+    private String cursor;
+
+    /** {@code false} skips the total-count query of a keyset page ({@code totalCount} is then null). */
+    @Builder.Default
+    private Boolean includeTotal = true;
 }
@@ -1,6 +1,7 @@
 package com.testpire.testpire.dto.request;
 
 import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionSearchMode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -20,6 +21,7 @@ public class QuestionCriteriaDto {
     private Long chapterId;
     private Long topicId;
     private String searchText;
+    private QuestionSearchMode searchMode;
     private DifficultyLevel difficultyLevel;
     private String questionType;
     private Integer minMarks;
@@ -1,6 +1,8 @@
 package com.testpire.testpire.dto.request;
 
 import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionSearchMode;
+import com.testpire.testpire.enums.QuestionView;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -23,6 +25,9 @@ public class QuestionSearchRequestDto {
     
     @Valid
     private SortingRequestDto sorting;
+
+    /** Row shape of the result; {@code SUMMARY} fills {@code summaries} instead of {@code questions}. */
+    private QuestionView view;
     
     // Helper methods for backward compatibility
     public Integer getPage() {
@@ -33,6 +38,18 @@ public class QuestionSearchRequestDto {
         return pagination != null ? pagination.getSize() : 20;
     }
     
+    public String getCursor() {
+        return pagination != null ? pagination.getCursor() : null;
+    }
+    
+    public boolean isIncludeTotal() {
+        return pagination == null || !Boolean.FALSE.equals(pagination.getIncludeTotal());
+    }
+    
+    public QuestionView getView() {
+        return view != null ? view : QuestionView.FULL;
+    }
+    
     public String getSortBy() {
         return sorting != null ? sorting.getField() : "createdAt";
     }
@@ -66,6 +83,10 @@ public class QuestionSearchRequestDto {
         return criteria != null ? criteria.getSearchText() : null;
     }
     
+    public QuestionSearchMode getSearchMode() {
+        return criteria != null && criteria.getSearchMode() != null ? criteria.getSearchMode() : QuestionSearchMode.LIKE;
+    }
+    
     public DifficultyLevel getDifficultyLevel() {
         return criteria != null ? criteria.getDifficultyLevel() : null;
     }
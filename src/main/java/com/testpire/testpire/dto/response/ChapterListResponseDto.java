@@ -4,15 +4,19 @@ import java.util.List;
 
 public record ChapterListResponseDto(
         List<ChapterResponseDto> chapters,
-        int totalCount
+        Integer totalCount,
+        String nextCursor
 ) {
     public static ChapterListResponseDto of(List<ChapterResponseDto> chapters) {
-        return new ChapterListResponseDto(chapters, chapters.size());
+        return new ChapterListResponseDto(chapters, chapters.size(), null);
     }
 
     public static ChapterListResponseDto of(List<ChapterResponseDto> chapters, long totalCount) {
-        return new ChapterListResponseDto(chapters, (int) totalCount);
+        return new ChapterListResponseDto(chapters, (int) totalCount, null);
     }
-}
-
 
+    /** A keyset page; {@code totalCount} is null when the count was skipped. */
+    public static ChapterListResponseDto of(List<ChapterResponseDto> chapters, Long totalCount, String nextCursor) {
+        return new ChapterListResponseDto(chapters, totalCount == null ? null : totalCount.intValue(), nextCursor);
+    }
+}
@@ -50,6 +50,12 @@ public record ChapterResponseDto(
                     null
         );
     }
+
+    /** This chapter with {@code topics} as its expanded children. */
+    public ChapterResponseDto withTopics(List<TopicResponseDto> topics) {
+        return new ChapterResponseDto(id, name, description, code, subjectId, instituteId, orderIndex, duration,
+                objectives, createdAt, updatedAt, createdBy, updatedBy, topics);
+    }
 }
 
 
@@ -4,15 +4,19 @@ import java.util.List;
 
 public record CourseListResponseDto(
         List<CourseResponseDto> courses,
-        int totalCount
+        Integer totalCount,
+        String nextCursor
 ) {
     public static CourseListResponseDto of(List<CourseResponseDto> courses) {
-        return new CourseListResponseDto(courses, courses.size());
+        return new CourseListResponseDto(courses, courses.size(), null);
     }
     
     public static CourseListResponseDto of(List<CourseResponseDto> courses, long totalCount) {
-        return new CourseListResponseDto(courses, (int) totalCount);
+        return new CourseListResponseDto(courses, (int) totalCount, null);
     }
-}
-
 
+    /** A keyset page; {@code totalCount} is null when the count was skipped. */
+    public static CourseListResponseDto of(List<CourseResponseDto> courses, Long totalCount, String nextCursor) {
+        return new CourseListResponseDto(courses, totalCount == null ? null : totalCount.intValue(), nextCursor);
+    }
+}
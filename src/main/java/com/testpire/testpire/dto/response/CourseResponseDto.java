@@ -51,6 +51,12 @@ public record CourseResponseDto(
                     null
         );
     }
+
+    /** This course with {@code subjects} as its expanded children. */
+    public CourseResponseDto withSubjects(List<SubjectResponseDto> subjects) {
+        return new CourseResponseDto(id, name, description, code, instituteId, duration, level, prerequisites,
+                fee, createdAt, updatedAt, createdBy, updatedBy, subjects);
+    }
 }
 
 
@@ -8,20 +8,27 @@ public record InstituteListResponseDto(
     List<InstituteResponseDto> institutes,
     int totalCount,
     int page,
-    int size
+    Integer size,
+    String nextCursor
 ) {
     public static InstituteListResponseDto success(List<InstituteResponseDto> institutes, int totalCount, int page, int size) {
+        return success(institutes, totalCount, page, size, null);
+    }
+
+    /** Keyset variant: {@code size} is null when the total count was skipped. */
+    public static InstituteListResponseDto success(List<InstituteResponseDto> institutes, int totalCount, int page, Integer size, String nextCursor) {
         return new InstituteListResponseDto(
             "Institutes retrieved successfully",
             true,
             institutes,
             totalCount,
             page,
-            size
+            size,
+            nextCursor
         );
     }
     
     public static InstituteListResponseDto error(String message) {
-        return new InstituteListResponseDto(message, false, List.of(), 0, 0, 0);
+        return new InstituteListResponseDto(message, false, List.of(), 0, 0, 0, null);
     }
 }
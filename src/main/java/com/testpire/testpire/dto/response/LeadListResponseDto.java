@@ -8,20 +8,27 @@ public record LeadListResponseDto(
     List<LeadResponseDto> leads,
     int totalCount,
     int page,
-    int size
+    Integer size,
+    String nextCursor
 ) {
     public static LeadListResponseDto success(List<LeadResponseDto> leads, int totalCount, int page, int size) {
+        return success(leads, totalCount, page, size, null);
+    }
+
+    /** Keyset variant: {@code size} is null when the total count was skipped. */
+    public static LeadListResponseDto success(List<LeadResponseDto> leads, int totalCount, int page, Integer size, String nextCursor) {
         return new LeadListResponseDto(
             "Leads retrieved successfully",
             true,
             leads,
             totalCount,
             page,
-            size
+            size,
+            nextCursor
         );
     }
 
     public static LeadListResponseDto error(String message) {
-        return new LeadListResponseDto(message, false, List.of(), 0, 0, 0);
+        return new LeadListResponseDto(message, false, List.of(), 0, 0, 0, null);
     }
 }
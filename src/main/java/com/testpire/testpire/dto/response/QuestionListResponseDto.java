@@ -1,13 +1,16 @@
 package com.testpire.testpire.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 
 import java.util.List;
 
 @Builder
 public record QuestionListResponseDto(
-    List<QuestionResponseDto> questions,
-    Long totalCount
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<QuestionResponseDto> questions,
+    @JsonInclude(JsonInclude.Include.NON_NULL) List<QuestionSummaryDto> summaries,
+    Long totalCount,
+    String nextCursor
 ) {}
 
 
@@ -0,0 +1,19 @@
+package com.testpire.testpire.dto.response;
+
+import com.testpire.testpire.enums.DifficultyLevel;
+
+/**
+ * One row of a {@code view=summary} question listing. {@code snippet} is the first
+ * {@value #SNIPPET_LENGTH} characters of the question text, cut in the database.
+ */
+public record QuestionSummaryDto(
+    Long id,
+    String externalId,
+    String snippet,
+    DifficultyLevel difficultyLevel,
+    Integer marks,
+    Long topicId,
+    String topicName
+) {
+    public static final int SNIPPET_LENGTH = 160;
+}
@@ -8,20 +8,27 @@ public record StudentListResponseDto(
     List<StudentResponseDto> students,
     int totalCount,
     int page,
-    int size
+    Integer size,
+    String nextCursor
 ) {
     public static StudentListResponseDto success(List<StudentResponseDto> students, int totalCount, int page, int size) {
+        return success(students, totalCount, page, size, null);
+    }
+
+    /** Keyset variant: {@code size} is null when the total count was skipped. */
+    public static StudentListResponseDto success(List<StudentResponseDto> students, int totalCount, int page, Integer size, String nextCursor) {
         return new StudentListResponseDto(
             "Students retrieved successfully",
             true,
             students,
             totalCount,
             page,
-            size
+            size,
+            nextCursor
         );
     }
     
     public static StudentListResponseDto error(String message) {
-        return new StudentListResponseDto(message, false, List.of(), 0, 0, 0);
+        return new StudentListResponseDto(message, false, List.of(), 0, 0, 0, null);
     }
 }
@@ -4,15 +4,19 @@ import java.util.List;
 
 public record SubjectListResponseDto(
         List<SubjectResponseDto> subjects,
-        int totalCount
+        Integer totalCount,
+        String nextCursor
 ) {
     public static SubjectListResponseDto of(List<SubjectResponseDto> subjects) {
-        return new SubjectListResponseDto(subjects, subjects.size());
+        return new SubjectListResponseDto(subjects, subjects.size(), null);
     }
 
     public static SubjectListResponseDto of(List<SubjectResponseDto> subjects, long totalCount) {
-        return new SubjectListResponseDto(subjects, (int) totalCount);
+        return new SubjectListResponseDto(subjects, (int) totalCount, null);
     }
-}
-
 
+    /** A keyset page; {@code totalCount} is null when the count was skipped. */
+    public static SubjectListResponseDto of(List<SubjectResponseDto> subjects, Long totalCount, String nextCursor) {
+        return new SubjectListResponseDto(subjects, totalCount == null ? null : totalCount.intValue(), nextCursor);
+    }
+}
@@ -28,6 +28,26 @@ public record SubjectResponseDto(
         return fromEntity(subject, Set.of());
     }
 
+    /** Without children, with the linked course ids supplied (so {@code subject.courses} is not loaded). */
+    public static SubjectResponseDto fromEntity(Subject subject, List<Long> courseIds) {
+        return new SubjectResponseDto(
+                subject.getId(),
+                subject.getName(),
+                subject.getDescription(),
+                subject.getCode(),
+                courseIds,
+                subject.getInstituteId(),
+                subject.getDuration(),
+                subject.getCredits(),
+                subject.getPrerequisites(),
+                subject.getCreatedAt(),
+                subject.getUpdatedAt(),
+                subject.getCreatedBy(),
+                subject.getUpdatedBy(),
+                null
+        );
+    }
+
     public static SubjectResponseDto fromEntity(Subject subject, Set<String> includes) {
         return new SubjectResponseDto(
                 subject.getId(),
@@ -52,6 +72,12 @@ public record SubjectResponseDto(
                     null
         );
     }
+
+    /** This subject with {@code chapters} as its expanded children. */
+    public SubjectResponseDto withChapters(List<ChapterResponseDto> chapters) {
+        return new SubjectResponseDto(id, name, description, code, courseIds, instituteId, duration, credits,
+                prerequisites, createdAt, updatedAt, createdBy, updatedBy, chapters);
+    }
 }
 
 
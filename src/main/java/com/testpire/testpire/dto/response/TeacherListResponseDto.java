@@ -8,20 +8,27 @@ public record TeacherListResponseDto(
     List<TeacherResponseDto> teachers,
     int totalCount,
     int page,
-    int size
+    Integer size,
+    String nextCursor
 ) {
     public static TeacherListResponseDto success(List<TeacherResponseDto> teachers, int totalCount, int page, int size) {
+        return success(teachers, totalCount, page, size, null);
+    }
+
+    /** Keyset variant: {@code size} is null when the total count was skipped. */
+    public static TeacherListResponseDto success(List<TeacherResponseDto> teachers, int totalCount, int page, Integer size, String nextCursor) {
         return new TeacherListResponseDto(
             "Teachers retrieved successfully",
             true,
             teachers,
             totalCount,
             page,
-            size
+            size,
+            nextCursor
         );
     }
     
     public static TeacherListResponseDto error(String message) {
-        return new TeacherListResponseDto(message, false, List.of(), 0, 0, 0);
+        return new TeacherListResponseDto(message, false, List.of(), 0, 0, 0, null);
     }
 }
@@ -0,0 +1,41 @@
+package com.testpire.testpire.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Staff analytics for a test over its graded attempts: score distribution and per-question difficulty.
+ * Percentiles are interpolated from the 5%-wide score histogram, so they are accurate to within one
+ * bucket. Rates are null when their denominator is zero.
+ */
+public record TestAnalyticsResponseDto(
+        Long testId,
+        BigDecimal totalMarks,
+        long gradedAttempts,
+        long passedAttempts,
+        BigDecimal passRate,
+        BigDecimal averageScore,
+        // p25, p50 (median), p75, p90 of the score.
+        Percentiles percentiles,
+        List<ScoreBucket> histogram,
+        // In test order.
+        List<QuestionStat> questions
+) {
+    public record Percentiles(BigDecimal p25, BigDecimal p50, BigDecimal p75, BigDecimal p90) {}
+
+    /** Attempts scoring in {@code [fromScore, toScore)} ({@code toScore} inclusive for the top bucket). */
+    public record ScoreBucket(BigDecimal fromScore, BigDecimal toScore, long attempts) {}
+
+    public record QuestionStat(
+            Long questionId,
+            long attempted,
+            long correct,
+            // attempted / graded attempts.
+            BigDecimal attemptRate,
+            // correct / attempted.
+            BigDecimal accuracy,
+            // correct / graded attempts — the classical item difficulty index p (higher = easier).
+            BigDecimal difficultyIndex,
+            BigDecimal averageMarks
+    ) {}
+}
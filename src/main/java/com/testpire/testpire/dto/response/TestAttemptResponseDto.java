@@ -8,8 +8,9 @@ import java.util.List;
 
 /**
  * A student's attempt. While IN_PROGRESS this carries the question list (for taking the test) with
- * score fields null; once graded it carries the score and — if the test enables {@code showAnswers} —
- * the per-question correctness. {@code questions} may be null in summary contexts.
+ * score fields null; once graded ({@link AttemptStatus#isGraded}) it carries the score and — if the
+ * test enables {@code showAnswers} — the per-question correctness. A GRADING_FAILED or VOIDED attempt
+ * is finished but ungraded: score fields stay null. {@code questions} may be null in summary contexts.
  */
 public record TestAttemptResponseDto(
         Long attemptId,
@@ -7,8 +7,9 @@ import java.time.Instant;
 import java.util.List;
 
 /**
- * Staff view of every student's marks for a test. One {@link StudentResult} per student who has
- * attempted it (students who never started are absent).
+ * Staff view of students' marks for a test, one keyset page at a time. One {@link StudentResult} per
+ * attempt (students who never started are absent); {@code studentCount} is the number of rows on this
+ * page. {@code nextCursor} fetches the next page and is null on the last one.
  */
 public record TestResultResponseDto(
         Long testId,
@@ -16,7 +17,8 @@ public record TestResultResponseDto(
         BigDecimal totalMarks,
         BigDecimal passingMarks,
         int studentCount,
-        List<StudentResult> results
+        List<StudentResult> results,
+        String nextCursor
 ) {
     public record StudentResult(
             Long studentUserId,
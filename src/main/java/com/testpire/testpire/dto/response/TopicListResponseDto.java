@@ -4,15 +4,19 @@ import java.util.List;
 
 public record TopicListResponseDto(
         List<TopicResponseDto> topics,
-        int totalCount
+        Integer totalCount,
+        String nextCursor
 ) {
     public static TopicListResponseDto of(List<TopicResponseDto> topics) {
-        return new TopicListResponseDto(topics, topics.size());
+        return new TopicListResponseDto(topics, topics.size(), null);
     }
 
     public static TopicListResponseDto of(List<TopicResponseDto> topics, long totalCount) {
-        return new TopicListResponseDto(topics, (int) totalCount);
+        return new TopicListResponseDto(topics, (int) totalCount, null);
     }
-}
-
 
+    /** A keyset page; {@code totalCount} is null when the count was skipped. */
+    public static TopicListResponseDto of(List<TopicResponseDto> topics, Long totalCount, String nextCursor) {
+        return new TopicListResponseDto(topics, totalCount == null ? null : totalCount.intValue(), nextCursor);
+    }
+}
@@ -0,0 +1,11 @@
+package com.testpire.testpire.dto.response;
+
+import java.util.List;
+
+/** One page of an upload job's errors, in row order. */
+public record UploadJobErrorListResponseDto(
+        List<String> errors,
+        Integer page,
+        Integer size,
+        Long totalCount
+) {}
@@ -0,0 +1,37 @@
+package com.testpire.testpire.dto.response;
+
+import com.testpire.testpire.entity.UploadJob;
+import com.testpire.testpire.enums.UploadJobKind;
+import com.testpire.testpire.enums.UploadJobStatus;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous upload. {@code processedRows} only moves when a chunk commits, so it
+ * never counts a row that a restart would have to redo. {@code errorCount} includes warnings (e.g.
+ * failed image fetches), so it can exceed {@code failedRows}; the messages are paged separately.
+ */
+public record UploadJobResponseDto(
+        Long jobId,
+        UploadJobKind kind,
+        UploadJobStatus status,
+        String fileName,
+        Integer totalRows,
+        Integer processedRows,
+        Integer succeededRows,
+        Integer failedRows,
+        Long errorCount,
+        Integer percentComplete,
+        String failureReason,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt
+) {
+    public static UploadJobResponseDto fromEntity(UploadJob job, long errorCount) {
+        int percent = job.getTotalRows() == 0 ? 100 : (int) (100L * job.getProcessedRows() / job.getTotalRows());
+        return new UploadJobResponseDto(job.getId(), job.getKind(), job.getStatus(), job.getFileName(),
+                job.getTotalRows(), job.getProcessedRows(), job.getSucceededRows(), job.getFailedRows(),
+                errorCount, percent, job.getFailureReason(), job.getCreatedAt(), job.getStartedAt(),
+                job.getFinishedAt());
+    }
+}
@@ -46,6 +46,13 @@ public class Question {
     @JoinColumn(name = "topic_id", nullable = false)
     private Topic topic;
 
+    // Curriculum path of the topic, maintained by PostgreSQL triggers (V34) for indexed search filters.
+    @Column(name = "chapter_id", insertable = false, updatable = false)
+    private Long chapterId;
+
+    @Column(name = "subject_id", insertable = false, updatable = false)
+    private Long subjectId;
+
     @Column(name = "correct_option_id")
     private Long correctOptionId;
 
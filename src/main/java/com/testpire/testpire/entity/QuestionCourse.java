@@ -0,0 +1,38 @@
+package com.testpire.testpire.entity;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * Read-only projection: one row per course a {@link Question} belongs to through its subject.
+ * Maintained by database triggers (V34), never written by the application; it lets the course
+ * filter of the question search be a single indexed lookup.
+ */
+@Entity
+@Immutable
+@IdClass(QuestionCourse.Key.class)
+@Table(name = ApplicationConstants.Database.QUESTION_COURSES_TABLE)
+@Getter
+@NoArgsConstructor
+public class QuestionCourse {
+
+    @Id
+    @Column(name = "question_id")
+    private Long questionId;
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long questionId;
+        private Long courseId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.testpire.testpire.entity;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Read-only view of a {@link Question}'s full-text document, the V33 generated {@code search_vector}
+ * column. Kept off {@link Question} so that loading a question never reads the tsvector; the search
+ * predicates reach it through a subquery on the primary key.
+ */
+@Entity
+@Immutable
+@Table(name = ApplicationConstants.Database.QUESTION_TABLE)
+@Getter
+@NoArgsConstructor
+public class QuestionSearchDocument {
+
+    @Id
+    private Long id;
+
+    @Column(name = "search_vector", columnDefinition = "tsvector", insertable = false, updatable = false)
+    private String searchVector;
+}
@@ -71,6 +71,15 @@ public class TestAttempt {
 
     private Boolean passed;
 
+    /** Consecutive failed auto-submits by the deadline sweep; reset by a regrade. */
+    @Builder.Default
+    @Column(name = "grading_failures", nullable = false)
+    private Integer gradingFailures = 0;
+
+    /** After a failed auto-submit, the sweep leaves the attempt alone until this time. */
+    @Column(name = "next_grading_at")
+    private Instant nextGradingAt;
+
     @Builder.Default
     @OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TestAttemptAnswer> answers = new ArrayList<>();
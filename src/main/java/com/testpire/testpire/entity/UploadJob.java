@@ -0,0 +1,92 @@
+package com.testpire.testpire.entity;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import com.testpire.testpire.enums.UploadJobKind;
+import com.testpire.testpire.enums.UploadJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An asynchronous CSV upload. The file lives at {@link #spoolPath} until the job finishes;
+ * {@link #processedRows} counts the data rows already committed, which is where a resumed job picks
+ * up. Progress is written with bulk updates (see {@code UploadJobRepository}), not through this entity.
+ */
+@Entity
+@Table(name = ApplicationConstants.Database.UPLOAD_JOBS_TABLE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = ApplicationConstants.Database.INSTITUTE_ID_COLUMN, nullable = false)
+    private Long instituteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadJobKind kind;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private UploadJobStatus status = UploadJobStatus.QUEUED;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "spool_path", nullable = false)
+    private String spoolPath;
+
+    /** Non-blank data rows in the file, counted while spooling. */
+    @Builder.Default
+    @Column(name = "total_rows", nullable = false)
+    private Integer totalRows = 0;
+
+    @Builder.Default
+    @Column(name = "processed_rows", nullable = false)
+    private Integer processedRows = 0;
+
+    @Builder.Default
+    @Column(name = "succeeded_rows", nullable = false)
+    private Integer succeededRows = 0;
+
+    @Builder.Default
+    @Column(name = "failed_rows", nullable = false)
+    private Integer failedRows = 0;
+
+    /** Number of times a worker has claimed the job; the fencing token of its progress writes. */
+    @Builder.Default
+    @Column(name = "claim_count", nullable = false)
+    private Integer claimCount = 0;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    /** Why a FAILED job stopped; null otherwise. */
+    @Column(name = "failure_reason")
+    private String failureReason;
+
+    @Column(name = ApplicationConstants.Database.CREATED_BY_COLUMN)
+    private String createdBy;
+
+    @Builder.Default
+    @Column(name = ApplicationConstants.Database.CREATED_AT_COLUMN)
+    private Instant createdAt = Instant.now();
+
+    @Builder.Default
+    @Column(name = ApplicationConstants.Database.UPDATED_AT_COLUMN)
+    private Instant updatedAt = Instant.now();
+
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
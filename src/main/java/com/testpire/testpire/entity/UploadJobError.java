@@ -0,0 +1,26 @@
+package com.testpire.testpire.entity;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import jakarta.persistence.*;
+import lombok.*;
+
+/** One row error or warning of an {@link UploadJob}, worded as in the synchronous upload responses. */
+@Entity
+@Table(name = ApplicationConstants.Database.UPLOAD_JOB_ERRORS_TABLE)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(nullable = false)
+    private String message;
+}
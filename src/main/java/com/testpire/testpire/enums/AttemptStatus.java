@@ -6,11 +6,24 @@ package com.testpire.testpire.enums;
  * <ul>
  *   <li>{@code IN_PROGRESS} — started, answers may still be saved (until {@code expires_at}).</li>
  *   <li>{@code SUBMITTED} — submitted by the student before the deadline.</li>
- *   <li>{@code AUTO_SUBMITTED} — the deadline passed; finalized lazily on the next read.</li>
+ *   <li>{@code AUTO_SUBMITTED} — the deadline passed and the attempt was graded as it stood, by the
+ *       deadline sweep or by whichever read reached it first.</li>
  *   <li>{@code GRADED} — scoring complete (set together with SUBMITTED/AUTO_SUBMITTED for
  *       objective-only tests, which grade synchronously).</li>
+ *   <li>{@code GRADING_FAILED} — the deadline passed but auto-grading kept throwing; no score. The
+ *       deadline sweep retries with backoff first and gives up only after repeated failures; staff
+ *       can regrade it.</li>
+ *   <li>{@code VOIDED} — the deadline passed but the test no longer exists; never graded.</li>
  * </ul>
  */
 public enum AttemptStatus {
-    IN_PROGRESS, SUBMITTED, AUTO_SUBMITTED, GRADED
+    IN_PROGRESS, SUBMITTED, AUTO_SUBMITTED, GRADED, GRADING_FAILED, VOIDED;
+
+    /** Whether an attempt in this status carries a score. GRADING_FAILED and VOIDED never do. */
+    public boolean isGraded() {
+        return switch (this) {
+            case SUBMITTED, AUTO_SUBMITTED, GRADED -> true;
+            case IN_PROGRESS, GRADING_FAILED, VOIDED -> false;
+        };
+    }
 }
@@ -0,0 +1,20 @@
+package com.testpire.testpire.enums;
+
+/**
+ * Where a {@link com.testpire.testpire.annotation.ConditionalGet} endpoint gets its ETag from.
+ * <ul>
+ *   <li>{@code CURRICULUM} – the caller's institute {@code curriculum_version}; institute-scoped reads only.</li>
+ *   <li>{@code TEST} – the test's {@code updated_at}, which question curation and question edits also move.</li>
+ *   <li>{@code ATTEMPT} – a finished attempt's status plus its test's {@code updated_at}. An in-progress
+ *       attempt still changes with every saved answer and with the clock, so it falls back to {@code CONTENT}.</li>
+ *   <li>{@code CONTENT} – a hash of the response body. Saves the transfer but not the service work.</li>
+ * </ul>
+ * The first three are read with one indexed query before the handler runs. When they cannot produce a
+ * tag, e.g. for an unscoped super-admin read or an unknown id, the response body is hashed instead.
+ */
+public enum ETagSource {
+    CURRICULUM,
+    TEST,
+    ATTEMPT,
+    CONTENT
+}
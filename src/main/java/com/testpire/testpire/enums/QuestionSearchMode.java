@@ -0,0 +1,20 @@
+package com.testpire.testpire.enums;
+
+/**
+ * How {@code searchText} of a question search is matched.
+ * <ul>
+ *   <li>{@code LIKE} – case-insensitive substring of text, question type or explanation (default).</li>
+ *   <li>{@code FTS} – full-text match with stemming and {@code "phrase"}/{@code or}/{@code -word} syntax, ranked by relevance.</li>
+ *   <li>{@code FUZZY} – typo-tolerant word similarity on the question text, ranked by similarity.</li>
+ * </ul>
+ */
+public enum QuestionSearchMode {
+    LIKE,
+    FTS,
+    FUZZY;
+
+    /** Whether results are ordered by match quality before the requested sort. */
+    public boolean isRanked() {
+        return this != LIKE;
+    }
+}
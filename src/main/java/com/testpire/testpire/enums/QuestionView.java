@@ -0,0 +1,14 @@
+package com.testpire.testpire.enums;
+
+/**
+ * Shape of the rows a question listing returns.
+ * <ul>
+ *   <li>{@code FULL} – complete {@code QuestionResponseDto}s with options, explanation and audit fields (default).</li>
+ *   <li>{@code SUMMARY} – id, external id, a text snippet, difficulty, marks and topic only, selected as
+ *       columns without loading entities; meant for pickers such as the test builder.</li>
+ * </ul>
+ */
+public enum QuestionView {
+    FULL,
+    SUMMARY
+}
@@ -0,0 +1,13 @@
+package com.testpire.testpire.enums;
+
+/**
+ * What an {@link com.testpire.testpire.entity.UploadJob} imports.
+ * <ul>
+ *   <li>{@code QUESTIONS} – a question CSV, as for {@code POST /api/questions/bulk-upload}.</li>
+ *   <li>{@code CURRICULUM} – a subject/chapter/topic CSV, as for {@code POST /api/curriculum/bulk-upload}.</li>
+ * </ul>
+ */
+public enum UploadJobKind {
+    QUESTIONS,
+    CURRICULUM
+}
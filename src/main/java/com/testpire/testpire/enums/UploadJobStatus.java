@@ -0,0 +1,17 @@
+package com.testpire.testpire.enums;
+
+/**
+ * Lifecycle of an {@link com.testpire.testpire.entity.UploadJob}.
+ *
+ * <ul>
+ *   <li>{@code QUEUED} — the file is spooled and waiting for a worker.</li>
+ *   <li>{@code RUNNING} — a worker holds the job; {@code heartbeat_at} moves with every committed chunk.
+ *       A running job whose heartbeat goes stale (e.g. its node restarted) is claimed again and resumes
+ *       after its last committed chunk.</li>
+ *   <li>{@code COMPLETED} — every row was processed; row-level failures are in the job's errors.</li>
+ *   <li>{@code FAILED} — the job could not run to the end (unreadable or missing file).</li>
+ * </ul>
+ */
+public enum UploadJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
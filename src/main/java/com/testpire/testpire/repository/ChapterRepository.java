@@ -14,6 +14,8 @@ public interface ChapterRepository extends JpaRepository<Chapter, Long>, JpaSpec
     Optional<Chapter> findByIdAndInstituteId(Long id, Long instituteId);
     boolean existsByCodeAndInstituteId(String code, Long instituteId);
     List<Chapter> findBySubjectIdOrderByOrderIndex(Long subjectId);
+
+    List<Chapter> findByInstituteIdOrderByOrderIndexAscIdAsc(Long instituteId);
 }
 
 
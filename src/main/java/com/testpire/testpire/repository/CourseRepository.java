@@ -3,6 +3,8 @@ package com.testpire.testpire.repository;
 import com.testpire.testpire.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,10 @@ public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecif
     Optional<Course> findByCodeAndInstituteId(String code, Long instituteId);
     Optional<Course> findByIdAndInstituteId(Long id, Long instituteId);
     boolean existsByCodeAndInstituteId(String code, Long instituteId);
+
+    /** (course id, subject id) of every course/subject link in the institute. */
+    @Query("SELECT c.id, s.id FROM Course c JOIN c.subjects s WHERE c.instituteId = :instituteId ORDER BY c.id, s.id")
+    List<Object[]> findSubjectLinksByInstituteId(@Param("instituteId") Long instituteId);
 }
 
 
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +22,13 @@ public interface InstituteRepository extends JpaRepository<Institute, Long>, Jpa
     boolean existsByCode(String code);
     
     boolean existsByEmail(String email);
+
+    /** Current curriculum version of the institute (V35); empty if the institute does not exist. */
+    @Query(value = "SELECT curriculum_version FROM institutes WHERE id = :id", nativeQuery = true)
+    Optional<Long> findCurriculumVersion(@Param("id") Long id);
+
+    /** Moves the institute's curriculum to a new version; call inside the transaction making the change. */
+    @Modifying
+    @Query(value = "UPDATE institutes SET curriculum_version = curriculum_version + 1 WHERE id = :id", nativeQuery = true)
+    int bumpCurriculumVersion(@Param("id") Long id);
 } 
\ No newline at end of file
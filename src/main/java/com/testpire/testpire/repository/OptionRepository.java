@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +17,21 @@ public interface OptionRepository extends JpaRepository<Option, Long>, JpaSpecif
     @Query("SELECT o FROM Option o WHERE o.question.id = :questionId ORDER BY o.optionOrder")
     List<Option> findByQuestionIdOrderByOptionOrder(@Param("questionId") Long questionId);
 
+    /** Options of a page of questions in one query, grouped by question and in option order. */
+    @Query("SELECT o FROM Option o WHERE o.question.id IN :questionIds ORDER BY o.question.id, o.optionOrder")
+    List<Option> findByQuestionIdIn(@Param("questionIds") Collection<Long> questionIds);
+
     @Query("SELECT o FROM Option o WHERE o.id = :id AND o.question.id = :questionId")
     Optional<Option> findByIdAndQuestionId(@Param("id") Long id, @Param("questionId") Long questionId);
 
     @Query("SELECT o FROM Option o WHERE o.question.id = :questionId AND o.isCorrect = true")
     List<Option> findCorrectOptionsByQuestionId(@Param("questionId") Long questionId);
 
+    /** Every option of every question in a test, in one query (the answer key is built from these). */
+    @Query("SELECT o FROM Option o WHERE o.question.id IN "
+            + "(SELECT tq.question.id FROM TestQuestion tq WHERE tq.test.id = :testId)")
+    List<Option> findByTestId(@Param("testId") Long testId);
+
     @Query("SELECT COUNT(o) FROM Option o WHERE o.question.id = :questionId")
     Long countByQuestionId(@Param("questionId") Long questionId);
 
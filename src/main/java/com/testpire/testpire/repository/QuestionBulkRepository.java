@@ -0,0 +1,31 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.TextFormat;
+
+import java.util.List;
+
+/**
+ * Set-based write path for bulk question imports. Each write is a JDBC batch that bypasses the
+ * persistence context, so callers re-read the questions to get entities.
+ */
+public interface QuestionBulkRepository {
+
+    /**
+     * Writes one chunk of imported questions in a fixed number of batches, whatever the chunk size.
+     * Rows with an {@code id} overwrite that question's fields and replace all of its options. Rows
+     * without one are inserted under ids reserved from the table's sequence. The first correct option
+     * becomes each question's {@code correct_option_id}. Must run inside a transaction.
+     *
+     * @return the question id of every row, in order
+     */
+    List<Long> writeImportedQuestions(List<ImportedQuestion> rows, String actor);
+
+    /** One validated CSV row; {@code id} is the existing question matched by external id, or null. */
+    record ImportedQuestion(Long id, String externalId, String text, String questionImagePath,
+                            DifficultyLevel difficultyLevel, Long topicId, Long instituteId, String questionType,
+                            Integer marks, Integer negativeMarks, String explanation, TextFormat textFormat,
+                            List<ImportedOption> options) {}
+
+    record ImportedOption(String text, String optionImagePath, boolean isCorrect) {}
+}
@@ -0,0 +1,119 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@RequiredArgsConstructor
+class QuestionBulkRepositoryImpl implements QuestionBulkRepository {
+
+    private static final String QUESTIONS = ApplicationConstants.Database.QUESTION_TABLE;
+    private static final String OPTIONS = ApplicationConstants.Database.OPTION_TABLE;
+
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+    // chapter_id / subject_id are filled by the V34 trigger, search_vector is generated (V33).
+    private static final String INSERT_QUESTION_SQL = "INSERT INTO " + QUESTIONS
+            + " (id, external_id, text, question_image_path, difficulty_level, topic_id, institute_id, question_type,"
+            + " marks, negative_marks, explanation, text_format, created_at, updated_at, created_by)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_QUESTION_SQL = "UPDATE " + QUESTIONS
+            + " SET text = ?, question_image_path = ?, difficulty_level = ?, topic_id = ?, question_type = ?,"
+            + " marks = ?, negative_marks = ?, explanation = ?, text_format = ?, updated_at = ?, updated_by = ?"
+            + " WHERE id = ?";
+    private static final String DELETE_OPTIONS_SQL = "DELETE FROM " + OPTIONS + " WHERE question_id = ANY (?)";
+    private static final String INSERT_OPTION_SQL = "INSERT INTO " + OPTIONS
+            + " (id, text, option_image_path, question_id, option_order, is_correct, created_at, updated_at, created_by)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SET_CORRECT_OPTION_SQL = "UPDATE " + QUESTIONS + " SET correct_option_id = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> writeImportedQuestions(List<ImportedQuestion> rows, String actor) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        List<ImportedQuestion> inserts = rows.stream().filter(r -> r.id() == null).toList();
+        List<ImportedQuestion> updates = rows.stream().filter(r -> r.id() != null).toList();
+
+        Iterator<Long> newIds = reserveIds(QUESTIONS, inserts.size()).iterator();
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (ImportedQuestion row : rows) {
+            ids.add(row.id() != null ? row.id() : newIds.next());
+        }
+
+        List<Object[]> insertArgs = new ArrayList<>(inserts.size());
+        List<Object[]> updateArgs = new ArrayList<>(updates.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportedQuestion row = rows.get(i);
+            if (row.id() == null) {
+                insertArgs.add(new Object[]{ids.get(i), row.externalId(), row.text(), row.questionImagePath(),
+                        row.difficultyLevel().name(), row.topicId(), row.instituteId(), row.questionType(),
+                        row.marks(), row.negativeMarks(), row.explanation(), row.textFormat().name(), now, now, actor});
+            } else {
+                updateArgs.add(new Object[]{row.text(), row.questionImagePath(), row.difficultyLevel().name(),
+                        row.topicId(), row.questionType(), row.marks(), row.negativeMarks(), row.explanation(),
+                        row.textFormat().name(), now, actor, row.id()});
+            }
+        }
+        if (!insertArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_QUESTION_SQL, insertArgs);
+        }
+        if (!updateArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_QUESTION_SQL, updateArgs);
+            // Replaced wholesale, as QuestionService does; ON DELETE SET NULL clears correct_option_id (V28).
+            Long[] updatedIds = updates.stream().map(ImportedQuestion::id).toArray(Long[]::new);
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(DELETE_OPTIONS_SQL);
+                ps.setArray(1, con.createArrayOf("bigint", updatedIds));
+                return ps;
+            });
+        }
+
+        int optionCount = rows.stream().mapToInt(r -> r.options().size()).sum();
+        Iterator<Long> optionIds = reserveIds(OPTIONS, optionCount).iterator();
+        List<Object[]> optionArgs = new ArrayList<>(optionCount);
+        List<Object[]> correctArgs = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Long questionId = ids.get(i);
+            Long correctOptionId = null;
+            int order = 0;
+            for (ImportedOption option : rows.get(i).options()) {
+                Long optionId = optionIds.next();
+                optionArgs.add(new Object[]{optionId, option.text(), option.optionImagePath(), questionId,
+                        ++order, option.isCorrect(), now, now, actor});
+                if (option.isCorrect() && correctOptionId == null) {
+                    correctOptionId = optionId;
+                }
+            }
+            if (correctOptionId != null) {
+                correctArgs.add(new Object[]{correctOptionId, questionId});
+            }
+        }
+        if (!optionArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPTION_SQL, optionArgs);
+        }
+        if (!correctArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(SET_CORRECT_OPTION_SQL, correctArgs, new int[]{Types.BIGINT, Types.BIGINT});
+        }
+        return ids;
+    }
+
+    /** {@code count} fresh ids from the table's {@code BIGSERIAL} sequence, in one round trip. */
+    private List<Long> reserveIds(String table, int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(RESERVE_IDS_SQL, (rs, n) -> rs.getLong(1), table, count);
+    }
+}
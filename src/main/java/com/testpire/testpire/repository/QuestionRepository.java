@@ -2,6 +2,10 @@ package com.testpire.testpire.repository;
 
 import com.testpire.testpire.entity.Question;
 import com.testpire.testpire.enums.DifficultyLevel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
@@ -9,17 +13,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question> {
+public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSpecificationExecutor<Question>,
+        QuestionRepositoryCustom, QuestionBulkRepository {
     
+    @EntityGraph(attributePaths = "topic")
     @Query("SELECT q FROM Question q WHERE q.topic.id = :topicId AND q.instituteId = :instituteId")
     List<Question> findByTopicIdAndInstituteId(@Param("topicId") Long topicId, @Param("instituteId") Long instituteId);
 
+    @EntityGraph(attributePaths = "topic")
     List<Question> findByInstituteId(Long instituteId);
 
+    /** Search pages render the topic name of every row, so fetch it with the page instead of per row. */
+    @Override
+    @EntityGraph(attributePaths = "topic")
+    Page<Question> findAll(Specification<Question> spec, Pageable pageable);
+
     /** Bulk-delete every question (and, via DB cascade, its options) for an institute. Used by institute teardown. */
     @Modifying
     @Query("DELETE FROM Question q WHERE q.instituteId = :instituteId")
@@ -34,6 +47,15 @@ public interface QuestionRepository extends JpaRepository<Question, Long>, JpaSp
 
     Optional<Question> findByInstituteIdAndExternalId(Long instituteId, String externalId);
 
+    /** (external id, question id) of the institute's questions among {@code externalIds}; bulk-import matching. */
+    @Query("SELECT q.externalId, q.id FROM Question q WHERE q.instituteId = :instituteId AND q.externalId IN :externalIds")
+    List<Object[]> findIdsByInstituteIdAndExternalIdIn(@Param("instituteId") Long instituteId,
+                                                       @Param("externalIds") Collection<String> externalIds);
+
+    @EntityGraph(attributePaths = "topic")
+    List<Question> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "topic")
     @Query("SELECT q FROM Question q WHERE q.topic.id = :topicId")
     List<Question> findByTopicId(@Param("topicId") Long topicId);
 
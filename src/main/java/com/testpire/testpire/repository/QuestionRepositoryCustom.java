@@ -0,0 +1,29 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.dto.response.QuestionSummaryDto;
+import com.testpire.testpire.entity.Question;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Question listings that select {@link QuestionSummaryDto} columns directly (question text cut to a
+ * snippet in SQL, topic name via join) instead of hydrating {@link Question} entities and their
+ * options.
+ */
+public interface QuestionRepositoryCustom {
+
+    /**
+     * Summary rows of {@code spec} in {@code pageable}'s sort order, limited to its page when paged.
+     * A specification that orders the query itself (relevance ranking) keeps its order when the
+     * pageable is unsorted.
+     */
+    List<SummaryRow> findSummaries(Specification<Question> spec, Pageable pageable);
+
+    /**
+     * A summary row plus the value of the first sort property, which a keyset cursor needs and the
+     * summary may not contain ({@code null} for unsorted queries).
+     */
+    record SummaryRow(QuestionSummaryDto summary, Object sortKey) {}
+}
@@ -0,0 +1,90 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.dto.response.QuestionSummaryDto;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.enums.DifficultyLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class QuestionRepositoryImpl implements QuestionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SummaryRow> findSummaries(Specification<Question> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Question> root = query.from(Question.class);
+        Join<Question, Topic> topic = root.join("topic");
+
+        List<Selection<?>> columns = new ArrayList<>(List.of(
+                root.get("id"),
+                root.get("externalId"),
+                cb.substring(root.get("text"), 1, QuestionSummaryDto.SNIPPET_LENGTH),
+                root.get("difficultyLevel"),
+                root.get("marks"),
+                topic.get("id"),
+                topic.get("name")));
+        Sort sort = pageable.getSort();
+        if (sort.isSorted()) {
+            columns.add(path(root, sort.iterator().next().getProperty()));
+        }
+        query.multiselect(columns);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            List<Order> orders = new ArrayList<>();
+            for (Sort.Order order : sort) {
+                Path<?> path = path(root, order.getProperty());
+                orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+            }
+            query.orderBy(orders);
+        }
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed.getResultList().stream()
+                .map(t -> new SummaryRow(new QuestionSummaryDto(
+                        t.get(0, Long.class),
+                        t.get(1, String.class),
+                        t.get(2, String.class),
+                        t.get(3, DifficultyLevel.class),
+                        t.get(4, Integer.class),
+                        t.get(5, Long.class),
+                        t.get(6, String.class)),
+                        sort.isSorted() ? t.get(7) : null))
+                .toList();
+    }
+
+    private static Path<?> path(Root<Question> root, String property) {
+        Path<?> path = root;
+        for (String part : property.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+}
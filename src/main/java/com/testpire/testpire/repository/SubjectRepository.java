@@ -13,6 +13,8 @@ public interface SubjectRepository extends JpaRepository<Subject, Long>, JpaSpec
     Optional<Subject> findByCodeAndInstituteId(String code, Long instituteId);
     Optional<Subject> findByIdAndInstituteId(Long id, Long instituteId);
     boolean existsByCodeAndInstituteId(String code, Long instituteId);
+
+    List<Subject> findByInstituteIdOrderById(Long instituteId);
 }
 
 
@@ -2,17 +2,38 @@ package com.testpire.testpire.repository;
 
 import com.testpire.testpire.entity.TestAttemptAnswer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TestAttemptAnswerRepository extends JpaRepository<TestAttemptAnswer, Long> {
+public interface TestAttemptAnswerRepository extends JpaRepository<TestAttemptAnswer, Long>,
+        TestAttemptAnswerRepositoryCustom {
 
     List<TestAttemptAnswer> findByAttemptId(Long attemptId);
 
     Optional<TestAttemptAnswer> findByAttemptIdAndQuestionId(Long attemptId, Long questionId);
 
     boolean existsByQuestionId(Long questionId);
+
+    /**
+     * Inserts the answer or overwrites the selection of the existing one in a single statement. Safe
+     * under double-clicks: concurrent saves of the same question resolve on the unique
+     * (attempt_id, question_id) constraint instead of failing on it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO test_attempt_answers (attempt_id, question_id, selected_option_ids, answered_at) "
+            + "VALUES (:attemptId, :questionId, :selectedOptionIds, :answeredAt) "
+            + "ON CONFLICT (attempt_id, question_id) DO UPDATE "
+            + "SET selected_option_ids = EXCLUDED.selected_option_ids, answered_at = EXCLUDED.answered_at",
+            nativeQuery = true)
+    int upsertAnswer(@Param("attemptId") Long attemptId,
+                     @Param("questionId") Long questionId,
+                     @Param("selectedOptionIds") String selectedOptionIds,
+                     @Param("answeredAt") Instant answeredAt);
 }
@@ -0,0 +1,37 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.entity.TestAttemptAnswer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/** Bulk write paths for {@link TestAttemptAnswer} that bypass per-entity dirty checking. */
+public interface TestAttemptAnswerRepositoryCustom {
+
+    /**
+     * Writes the grades of already-persisted answers with a single JDBC batch update. Pending answer
+     * changes are flushed first; the answers are then given their grades and detached, so Hibernate
+     * does not re-issue one UPDATE per row at commit. Callers re-read answers to get managed copies.
+     */
+    void batchUpdateGrades(List<AnswerGrade> grades);
+
+    /**
+     * Inserts or overwrites (by attempt + question) the selection of each answer in one JDBC batch,
+     * without touching the persistence context. Used to flush the write-behind answer buffer.
+     */
+    void batchUpsertAnswers(List<AnswerUpsert> answers);
+
+    /**
+     * Multi-row variant of {@code upsertAnswer}: one {@code INSERT ... VALUES (...), (...) ON CONFLICT}
+     * statement for the whole list (chunked only past the driver's bind-parameter limit). When a
+     * question appears more than once, the last entry wins.
+     */
+    void upsertAnswers(List<AnswerUpsert> answers);
+
+    /** New grading fields for one answer. */
+    record AnswerGrade(TestAttemptAnswer answer, Boolean isCorrect, BigDecimal marksAwarded) {}
+
+    /** Latest selection for one (attempt, question); {@code selectedOptionIds} is the stored CSV, null = cleared. */
+    record AnswerUpsert(Long attemptId, Long questionId, String selectedOptionIds, Instant answeredAt) {}
+}
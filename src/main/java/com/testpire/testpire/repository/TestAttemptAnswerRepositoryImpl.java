@@ -0,0 +1,100 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class TestAttemptAnswerRepositoryImpl implements TestAttemptAnswerRepositoryCustom {
+
+    private static final String UPDATE_GRADE_SQL = "UPDATE " + ApplicationConstants.Database.TEST_ATTEMPT_ANSWERS_TABLE
+            + " SET is_correct = ?, marks_awarded = ? WHERE id = ?";
+
+    private static final String UPSERT_ANSWER_PREFIX = "INSERT INTO " + ApplicationConstants.Database.TEST_ATTEMPT_ANSWERS_TABLE
+            + " (attempt_id, question_id, selected_option_ids, answered_at) VALUES ";
+    private static final String UPSERT_ANSWER_SUFFIX = " ON CONFLICT (attempt_id, question_id) DO UPDATE"
+            + " SET selected_option_ids = EXCLUDED.selected_option_ids, answered_at = EXCLUDED.answered_at";
+    private static final String UPSERT_ANSWER_SQL = UPSERT_ANSWER_PREFIX + "(?, ?, ?, ?)" + UPSERT_ANSWER_SUFFIX;
+    /** PostgreSQL caps a statement at 32767 bind parameters; four per row. */
+    private static final int MAX_ROWS_PER_STATEMENT = 8000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void batchUpdateGrades(List<AnswerGrade> grades) {
+        if (grades.isEmpty()) {
+            return;
+        }
+        // Push pending answer edits (e.g. submit's batched answers) before writing around Hibernate.
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(UPDATE_GRADE_SQL, grades, grades.size(), (ps, grade) -> {
+            if (grade.isCorrect() == null) {
+                ps.setNull(1, Types.BOOLEAN);
+            } else {
+                ps.setBoolean(1, grade.isCorrect());
+            }
+            ps.setBigDecimal(2, grade.marksAwarded());
+            ps.setLong(3, grade.answer().getId());
+        });
+        for (AnswerGrade grade : grades) {
+            entityManager.detach(grade.answer());
+            grade.answer().setIsCorrect(grade.isCorrect());
+            grade.answer().setMarksAwarded(grade.marksAwarded());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void batchUpsertAnswers(List<AnswerUpsert> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_ANSWER_SQL, answers, answers.size(), (ps, answer) -> {
+            ps.setLong(1, answer.attemptId());
+            ps.setLong(2, answer.questionId());
+            ps.setString(3, answer.selectedOptionIds());
+            ps.setTimestamp(4, Timestamp.from(answer.answeredAt()));
+        });
+    }
+
+    @Override
+    @Transactional
+    public void upsertAnswers(List<AnswerUpsert> answers) {
+        // One statement may not touch the same (attempt, question) twice, so keep only the last entry.
+        Map<List<Long>, AnswerUpsert> latest = new LinkedHashMap<>();
+        for (AnswerUpsert answer : answers) {
+            latest.remove(List.of(answer.attemptId(), answer.questionId()));
+            latest.put(List.of(answer.attemptId(), answer.questionId()), answer);
+        }
+        List<AnswerUpsert> rows = new ArrayList<>(latest.values());
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AnswerUpsert> chunk = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            String sql = UPSERT_ANSWER_PREFIX
+                    + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?)"))
+                    + UPSERT_ANSWER_SUFFIX;
+            jdbcTemplate.update(sql, ps -> {
+                int i = 1;
+                for (AnswerUpsert row : chunk) {
+                    ps.setLong(i++, row.attemptId());
+                    ps.setLong(i++, row.questionId());
+                    ps.setString(i++, row.selectedOptionIds());
+                    ps.setTimestamp(i++, Timestamp.from(row.answeredAt()));
+                }
+            });
+        }
+    }
+}
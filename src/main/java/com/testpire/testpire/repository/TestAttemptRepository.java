@@ -1,17 +1,20 @@
 package com.testpire.testpire.repository;
 
 import com.testpire.testpire.entity.TestAttempt;
+import com.testpire.testpire.enums.AttemptStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TestAttemptRepository extends JpaRepository<TestAttempt, Long> {
+public interface TestAttemptRepository extends JpaRepository<TestAttempt, Long>, TestAttemptRepositoryCustom {
 
     /** Bulk-delete every attempt (and, via DB cascade, its answers) for an institute. Used by institute teardown. */
     @Modifying
@@ -29,4 +32,98 @@ public interface TestAttemptRepository extends JpaRepository<TestAttempt, Long>
     Optional<TestAttempt> findByIdAndInstituteId(Long id, Long instituteId);
 
     int countByTestIdAndStudentUserId(Long testId, Long studentUserId);
+
+    /**
+     * One row per test the student has attempted among {@code testIds}: how many attempts they have
+     * used and the id of the in-progress one, if any. Replaces a per-test attempt lookup on the
+     * available-tests dashboard. Served by idx_test_attempts_student_test (V31).
+     */
+    @Query("""
+            SELECT a.testId AS testId, COUNT(a) AS attemptsUsed,
+                   MAX(CASE WHEN a.status = com.testpire.testpire.enums.AttemptStatus.IN_PROGRESS THEN a.id END) AS inProgressAttemptId
+            FROM TestAttempt a
+            WHERE a.studentUserId = :studentUserId AND a.testId IN :testIds
+            GROUP BY a.testId
+            """)
+    List<AttemptTally> tallyByStudentAndTests(@Param("studentUserId") Long studentUserId,
+                                              @Param("testIds") Collection<Long> testIds);
+
+    /**
+     * Claims up to {@code limit} IN_PROGRESS attempts whose deadline has passed, oldest first, row-locking
+     * them for the rest of the transaction. {@code SKIP LOCKED} lets several nodes (or workers) sweep
+     * concurrently without claiming the same rows. Attempts backing off after a failed auto-submit
+     * ({@code next_grading_at}, V37) are skipped until it passes. Served by
+     * idx_test_attempts_status_expires_at (V30).
+     */
+    @Query(value = "SELECT * FROM test_attempts WHERE status = 'IN_PROGRESS' AND expires_at < :now "
+            + "AND (next_grading_at IS NULL OR next_grading_at < :now) "
+            + "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TestAttempt> claimExpired(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Moves the attempt out of IN_PROGRESS, but only if it is still IN_PROGRESS; returns the rows
+     * changed. The update row-locks the attempt, so when two transactions finalize it at once (the
+     * deadline sweeper and a lazy read, or a double submit) the second blocks until the first commits,
+     * then changes nothing. Only the caller that gets 1 may grade.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TestAttempt a SET a.status = :status, a.submittedAt = :submittedAt
+            WHERE a.id = :id AND a.status = com.testpire.testpire.enums.AttemptStatus.IN_PROGRESS
+            """)
+    int finalizeIfInProgress(@Param("id") Long id, @Param("status") AttemptStatus status,
+                             @Param("submittedAt") Instant submittedAt);
+
+    /**
+     * Records a failed auto-submit of a still-IN_PROGRESS attempt: its consecutive failure count, and
+     * when {@link #claimExpired} may pick it up again.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TestAttempt a SET a.gradingFailures = :failures, a.nextGradingAt = :retryAt
+            WHERE a.id = :id AND a.status = com.testpire.testpire.enums.AttemptStatus.IN_PROGRESS
+            """)
+    int deferGrading(@Param("id") Long id, @Param("failures") int failures, @Param("retryAt") Instant retryAt);
+
+    /**
+     * Moves a GRADING_FAILED attempt to {@code status} for a regrade, clearing its failure count;
+     * returns the rows changed. Conditional like {@link #finalizeIfInProgress}, so two concurrent
+     * regrades cannot both grade it.
+     */
+    @Modifying
+    @Query("""
+            UPDATE TestAttempt a SET a.status = :status, a.gradingFailures = 0, a.nextGradingAt = NULL
+            WHERE a.id = :id AND a.status = com.testpire.testpire.enums.AttemptStatus.GRADING_FAILED
+            """)
+    int reopenFailedGrading(@Param("id") Long id, @Param("status") AttemptStatus status);
+
+    /**
+     * Status of the student's attempt and the {@code updated_at} of its test, which together version
+     * a finished attempt's view. Empty when the attempt does not belong to the student, identified by
+     * the JWT principal ({@code cognito_user_id}).
+     */
+    @Query("""
+            SELECT a.status AS status, t.updatedAt AS testUpdatedAt
+            FROM TestAttempt a, Test t, User u
+            WHERE a.id = :attemptId AND t.id = a.testId AND u.id = a.studentUserId
+              AND u.cognitoUserId = :cognitoUserId
+            """)
+    Optional<AttemptVersion> findVersion(@Param("attemptId") Long attemptId,
+                                         @Param("cognitoUserId") String cognitoUserId);
+
+    /** Per-test attempt summary for one student; see {@link #tallyByStudentAndTests}. */
+    interface AttemptTally {
+        Long getTestId();
+
+        long getAttemptsUsed();
+
+        Long getInProgressAttemptId();
+    }
+
+    /** See {@link #findVersion}. */
+    interface AttemptVersion {
+        AttemptStatus getStatus();
+
+        Instant getTestUpdatedAt();
+    }
 }
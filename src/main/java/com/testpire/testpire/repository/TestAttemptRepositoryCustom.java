@@ -0,0 +1,37 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
+import com.testpire.testpire.entity.TestAttempt;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read paths over {@code test_attempts} joined to {@code users} that return result rows directly,
+ * without loading attempt or user entities. Rows are ordered by (student, attempt number), which is
+ * the {@code uq_test_attempt} index order. {@link #refresh} is here because Spring Data repositories
+ * do not expose {@code EntityManager.refresh}.
+ */
+public interface TestAttemptRepositoryCustom {
+
+    /**
+     * Up to {@code limit} result rows of the test that sort after {@code after} (null = from the
+     * start). Keyset pagination: every page is one index range scan, however deep.
+     */
+    List<StudentResult> findResultsPage(Long testId, ResultKey after, int limit);
+
+    /**
+     * Feeds every result row of the test to {@code sink} from a server-side cursor, so memory use does
+     * not grow with the number of attempts. Must run inside a transaction (the cursor needs one).
+     */
+    void streamResults(Long testId, Consumer<StudentResult> sink);
+
+    /**
+     * Re-reads a managed attempt from the database, e.g. after {@code finalizeIfInProgress} found that
+     * another transaction finalized it first. A plain find would return the stale managed instance.
+     */
+    void refresh(TestAttempt attempt);
+
+    /** Position of a result row in (student, attempt number) order. */
+    record ResultKey(Long studentUserId, Integer attemptNumber) {}
+}
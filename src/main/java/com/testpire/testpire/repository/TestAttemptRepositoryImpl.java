@@ -0,0 +1,78 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
+import com.testpire.testpire.entity.TestAttempt;
+import com.testpire.testpire.enums.AttemptStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+class TestAttemptRepositoryImpl implements TestAttemptRepositoryCustom {
+
+    private static final String RESULTS_SQL = "SELECT a.student_user_id, u.username, u.first_name, u.last_name,"
+            + " a.id, a.attempt_number, a.status, a.score, a.max_score, a.passed, a.submitted_at"
+            + " FROM " + ApplicationConstants.Database.TEST_ATTEMPTS_TABLE + " a"
+            + " LEFT JOIN " + ApplicationConstants.Database.USERS_TABLE + " u ON u.id = a.student_user_id"
+            + " WHERE a.test_id = ?";
+    private static final String ORDER_BY = " ORDER BY a.student_user_id, a.attempt_number";
+    /** Rows per round trip while streaming; the driver only uses a cursor when this is set (and autocommit is off). */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<StudentResult> findResultsPage(Long testId, ResultKey after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(RESULTS_SQL + ORDER_BY + " LIMIT ?",
+                    (rs, n) -> mapResult(rs), testId, limit);
+        }
+        return jdbcTemplate.query(RESULTS_SQL + " AND (a.student_user_id, a.attempt_number) > (?, ?)" + ORDER_BY + " LIMIT ?",
+                (rs, n) -> mapResult(rs), testId, after.studentUserId(), after.attemptNumber(), limit);
+    }
+
+    @Override
+    public void streamResults(Long testId, Consumer<StudentResult> sink) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(RESULTS_SQL + ORDER_BY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+            ps.setLong(1, testId);
+            return ps;
+        }, (RowCallbackHandler) rs -> sink.accept(mapResult(rs)));
+    }
+
+    @Override
+    public void refresh(TestAttempt attempt) {
+        entityManager.refresh(attempt);
+    }
+
+    private static StudentResult mapResult(ResultSet rs) throws SQLException {
+        String username = rs.getString("username");
+        String name = username == null ? null
+                : (rs.getString("first_name") + " " + rs.getString("last_name")).trim();
+        Timestamp submittedAt = rs.getTimestamp("submitted_at");
+        return new StudentResult(
+                rs.getLong("student_user_id"),
+                username,
+                name,
+                rs.getLong("id"),
+                rs.getInt("attempt_number"),
+                AttemptStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("score"),
+                rs.getBigDecimal("max_score"),
+                rs.getObject("passed", Boolean.class),
+                submittedAt == null ? null : submittedAt.toInstant());
+    }
+}
@@ -2,8 +2,11 @@ package com.testpire.testpire.repository;
 
 import com.testpire.testpire.entity.TestQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +15,16 @@ public interface TestQuestionRepository extends JpaRepository<TestQuestion, Long
 
     List<TestQuestion> findByTestIdOrderBySortOrderAsc(Long testId);
 
+    /** Same as {@link #findByTestIdOrderBySortOrderAsc} with each question fetched in the same query. */
+    @Query("SELECT tq FROM TestQuestion tq JOIN FETCH tq.question WHERE tq.test.id = :testId ORDER BY tq.sortOrder ASC")
+    List<TestQuestion> findByTestIdWithQuestions(@Param("testId") Long testId);
+
+    @Query("SELECT tq.test.id FROM TestQuestion tq WHERE tq.question.id = :questionId")
+    List<Long> findTestIdsByQuestionId(@Param("questionId") Long questionId);
+
+    @Query("SELECT DISTINCT tq.test.id FROM TestQuestion tq WHERE tq.question.id IN :questionIds")
+    List<Long> findTestIdsByQuestionIdIn(@Param("questionIds") Collection<Long> questionIds);
+
     Optional<TestQuestion> findByTestIdAndQuestionId(Long testId, Long questionId);
 
     boolean existsByTestIdAndQuestionId(Long testId, Long questionId);
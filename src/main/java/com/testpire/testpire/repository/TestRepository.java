@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +20,28 @@ public interface TestRepository extends JpaRepository<Test, Long>, JpaSpecificat
 
     List<Test> findByInstituteId(Long instituteId);
 
+    /** The test's version for conditional GETs, without loading the entity. */
+    @Query("SELECT t.updatedAt FROM Test t WHERE t.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT t.updatedAt FROM Test t WHERE t.id = :id AND t.instituteId = :instituteId")
+    Optional<Instant> findUpdatedAtByIdAndInstituteId(@Param("id") Long id, @Param("instituteId") Long instituteId);
+
     /** Bulk-delete every test (and, via DB cascade, its test_questions) for an institute. Used by institute teardown. */
     @Modifying
     @Query("DELETE FROM Test t WHERE t.instituteId = :instituteId")
     void deleteByInstituteId(@Param("instituteId") Long instituteId);
+
+    /**
+     * Bumps {@code updated_at} of every test containing the question, so cached answer keys built
+     * from the old question (on any node) no longer match the test's version.
+     */
+    @Modifying
+    @Query("UPDATE Test t SET t.updatedAt = :now WHERE t.id IN "
+            + "(SELECT tq.test.id FROM TestQuestion tq WHERE tq.question.id = :questionId)")
+    int touchByQuestionId(@Param("questionId") Long questionId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE Test t SET t.updatedAt = :now WHERE t.id IN :testIds")
+    int touchByIds(@Param("testIds") Collection<Long> testIds, @Param("now") Instant now);
 }
@@ -0,0 +1,127 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.enums.AttemptStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to the analytics aggregates of V32 ({@code test_stats}, {@code test_score_buckets},
+ * {@code test_question_stats}). Writes are additive upserts, so deltas from any number of nodes can be
+ * applied in any order; {@link #rebuild} recomputes a test's rows from the raw attempt tables.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TestStatsRepository {
+
+    private static final String ADD_TEST_SQL = "INSERT INTO test_stats"
+            + " (test_id, graded_attempts, passed_attempts, score_sum, updated_at) VALUES (?, ?, ?, ?, ?)"
+            + " ON CONFLICT (test_id) DO UPDATE SET"
+            + " graded_attempts = test_stats.graded_attempts + EXCLUDED.graded_attempts,"
+            + " passed_attempts = test_stats.passed_attempts + EXCLUDED.passed_attempts,"
+            + " score_sum = test_stats.score_sum + EXCLUDED.score_sum,"
+            + " updated_at = EXCLUDED.updated_at";
+    private static final String ADD_BUCKET_SQL = "INSERT INTO test_score_buckets (test_id, bucket, attempts) VALUES (?, ?, ?)"
+            + " ON CONFLICT (test_id, bucket) DO UPDATE SET attempts = test_score_buckets.attempts + EXCLUDED.attempts";
+    private static final String ADD_QUESTION_SQL = "INSERT INTO test_question_stats"
+            + " (test_id, question_id, attempted, correct, marks_sum) VALUES (?, ?, ?, ?, ?)"
+            + " ON CONFLICT (test_id, question_id) DO UPDATE SET"
+            + " attempted = test_question_stats.attempted + EXCLUDED.attempted,"
+            + " correct = test_question_stats.correct + EXCLUDED.correct,"
+            + " marks_sum = test_question_stats.marks_sum + EXCLUDED.marks_sum";
+
+    /**
+     * Attempts that carry a score ({@link AttemptStatus#isGraded}), i.e. exactly those the incremental
+     * path records. GRADING_FAILED and VOIDED attempts are finished but never graded, so they must not
+     * land in bucket 0 with a score of 0 here.
+     */
+    private static final String GRADED = Arrays.stream(AttemptStatus.values())
+            .filter(AttemptStatus::isGraded)
+            .map(status -> "'" + status.name() + "'")
+            .collect(Collectors.joining(", ", "status IN (", ")"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Adds the deltas to the stored counters, one JDBC batch per table. */
+    @Transactional
+    public void add(List<TestTotals> tests, List<BucketCount> buckets, List<QuestionTotals> questions) {
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(ADD_TEST_SQL, tests, tests.size(), (ps, t) -> {
+            ps.setLong(1, t.testId());
+            ps.setLong(2, t.gradedAttempts());
+            ps.setLong(3, t.passedAttempts());
+            ps.setBigDecimal(4, t.scoreSum());
+            ps.setTimestamp(5, now);
+        });
+        jdbcTemplate.batchUpdate(ADD_BUCKET_SQL, buckets, buckets.size(), (ps, b) -> {
+            ps.setLong(1, b.testId());
+            ps.setInt(2, b.bucket());
+            ps.setLong(3, b.attempts());
+        });
+        jdbcTemplate.batchUpdate(ADD_QUESTION_SQL, questions, questions.size(), (ps, q) -> {
+            ps.setLong(1, q.testId());
+            ps.setLong(2, q.questionId());
+            ps.setLong(3, q.attempted());
+            ps.setLong(4, q.correct());
+            ps.setBigDecimal(5, q.marksSum());
+        });
+    }
+
+    public Optional<TestTotals> findTotals(Long testId) {
+        return jdbcTemplate.query("SELECT test_id, graded_attempts, passed_attempts, score_sum FROM test_stats WHERE test_id = ?",
+                (rs, n) -> new TestTotals(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getBigDecimal(4)),
+                testId).stream().findFirst();
+    }
+
+    public List<BucketCount> findBuckets(Long testId) {
+        return jdbcTemplate.query("SELECT test_id, bucket, attempts FROM test_score_buckets WHERE test_id = ? ORDER BY bucket",
+                (rs, n) -> new BucketCount(rs.getLong(1), rs.getInt(2), rs.getLong(3)), testId);
+    }
+
+    public List<QuestionTotals> findQuestionTotals(Long testId) {
+        return jdbcTemplate.query("SELECT test_id, question_id, attempted, correct, marks_sum FROM test_question_stats WHERE test_id = ?",
+                (rs, n) -> new QuestionTotals(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getBigDecimal(5)),
+                testId);
+    }
+
+    /**
+     * Replaces the test's aggregates with values recomputed from {@code test_attempts} and
+     * {@code test_attempt_answers}. A full scan of the test's answers: meant for repair, not reads.
+     * {@code buckets} must match the incremental path's bucket count.
+     */
+    @Transactional
+    public void rebuild(Long testId, int buckets) {
+        jdbcTemplate.update("DELETE FROM test_stats WHERE test_id = ?", testId);
+        jdbcTemplate.update("DELETE FROM test_score_buckets WHERE test_id = ?", testId);
+        jdbcTemplate.update("DELETE FROM test_question_stats WHERE test_id = ?", testId);
+        jdbcTemplate.update("INSERT INTO test_stats (test_id, graded_attempts, passed_attempts, score_sum, updated_at)"
+                + " SELECT test_id, COUNT(*), COUNT(*) FILTER (WHERE passed), COALESCE(SUM(score), 0), CURRENT_TIMESTAMP"
+                + " FROM test_attempts WHERE test_id = ? AND " + GRADED + " GROUP BY test_id", testId);
+        jdbcTemplate.update("INSERT INTO test_score_buckets (test_id, bucket, attempts)"
+                + " SELECT test_id, bucket, COUNT(*) FROM ("
+                + "   SELECT test_id, CASE WHEN COALESCE(max_score, 0) <= 0 THEN 0"
+                + "     ELSE LEAST(FLOOR(COALESCE(score, 0) * ? / max_score), ? - 1) END AS bucket"
+                + "   FROM test_attempts WHERE test_id = ? AND " + GRADED
+                + " ) s GROUP BY test_id, bucket", buckets, buckets, testId);
+        jdbcTemplate.update("INSERT INTO test_question_stats (test_id, question_id, attempted, correct, marks_sum)"
+                + " SELECT a.test_id, ans.question_id, COUNT(*) FILTER (WHERE ans.is_correct IS NOT NULL),"
+                + " COUNT(*) FILTER (WHERE ans.is_correct), COALESCE(SUM(ans.marks_awarded), 0)"
+                + " FROM test_attempt_answers ans JOIN test_attempts a ON a.id = ans.attempt_id"
+                + " WHERE a.test_id = ? AND a." + GRADED + " GROUP BY a.test_id, ans.question_id", testId);
+    }
+
+    public record TestTotals(long testId, long gradedAttempts, long passedAttempts, BigDecimal scoreSum) {}
+
+    public record BucketCount(long testId, int bucket, long attempts) {}
+
+    public record QuestionTotals(long testId, long questionId, long attempted, long correct, BigDecimal marksSum) {}
+}
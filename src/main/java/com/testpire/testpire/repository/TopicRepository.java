@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +23,16 @@ public interface TopicRepository extends JpaRepository<Topic, Long>, JpaSpecific
     Optional<Topic> findByIdWithHierarchy(@Param("id") Long id);
     boolean existsByCodeAndInstituteId(String code, Long instituteId);
     List<Topic> findByChapterIdOrderByOrderIndex(Long chapterId);
+
+    List<Topic> findByInstituteIdOrderByOrderIndexAscIdAsc(Long instituteId);
+
+    // Bulk topic resolution for question imports: which ids / codes exist in the institute.
+    @Query("SELECT t.id FROM Topic t WHERE t.instituteId = :instituteId AND t.id IN :ids")
+    List<Long> findIdsByInstituteIdAndIdIn(@Param("instituteId") Long instituteId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.code, t.id FROM Topic t WHERE t.instituteId = :instituteId AND t.code IN :codes")
+    List<Object[]> findIdsByInstituteIdAndCodeIn(@Param("instituteId") Long instituteId,
+                                                 @Param("codes") Collection<String> codes);
     
     // Advanced search with multiple filters
     @Query("SELECT DISTINCT t FROM Topic t " +
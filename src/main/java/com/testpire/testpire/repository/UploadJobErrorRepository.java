@@ -0,0 +1,15 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.entity.UploadJobError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UploadJobErrorRepository extends JpaRepository<UploadJobError, Long>, UploadJobErrorRepositoryCustom {
+
+    Page<UploadJobError> findByJobIdOrderByIdAsc(Long jobId, Pageable pageable);
+
+    long countByJobId(Long jobId);
+}
@@ -0,0 +1,9 @@
+package com.testpire.testpire.repository;
+
+import java.util.List;
+
+public interface UploadJobErrorRepositoryCustom {
+
+    /** Appends the messages to the job's errors in one JDBC batch, keeping their order. */
+    void appendAll(Long jobId, List<String> messages);
+}
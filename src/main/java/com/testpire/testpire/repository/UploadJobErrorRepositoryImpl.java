@@ -0,0 +1,27 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.constants.ApplicationConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class UploadJobErrorRepositoryImpl implements UploadJobErrorRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO " + ApplicationConstants.Database.UPLOAD_JOB_ERRORS_TABLE
+            + " (job_id, message) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(Long jobId, List<String> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setLong(1, jobId);
+            ps.setString(2, message);
+        });
+    }
+}
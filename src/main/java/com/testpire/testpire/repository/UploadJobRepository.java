@@ -0,0 +1,87 @@
+package com.testpire.testpire.repository;
+
+import com.testpire.testpire.entity.UploadJob;
+import com.testpire.testpire.enums.UploadJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, Long> {
+
+    Optional<UploadJob> findByIdAndInstituteId(Long id, Long instituteId);
+
+    /** Jobs a worker may claim, oldest first: queued ones, and running ones whose heartbeat is stale. */
+    @Query("""
+            SELECT j.id FROM UploadJob j
+            WHERE j.status = com.testpire.testpire.enums.UploadJobStatus.QUEUED
+               OR (j.status = com.testpire.testpire.enums.UploadJobStatus.RUNNING AND j.heartbeatAt < :staleBefore)
+            ORDER BY j.id
+            """)
+    List<Long> findClaimableIds(@Param("staleBefore") Instant staleBefore, Pageable limit);
+
+    /**
+     * Takes the job for the calling worker if it is still claimable (see {@link #findClaimableIds}).
+     * Returns 1 if the claim succeeded; the job's {@code claimCount} is then the caller's fencing token.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE UploadJob j
+            SET j.status = com.testpire.testpire.enums.UploadJobStatus.RUNNING,
+                j.claimCount = j.claimCount + 1, j.heartbeatAt = :now, j.updatedAt = :now,
+                j.startedAt = COALESCE(j.startedAt, :now)
+            WHERE j.id = :id
+              AND (j.status = com.testpire.testpire.enums.UploadJobStatus.QUEUED
+                   OR (j.status = com.testpire.testpire.enums.UploadJobStatus.RUNNING AND j.heartbeatAt < :staleBefore))
+            """)
+    int claim(@Param("id") Long id, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
+
+    /**
+     * Adds one committed chunk to the job's counters and moves its heartbeat. Matches nothing (returns
+     * 0) once another worker has re-claimed the job, so the caller must roll back the chunk's errors.
+     */
+    @Modifying
+    @Query("""
+            UPDATE UploadJob j
+            SET j.processedRows = j.processedRows + :processed, j.succeededRows = j.succeededRows + :succeeded,
+                j.failedRows = j.failedRows + :failed, j.heartbeatAt = :now, j.updatedAt = :now
+            WHERE j.id = :id AND j.claimCount = :claim
+              AND j.status = com.testpire.testpire.enums.UploadJobStatus.RUNNING
+            """)
+    int recordChunk(@Param("id") Long id, @Param("claim") int claim, @Param("processed") int processed,
+                    @Param("succeeded") int succeeded, @Param("failed") int failed, @Param("now") Instant now);
+
+    /**
+     * Moves the job's heartbeat while a chunk is still being imported, so a long chunk does not let
+     * the job go stale. Returns 0 once another worker has re-claimed the job.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE UploadJob j
+            SET j.heartbeatAt = :now
+            WHERE j.id = :id AND j.claimCount = :claim
+              AND j.status = com.testpire.testpire.enums.UploadJobStatus.RUNNING
+            """)
+    int heartbeat(@Param("id") Long id, @Param("claim") int claim, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE UploadJob j
+            SET j.status = :status, j.failureReason = :reason, j.finishedAt = :now, j.updatedAt = :now
+            WHERE j.id = :id AND j.claimCount = :claim
+            """)
+    int finish(@Param("id") Long id, @Param("claim") int claim,
+               @Param("status") UploadJobStatus status,
+               @Param("reason") String reason, @Param("now") Instant now);
+}
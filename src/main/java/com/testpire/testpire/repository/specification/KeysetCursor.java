@@ -0,0 +1,42 @@
+package com.testpire.testpire.repository.specification;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the sort key of that row plus its id, which breaks
+ * ties. Clients only ever see {@link #encode()}d tokens; the sort it was issued for is part of the
+ * token so it cannot be replayed against a different ordering.
+ *
+ * @param field     sorted property (dotted path allowed, e.g. {@code user.createdAt})
+ * @param direction sort direction of the page
+ * @param value     the row's sort key as text, {@code null} when the column was null
+ * @param id        the row's id
+ */
+public record KeysetCursor(String field, Sort.Direction direction, String value, long id) {
+
+    private static final char SEPARATOR = '\u001f';
+
+    public String encode() {
+        String raw = field + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR
+                + (value == null ? "N" : "V" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Parses a token from {@link #encode()}; anything else is an {@link IllegalArgumentException}. */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+            if (parts.length != 4 || parts[3].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String value = parts[3].charAt(0) == 'N' ? null : parts[3].substring(1);
+            return new KeysetCursor(parts[0], Sort.Direction.valueOf(parts[1]), value, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) { // also covers bad base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.testpire.testpire.repository.specification;
+
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) paging for any {@link JpaSpecificationExecutor} search: rows come ordered by
+ * {@code (field, id)} and each page starts strictly after the {@link KeysetCursor} of the previous
+ * one, so page 500 costs the same index range scan as page 1. The page query fetches
+ * {@code size + 1} rows to learn whether there is a next page, with no OFFSET; the total-count query
+ * runs only when asked for.
+ *
+ * <p>Null sort keys follow PostgreSQL's default placement (last ascending, first descending), so
+ * nullable columns page correctly too.</p>
+ */
+public final class KeysetPagination {
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * One keyset page of {@code spec} ordered by {@code field} then id.
+     *
+     * @param cursorToken  {@code nextCursor} of the previous page; null or blank for the first page
+     * @param includeTotal whether to also run the count query ({@code totalCount} is null otherwise)
+     */
+    public static <T> KeysetPage<T> fetch(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+                                          String field, String direction, String cursorToken,
+                                          int size, boolean includeTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        Sort.Direction dir = Sort.Direction.fromString(direction);
+        Specification<T> pageSpec = seek(spec, field, dir, cursorToken);
+        Sort sort = sort(field, dir);
+        List<T> rows = repository.<T, List<T>>findBy(pageSpec, q -> q.sortBy(sort).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<T> content = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = hasMore ? cursorOf(content.get(size - 1), field, dir).encode() : null;
+        Long totalCount = includeTotal ? repository.count(spec) : null;
+        return new KeysetPage<>(content, nextCursor, totalCount);
+    }
+
+    /**
+     * {@code spec} restricted to the rows after {@code cursorToken} (unchanged for the first page).
+     * For callers that run the page query themselves, e.g. column projections.
+     */
+    public static <T> Specification<T> seek(Specification<T> spec, String field, Sort.Direction direction,
+                                            String cursorToken) {
+        if (!StringUtils.hasText(cursorToken)) {
+            return spec;
+        }
+        KeysetCursor after = KeysetCursor.decode(cursorToken);
+        if (!after.field().equals(field) || after.direction() != direction) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort; start again from the first page");
+        }
+        return spec.and(after(after));
+    }
+
+    /** {@code field} then id, both in {@code direction}: the id makes the order total. */
+    public static Sort sort(String field, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, field);
+        return "id".equals(field) ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    /** Rows strictly after {@code cursor} in {@link #sort} order. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            boolean asc = cursor.direction().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = asc ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if ("id".equals(cursor.field())) {
+                return idAfter;
+            }
+            Path<Comparable> key = (Path<Comparable>) path(root, cursor.field());
+            if (cursor.value() == null) {
+                // Ascending: nulls are last, so only later nulls remain. Descending: nulls come first.
+                Predicate laterNull = cb.and(cb.isNull(key), idAfter);
+                return asc ? laterNull : cb.or(laterNull, cb.isNotNull(key));
+            }
+            Comparable value = parse(key.getJavaType(), cursor.value());
+            Predicate beyond = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate seek = cb.or(beyond, cb.and(cb.equal(key, value), idAfter));
+            return asc ? cb.or(seek, cb.isNull(key)) : seek;
+        };
+    }
+
+    /** The cursor positioned on {@code row}. */
+    public static KeysetCursor cursorOf(Object row, String field, Sort.Direction direction) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Object id = bean.getPropertyValue("id");
+        Object value = bean.getPropertyValue(field);
+        return cursorAt(field, direction, value, ((Number) id).longValue());
+    }
+
+    /** The cursor positioned on the row with sort key {@code value} and {@code id}. */
+    public static KeysetCursor cursorAt(String field, Sort.Direction direction, Object value, long id) {
+        return new KeysetCursor(field, direction, format(value), id);
+    }
+
+    private static Path<?> path(From<?, ?> root, String field) {
+        Path<?> path = root;
+        for (String part : field.split("\\.")) {
+            path = path.get(part);
+        }
+        return path;
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable parse(Class<?> type, String value) {
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Instant.class) {
+                return Instant.parse(value);
+            }
+            if (type == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (type == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(value);
+            }
+            if (type == Integer.class || type == int.class) {
+                return Integer.valueOf(value);
+            }
+            if (type == BigDecimal.class) {
+                return new BigDecimal(value);
+            }
+            if (type == Boolean.class || type == boolean.class) {
+                return Boolean.valueOf(value);
+            }
+            if (type == UUID.class) {
+                return UUID.fromString(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        throw new IllegalArgumentException("Cursor paging is not supported when sorting by " + type.getSimpleName());
+    }
+
+    /**
+     * A keyset page: {@code nextCursor} is null on the last page, {@code totalCount} is null when
+     * it was not requested.
+     */
+    public record KeysetPage<T>(List<T> content, String nextCursor, Long totalCount) {}
+}
@@ -1,8 +1,12 @@
 package com.testpire.testpire.repository.specification;
 
 import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.QuestionCourse;
+import com.testpire.testpire.entity.QuestionSearchDocument;
 import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionSearchMode;
 import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
@@ -21,13 +25,15 @@ public class QuestionSpecification {
         };
     }
 
+    // The curriculum filters read the V34 denormalized columns: each is one indexed predicate and
+    // none joins, so combining them never multiplies rows or joins.
+
     public static Specification<Question> hasTopicId(Long topicId) {
         return (root, query, criteriaBuilder) -> {
             if (topicId == null) {
                 return criteriaBuilder.conjunction();
             }
-            Join<Question, Object> topicJoin = root.join("topic", JoinType.INNER);
-            return criteriaBuilder.equal(topicJoin.get("id"), topicId);
+            return criteriaBuilder.equal(root.get("topic").get("id"), topicId);
         };
     }
 
@@ -36,10 +42,7 @@ public class QuestionSpecification {
             if (subjectId == null) {
                 return criteriaBuilder.conjunction();
             }
-            Join<Question, Object> topicJoin = root.join("topic", JoinType.INNER);
-            Join<Object, Object> chapterJoin = topicJoin.join("chapter", JoinType.INNER);
-            Join<Object, Object> subjectJoin = chapterJoin.join("subject", JoinType.INNER);
-            return criteriaBuilder.equal(subjectJoin.get("id"), subjectId);
+            return criteriaBuilder.equal(root.get("subjectId"), subjectId);
         };
     }
 
@@ -48,9 +51,7 @@ public class QuestionSpecification {
             if (chapterId == null) {
                 return criteriaBuilder.conjunction();
             }
-            Join<Question, Object> topicJoin = root.join("topic", JoinType.INNER);
-            Join<Object, Object> chapterJoin = topicJoin.join("chapter", JoinType.INNER);
-            return criteriaBuilder.equal(chapterJoin.get("id"), chapterId);
+            return criteriaBuilder.equal(root.get("chapterId"), chapterId);
         };
     }
 
@@ -59,12 +60,11 @@ public class QuestionSpecification {
             if (courseId == null) {
                 return criteriaBuilder.conjunction();
             }
-            query.distinct(true);
-            Join<Question, Object> topicJoin = root.join("topic", JoinType.INNER);
-            Join<Object, Object> chapterJoin = topicJoin.join("chapter", JoinType.INNER);
-            Join<Object, Object> subjectJoin = chapterJoin.join("subject", JoinType.INNER);
-            Join<Object, Object> courseJoin = subjectJoin.join("courses", JoinType.INNER);
-            return criteriaBuilder.equal(courseJoin.get("id"), courseId);
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<QuestionCourse> questionCourse = subquery.from(QuestionCourse.class);
+            subquery.select(questionCourse.get("questionId"))
+                    .where(criteriaBuilder.equal(questionCourse.get("courseId"), courseId));
+            return root.get("id").in(subquery);
         };
     }
 
@@ -112,6 +112,77 @@ public class QuestionSpecification {
         };
     }
 
+    /** Matches {@code searchText} the way {@code mode} asks for; see {@link QuestionSearchMode}. */
+    public static Specification<Question> matchesSearchText(String searchText, QuestionSearchMode mode) {
+        return switch (mode) {
+            case LIKE -> hasTextContaining(searchText);
+            case FTS -> hasFullTextMatch(searchText);
+            case FUZZY -> hasFuzzyTextMatch(searchText);
+        };
+    }
+
+    /** Websearch-syntax match against the weighted {@code search_vector} (V33 GIN index). */
+    public static Specification<Question> hasFullTextMatch(String searchText) {
+        return (root, query, criteriaBuilder) -> {
+            if (!StringUtils.hasText(searchText)) {
+                return criteriaBuilder.conjunction();
+            }
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<QuestionSearchDocument> document = subquery.from(QuestionSearchDocument.class);
+            subquery.select(document.get("id"))
+                    .where(criteriaBuilder.isTrue(criteriaBuilder.function("question_fts_match", Boolean.class,
+                            document.get("searchVector"), criteriaBuilder.literal(searchText.trim()))));
+            return root.get("id").in(subquery);
+        };
+    }
+
+    /** Word similarity of {@code searchText} to the question text (V33 trigram index). */
+    public static Specification<Question> hasFuzzyTextMatch(String searchText) {
+        return (root, query, criteriaBuilder) -> {
+            if (!StringUtils.hasText(searchText)) {
+                return criteriaBuilder.conjunction();
+            }
+            return criteriaBuilder.isTrue(criteriaBuilder.function("question_fuzzy_match", Boolean.class,
+                    root.get("text"), criteriaBuilder.literal(searchText.trim())));
+        };
+    }
+
+    /**
+     * Orders by match quality (best first), then by {@code then}. Adds nothing for the LIKE mode or
+     * without search text. The caller must page with an unsorted {@link org.springframework.data.domain.Pageable}:
+     * a sorted one replaces the ORDER BY set here.
+     */
+    public static Specification<Question> orderedByRelevance(String searchText, QuestionSearchMode mode, Sort then) {
+        return (root, query, criteriaBuilder) -> {
+            // The count query of a page shares this specification; it needs no ordering.
+            if (!mode.isRanked() || !StringUtils.hasText(searchText) || Long.class.equals(query.getResultType())) {
+                return criteriaBuilder.conjunction();
+            }
+            Expression<Float> rank = mode == QuestionSearchMode.FTS
+                    ? ftsRank(root, query, criteriaBuilder, searchText.trim())
+                    : criteriaBuilder.function("question_fuzzy_rank", Float.class,
+                            root.get("text"), criteriaBuilder.literal(searchText.trim()));
+            List<Order> orders = new ArrayList<>();
+            orders.add(criteriaBuilder.desc(rank));
+            for (Sort.Order order : then) {
+                Path<Object> path = root.get(order.getProperty());
+                orders.add(order.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+            }
+            query.orderBy(orders);
+            return criteriaBuilder.conjunction();
+        };
+    }
+
+    /** Rank of the question's own search document: a primary-key lookup per ranked row. */
+    private static Expression<Float> ftsRank(Root<Question> root, CriteriaQuery<?> query,
+                                             CriteriaBuilder criteriaBuilder, String searchText) {
+        Subquery<Float> subquery = query.subquery(Float.class);
+        Root<QuestionSearchDocument> document = subquery.from(QuestionSearchDocument.class);
+        return subquery.select(criteriaBuilder.function("question_fts_rank", Float.class,
+                        document.get("searchVector"), criteriaBuilder.literal(searchText)))
+                .where(criteriaBuilder.equal(document.get("id"), root.get("id")));
+    }
+
     public static Specification<Question> hasMarksRange(Integer minMarks, Integer maxMarks) {
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -0,0 +1,153 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.TestQuestion;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable answer key of one test: question order, effective marks / negative marks, and the sorted
+ * option ids and correct option ids of each question, in parallel arrays indexed by position on the
+ * paper. Built from the DB by {@link AnswerKeyCacheService} and shared across threads, so grading an
+ * attempt or validating an answer needs no further reads of test_questions, questions or options.
+ */
+public final class AnswerKey {
+
+    private final Long testId;
+    /** The test's {@code updatedAt} when the key was built; a newer test version makes it stale. */
+    private final Instant version;
+    private final long[] questionIds;
+    private final BigDecimal[] marks;
+    private final BigDecimal[] negativeMarks;
+    private final long[][] optionIds;
+    private final long[][] correctOptionIds;
+    private final Map<Long, Integer> indexByQuestion;
+
+    private AnswerKey(Long testId, Instant version, long[] questionIds, BigDecimal[] marks,
+                      BigDecimal[] negativeMarks, long[][] optionIds, long[][] correctOptionIds) {
+        this.testId = testId;
+        this.version = version;
+        this.questionIds = questionIds;
+        this.marks = marks;
+        this.negativeMarks = negativeMarks;
+        this.optionIds = optionIds;
+        this.correctOptionIds = correctOptionIds;
+        this.indexByQuestion = new HashMap<>(questionIds.length * 2);
+        for (int i = 0; i < questionIds.length; i++) {
+            indexByQuestion.put(questionIds[i], i);
+        }
+    }
+
+    /**
+     * @param testQuestions  the test's questions in paper order, with {@code question} loaded
+     * @param options        every option of those questions
+     */
+    static AnswerKey of(Long testId, Instant version, List<TestQuestion> testQuestions, List<Option> options) {
+        Map<Long, long[]> optionsByQuestion = sortedIdsByQuestion(options);
+        Map<Long, long[]> correctByQuestion = sortedIdsByQuestion(options.stream().filter(Option::isCorrect).toList());
+
+        int n = testQuestions.size();
+        long[] questionIds = new long[n];
+        BigDecimal[] marks = new BigDecimal[n];
+        BigDecimal[] negativeMarks = new BigDecimal[n];
+        long[][] all = new long[n][];
+        long[][] correct = new long[n][];
+        for (int i = 0; i < n; i++) {
+            TestQuestion tq = testQuestions.get(i);
+            questionIds[i] = tq.getQuestion().getId();
+            marks[i] = TestService.effectiveMarks(tq);
+            negativeMarks[i] = TestService.effectiveNegativeMarks(tq);
+            all[i] = optionsByQuestion.getOrDefault(questionIds[i], new long[0]);
+            correct[i] = correctByQuestion.getOrDefault(questionIds[i], new long[0]);
+        }
+        return new AnswerKey(testId, version, questionIds, marks, negativeMarks, all, correct);
+    }
+
+    private static Map<Long, long[]> sortedIdsByQuestion(List<Option> options) {
+        return options.stream()
+                .collect(Collectors.groupingBy(o -> o.getQuestion().getId(),
+                        Collectors.collectingAndThen(Collectors.toList(),
+                                opts -> opts.stream().mapToLong(Option::getId).sorted().toArray())));
+    }
+
+    public Long testId() {
+        return testId;
+    }
+
+    public Instant version() {
+        return version;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    /** Position of the question on the paper, or -1 if it is not part of this test. */
+    public int indexOf(Long questionId) {
+        Integer index = indexByQuestion.get(questionId);
+        return index == null ? -1 : index;
+    }
+
+    public long questionId(int index) {
+        return questionIds[index];
+    }
+
+    public BigDecimal marks(int index) {
+        return marks[index];
+    }
+
+    public BigDecimal negativeMarks(int index) {
+        return negativeMarks[index];
+    }
+
+    public List<Long> correctOptionIds(int index) {
+        return Arrays.stream(correctOptionIds[index]).boxed().toList();
+    }
+
+    /** True iff the option belongs to the question at {@code index}. */
+    public boolean hasOption(int index, long optionId) {
+        return Arrays.binarySearch(optionIds[index], optionId) >= 0;
+    }
+
+    /**
+     * Validates a student's selection for a question (the question must be on this test and every
+     * option must belong to it) and returns it in stored form: a CSV of the distinct ids in the given
+     * order, or null for an empty selection (unanswered).
+     */
+    public String selectionCsv(Long questionId, List<Long> selectedOptionIds) {
+        int index = indexOf(questionId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Question " + questionId + " is not part of this test");
+        }
+        if (selectedOptionIds == null || selectedOptionIds.isEmpty()) {
+            return null;
+        }
+        for (Long optId : selectedOptionIds) {
+            if (optId == null || !hasOption(index, optId)) {
+                throw new IllegalArgumentException("Option " + optId + " does not belong to question " + questionId);
+            }
+        }
+        return selectedOptionIds.stream().distinct().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    /** True iff {@code selected} is exactly the question's set of correct options. */
+    public boolean matches(int index, Set<Long> selected) {
+        long[] correct = correctOptionIds[index];
+        if (selected == null || selected.size() != correct.length) {
+            return false;
+        }
+        for (long id : correct) {
+            if (!selected.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
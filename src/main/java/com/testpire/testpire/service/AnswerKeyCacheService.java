@@ -0,0 +1,99 @@
+package com.testpire.testpire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TestQuestionRepository;
+import com.testpire.testpire.repository.TestRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Bounded in-memory cache of {@link AnswerKey} snapshots, one per test. {@link TestService#publish}
+ * builds the key up front; any other miss rebuilds it from the DB with two queries.
+ *
+ * <p>A cached key is only served while its version still equals the test's {@code updatedAt}. Test
+ * edits bump that column and also drop the local entry. Question edits bump it on every test
+ * containing the question via {@link #invalidateByQuestion}, so other nodes rebuild on their next
+ * read instead of grading against a stale key.</p>
+ */
+@Service
+@Slf4j
+public class AnswerKeyCacheService {
+
+    private final TestQuestionRepository testQuestionRepository;
+    private final OptionRepository optionRepository;
+    private final TestRepository testRepository;
+
+    private final Cache<Long, AnswerKey> keys;
+
+    public AnswerKeyCacheService(TestQuestionRepository testQuestionRepository,
+                                 OptionRepository optionRepository,
+                                 TestRepository testRepository,
+                                 @Value("${testpire.answer-key-cache.max-size:500}") long maxSize) {
+        this.testQuestionRepository = testQuestionRepository;
+        this.optionRepository = optionRepository;
+        this.testRepository = testRepository;
+        this.keys = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /** The test's answer key, rebuilt from the DB if absent or built from an older test version. */
+    public AnswerKey get(Test test) {
+        AnswerKey key = keys.getIfPresent(test.getId());
+        if (key != null && Objects.equals(key.version(), test.getUpdatedAt())) {
+            return key;
+        }
+        return rebuild(test);
+    }
+
+    /** Builds the test's key from the DB and caches it, replacing any previous one. */
+    public AnswerKey rebuild(Test test) {
+        AnswerKey key = AnswerKey.of(test.getId(), test.getUpdatedAt(),
+                testQuestionRepository.findByTestIdWithQuestions(test.getId()),
+                optionRepository.findByTestId(test.getId()));
+        keys.put(test.getId(), key);
+        log.debug("Built answer key for test {} ({} questions, version {})", test.getId(), key.size(), key.version());
+        return key;
+    }
+
+    public void invalidate(Long testId) {
+        keys.invalidate(testId);
+    }
+
+    /**
+     * Invalidates the key of every test containing the question and bumps those tests' version.
+     * Must run inside the transaction that edits the question.
+     */
+    public void invalidateByQuestion(Long questionId) {
+        List<Long> testIds = testQuestionRepository.findTestIdsByQuestionId(questionId);
+        if (testIds.isEmpty()) {
+            return;
+        }
+        testRepository.touchByQuestionId(questionId, Instant.now());
+        keys.invalidateAll(testIds);
+        log.debug("Question {} changed; invalidated answer keys of tests {}", questionId, testIds);
+    }
+
+    /** {@link #invalidateByQuestion} for many questions at once, with two statements in total. */
+    public void invalidateByQuestions(Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        List<Long> testIds = testQuestionRepository.findTestIdsByQuestionIdIn(questionIds);
+        if (testIds.isEmpty()) {
+            return;
+        }
+        testRepository.touchByIds(testIds, Instant.now());
+        keys.invalidateAll(testIds);
+        log.debug("{} question(s) changed; invalidated answer keys of tests {}", questionIds.size(), testIds);
+    }
+}
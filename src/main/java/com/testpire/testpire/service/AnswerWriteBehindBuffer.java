@@ -0,0 +1,252 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.request.SubmitAnswerRequestDto;
+import com.testpire.testpire.entity.TestAttempt;
+import com.testpire.testpire.repository.TestAttemptAnswerRepository;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerUpsert;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Optional write-behind mode for {@code saveAnswer} ({@code testpire.answer-buffer.enabled}, off by
+ * default). Once an attempt has been loaded and checked once, further answers to it are validated
+ * against the cached attempt deadline and {@link AnswerKey} with no DB reads. Only the latest
+ * selection per question is kept in memory. Every {@code flush-interval-ms} all pending answers are
+ * written as one batch of {@code INSERT ... ON CONFLICT} upserts. If that batch fails, each attempt is
+ * retried on its own, so one bad row (e.g. an attempt deleted meanwhile) only holds back its own
+ * attempt; after {@code max-flush-failures} failed flushes in a row that attempt's answers are logged
+ * and dropped, and its later answers take the synchronous path.
+ *
+ * <p>Durability: grading an attempt (submit, lazy expiry or the deadline sweeper) first drains that
+ * attempt's buffer inside the grading transaction, and shutdown flushes everything. The buffer is
+ * node-local, so this mode assumes an attempt's requests are routed to one node (sticky sessions).
+ * {@link #settleTime()} delays the deadline sweeper's claims so another node's final flush lands
+ * before it grades.</p>
+ */
+@Service
+@Slf4j
+public class AnswerWriteBehindBuffer {
+
+    /** Tracked attempts with nothing pending are dropped after this long without an answer. */
+    private static final Duration IDLE_EVICTION = Duration.ofHours(1);
+
+    private final TestAttemptAnswerRepository answerRepository;
+    private final boolean enabled;
+    private final Duration settleTime;
+    private final int maxFlushFailures;
+
+    private final Map<Long, TrackedAttempt> attempts = new ConcurrentHashMap<>();
+
+    private final LongAdder answersBuffered = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder answersDropped = new LongAdder();
+
+    public AnswerWriteBehindBuffer(TestAttemptAnswerRepository answerRepository,
+                                   @Value("${testpire.answer-buffer.enabled:false}") boolean enabled,
+                                   @Value("${testpire.answer-buffer.settle-ms:2000}") long settleMillis,
+                                   @Value("${testpire.answer-buffer.max-flush-failures:25}") int maxFlushFailures) {
+        this.answerRepository = answerRepository;
+        this.enabled = enabled;
+        this.settleTime = Duration.ofMillis(settleMillis);
+        this.maxFlushFailures = maxFlushFailures;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** How long after a deadline buffered answers may still be reaching the DB (zero when disabled). */
+    public Duration settleTime() {
+        return enabled ? settleTime : Duration.ZERO;
+    }
+
+    /** Starts buffering for an attempt the caller has just loaded and verified to be IN_PROGRESS. */
+    public void track(TestAttempt attempt, AnswerKey key) {
+        attempts.computeIfAbsent(attempt.getId(),
+                id -> new TrackedAttempt(id, attempt.getStudentUserId(), attempt.getExpiresAt(), key));
+    }
+
+    /**
+     * Validates and buffers one answer. Returns false, buffering nothing, when the attempt is not
+     * tracked here, belongs to another student, is past its deadline, or is being drained for grading;
+     * the caller then takes the synchronous path. Invalid questions/options are rejected exactly as the
+     * synchronous path does.
+     */
+    public boolean offer(Long attemptId, Long studentUserId, SubmitAnswerRequestDto dto) {
+        TrackedAttempt tracked = attempts.get(attemptId);
+        Instant now = Instant.now();
+        if (tracked == null || !tracked.studentUserId.equals(studentUserId)
+                || (tracked.expiresAt != null && !now.isBefore(tracked.expiresAt))) {
+            return false;
+        }
+        String csv = tracked.key.selectionCsv(dto.questionId(), dto.selectedOptionIds());
+        synchronized (tracked) {
+            if (tracked.closed) {
+                return false;
+            }
+            tracked.pending.put(dto.questionId(), new AnswerUpsert(attemptId, dto.questionId(), csv, now));
+        }
+        tracked.lastAnswerAt = now;
+        answersBuffered.increment();
+        return true;
+    }
+
+    /**
+     * Writes the attempt's pending answers in the caller's (grading) transaction and, once that
+     * commits, stops tracking the attempt. If it rolls back, the answers go back to pending and the
+     * next flush retries them. Called before the attempt is graded, so the grade sees every saved answer.
+     * The attempt is closed to {@link #offer} before its answers are snapshotted, so an answer arriving
+     * mid-drain goes down the synchronous path instead of into a buffer that is about to be discarded.
+     */
+    public void drain(Long attemptId) {
+        TrackedAttempt tracked = attempts.get(attemptId);
+        if (tracked == null) {
+            return;
+        }
+        List<AnswerUpsert> batch;
+        synchronized (tracked) {
+            tracked.closed = true;
+            batch = List.copyOf(tracked.pending.values());
+        }
+        if (!batch.isEmpty()) {
+            answerRepository.batchUpsertAnswers(batch);
+            batch.forEach(u -> tracked.pending.remove(u.questionId(), u));
+            rowsFlushed.add(batch.size());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            attempts.remove(attemptId, tracked);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    attempts.remove(attemptId, tracked);
+                } else {
+                    synchronized (tracked) {
+                        batch.forEach(u -> tracked.pending.putIfAbsent(u.questionId(), u));
+                        tracked.closed = false;
+                    }
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${testpire.answer-buffer.flush-interval-ms:200}")
+    public void flushAll() {
+        if (!enabled || attempts.isEmpty()) {
+            return;
+        }
+        List<TrackedAttempt> targets = new ArrayList<>(attempts.values());
+        try {
+            write(targets);
+            targets.forEach(t -> t.flushFailures = 0);
+        } catch (RuntimeException e) {
+            log.warn("Answer buffer flush failed; retrying attempt by attempt", e);
+            targets.forEach(this::flushAlone);
+        }
+        Instant now = Instant.now();
+        attempts.values().removeIf(t -> t.pending.isEmpty()
+                && ((t.expiresAt != null && now.isAfter(t.expiresAt))
+                    || t.lastAnswerAt.plus(IDLE_EVICTION).isBefore(now)));
+    }
+
+    /** Writes one attempt's pending answers; after too many failures in a row, logs and drops them. */
+    private void flushAlone(TrackedAttempt tracked) {
+        try {
+            write(List.of(tracked));
+            tracked.flushFailures = 0;
+        } catch (RuntimeException e) {
+            if (++tracked.flushFailures < maxFlushFailures) {
+                log.warn("Flushing buffered answers of attempt {} failed ({} in a row): {}",
+                        tracked.attemptId, tracked.flushFailures, e.getMessage());
+                return;
+            }
+            List<AnswerUpsert> dropped;
+            synchronized (tracked) {
+                tracked.closed = true;
+                dropped = List.copyOf(tracked.pending.values());
+            }
+            attempts.remove(tracked.attemptId, tracked);
+            answersDropped.add(dropped.size());
+            log.error("Dropping {} buffered answer(s) of attempt {} after {} failed flushes: {}",
+                    dropped.size(), tracked.attemptId, tracked.flushFailures, dropped, e);
+        }
+    }
+
+    /** Coalesced write of everything pending for {@code targets}; entries re-saved meanwhile stay pending. */
+    private void write(List<TrackedAttempt> targets) {
+        List<AnswerUpsert> batch = targets.stream()
+                .flatMap(t -> t.pending.values().stream())
+                .toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        answerRepository.batchUpsertAnswers(batch);
+        Map<Long, TrackedAttempt> byId = targets.stream()
+                .collect(Collectors.toMap(t -> t.attemptId, t -> t));
+        for (AnswerUpsert written : batch) {
+            byId.get(written.attemptId()).pending.remove(written.questionId(), written);
+        }
+        flushes.increment();
+        rowsFlushed.add(batch.size());
+        log.debug("Flushed {} buffered answer(s) across {} attempt(s)", batch.size(), targets.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        if (enabled && !attempts.isEmpty()) {
+            log.info("Flushing write-behind answer buffer before shutdown ({} attempt(s))", attempts.size());
+            flushAll();
+        }
+    }
+
+    public BufferStats stats() {
+        int pending = attempts.values().stream().mapToInt(t -> t.pending.size()).sum();
+        return new BufferStats(enabled, attempts.size(), pending, answersBuffered.sum(), flushes.sum(),
+                rowsFlushed.sum(), answersDropped.sum());
+    }
+
+    /**
+     * Point-in-time counters; {@code answersBuffered - rowsFlushed} is what coalescing saved.
+     * {@code answersDropped} counts answers given up on after repeated flush failures.
+     */
+    public record BufferStats(boolean enabled, int trackedAttempts, int pendingAnswers, long answersBuffered,
+                              long flushes, long rowsFlushed, long answersDropped) {}
+
+    /** Per-attempt state: what {@link #offer} validates against, plus the latest answer per question. */
+    private static final class TrackedAttempt {
+        private final Long attemptId;
+        private final Long studentUserId;
+        private final Instant expiresAt;
+        private final AnswerKey key;
+        private final Map<Long, AnswerUpsert> pending = new ConcurrentHashMap<>();
+        private volatile Instant lastAnswerAt = Instant.now();
+        /** Set, under this object's lock, once the attempt is being drained or dropped; offers then fail. */
+        private boolean closed;
+        /** Consecutive failed flushes of this attempt alone; only touched by the flushing thread. */
+        private int flushFailures;
+
+        TrackedAttempt(Long attemptId, Long studentUserId, Instant expiresAt, AnswerKey key) {
+            this.attemptId = attemptId;
+            this.studentUserId = studentUserId;
+            this.expiresAt = expiresAt;
+            this.key = key;
+        }
+    }
+}
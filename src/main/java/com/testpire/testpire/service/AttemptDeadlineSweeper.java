@@ -0,0 +1,151 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.service.TestAttemptService.GradingRetry;
+import com.testpire.testpire.service.TestAttemptService.SweptBatch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Background auto-submit of attempts whose deadline has passed, so results pages no longer grade
+ * stale attempts inline on the read path right after a test closes.
+ *
+ * <p>Every {@code interval-ms} a sweep fans out to {@code workers} threads. Each thread repeatedly
+ * claims and grades a batch of up to {@code batch-size} expired attempts via
+ * {@link TestAttemptService#autoSubmitExpired}, until a batch comes back short or the sweep's
+ * {@code max-batches} budget is spent. Each attempt is claimed and graded in its own transaction with
+ * {@code FOR UPDATE SKIP LOCKED}, so any number of nodes can run the sweeper at once. An attempt that
+ * fails to grade is skipped rather than failing its batch, and retried after
+ * {@code grading-retry-backoff-ms}, doubling per failure, until {@code max-grading-failures} mark it
+ * GRADING_FAILED. Lag (deadline to grading) and throughput are exposed via {@link #stats()}.</p>
+ */
+@Service
+@Slf4j
+public class AttemptDeadlineSweeper {
+
+    private final TestAttemptService attemptService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int workerCount;
+    private final int maxBatchesPerSweep;
+    private final GradingRetry gradingRetry;
+    private final ExecutorService workers;
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final LongAdder attemptsSwept = new LongAdder();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private final AtomicReference<SweepStats.LastSweep> lastSweep = new AtomicReference<>();
+
+    public AttemptDeadlineSweeper(TestAttemptService attemptService,
+                                  @Value("${testpire.attempt-sweeper.enabled:true}") boolean enabled,
+                                  @Value("${testpire.attempt-sweeper.batch-size:200}") int batchSize,
+                                  @Value("${testpire.attempt-sweeper.workers:4}") int workerCount,
+                                  @Value("${testpire.attempt-sweeper.max-batches:50}") int maxBatchesPerSweep,
+                                  @Value("${testpire.attempt-sweeper.max-grading-failures:5}") int maxGradingFailures,
+                                  @Value("${testpire.attempt-sweeper.grading-retry-backoff-ms:60000}") long gradingRetryBackoffMillis) {
+        this.attemptService = attemptService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.workerCount = workerCount;
+        this.maxBatchesPerSweep = maxBatchesPerSweep;
+        this.gradingRetry = new GradingRetry(maxGradingFailures, Duration.ofMillis(gradingRetryBackoffMillis));
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread t = new Thread(r, "attempt-sweeper-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${testpire.attempt-sweeper.interval-ms:15000}",
+            initialDelayString = "${testpire.attempt-sweeper.initial-delay-ms:30000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        AtomicInteger batchBudget = new AtomicInteger(maxBatchesPerSweep);
+        List<CompletableFuture<SweptBatch>> drains = IntStream.range(0, workerCount)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> drain(batchBudget), workers))
+                .toList();
+
+        int swept = 0;
+        Duration lag = Duration.ZERO;
+        for (CompletableFuture<SweptBatch> drain : drains) {
+            SweptBatch result = drain.join();
+            swept += result.count();
+            lag = result.maxLag().compareTo(lag) > 0 ? result.maxLag() : lag;
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        recordSweep(swept, lag, elapsedMillis);
+        if (swept > 0) {
+            log.info("Deadline sweep auto-submitted {} attempt(s) in {} ms (max lag {} ms)",
+                    swept, elapsedMillis, lag.toMillis());
+        }
+    }
+
+    /** One worker's share of a sweep: claim batches until none are full or the shared budget runs out. */
+    private SweptBatch drain(AtomicInteger batchBudget) {
+        int claimed = 0;
+        int total = 0;
+        Duration maxLag = Duration.ZERO;
+        while (batchBudget.getAndDecrement() > 0) {
+            SweptBatch batch;
+            try {
+                batch = attemptService.autoSubmitExpired(batchSize, gradingRetry);
+            } catch (RuntimeException e) {
+                log.error("Deadline sweep batch failed; will retry next sweep", e);
+                break;
+            }
+            claimed += batch.claimed();
+            total += batch.count();
+            maxLag = batch.maxLag().compareTo(maxLag) > 0 ? batch.maxLag() : maxLag;
+            if (batch.claimed() < batchSize) {
+                break;
+            }
+        }
+        return new SweptBatch(claimed, total, maxLag);
+    }
+
+    private void recordSweep(int swept, Duration lag, long elapsedMillis) {
+        sweeps.incrementAndGet();
+        attemptsSwept.add(swept);
+        maxLagMillis.accumulateAndGet(lag.toMillis(), Math::max);
+        double throughput = elapsedMillis == 0 ? swept * 1000.0 : swept * 1000.0 / elapsedMillis;
+        lastSweep.set(new SweepStats.LastSweep(Instant.now(), swept, elapsedMillis, throughput, lag.toMillis()));
+    }
+
+    public SweepStats stats() {
+        return new SweepStats(enabled, sweeps.get(), attemptsSwept.sum(), maxLagMillis.get(), lastSweep.get());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Cumulative sweeper counters plus the most recent sweep (null before the first one). Lag is the
+     * delay between an attempt's deadline and its auto-submission; throughput is attempts graded per
+     * second of sweep time.
+     */
+    public record SweepStats(boolean enabled, long sweeps, long attemptsSwept, long maxLagMillis, LastSweep last) {
+
+        public record LastSweep(Instant at, int attempts, long durationMillis, double attemptsPerSecond,
+                                long maxLagMillis) {}
+    }
+}
@@ -3,6 +3,8 @@ package com.testpire.testpire.service;
 import com.testpire.testpire.dto.request.ChapterSearchRequestDto;
 import com.testpire.testpire.dto.request.CreateChapterRequestDto;
 import com.testpire.testpire.dto.request.UpdateChapterRequestDto;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.ChapterSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,7 +23,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -32,6 +36,7 @@ public class ChapterService {
 
     private final ChapterRepository chapterRepository;
     private final SubjectRepository subjectRepository;
+    private final CurriculumTreeCacheService curriculumTrees;
 
     @Transactional
     public ChapterResponseDto createChapter(CreateChapterRequestDto request) {
@@ -64,6 +69,7 @@ public class ChapterService {
                 .build();
 
         Chapter savedChapter = chapterRepository.save(chapter);
+        curriculumTrees.invalidate(savedChapter.getInstituteId());
         log.info("Chapter created successfully with ID: {}", savedChapter.getId());
         return ChapterResponseDto.fromEntity(savedChapter);
     }
@@ -89,6 +95,7 @@ public class ChapterService {
         existingChapter.setUpdatedBy(RequestUtils.getCurrentUsername());
 
         Chapter updatedChapter = chapterRepository.save(existingChapter);
+        curriculumTrees.invalidate(updatedChapter.getInstituteId());
         log.info("Chapter updated successfully with ID: {}", updatedChapter.getId());
         return ChapterResponseDto.fromEntity(updatedChapter);
     }
@@ -100,13 +107,14 @@ public class ChapterService {
         Chapter chapter = findChapterScoped(id);
 
         chapterRepository.delete(chapter);
+        curriculumTrees.invalidate(chapter.getInstituteId());
         log.info("Chapter deleted successfully with ID: {}", id);
     }
 
     @Transactional(readOnly = true)
     public ChapterResponseDto getChapterById(Long id, Set<String> includes) {
         Chapter chapter = findChapterScoped(id);
-        return ChapterResponseDto.fromEntity(chapter, includes);
+        return toDto(chapter, includes, new HashMap<>());
     }
 
     /**
@@ -126,7 +134,7 @@ public class ChapterService {
     public ChapterResponseDto getChapterByCode(String code, Long instituteId, Set<String> includes) {
         Chapter chapter = chapterRepository.findByCodeAndInstituteId(code, instituteId)
                 .orElseThrow(() -> new IllegalArgumentException("Chapter not found with code: " + code));
-        return ChapterResponseDto.fromEntity(chapter, includes);
+        return toDto(chapter, includes, new HashMap<>());
     }
 
     @Transactional(readOnly = true)
@@ -135,6 +143,15 @@ public class ChapterService {
 
         // Build specification
         Specification<Chapter> spec = buildSpecification(request);
+        Map<Long, CurriculumTree> trees = new HashMap<>();
+
+        if (request.getCursor() != null) {
+            KeysetPage<Chapter> page = KeysetPagination.fetch(chapterRepository, spec, request.getSortBy(),
+                    request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            return ChapterListResponseDto.of(page.content().stream()
+                    .map(chapter -> toDto(chapter, includes, trees))
+                    .toList(), page.totalCount(), page.nextCursor());
+        }
 
         // Create pageable
         Pageable pageable = createPageable(request);
@@ -144,12 +161,25 @@ public class ChapterService {
 
         // Convert to DTOs
         List<ChapterResponseDto> chapterDtos = chapterPage.getContent().stream()
-                .map(chapter -> ChapterResponseDto.fromEntity(chapter, includes))
+                .map(chapter -> toDto(chapter, includes, trees))
                 .toList();
 
         return ChapterListResponseDto.of(chapterDtos, chapterPage.getTotalElements());
     }
 
+    /**
+     * The chapter, with its topics from the institute's {@link CurriculumTree} when {@code includes}
+     * asks for them. {@code trees} holds the trees already fetched by this request.
+     */
+    private ChapterResponseDto toDto(Chapter chapter, Set<String> includes, Map<Long, CurriculumTree> trees) {
+        ChapterResponseDto dto = ChapterResponseDto.fromEntity(chapter);
+        if (!includes.contains("topics")) {
+            return dto;
+        }
+        CurriculumTree tree = trees.computeIfAbsent(chapter.getInstituteId(), curriculumTrees::get);
+        return dto.withTopics(tree.topicsOf(chapter.getId()));
+    }
+
     private Specification<Chapter> buildSpecification(ChapterSearchRequestDto request) {
         return Specification.where(ChapterSpecification.hasInstituteId(request.getInstituteId()))
                 .and(ChapterSpecification.hasSubjectId(request.getSubjectId()))
@@ -4,6 +4,8 @@ import com.testpire.testpire.config.CognitoConfig;
 import com.testpire.testpire.constants.ApplicationConstants;
 import com.testpire.testpire.dto.UserDto;
 import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.service.DependencyBulkheads.BulkheadFullException;
+import com.testpire.testpire.service.DependencyBulkheads.Dependency;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,12 @@ public class CognitoService {
     @Autowired
     private CognitoConfig cognitoConfig;
 
+    @Autowired
+    private IdentityCacheService identityCache;
+
+    @Autowired
+    private DependencyBulkheads bulkheads;
+
     /**
      * Admin-creates a user in Cognito. Cognito generates a temporary password and
      * emails it to the user. The user status is set to FORCE_CHANGE_PASSWORD.
@@ -46,7 +54,8 @@ public class CognitoService {
                     .desiredDeliveryMediums(DeliveryMediumType.EMAIL)
                     .build();
 
-            AdminCreateUserResponse response = cognitoClient.adminCreateUser(request);
+            AdminCreateUserResponse response = bulkheads.call(Dependency.COGNITO,
+                    () -> cognitoClient.adminCreateUser(request));
 
             return response.user().attributes().stream()
                     .filter(a -> a.name().equals("sub"))
@@ -54,6 +63,8 @@ public class CognitoService {
                     .map(AttributeType::value)
                     .orElseThrow(() -> new RuntimeException("Could not get Cognito sub for user: " + username));
 
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error creating user in Cognito: {}", e.getMessage(), e);
             throw new RuntimeException("Error creating user: " + e.getMessage(), e);
@@ -73,8 +84,10 @@ public class CognitoService {
                     .desiredDeliveryMediums(DeliveryMediumType.EMAIL)
                     .build();
 
-            cognitoClient.adminCreateUser(request);
+            bulkheads.call(Dependency.COGNITO, () -> cognitoClient.adminCreateUser(request));
             log.info("Invitation resent to: {}", username);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error resending invitation: {}", e.getMessage(), e);
             throw new RuntimeException("Error resending invitation: " + e.getMessage(), e);
@@ -99,7 +112,8 @@ public class CognitoService {
                     .authParameters(authParams)
                     .build();
 
-            AdminInitiateAuthResponse result = cognitoClient.adminInitiateAuth(authRequest);
+            AdminInitiateAuthResponse result = bulkheads.call(Dependency.COGNITO,
+                    () -> cognitoClient.adminInitiateAuth(authRequest));
 
             if (result.challengeName() != null) {
                 log.info("Login challenge for {}: {}", username, result.challengeName());
@@ -111,6 +125,8 @@ public class CognitoService {
 
             return Map.of("token", result.authenticationResult().idToken());
 
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Login failed: {}", e.getMessage(), e);
             throw new RuntimeException("Login failed: " + e.getMessage(), e);
@@ -134,9 +150,12 @@ public class CognitoService {
                     .challengeResponses(challengeResponses)
                     .build();
 
-            RespondToAuthChallengeResponse response = cognitoClient.respondToAuthChallenge(request);
+            RespondToAuthChallengeResponse response = bulkheads.call(Dependency.COGNITO,
+                    () -> cognitoClient.respondToAuthChallenge(request));
             return response.authenticationResult().idToken();
 
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Set new password failed: {}", e.getMessage(), e);
             throw new RuntimeException("Set new password failed: " + e.getMessage(), e);
@@ -153,8 +172,10 @@ public class CognitoService {
                     .username(username)
                     .build();
 
-            cognitoClient.forgotPassword(request);
+            bulkheads.call(Dependency.COGNITO, () -> cognitoClient.forgotPassword(request));
             log.info("Forgot password initiated for: {}", username);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Forgot password failed: {}", e.getMessage(), e);
             throw new RuntimeException("Forgot password failed: " + e.getMessage(), e);
@@ -173,8 +194,10 @@ public class CognitoService {
                     .password(newPassword)
                     .build();
 
-            cognitoClient.confirmForgotPassword(request);
+            bulkheads.call(Dependency.COGNITO, () -> cognitoClient.confirmForgotPassword(request));
             log.info("Password reset confirmed for: {}", username);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Confirm forgot password failed: {}", e.getMessage(), e);
             throw new RuntimeException("Password reset failed: " + e.getMessage(), e);
@@ -188,7 +211,10 @@ public class CognitoService {
                     .userPoolId(cognitoConfig.getUserPoolId())
                     .build();
 
-            cognitoClient.adminUserGlobalSignOut(signOutRequest);
+            bulkheads.call(Dependency.COGNITO, () -> cognitoClient.adminUserGlobalSignOut(signOutRequest));
+            identityCache.invalidate(username);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Logout failed: {}", e.getMessage(), e);
             throw new RuntimeException("Logout failed: " + e.getMessage(), e);
@@ -206,9 +232,13 @@ public class CognitoService {
                     .userPoolId(cognitoConfig.getUserPoolId())
                     .build();
 
-            cognitoClient.adminDeleteUser(request);
+            bulkheads.call(Dependency.COGNITO, () -> cognitoClient.adminDeleteUser(request));
+            identityCache.invalidate(username);
         } catch (UserNotFoundException e) {
             log.warn("Cognito user '{}' not found while deleting; treating as already removed", username);
+            identityCache.invalidate(username);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Cognito user deletion failed for '{}': {}", username, e.getMessage(), e);
             throw new RuntimeException("Failed to delete Cognito user: " + e.getMessage(), e);
@@ -222,9 +252,12 @@ public class CognitoService {
                     .userPoolId(cognitoConfig.getUserPoolId())
                     .build();
 
-            AdminGetUserResponse result = cognitoClient.adminGetUser(request);
+            AdminGetUserResponse result = bulkheads.call(Dependency.COGNITO,
+                    () -> cognitoClient.adminGetUser(request));
             return extractUserFromAttributes(result.username(), result.userAttributes());
 
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error getting user: {}", e.getMessage(), e);
             throw new RuntimeException("Error getting user: " + e.getMessage(), e);
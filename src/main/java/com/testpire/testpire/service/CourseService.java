@@ -9,6 +9,8 @@ import com.testpire.testpire.entity.Course;
 import com.testpire.testpire.entity.Subject;
 import com.testpire.testpire.repository.CourseRepository;
 import com.testpire.testpire.repository.SubjectRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.CourseSpecification;
 import com.testpire.testpire.util.RequestUtils;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +24,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -33,6 +37,7 @@ public class CourseService {
 
     private final CourseRepository courseRepository;
     private final SubjectRepository subjectRepository;
+    private final CurriculumTreeCacheService curriculumTrees;
 
     @Transactional
     public CourseResponseDto createCourse(CreateCourseRequestDto request) {
@@ -60,6 +65,7 @@ public class CourseService {
             savedCourse.setSubjects(resolveSubjectCodes(request.subjectCodes(), savedCourse.getInstituteId()));
             savedCourse = courseRepository.save(savedCourse);
         }
+        curriculumTrees.invalidate(savedCourse.getInstituteId());
         log.info("Course created successfully with ID: {}", savedCourse.getId());
         return CourseResponseDto.fromEntity(savedCourse);
     }
@@ -89,6 +95,7 @@ public class CourseService {
         existingCourse.setUpdatedBy(RequestUtils.getCurrentUsername());
 
         Course updatedCourse = courseRepository.save(existingCourse);
+        curriculumTrees.invalidate(updatedCourse.getInstituteId());
         log.info("Course updated successfully with ID: {}", updatedCourse.getId());
         return CourseResponseDto.fromEntity(updatedCourse);
     }
@@ -100,13 +107,14 @@ public class CourseService {
         Course course = findCourseScoped(id);
 
         courseRepository.delete(course);
+        curriculumTrees.invalidate(course.getInstituteId());
         log.info("Course deleted successfully with ID: {}", id);
     }
 
     @Transactional(readOnly = true)
     public CourseResponseDto getCourseById(Long id, Set<String> includes) {
         Course course = findCourseScoped(id);
-        return CourseResponseDto.fromEntity(course, includes);
+        return toDto(course, includes, new HashMap<>());
     }
 
     private List<Subject> resolveSubjectCodes(List<String> codes, Long instituteId) {
@@ -138,7 +146,7 @@ public class CourseService {
     public CourseResponseDto getCourseByCode(String code, Long instituteId, Set<String> includes) {
         Course course = courseRepository.findByCodeAndInstituteId(code, instituteId)
                 .orElseThrow(() -> new IllegalArgumentException("Course not found with code: " + code));
-        return CourseResponseDto.fromEntity(course, includes);
+        return toDto(course, includes, new HashMap<>());
     }
 
 
@@ -148,6 +156,15 @@ public class CourseService {
 
         // Build specification
         Specification<Course> spec = buildSpecification(request);
+        Map<Long, CurriculumTree> trees = new HashMap<>();
+
+        if (request.getCursor() != null) {
+            KeysetPage<Course> page = KeysetPagination.fetch(courseRepository, spec, request.getSortBy(),
+                    request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            return CourseListResponseDto.of(page.content().stream()
+                    .map(course -> toDto(course, includes, trees))
+                    .toList(), page.totalCount(), page.nextCursor());
+        }
 
         // Create pageable
         Pageable pageable = createPageable(request);
@@ -157,12 +174,25 @@ public class CourseService {
 
         // Convert to DTOs
         List<CourseResponseDto> courseDtos = coursePage.getContent().stream()
-                .map(course -> CourseResponseDto.fromEntity(course, includes))
+                .map(course -> toDto(course, includes, trees))
                 .toList();
 
         return CourseListResponseDto.of(courseDtos, coursePage.getTotalElements());
     }
 
+    /**
+     * The course, with its subject tree from the institute's {@link CurriculumTree} when
+     * {@code includes} asks for it. {@code trees} holds the trees already fetched by this request.
+     */
+    private CourseResponseDto toDto(Course course, Set<String> includes, Map<Long, CurriculumTree> trees) {
+        CourseResponseDto dto = CourseResponseDto.fromEntity(course);
+        if (!includes.contains("subjects")) {
+            return dto;
+        }
+        CurriculumTree tree = trees.computeIfAbsent(course.getInstituteId(), curriculumTrees::get);
+        return dto.withSubjects(tree.subjectsOf(course.getId(), includes));
+    }
+
     private Specification<Course> buildSpecification(CourseSearchRequestDto request) {
         return Specification.where(CourseSpecification.hasInstituteId(request.getInstituteId()))
                 .and(CourseSpecification.hasTextContaining(request.getSearchText()))
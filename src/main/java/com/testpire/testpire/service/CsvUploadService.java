@@ -3,25 +3,28 @@ package com.testpire.testpire.service;
 import com.testpire.testpire.dto.request.CreateQuestionRequestDto;
 import com.testpire.testpire.dto.request.CreateOptionRequestDto;
 import com.testpire.testpire.dto.response.BulkUploadResponseDto;
-import com.testpire.testpire.dto.response.QuestionResponseDto;
 import com.testpire.testpire.entity.Institute;
 import com.testpire.testpire.enums.DifficultyLevel;
 import com.testpire.testpire.enums.TextFormat;
+import com.testpire.testpire.enums.UploadJobKind;
 import com.testpire.testpire.repository.InstituteRepository;
 import com.testpire.testpire.repository.TopicRepository;
+import com.testpire.testpire.util.CsvReader;
+import com.testpire.testpire.util.CsvRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -35,84 +38,141 @@ public class CsvUploadService {
             "Marks", "Negative Marks", "Explanation", "Topic ID", "Text Format");
     private static final int FIXED_COLUMN_COUNT = FIXED_HEADERS.size(); // 10
     private static final int OPTION_GROUP_SIZE = 3; // Text, Image URL, IsCorrect
+    private static final int TOPIC_COLUMN = FIXED_HEADERS.indexOf("Topic ID"); // 8
 
     private static final Set<String> TRUE_VALUES = Set.of("true", "1", "yes");
     private static final Set<String> FALSE_VALUES = Set.of("false", "0", "no", "");
 
-    private final QuestionService questionService;
+    private final QuestionImportWriter questionImportWriter;
     private final QuestionImageService questionImageService;
     private final InstituteRepository instituteRepository;
     private final TopicRepository topicRepository;
+    private final HotPathMetrics metrics;
 
     public BulkUploadResponseDto processBulkUpload(MultipartFile csvFile, Long instituteId, String createdBy) {
         List<String> errors = new ArrayList<>();
-        List<QuestionResponseDto> uploadedQuestions = new ArrayList<>();
-        int totalProcessed = 0;
-        int successfulUploads = 0;
-        int failedUploads = 0;
 
         if (instituteId == null) {
             return failFast("No institute resolved for this upload; cannot derive question ids.");
         }
-        // External question ids are prefixed with the institute code so the same CSV id (e.g. "Q01")
-        // can be reused across institutes without collision. Resolve it once for the whole upload; if
-        // the institute has no code on record, fall back to its numeric id.
-        String institutePrefix = instituteRepository.findById(instituteId)
-                .map(Institute::getCode)
-                .filter(code -> code != null && !code.isBlank())
-                .orElse(String.valueOf(instituteId));
-        // Raw ids seen in this file, to reject duplicates within a single upload (a re-run across
-        // uploads still updates the existing question — that is the intended idempotent behavior).
-        Set<String> seenRawIds = new HashSet<>();
+        String institutePrefix = institutePrefix(instituteId);
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csvFile.getInputStream(), StandardCharsets.UTF_8))) {
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
+        // Read the whole file first so topics can be resolved for every row in two queries.
+        List<CsvRow> rows = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(new InputStreamReader(csvFile.getInputStream(), StandardCharsets.UTF_8))) {
+            if (!csv.next()) {
                 return failFast("CSV file is empty");
             }
             try {
-                validateHeader(parseCsvLine(headerLine));
+                validateHeader(csv.toArray());
             } catch (IllegalArgumentException e) {
                 return failFast(e.getMessage());
             }
 
-            int rowNumber = 1; // data rows are numbered from 1 (header excluded)
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) {
-                    continue; // skip blank lines without counting them
-                }
-                totalProcessed++;
-                rowNumber++;
-
-                try {
-                    String[] columns = parseCsvLine(line);
-                    CreateQuestionRequestDto questionRequest = createQuestionFromCsvRow(
-                            columns, instituteId, institutePrefix, seenRawIds, createdBy, rowNumber, errors);
-                    QuestionResponseDto question = questionService.createQuestion(questionRequest);
-                    uploadedQuestions.add(question);
-                    successfulUploads++;
-                } catch (Exception e) {
-                    log.error("Error processing row {}: {}", rowNumber, e.getMessage());
-                    errors.add(String.format("Row %d: %s", rowNumber, e.getMessage()));
-                    failedUploads++;
-                }
+            // Rows are numbered by record with the header as row 1; blank lines are not counted.
+            while (csv.next()) {
+                rows.add(new CsvRow((int) csv.recordNumber(), csv.toArray()));
             }
-
         } catch (IOException e) {
             log.error("Error reading CSV file", e);
             errors.add("Error reading CSV file: " + e.getMessage());
         }
 
+        ImportResult result = importRows(rows, instituteId, institutePrefix, new HashSet<>(), createdBy, errors);
         return BulkUploadResponseDto.builder()
-                .totalProcessed(totalProcessed)
-                .successfulUploads(successfulUploads)
-                .failedUploads(failedUploads)
+                .totalProcessed(rows.size())
+                .successfulUploads(result.uploaded().size())
+                .failedUploads(result.failed())
                 .errors(errors)
-                .uploadedQuestions(uploadedQuestions)
+                .uploadedQuestions(questionImportWriter.load(result.uploaded()))
                 .build();
     }
 
+    /**
+     * External question ids are prefixed with the institute code so the same CSV id (e.g. "Q01") can
+     * be reused across institutes without collision. Resolved once per upload; if the institute has
+     * no code on record, its numeric id is used instead.
+     */
+    String institutePrefix(Long instituteId) {
+        return instituteRepository.findById(instituteId)
+                .map(Institute::getCode)
+                .filter(code -> code != null && !code.isBlank())
+                .orElse(String.valueOf(instituteId));
+    }
+
+    /**
+     * Validates and saves a run of rows of one upload. {@code seenRawIds} holds the raw Question Ids
+     * of the upload's earlier rows, to reject duplicates within a single file (a re-run across uploads
+     * still updates the existing question — that is the intended idempotent behavior). Row errors and
+     * image warnings are appended to {@code errors}.
+     */
+    ImportResult importRows(List<CsvRow> rows, Long instituteId, String institutePrefix, Set<String> seenRawIds,
+                            String createdBy, List<String> errors) {
+        int failedUploads = 0;
+        TopicLookup topics = resolveTopics(rows, instituteId);
+        List<QuestionImportWriter.PendingQuestion> pending = new ArrayList<>(rows.size());
+        for (CsvRow row : rows) {
+            try {
+                CreateQuestionRequestDto questionRequest = createQuestionFromCsvRow(
+                        row.columns(), instituteId, institutePrefix, seenRawIds, topics, row.rowNumber(), errors);
+                pending.add(new QuestionImportWriter.PendingQuestion(row.rowNumber(), questionRequest));
+            } catch (Exception e) {
+                log.error("Error processing row {}: {}", row.rowNumber(), e.getMessage());
+                errors.add(String.format("Row %d: %s", row.rowNumber(), e.getMessage()));
+                failedUploads++;
+            }
+        }
+
+        List<Long> uploadedIds = questionImportWriter.write(pending, createdBy, errors);
+        failedUploads += pending.size() - uploadedIds.size();
+        metrics.recordImport(UploadJobKind.QUESTIONS, uploadedIds.size(), failedUploads);
+        return new ImportResult(uploadedIds, failedUploads);
+    }
+
+    /** Adds a row's raw Question Id to {@code seenRawIds} without importing it (rows a resumed job skips). */
+    void rememberQuestionId(CsvRow row, Set<String> seenRawIds) {
+        if (row.columns().length > 0) {
+            String rawQuestionId = trimmed(row.columns()[0]);
+            if (!rawQuestionId.isEmpty()) {
+                seenRawIds.add(rawQuestionId);
+            }
+        }
+    }
+
+    /**
+     * Resolves the Topic ID column of every row against the institute at once: numeric values as topic
+     * ids, anything else as topic codes. Rows too short to have the column are skipped here and
+     * rejected by row validation.
+     */
+    private TopicLookup resolveTopics(List<CsvRow> rows, Long instituteId) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> codes = new HashSet<>();
+        for (CsvRow row : rows) {
+            if (row.columns().length <= TOPIC_COLUMN) {
+                continue;
+            }
+            String value = trimmed(row.columns()[TOPIC_COLUMN]);
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                codes.add(value);
+            }
+        }
+        Set<Long> existingIds = ids.isEmpty()
+                ? Set.of()
+                : new HashSet<>(topicRepository.findIdsByInstituteIdAndIdIn(instituteId, ids));
+        Map<String, Long> idsByCode = new HashMap<>();
+        if (!codes.isEmpty()) {
+            for (Object[] row : topicRepository.findIdsByInstituteIdAndCodeIn(instituteId, codes)) {
+                idsByCode.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return new TopicLookup(existingIds, idsByCode);
+    }
+
     private BulkUploadResponseDto failFast(String error) {
         return BulkUploadResponseDto.builder()
                 .totalProcessed(0)
@@ -154,30 +214,29 @@ public class CsvUploadService {
         }
     }
 
-    private String normalizeHeader(String value) {
-        return value == null ? "" : value.replace("\"", "").trim().toLowerCase().replaceAll("\\s+", " ");
-    }
-
-    private String[] parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder currentField = new StringBuilder();
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
+    /** Drops quotes, lower-cases and collapses runs of whitespace to one space. */
+    private static String normalizeHeader(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(value.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
             if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(currentField.toString().trim());
-                currentField = new StringBuilder();
-            } else {
-                currentField.append(c);
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
             }
+            normalized.append(Character.toLowerCase(c));
         }
-
-        result.add(currentField.toString().trim());
-        return result.toArray(new String[0]);
+        return normalized.toString();
     }
 
     /**
@@ -187,7 +246,7 @@ public class CsvUploadService {
      */
     private CreateQuestionRequestDto createQuestionFromCsvRow(
             String[] columns, Long instituteId, String institutePrefix, Set<String> seenRawIds,
-            String createdBy, int rowNumber, List<String> warnings) {
+            TopicLookup topics, int rowNumber, List<String> warnings) {
         List<String> rowErrors = new ArrayList<>();
 
         if (columns.length < FIXED_COLUMN_COUNT + OPTION_GROUP_SIZE) {
@@ -204,7 +263,7 @@ public class CsvUploadService {
 
         // Column 0 is the caller-supplied Question Id; it is prefixed with the institute code (or the
         // institute id, if no code) to form the stored external id, which drives idempotent re-uploads.
-        String rawQuestionId = unquote(columns[0]);
+        String rawQuestionId = trimmed(columns[0]);
         String externalId = null;
         if (rawQuestionId.isEmpty()) {
             rowErrors.add("Question Id is required.");
@@ -214,12 +273,12 @@ public class CsvUploadService {
             externalId = institutePrefix + "_" + rawQuestionId;
         }
 
-        String questionText = unquote(columns[1]);
-        String questionImageUrl = unquote(columns[2]);
-        String difficultyStr = unquote(columns[3]);
-        String questionType = unquote(columns[4]);
-        String explanation = unquote(columns[7]);
-        String textFormatStr = unquote(columns[9]);
+        String questionText = trimmed(columns[1]);
+        String questionImageUrl = trimmed(columns[2]);
+        String difficultyStr = trimmed(columns[3]);
+        String questionType = trimmed(columns[4]);
+        String explanation = trimmed(columns[7]);
+        String textFormatStr = trimmed(columns[9]);
 
         if (questionText.isEmpty()) {
             rowErrors.add("Question Text is required.");
@@ -250,29 +309,25 @@ public class CsvUploadService {
             }
         }
 
-        Integer marks = parseIntField(unquote(columns[5]), "Marks", 1, rowErrors);
-        Integer negativeMarks = parseIntField(unquote(columns[6]), "Negative Marks", 0, rowErrors);
+        Integer marks = parseIntField(trimmed(columns[5]), "Marks", 1, rowErrors);
+        Integer negativeMarks = parseIntField(trimmed(columns[6]), "Negative Marks", 0, rowErrors);
 
         Long topicIdLong = null;
-        String topicIdStr = unquote(columns[8]);
+        String topicIdStr = trimmed(columns[TOPIC_COLUMN]);
         if (topicIdStr.isEmpty()) {
             rowErrors.add("Topic ID is required.");
         } else {
             try {
                 long parsedId = Long.parseLong(topicIdStr);
                 // Verify the numeric id belongs to this institute.
-                topicIdLong = topicRepository.findByIdAndInstituteId(parsedId, instituteId)
-                        .map(t -> t.getId())
-                        .orElse(null);
+                topicIdLong = topics.ids().contains(parsedId) ? parsedId : null;
                 if (topicIdLong == null) {
                     log.error("topic id :{} does not belong to this institute {} ", topicIdStr, instituteId);
                     rowErrors.add("Topic ID " + topicIdStr + " does not exist.");
                 }
             } catch (NumberFormatException e) {
                 // Not a number — treat as a topic code and resolve to an id.
-                topicIdLong = topicRepository.findByCodeAndInstituteId(topicIdStr, instituteId)
-                        .map(t -> t.getId())
-                        .orElse(null);
+                topicIdLong = topics.idsByCode().get(topicIdStr);
                 if (topicIdLong == null) {
                     log.error("topic code :{} does not belong to this institute {} ", topicIdStr, instituteId);
                     rowErrors.add("Topic code \"" + topicIdStr + "\" does not exist.");
@@ -284,9 +339,9 @@ public class CsvUploadService {
         List<ParsedOption> parsedOptions = new ArrayList<>();
         int correctCount = 0;
         for (int i = FIXED_COLUMN_COUNT; i + OPTION_GROUP_SIZE - 1 < columns.length; i += OPTION_GROUP_SIZE) {
-            String optionText = unquote(columns[i]);
-            String optionImageUrl = unquote(columns[i + 1]);
-            String isCorrectRaw = unquote(columns[i + 2]);
+            String optionText = trimmed(columns[i]);
+            String optionImageUrl = trimmed(columns[i + 1]);
+            String isCorrectRaw = trimmed(columns[i + 2]);
             int optionNumber = (i - FIXED_COLUMN_COUNT) / OPTION_GROUP_SIZE + 1;
 
             boolean hasContent = !optionText.isEmpty() || !optionImageUrl.isEmpty() || !isCorrectRaw.isEmpty();
@@ -367,8 +422,9 @@ public class CsvUploadService {
                 .build();
     }
 
-    private String unquote(String value) {
-        return value == null ? "" : value.replace("\"", "").trim();
+    /** Fields arrive unquoted and unescaped from {@link CsvReader}; only surrounding whitespace is dropped. */
+    private static String trimmed(String value) {
+        return value == null ? "" : value.trim();
     }
 
 
@@ -398,4 +454,10 @@ public class CsvUploadService {
     }
 
     private record ParsedOption(String text, String imageUrl, boolean isCorrect) {}
+
+    /** Ids of the questions saved from a run of rows, and how many of the rows were rejected or failed to save. */
+    record ImportResult(List<Long> uploaded, int failed) {}
+
+    /** Topic ids that exist in the institute, and topic codes mapped to their ids. */
+    private record TopicLookup(Set<Long> ids, Map<String, Long> idsByCode) {}
 }
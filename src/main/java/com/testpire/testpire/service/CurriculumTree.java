@@ -0,0 +1,139 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.ChapterResponseDto;
+import com.testpire.testpire.dto.response.SubjectResponseDto;
+import com.testpire.testpire.dto.response.TopicResponseDto;
+import com.testpire.testpire.entity.Chapter;
+import com.testpire.testpire.entity.Subject;
+import com.testpire.testpire.entity.Topic;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of one institute's curriculum at one {@code curriculum_version}: every subject,
+ * chapter and topic as a childless response DTO, plus the course -> subject -> chapter -> topic links.
+ * Built by {@link CurriculumTreeCacheService} and shared across threads; expanding a course, subject or
+ * chapter with {@code include=} only assembles records from these maps.
+ *
+ * <p>Chapters and topics are ordered by {@code orderIndex} then id, subjects by id.</p>
+ */
+public final class CurriculumTree {
+
+    private final Long instituteId;
+    private final long version;
+    private final Map<Long, SubjectResponseDto> subjects;
+    private final Map<Long, List<Long>> subjectIdsByCourse;
+    private final Map<Long, List<ChapterResponseDto>> chaptersBySubject;
+    private final Map<Long, List<TopicResponseDto>> topicsByChapter;
+
+    private CurriculumTree(Long instituteId, long version, Map<Long, SubjectResponseDto> subjects,
+                           Map<Long, List<Long>> subjectIdsByCourse,
+                           Map<Long, List<ChapterResponseDto>> chaptersBySubject,
+                           Map<Long, List<TopicResponseDto>> topicsByChapter) {
+        this.instituteId = instituteId;
+        this.version = version;
+        this.subjects = subjects;
+        this.subjectIdsByCourse = subjectIdsByCourse;
+        this.chaptersBySubject = chaptersBySubject;
+        this.topicsByChapter = topicsByChapter;
+    }
+
+    /**
+     * @param subjectLinks (course id, subject id) pairs
+     * @param chapters     the institute's chapters in display order
+     * @param topics       the institute's topics in display order
+     */
+    static CurriculumTree of(Long instituteId, long version, List<Subject> subjects, List<Object[]> subjectLinks,
+                             List<Chapter> chapters, List<Topic> topics) {
+        Map<Long, List<Long>> subjectIdsByCourse = new HashMap<>();
+        Map<Long, List<Long>> courseIdsBySubject = new HashMap<>();
+        for (Object[] link : subjectLinks) {
+            Long courseId = (Long) link[0];
+            Long subjectId = (Long) link[1];
+            subjectIdsByCourse.computeIfAbsent(courseId, k -> new ArrayList<>()).add(subjectId);
+            courseIdsBySubject.computeIfAbsent(subjectId, k -> new ArrayList<>()).add(courseId);
+        }
+
+        Map<Long, SubjectResponseDto> subjectDtos = new LinkedHashMap<>();
+        for (Subject subject : subjects) {
+            subjectDtos.put(subject.getId(), SubjectResponseDto.fromEntity(subject,
+                    List.copyOf(courseIdsBySubject.getOrDefault(subject.getId(), List.of()))));
+        }
+
+        Map<Long, List<TopicResponseDto>> topicsByChapter = new HashMap<>();
+        for (Topic topic : topics) {
+            topicsByChapter.computeIfAbsent(topic.getChapter().getId(), k -> new ArrayList<>())
+                    .add(TopicResponseDto.fromEntity(topic));
+        }
+
+        Map<Long, List<ChapterResponseDto>> chaptersBySubject = new HashMap<>();
+        for (Chapter chapter : chapters) {
+            chaptersBySubject.computeIfAbsent(chapter.getSubject().getId(), k -> new ArrayList<>())
+                    .add(ChapterResponseDto.fromEntity(chapter));
+        }
+
+        return new CurriculumTree(instituteId, version, Map.copyOf(subjectDtos), immutable(subjectIdsByCourse),
+                immutable(chaptersBySubject), immutable(topicsByChapter));
+    }
+
+    public Long instituteId() {
+        return instituteId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /** Weak ETag of every include-style read served from this tree. */
+    public String eTag() {
+        return eTag(instituteId, version);
+    }
+
+    static String eTag(Long instituteId, long version) {
+        return "W/\"curriculum-" + instituteId + "-" + version + "\"";
+    }
+
+    /** Ids of the courses the subject is linked to. */
+    public List<Long> courseIdsOf(Long subjectId) {
+        SubjectResponseDto subject = subjects.get(subjectId);
+        return subject != null ? subject.courseIds() : List.of();
+    }
+
+    /** The course's subjects, expanded further when {@code includes} asks for chapters/topics. */
+    public List<SubjectResponseDto> subjectsOf(Long courseId, Set<String> includes) {
+        return subjectIdsByCourse.getOrDefault(courseId, List.of()).stream()
+                .map(subjects::get)
+                .filter(Objects::nonNull)
+                .map(subject -> includes.contains("chapters")
+                        ? subject.withChapters(chaptersOf(subject.id(), includes))
+                        : subject)
+                .toList();
+    }
+
+    /** The subject's chapters, with topics when {@code includes} asks for them. */
+    public List<ChapterResponseDto> chaptersOf(Long subjectId, Set<String> includes) {
+        List<ChapterResponseDto> chapters = chaptersBySubject.getOrDefault(subjectId, List.of());
+        if (!includes.contains("topics")) {
+            return chapters;
+        }
+        return chapters.stream()
+                .map(chapter -> chapter.withTopics(topicsOf(chapter.id())))
+                .toList();
+    }
+
+    public List<TopicResponseDto> topicsOf(Long chapterId) {
+        return topicsByChapter.getOrDefault(chapterId, List.of());
+    }
+
+    private static <V> Map<Long, List<V>> immutable(Map<Long, List<V>> map) {
+        Map<Long, List<V>> copy = new HashMap<>(map.size() * 2);
+        map.forEach((k, v) -> copy.put(k, List.copyOf(v)));
+        return Map.copyOf(copy);
+    }
+}
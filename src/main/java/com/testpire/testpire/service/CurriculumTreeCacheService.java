@@ -0,0 +1,96 @@
+package com.testpire.testpire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.testpire.testpire.repository.ChapterRepository;
+import com.testpire.testpire.repository.CourseRepository;
+import com.testpire.testpire.repository.InstituteRepository;
+import com.testpire.testpire.repository.SubjectRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bounded in-memory cache of {@link CurriculumTree}s, one per institute, behind the {@code include=}
+ * expansions of course/subject/chapter reads. A miss builds the tree with four set-based queries
+ * (subjects, course/subject links, chapters, topics) instead of walking lazy collections row by row.
+ *
+ * <p>A cached tree is only served while its version still equals the institute's
+ * {@code curriculum_version}, which costs one primary-key read per request. Curriculum writes call
+ * {@link #invalidate} inside their transaction: it bumps that column and drops the local entry, so
+ * other nodes rebuild on their next read and clients holding the old ETag get a fresh body.</p>
+ */
+@Service
+@Slf4j
+public class CurriculumTreeCacheService {
+
+    private final InstituteRepository instituteRepository;
+    private final SubjectRepository subjectRepository;
+    private final CourseRepository courseRepository;
+    private final ChapterRepository chapterRepository;
+    private final TopicRepository topicRepository;
+
+    private final Cache<Long, CurriculumTree> trees;
+
+    public CurriculumTreeCacheService(InstituteRepository instituteRepository,
+                                      SubjectRepository subjectRepository,
+                                      CourseRepository courseRepository,
+                                      ChapterRepository chapterRepository,
+                                      TopicRepository topicRepository,
+                                      @Value("${testpire.curriculum-cache.max-size:200}") long maxSize) {
+        this.instituteRepository = instituteRepository;
+        this.subjectRepository = subjectRepository;
+        this.courseRepository = courseRepository;
+        this.chapterRepository = chapterRepository;
+        this.topicRepository = topicRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /** The institute's current tree, rebuilt from the DB if absent or built at an older version. */
+    public CurriculumTree get(Long instituteId) {
+        long version = currentVersion(instituteId);
+        CurriculumTree tree = trees.getIfPresent(instituteId);
+        if (tree != null && tree.version() == version) {
+            return tree;
+        }
+        // Built after reading the version: a write committing meanwhile bumps it past this tree.
+        tree = CurriculumTree.of(instituteId, version,
+                subjectRepository.findByInstituteIdOrderById(instituteId),
+                courseRepository.findSubjectLinksByInstituteId(instituteId),
+                chapterRepository.findByInstituteIdOrderByOrderIndexAscIdAsc(instituteId),
+                topicRepository.findByInstituteIdOrderByOrderIndexAscIdAsc(instituteId));
+        trees.put(instituteId, tree);
+        log.debug("Built curriculum tree for institute {} at version {}", instituteId, version);
+        return tree;
+    }
+
+    /**
+     * ETag of reads scoped to the institute, without building the tree; {@code null} for an unscoped
+     * (all-institutes) read, which gets no ETag.
+     */
+    public String eTag(Long instituteId) {
+        if (instituteId == null) {
+            return null;
+        }
+        return CurriculumTree.eTag(instituteId, currentVersion(instituteId));
+    }
+
+    /**
+     * Moves the institute's curriculum to a new version and drops the local tree. Must run inside the
+     * transaction that changes a course, subject, chapter, topic or course/subject link.
+     */
+    public void invalidate(Long instituteId) {
+        if (instituteId == null) {
+            return;
+        }
+        instituteRepository.bumpCurriculumVersion(instituteId);
+        trees.invalidate(instituteId);
+    }
+
+    private long currentVersion(Long instituteId) {
+        return instituteRepository.findCurriculumVersion(instituteId).orElse(0L);
+    }
+}
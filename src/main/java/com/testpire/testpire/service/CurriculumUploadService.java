@@ -4,16 +4,18 @@ import com.testpire.testpire.dto.response.CurriculumUploadResponseDto;
 import com.testpire.testpire.entity.Chapter;
 import com.testpire.testpire.entity.Subject;
 import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.enums.UploadJobKind;
 import com.testpire.testpire.repository.ChapterRepository;
 import com.testpire.testpire.repository.SubjectRepository;
 import com.testpire.testpire.repository.TopicRepository;
+import com.testpire.testpire.util.CsvReader;
+import com.testpire.testpire.util.CsvRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -53,160 +55,181 @@ public class CurriculumUploadService {
     private final SubjectRepository subjectRepository;
     private final ChapterRepository chapterRepository;
     private final TopicRepository topicRepository;
+    private final CurriculumTreeCacheService curriculumTrees;
+    private final HotPathMetrics metrics;
 
     @Transactional
     public CurriculumUploadResponseDto processBulkUpload(MultipartFile csvFile, Long instituteId, String createdBy) {
-        List<String> errors = new ArrayList<>();
-        int totalRows = 0;
-        int subjectsCreated = 0, chaptersCreated = 0, topicsCreated = 0;
-        int subjectsReused = 0, chaptersReused = 0, topicsReused = 0;
-
-        // Per-upload caches keyed by code (avoid N+1 for repeated codes in same file)
-        Map<String, Subject> subjectCache = new HashMap<>();
-        Map<String, Chapter> chapterCache = new HashMap<>();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(csvFile.getInputStream(), StandardCharsets.UTF_8))) {
+        List<CsvRow> rows = new ArrayList<>();
+        List<String> readErrors = new ArrayList<>();
 
-            String headerLine = reader.readLine();
-            if (headerLine == null) {
+        try (CsvReader csv = new CsvReader(new InputStreamReader(csvFile.getInputStream(), StandardCharsets.UTF_8))) {
+            if (!csv.next()) {
                 return fail("CSV file is empty.");
             }
             try {
-                validateHeader(parseCsvLine(headerLine));
+                validateHeader(csv.toArray());
             } catch (IllegalArgumentException e) {
                 return fail(e.getMessage());
             }
 
-            int rowNumber = 1;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) continue;
-                totalRows++;
-                rowNumber++;
+            while (csv.next()) {
+                rows.add(new CsvRow((int) csv.recordNumber(), csv.toArray()));
+            }
 
-                try {
-                    String[] cols = parseCsvLine(line);
-                    if (cols.length < COLUMN_COUNT) {
-                        // Pad with empty strings to allow partial rows
-                        String[] padded = new String[COLUMN_COUNT];
-                        System.arraycopy(cols, 0, padded, 0, cols.length);
-                        for (int i = cols.length; i < COLUMN_COUNT; i++) padded[i] = "";
-                        cols = padded;
-                    }
+        } catch (IOException e) {
+            log.error("Error reading curriculum CSV", e);
+            readErrors.add("Error reading CSV file: " + e.getMessage());
+        }
 
-                    String subjectCode = unquote(cols[0]);
-                    String subjectName = unquote(cols[1]);
-                    String subjectDesc = unquote(cols[2]);
-                    String chapterCode = unquote(cols[3]);
-                    String chapterName = unquote(cols[4]);
-                    String chapterDesc = unquote(cols[5]);
-                    String chapterOrderStr = unquote(cols[6]);
-                    String topicCode = unquote(cols[7]);
-                    String topicName = unquote(cols[8]);
-                    String topicDesc = unquote(cols[9]);
-                    String topicOrderStr = unquote(cols[10]);
+        CurriculumUploadResponseDto result = importRows(rows, instituteId, createdBy);
+        if (readErrors.isEmpty()) {
+            return result;
+        }
+        List<String> errors = new ArrayList<>(result.errors());
+        errors.addAll(readErrors);
+        return result.toBuilder().errors(errors).build();
+    }
 
-                    if (subjectCode.isEmpty()) {
-                        errors.add("Row " + rowNumber + ": Subject Code is required.");
-                        continue;
-                    }
-                    if (subjectName.isEmpty()) {
-                        errors.add("Row " + rowNumber + ": Subject Name is required.");
-                        continue;
-                    }
-                    if (!chapterCode.isEmpty() && chapterName.isEmpty()) {
-                        errors.add("Row " + rowNumber + ": Chapter Name is required when Chapter Code is provided.");
-                        continue;
-                    }
-                    if (!topicCode.isEmpty() && topicName.isEmpty()) {
-                        errors.add("Row " + rowNumber + ": Topic Name is required when Topic Code is provided.");
-                        continue;
-                    }
-                    if (!topicCode.isEmpty() && chapterCode.isEmpty()) {
-                        errors.add("Row " + rowNumber + ": Chapter Code is required when Topic Code is provided.");
-                        continue;
-                    }
+    /**
+     * Upserts a run of rows of one upload in a single transaction and returns its counts. Safe to
+     * re-run: every entity is created only if its code is absent, so rows that already went through
+     * are counted as reused.
+     */
+    @Transactional
+    public CurriculumUploadResponseDto importRows(List<CsvRow> rows, Long instituteId, String createdBy) {
+        List<String> errors = new ArrayList<>();
+        int subjectsCreated = 0, chaptersCreated = 0, topicsCreated = 0;
+        int subjectsReused = 0, chaptersReused = 0, topicsReused = 0;
 
-                    // Subject — create-if-absent by code
-                    Subject subject = subjectCache.get(subjectCode);
-                    if (subject == null) {
-                        subject = subjectRepository.findByCodeAndInstituteId(subjectCode, instituteId)
-                                .orElse(null);
-                        if (subject == null) {
-                            subject = subjectRepository.save(Subject.builder()
-                                    .code(subjectCode)
-                                    .name(subjectName)
-                                    .description(subjectDesc.isEmpty() ? null : subjectDesc)
-                                    .instituteId(instituteId)
-                                    .createdBy(createdBy)
-                                    .build());
-                            subjectsCreated++;
-                        } else {
-                            subjectsReused++;
-                        }
-                        subjectCache.put(subjectCode, subject);
-                    }
+        // Caches keyed by code for this run of rows (avoid N+1 for repeated codes in same file)
+        Map<String, Subject> subjectCache = new HashMap<>();
+        Map<String, Chapter> chapterCache = new HashMap<>();
 
-                    if (chapterCode.isEmpty()) continue;
+        for (CsvRow row : rows) {
+            int rowNumber = row.rowNumber();
+            try {
+                String[] cols = row.columns();
+                if (cols.length < COLUMN_COUNT) {
+                    // Pad with empty strings to allow partial rows
+                    String[] padded = new String[COLUMN_COUNT];
+                    System.arraycopy(cols, 0, padded, 0, cols.length);
+                    for (int i = cols.length; i < COLUMN_COUNT; i++) padded[i] = "";
+                    cols = padded;
+                }
 
-                    // Chapter — create-if-absent by code
-                    String chapterCacheKey = chapterCode;
-                    Chapter chapter = chapterCache.get(chapterCacheKey);
-                    if (chapter == null) {
-                        chapter = chapterRepository.findByCodeAndInstituteId(chapterCode, instituteId)
-                                .orElse(null);
-                        if (chapter == null) {
-                            Integer chapterOrder = parseOptionalInt(chapterOrderStr);
-                            chapter = chapterRepository.save(Chapter.builder()
-                                    .code(chapterCode)
-                                    .name(chapterName)
-                                    .description(chapterDesc.isEmpty() ? null : chapterDesc)
-                                    .subject(subject)
-                                    .instituteId(instituteId)
-                                    .orderIndex(chapterOrder)
-                                    .createdBy(createdBy)
-                                    .build());
-                            chaptersCreated++;
-                        } else {
-                            chaptersReused++;
-                        }
-                        chapterCache.put(chapterCacheKey, chapter);
+                String subjectCode = trimmed(cols[0]);
+                String subjectName = trimmed(cols[1]);
+                String subjectDesc = trimmed(cols[2]);
+                String chapterCode = trimmed(cols[3]);
+                String chapterName = trimmed(cols[4]);
+                String chapterDesc = trimmed(cols[5]);
+                String chapterOrderStr = trimmed(cols[6]);
+                String topicCode = trimmed(cols[7]);
+                String topicName = trimmed(cols[8]);
+                String topicDesc = trimmed(cols[9]);
+                String topicOrderStr = trimmed(cols[10]);
+
+                if (subjectCode.isEmpty()) {
+                    errors.add("Row " + rowNumber + ": Subject Code is required.");
+                    continue;
+                }
+                if (subjectName.isEmpty()) {
+                    errors.add("Row " + rowNumber + ": Subject Name is required.");
+                    continue;
+                }
+                if (!chapterCode.isEmpty() && chapterName.isEmpty()) {
+                    errors.add("Row " + rowNumber + ": Chapter Name is required when Chapter Code is provided.");
+                    continue;
+                }
+                if (!topicCode.isEmpty() && topicName.isEmpty()) {
+                    errors.add("Row " + rowNumber + ": Topic Name is required when Topic Code is provided.");
+                    continue;
+                }
+                if (!topicCode.isEmpty() && chapterCode.isEmpty()) {
+                    errors.add("Row " + rowNumber + ": Chapter Code is required when Topic Code is provided.");
+                    continue;
+                }
+
+                // Subject — create-if-absent by code
+                Subject subject = subjectCache.get(subjectCode);
+                if (subject == null) {
+                    subject = subjectRepository.findByCodeAndInstituteId(subjectCode, instituteId)
+                            .orElse(null);
+                    if (subject == null) {
+                        subject = subjectRepository.save(Subject.builder()
+                                .code(subjectCode)
+                                .name(subjectName)
+                                .description(subjectDesc.isEmpty() ? null : subjectDesc)
+                                .instituteId(instituteId)
+                                .createdBy(createdBy)
+                                .build());
+                        subjectsCreated++;
+                    } else {
+                        subjectsReused++;
                     }
+                    subjectCache.put(subjectCode, subject);
+                }
 
-                    if (topicCode.isEmpty()) continue;
+                if (chapterCode.isEmpty()) continue;
 
-                    // Topic — create-if-absent by code
-                    boolean topicExists = topicRepository.existsByCodeAndInstituteId(topicCode, instituteId);
-                    if (!topicExists) {
-                        Integer topicOrder = parseOptionalInt(topicOrderStr);
-                        topicRepository.save(Topic.builder()
-                                .code(topicCode)
-                                .name(topicName)
-                                .description(topicDesc.isEmpty() ? null : topicDesc)
-                                .chapter(chapter)
+                // Chapter — create-if-absent by code
+                String chapterCacheKey = chapterCode;
+                Chapter chapter = chapterCache.get(chapterCacheKey);
+                if (chapter == null) {
+                    chapter = chapterRepository.findByCodeAndInstituteId(chapterCode, instituteId)
+                            .orElse(null);
+                    if (chapter == null) {
+                        Integer chapterOrder = parseOptionalInt(chapterOrderStr);
+                        chapter = chapterRepository.save(Chapter.builder()
+                                .code(chapterCode)
+                                .name(chapterName)
+                                .description(chapterDesc.isEmpty() ? null : chapterDesc)
+                                .subject(subject)
                                 .instituteId(instituteId)
-                                .orderIndex(topicOrder)
+                                .orderIndex(chapterOrder)
                                 .createdBy(createdBy)
                                 .build());
-                        topicsCreated++;
+                        chaptersCreated++;
                     } else {
-                        topicsReused++;
+                        chaptersReused++;
                     }
+                    chapterCache.put(chapterCacheKey, chapter);
+                }
 
-                } catch (Exception e) {
-                    log.error("Error processing curriculum row {}: {}", rowNumber, e.getMessage());
-                    errors.add("Row " + rowNumber + ": " + e.getMessage());
+                if (topicCode.isEmpty()) continue;
+
+                // Topic — create-if-absent by code
+                boolean topicExists = topicRepository.existsByCodeAndInstituteId(topicCode, instituteId);
+                if (!topicExists) {
+                    Integer topicOrder = parseOptionalInt(topicOrderStr);
+                    topicRepository.save(Topic.builder()
+                            .code(topicCode)
+                            .name(topicName)
+                            .description(topicDesc.isEmpty() ? null : topicDesc)
+                            .chapter(chapter)
+                            .instituteId(instituteId)
+                            .orderIndex(topicOrder)
+                            .createdBy(createdBy)
+                            .build());
+                    topicsCreated++;
+                } else {
+                    topicsReused++;
                 }
+
+            } catch (Exception e) {
+                log.error("Error processing curriculum row {}: {}", rowNumber, e.getMessage());
+                errors.add("Row " + rowNumber + ": " + e.getMessage());
             }
+        }
 
-        } catch (IOException e) {
-            log.error("Error reading curriculum CSV", e);
-            errors.add("Error reading CSV file: " + e.getMessage());
+        if (subjectsCreated + chaptersCreated + topicsCreated > 0) {
+            curriculumTrees.invalidate(instituteId);
         }
+        metrics.recordImport(UploadJobKind.CURRICULUM, rows.size() - errors.size(), errors.size());
 
         return CurriculumUploadResponseDto.builder()
-                .totalRows(totalRows)
+                .totalRows(rows.size())
                 .subjectsCreated(subjectsCreated)
                 .chaptersCreated(chaptersCreated)
                 .topicsCreated(topicsCreated)
@@ -217,7 +240,7 @@ public class CurriculumUploadService {
                 .build();
     }
 
-    void validateHeader(String[] header) {
+    static void validateHeader(String[] header) {
         if (header.length < COLUMN_COUNT) {
             throw new IllegalArgumentException(String.format(
                     "Invalid CSV header: expected %d columns but found %d. Expected: %s",
@@ -243,27 +266,9 @@ public class CurriculumUploadService {
                 .build();
     }
 
-    private String[] parseCsvLine(String line) {
-        List<String> result = new ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder current = new StringBuilder();
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                result.add(current.toString().trim());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-        result.add(current.toString().trim());
-        return result.toArray(new String[0]);
-    }
-
-    private String unquote(String value) {
-        return value == null ? "" : value.replace("\"", "").trim();
+    /** Quotes are already resolved by the reader; surrounding whitespace is not significant. */
+    private static String trimmed(String value) {
+        return value == null ? "" : value.trim();
     }
 
     private Integer parseOptionalInt(String value) {
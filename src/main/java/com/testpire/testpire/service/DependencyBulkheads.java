@@ -0,0 +1,125 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.constants.ApplicationConstants.Metrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-dependency concurrency limits for the blocking calls a request makes outside the database.
+ * Requests run on virtual threads ({@code spring.threads.virtual.enabled}), so nothing upstream caps
+ * how many of them can be waiting on Cognito at once; these semaphores do. A caller that cannot get a
+ * permit within {@code acquire-timeout-ms} fails fast with {@link BulkheadFullException} (503) instead
+ * of queueing inside the AWS SDK's connection pool while holding whatever it already has, such as a
+ * JDBC connection.
+ *
+ * <p>Limits are per node and default to what each dependency can absorb: Cognito's per-account
+ * request quotas, the S3 client's 50-connection HTTP pool, and a small share for image fetches from
+ * arbitrary external hosts. Permits in use, time waited and rejections are published per dependency.</p>
+ */
+@Component
+public class DependencyBulkheads {
+
+    /** A remote dependency called synchronously on the request path. */
+    public enum Dependency {
+        COGNITO, S3, URL_FETCH
+    }
+
+    /** A blocking call made under a bulkhead permit. */
+    @FunctionalInterface
+    public interface BlockingCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /** No permit became free in time: the dependency is saturated. Mapped to 503 Service Unavailable. */
+    public static class BulkheadFullException extends RuntimeException {
+
+        private final Dependency dependency;
+
+        BulkheadFullException(Dependency dependency, String message) {
+            super(message);
+            this.dependency = dependency;
+        }
+
+        public Dependency getDependency() {
+            return dependency;
+        }
+    }
+
+    private final long acquireTimeoutMillis;
+    private final Map<Dependency, Semaphore> permits = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, Integer> limits = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, Timer> waits = new EnumMap<>(Dependency.class);
+    private final Map<Dependency, Counter> rejections = new EnumMap<>(Dependency.class);
+
+    public DependencyBulkheads(MeterRegistry registry,
+                               @Value("${testpire.bulkhead.cognito.max-concurrent:10}") int cognitoLimit,
+                               @Value("${testpire.bulkhead.s3.max-concurrent:50}") int s3Limit,
+                               @Value("${testpire.bulkhead.url-fetch.max-concurrent:8}") int urlFetchLimit,
+                               @Value("${testpire.bulkhead.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        limits.put(Dependency.COGNITO, cognitoLimit);
+        limits.put(Dependency.S3, s3Limit);
+        limits.put(Dependency.URL_FETCH, urlFetchLimit);
+        for (Dependency dependency : Dependency.values()) {
+            Semaphore semaphore = new Semaphore(limits.get(dependency), true);
+            permits.put(dependency, semaphore);
+            String tag = dependency.name().toLowerCase(Locale.ROOT);
+            Gauge.builder(Metrics.BULKHEAD_IN_USE, semaphore, s -> limits.get(dependency) - s.availablePermits())
+                    .description("Calls to a dependency currently holding a bulkhead permit")
+                    .tag(Metrics.TAG_DEPENDENCY, tag)
+                    .register(registry);
+            waits.put(dependency, Timer.builder(Metrics.BULKHEAD_WAIT)
+                    .description("Time spent waiting for a bulkhead permit")
+                    .tag(Metrics.TAG_DEPENDENCY, tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            rejections.put(dependency, Counter.builder(Metrics.BULKHEAD_REJECTED)
+                    .description("Calls rejected because a dependency's bulkhead was full")
+                    .tag(Metrics.TAG_DEPENDENCY, tag)
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Runs {@code call} while holding one of {@code dependency}'s permits, waiting up to the acquire
+     * timeout for one. Whatever {@code call} throws propagates unchanged.
+     */
+    public <T, E extends Exception> T call(Dependency dependency, BlockingCall<T, E> call) throws E {
+        Semaphore semaphore = permits.get(dependency);
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejections.get(dependency).increment();
+            throw new BulkheadFullException(dependency, "Interrupted while waiting for " + dependency);
+        }
+        waits.get(dependency).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.get(dependency).increment();
+            throw new BulkheadFullException(dependency, dependency + " is at its limit of "
+                    + limits.get(dependency) + " concurrent calls; try again shortly");
+        }
+        try {
+            return call.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /** Permits of {@code dependency} currently free. */
+    public int available(Dependency dependency) {
+        return permits.get(dependency).availablePermits();
+    }
+}
@@ -0,0 +1,93 @@
+package com.testpire.testpire.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.enums.ETagSource;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestRepository;
+import com.testpire.testpire.util.RequestUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Computes the weak ETags behind {@link com.testpire.testpire.annotation.ConditionalGet}. A version tag
+ * comes from a version counter or timestamp that every write to the resource moves. It costs one
+ * indexed read, so a matching {@code If-None-Match} is answered before any service work. A content tag
+ * hashes the response body and is the fallback when no version is available.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ETagService {
+
+    // Only used to hash; never written to the client, so it need not match the MVC converter's settings.
+    private static final ObjectMapper HASH_MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+
+    private final CurriculumTreeCacheService curriculumTrees;
+    private final TestRepository testRepository;
+    private final TestAttemptRepository attemptRepository;
+
+    /**
+     * Version tag of the resource the request reads, or {@code null} when the source has none for it.
+     * Must run after authorization, because institute scoping and the attempt's owner come from the
+     * authenticated user.
+     *
+     * @param id                   value of the endpoint's id path variable, if any
+     * @param requestedInstituteId a SUPER_ADMIN's explicit institute param, if the endpoint takes one
+     */
+    public String versionTag(ETagSource source, Long id, Long requestedInstituteId) {
+        return switch (source) {
+            case CURRICULUM -> curriculumTrees.eTag(RequestUtils.resolveInstituteId(requestedInstituteId));
+            case TEST -> id != null ? testTag(id) : null;
+            case ATTEMPT -> id != null ? attemptTag(id) : null;
+            case CONTENT -> null;
+        };
+    }
+
+    /** Weak tag over the JSON form of {@code body}; {@code null} if it cannot be serialized. */
+    public String contentTag(Object body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(HASH_MAPPER.writeValueAsBytes(body));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            log.warn("Could not hash response body for its ETag: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String testTag(Long testId) {
+        // Same scoping as TestService.findScoped: another institute's test gets no tag.
+        Long instituteId = RequestUtils.getCurrentUserInstituteId();
+        return (instituteId != null
+                ? testRepository.findUpdatedAtByIdAndInstituteId(testId, instituteId)
+                : testRepository.findUpdatedAtById(testId))
+                .map(updatedAt -> "W/\"test-" + testId + "-" + version(updatedAt) + "\"")
+                .orElse(null);
+    }
+
+    private String attemptTag(Long attemptId) {
+        String cognitoUserId = RequestUtils.getCurrentUsername();
+        if (cognitoUserId == null) {
+            return null;
+        }
+        return attemptRepository.findVersion(attemptId, cognitoUserId)
+                .filter(v -> v.getStatus() != AttemptStatus.IN_PROGRESS)
+                .map(v -> "W/\"attempt-" + attemptId + "-" + v.getStatus() + "-" + version(v.getTestUpdatedAt()) + "\"")
+                .orElse(null);
+    }
+
+    private static String version(Instant updatedAt) {
+        return updatedAt.getEpochSecond() + "." + updatedAt.getNano();
+    }
+}
@@ -0,0 +1,92 @@
+package com.testpire.testpire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.testpire.testpire.entity.TestAssignment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-based cache of each student's resolved eligibility ({@code testId -> qualifying
+ * assignment}), as computed by {@link TestResolutionService}. A hit spares the enrollment load and
+ * the {@code findForStudentTargets} join on every dashboard read and attempt start.
+ *
+ * <p>Kept current incrementally: {@link StudentEnrollmentService} drops a student's entry when their
+ * enrollments change, and {@link TestAssignmentService} drops every entry of the institute when an
+ * assignment is created or removed. Both happen after the mutating transaction commits, so a
+ * concurrent reload cannot re-cache the old rows. Test status and windows are not cached here (they
+ * are read live from the test row). Invalidation is node-local; the TTL bounds staleness across
+ * nodes and after DB-level cascades (course/batch/user deletes).</p>
+ */
+@Service
+@Slf4j
+public class EligibilityCacheService {
+
+    private final Cache<StudentKey, Map<Long, TestAssignment>> eligibility;
+
+    public EligibilityCacheService(@Value("${testpire.eligibility-cache.max-size:20000}") long maxSize,
+                                   @Value("${testpire.eligibility-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.eligibility = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The student's cached eligibility, or the result of {@code loader} (cached read-only). The
+     * returned assignments are shared between requests and must not be modified.
+     */
+    public Map<Long, TestAssignment> get(Long studentUserId, Long instituteId,
+                                         Supplier<Map<Long, TestAssignment>> loader) {
+        return eligibility.get(new StudentKey(studentUserId, instituteId),
+                k -> Collections.unmodifiableMap(loader.get()));
+    }
+
+    /** Drops the student's entries once the current transaction (if any) commits. */
+    public void invalidateStudent(Long studentUserId) {
+        afterCommit(() -> {
+            eligibility.asMap().keySet().removeIf(k -> k.studentUserId().equals(studentUserId));
+            log.debug("Eligibility cache invalidated for student {}", studentUserId);
+        });
+    }
+
+    /** Drops every entry of the institute once the current transaction (if any) commits. */
+    public void invalidateInstitute(Long instituteId) {
+        afterCommit(() -> {
+            eligibility.asMap().keySet().removeIf(k -> k.instituteId().equals(instituteId));
+            log.debug("Eligibility cache invalidated for institute {}", instituteId);
+        });
+    }
+
+    public EligibilityCacheStats stats() {
+        CacheStats s = eligibility.stats();
+        return new EligibilityCacheStats(eligibility.estimatedSize(), s.hitCount(), s.missCount(), s.hitRate());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record StudentKey(Long studentUserId, Long instituteId) {}
+
+    public record EligibilityCacheStats(long size, long hits, long misses, double hitRate) {}
+}
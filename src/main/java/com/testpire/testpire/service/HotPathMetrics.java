@@ -0,0 +1,128 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.constants.ApplicationConstants.Metrics;
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.enums.UploadJobKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters for the hot paths that Spring's own instrumentation does not see: the phases of
+ * request authorization, repository work and SQL statements per request, attempt grading and bulk
+ * imports. Per-endpoint latency is Spring MVC's {@code http.server.requests} and per-repository-method
+ * latency is Spring Data's {@code spring.data.repository.invocations}; both publish histograms
+ * (application.properties).
+ *
+ * <p>Meters with a fixed tag set are registered once here so the hot paths only record. The one
+ * exception is the per-request meters, which are tagged by URI pattern or handler and looked up per
+ * request.</p>
+ */
+@Component
+public class HotPathMetrics {
+
+    /** A timed step of {@code AuthorizationAspect}. */
+    public enum AuthPhase {
+        JWT_VERIFY, IDENTITY_RESOLVE, PERMISSION_CHECK
+    }
+
+    private final MeterRegistry registry;
+    private final Map<AuthPhase, Timer> authPhases = new EnumMap<>(AuthPhase.class);
+    private final Map<AttemptStatus, Timer> grading = new EnumMap<>(AttemptStatus.class);
+    private final Map<AttemptStatus, Counter> gradedQuestions = new EnumMap<>(AttemptStatus.class);
+    private final Map<UploadJobKind, Counter> importSucceeded = new EnumMap<>(UploadJobKind.class);
+    private final Map<UploadJobKind, Counter> importFailed = new EnumMap<>(UploadJobKind.class);
+
+    public HotPathMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (AuthPhase phase : AuthPhase.values()) {
+            authPhases.put(phase, Timer.builder(Metrics.AUTH_PHASE)
+                    .description("Time spent in one phase of request authorization")
+                    .tag(Metrics.TAG_PHASE, tagValue(phase))
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (AttemptStatus status : AttemptStatus.values()) {
+            grading.put(status, Timer.builder(Metrics.GRADING)
+                    .description("Attempts graded, and the time to grade each")
+                    .tag(Metrics.TAG_STATUS, tagValue(status))
+                    .publishPercentileHistogram()
+                    .register(registry));
+            gradedQuestions.put(status, Counter.builder(Metrics.GRADED_QUESTIONS)
+                    .description("Questions graded across all attempts")
+                    .tag(Metrics.TAG_STATUS, tagValue(status))
+                    .register(registry));
+        }
+        for (UploadJobKind kind : UploadJobKind.values()) {
+            importSucceeded.put(kind, importCounter(kind, "succeeded"));
+            importFailed.put(kind, importCounter(kind, "failed"));
+        }
+    }
+
+    public Timer authPhase(AuthPhase phase) {
+        return authPhases.get(phase);
+    }
+
+    /** One attempt graded to {@code status}, covering {@code questions} questions in {@code nanos}. */
+    public void recordGrading(AttemptStatus status, int questions, long nanos) {
+        grading.get(status).record(nanos, TimeUnit.NANOSECONDS);
+        gradedQuestions.get(status).increment(questions);
+    }
+
+    /** Rows of a question or curriculum import, whether run inline or by an upload job. */
+    public void recordImport(UploadJobKind kind, int succeeded, int failed) {
+        importSucceeded.get(kind).increment(succeeded);
+        importFailed.get(kind).increment(failed);
+    }
+
+    /** Repository calls made while serving one request (nested calls count once) and their total time. */
+    public void recordRequestRepositoryWork(String uri, String method, int calls, long nanos) {
+        DistributionSummary.builder(Metrics.REPOSITORY_CALLS_PER_REQUEST)
+                .description("Repository calls made while serving one request")
+                .tags(Metrics.TAG_URI, uri, Metrics.TAG_METHOD, method)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(calls);
+        Timer.builder(Metrics.REPOSITORY_TIME_PER_REQUEST)
+                .description("Time spent in repository calls while serving one request")
+                .tags(Metrics.TAG_URI, uri, Metrics.TAG_METHOD, method)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Hibernate statements of one request, tagged by handler ({@code Controller.method}). */
+    public void recordRequestStatements(String handler, int statements, boolean overBudget) {
+        DistributionSummary.builder(Metrics.SQL_STATEMENTS_PER_REQUEST)
+                .description("SQL statements Hibernate ran while serving one request")
+                .tag(Metrics.TAG_HANDLER, handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(statements);
+        if (overBudget) {
+            Counter.builder(Metrics.SQL_BUDGET_EXCEEDED)
+                    .description("Requests over their SQL statement budget or repeating one statement")
+                    .tag(Metrics.TAG_HANDLER, handler)
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    private Counter importCounter(UploadJobKind kind, String outcome) {
+        return Counter.builder(Metrics.IMPORT_ROWS)
+                .description("Rows imported from question and curriculum CSVs")
+                .tags(Metrics.TAG_KIND, tagValue(kind), Metrics.TAG_OUTCOME, outcome)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
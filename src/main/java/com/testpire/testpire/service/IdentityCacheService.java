@@ -0,0 +1,206 @@
+package com.testpire.testpire.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.testpire.testpire.constants.ApplicationConstants;
+import com.testpire.testpire.dto.UserDto;
+import com.testpire.testpire.entity.User;
+import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.repository.UserRepository;
+import com.testpire.testpire.util.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL-based cache of resolved caller identities for {@code AuthorizationAspect}, so an
+ * authenticated request no longer pays a synchronous Cognito {@code AdminGetUser} round trip.
+ *
+ * <p>Entries are keyed by the JWT principal plus the token's {@code iat}/{@code jti}, so a freshly
+ * issued token always resolves anew. On a miss the identity is derived, cheapest first, from the
+ * verified token's {@code custom:roles}/{@code custom:instituteId} claims, then the local
+ * {@code users} row, and only then Cognito.</p>
+ *
+ * <p>{@link UserService} and {@link CognitoService} call {@link #invalidate} when they mutate a user.
+ * That drops the principal's entries and stops trusting the claims of any token issued before the
+ * mutation: such tokens re-resolve from the DB/Cognito, so e.g. a deleted user is locked out on the
+ * next request rather than at token expiry. Invalidation takes effect when the mutating transaction
+ * commits and is node-local; the TTL bounds staleness
+ * across nodes.</p>
+ */
+@Service
+@Slf4j
+public class IdentityCacheService {
+
+    private final UserRepository userRepository;
+    // Lazy: CognitoService invalidates through this cache, so a direct reference would be circular.
+    private final ObjectProvider<CognitoService> cognitoService;
+
+    private final Cache<IdentityKey, UserDto> identities;
+    /** Principal -> last mutation time. Claims on tokens issued at or before this are not trusted. */
+    private final Cache<String, Instant> mutatedAt;
+
+    private final LongAdder claimLoads = new LongAdder();
+    private final LongAdder localLoads = new LongAdder();
+    private final LongAdder cognitoLoads = new LongAdder();
+
+    public IdentityCacheService(UserRepository userRepository,
+                                ObjectProvider<CognitoService> cognitoService,
+                                @Value("${testpire.identity-cache.max-size:10000}") long maxSize,
+                                @Value("${testpire.identity-cache.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${testpire.identity-cache.revocation-window-seconds:86400}") long revocationWindowSeconds) {
+        this.userRepository = userRepository;
+        this.cognitoService = cognitoService;
+        this.identities = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Must outlive the longest-lived token (Cognito ID tokens: at most one day).
+        this.mutatedAt = Caffeine.newBuilder()
+                .maximumSize(maxSize * 10)
+                .expireAfterWrite(Duration.ofSeconds(revocationWindowSeconds))
+                .build();
+    }
+
+    /**
+     * Resolves the identity behind an already-verified token, serving it from the cache when the same
+     * token has been seen recently. Failures (e.g. a user unknown to both the DB and Cognito) propagate
+     * and are not cached.
+     */
+    public UserDto resolve(VerifiedToken token) {
+        IdentityKey key = IdentityKey.of(token);
+        return identities.get(key, k -> load(k, token));
+    }
+
+    /**
+     * Forgets every cached identity of the given principals (Cognito username and/or local username;
+     * nulls are ignored) and distrusts the claims of their already-issued tokens, once the current
+     * transaction (if any) commits. Invalidating earlier would let a concurrent request re-cache the
+     * row the transaction has not yet committed over.
+     */
+    public void invalidate(String... principals) {
+        afterCommit(() -> {
+            Instant now = Instant.now();
+            for (String principal : principals) {
+                if (principal == null) {
+                    continue;
+                }
+                mutatedAt.put(principal, now);
+                identities.asMap().keySet().removeIf(k -> k.principal().equals(principal));
+                log.debug("Identity cache invalidated for principal {}", principal);
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        identities.invalidateAll();
+        log.info("Identity cache cleared");
+    }
+
+    public IdentityCacheStats stats() {
+        CacheStats s = identities.stats();
+        return new IdentityCacheStats(identities.estimatedSize(), s.hitCount(), s.missCount(),
+                s.evictionCount(), s.hitRate(), claimLoads.sum(), localLoads.sum(), cognitoLoads.sum());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // --- loading -----------------------------------------------------------
+
+    private UserDto load(IdentityKey key, VerifiedToken token) {
+        if (claimsTrusted(key)) {
+            UserDto fromClaims = fromClaims(key.principal(), token);
+            if (fromClaims != null) {
+                claimLoads.increment();
+                return fromClaims;
+            }
+        }
+
+        User local = userRepository.findByCognitoUserId(key.principal())
+                .or(() -> userRepository.findByUsername(key.principal()))
+                .orElse(null);
+        if (local != null) {
+            localLoads.increment();
+            return new UserDto(key.principal(), local.getEmail(), local.getFirstName(), local.getLastName(),
+                    local.getRole(), local.getInstituteId());
+        }
+
+        cognitoLoads.increment();
+        log.debug("Identity for {} not derivable locally; falling back to Cognito", key.principal());
+        return cognitoService.getObject().getUser(key.principal());
+    }
+
+    /** Claims are only trusted on tokens issued strictly after the principal's last known mutation. */
+    private boolean claimsTrusted(IdentityKey key) {
+        if (key.issuedAt() == null) {
+            return false;
+        }
+        Instant mutated = mutatedAt.getIfPresent(key.principal());
+        return mutated == null || key.issuedAt() > mutated.getEpochSecond();
+    }
+
+    /**
+     * Builds the identity from the Cognito custom attributes carried in the ID token, mirroring
+     * {@code CognitoService}'s attribute mapping. Returns null when the claims are missing or
+     * malformed so resolution falls through to an authoritative source instead of guessing a role.
+     */
+    private static UserDto fromClaims(String principal, VerifiedToken token) {
+        String roleClaim = token.claim(ApplicationConstants.CognitoAttributes.CUSTOM_ROLE);
+        if (roleClaim == null) {
+            return null;
+        }
+        UserRole role;
+        Long instituteId = -1L;
+        try {
+            role = UserRole.valueOf(roleClaim);
+            String instituteClaim = token.claim(ApplicationConstants.CognitoAttributes.CUSTOM_INSTITUTE_ID);
+            if (instituteClaim != null && !instituteClaim.isBlank()) {
+                instituteId = Long.valueOf(instituteClaim);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Unusable identity claims on token for {}: {}", principal, e.getMessage());
+            return null;
+        }
+        return new UserDto(principal,
+                orEmpty(token.claim(ApplicationConstants.CognitoAttributes.EMAIL)),
+                orEmpty(token.claim(ApplicationConstants.CognitoAttributes.GIVEN_NAME)),
+                orEmpty(token.claim(ApplicationConstants.CognitoAttributes.FAMILY_NAME)),
+                role, instituteId);
+    }
+
+    private static String orEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /** Cache key: the principal plus the token's issue time and id, so each token resolves once. */
+    record IdentityKey(String principal, Long issuedAt, String tokenId) {
+        static IdentityKey of(VerifiedToken token) {
+            Instant iat = token.issuedAt();
+            return new IdentityKey(token.username(), iat == null ? null : iat.getEpochSecond(), token.tokenId());
+        }
+    }
+
+    /** Point-in-time counters for verifying cache behaviour under load. */
+    public record IdentityCacheStats(long size, long hits, long misses, long evictions, double hitRate,
+                                     long claimLoads, long localLoads, long cognitoLoads) {}
+}
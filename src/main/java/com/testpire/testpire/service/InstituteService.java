@@ -3,6 +3,7 @@ package com.testpire.testpire.service;
 import com.testpire.testpire.constants.ApplicationConstants;
 import com.testpire.testpire.dto.InstituteDto;
 import com.testpire.testpire.dto.request.InstituteSearchRequestDto;
+import com.testpire.testpire.dto.request.PaginationRequestDto;
 import com.testpire.testpire.dto.response.InstituteListResponseDto;
 import com.testpire.testpire.dto.response.InstituteResponseDto;
 import com.testpire.testpire.entity.Institute;
@@ -14,6 +15,8 @@ import com.testpire.testpire.repository.TestAttemptRepository;
 import com.testpire.testpire.repository.TestRepository;
 import com.testpire.testpire.repository.UserRepository;
 import com.testpire.testpire.repository.specification.InstituteSpecification;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -39,6 +42,7 @@ public class InstituteService {
     private final LeadRepository leadRepository;
     private final QuestionRepository questionRepository;
     private final CognitoService cognitoService;
+    private final IdentityCacheService identityCache;
 
     public Institute createInstitute(InstituteDto instituteDto, String createdBy) {
         log.info("Creating institute: {}", instituteDto.name());
@@ -156,6 +160,8 @@ public class InstituteService {
             }
         }
         userRepository.deleteAll(users);
+        // CognitoService only invalidates the local username; also drop the JWT principal (Cognito sub).
+        users.forEach(user -> identityCache.invalidate(user.getCognitoUserId()));
         log.info("Removed {} user(s) for institute {}", users.size(), id);
 
         // 6. Institute — cascades the remaining hierarchy (courses, subjects, chapters, topics,
@@ -212,6 +218,18 @@ public class InstituteService {
                 .and(InstituteSpecification.createdBy(request.getCriteria().getCreatedBy()))
                 .and(InstituteSpecification.updatedBy(request.getCriteria().getUpdatedBy()));
         
+        PaginationRequestDto pagination = request.getPagination();
+        if (pagination != null && pagination.getCursor() != null) {
+            KeysetPage<Institute> page = KeysetPagination.fetch(instituteRepository, spec,
+                request.getSorting().getField(), request.getSorting().getDirection(), pagination.getCursor(),
+                pagination.getSize(), !Boolean.FALSE.equals(pagination.getIncludeTotal()));
+            List<InstituteResponseDto> instituteDtos = page.content().stream()
+                    .map(InstituteResponseDto::fromEntity)
+                    .toList();
+            return InstituteListResponseDto.success(instituteDtos, instituteDtos.size(), 0,
+                page.totalCount() == null ? null : page.totalCount().intValue(), page.nextCursor());
+        }
+
         // Create pageable
         Sort sort = Sort.by(
             Sort.Direction.fromString(request.getSorting().getDirection()),
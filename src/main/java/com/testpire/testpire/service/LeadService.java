@@ -13,6 +13,8 @@ import com.testpire.testpire.enums.LeadStatus;
 import com.testpire.testpire.enums.UserRole;
 import com.testpire.testpire.repository.CourseRepository;
 import com.testpire.testpire.repository.LeadRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.LeadSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -224,6 +226,16 @@ public class LeadService {
             .and(LeadSpecification.createdBefore(request.getCreatedBefore()))
             .and(LeadSpecification.createdBy(request.getCreatedBy()));
 
+        if (request.getCursor() != null) {
+            KeysetPage<Lead> page = KeysetPagination.fetch(leadRepository, spec, request.getSortBy(),
+                request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            List<LeadResponseDto> leads = page.content().stream()
+                .map(LeadResponseDto::fromEntity)
+                .toList();
+            return LeadListResponseDto.success(leads, leads.size(), 0,
+                page.totalCount() == null ? null : page.totalCount().intValue(), page.nextCursor());
+        }
+
         Sort sort = Sort.by(Sort.Direction.fromString(request.getSortDirection()), request.getSortBy());
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
 
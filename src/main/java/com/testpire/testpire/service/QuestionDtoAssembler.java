@@ -0,0 +1,110 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.OptionResponseDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link QuestionResponseDto}s for a whole page of questions with a fixed number of queries:
+ * one {@code question_id IN (...)} query for all options, and at most one more for topics.
+ * The question finders fetch {@code topic} with an entity graph. If a caller passes questions whose
+ * topic is still an uninitialized proxy, those topics are loaded together in one query instead of
+ * one lazy load per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class QuestionDtoAssembler {
+
+    private final OptionRepository optionRepository;
+    private final TopicRepository topicRepository;
+    private final QuestionImageService questionImageService;
+
+    public QuestionResponseDto toDto(Question question) {
+        return toDtos(List.of(question)).get(0);
+    }
+
+    /** DTOs in the order of {@code questions}. */
+    public List<QuestionResponseDto> toDtos(List<Question> questions) {
+        if (questions.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = questions.stream().map(Question::getId).toList();
+        Map<Long, List<Option>> optionsByQuestion = optionRepository.findByQuestionIdIn(ids).stream()
+                .collect(Collectors.groupingBy(o -> o.getQuestion().getId()));
+        Map<Long, Topic> topics = loadUninitializedTopics(questions);
+
+        return questions.stream()
+                .map(q -> toDto(q, topics.getOrDefault(q.getTopic().getId(), q.getTopic()),
+                        optionsByQuestion.getOrDefault(q.getId(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, Topic> loadUninitializedTopics(List<Question> questions) {
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Question q : questions) {
+            if (!Hibernate.isInitialized(q.getTopic())) {
+                missing.add(q.getTopic().getId());
+            }
+        }
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        return topicRepository.findAllById(missing).stream()
+                .collect(Collectors.toMap(Topic::getId, Function.identity()));
+    }
+
+    private QuestionResponseDto toDto(Question question, Topic topic, List<Option> options) {
+        return QuestionResponseDto.builder()
+                .id(question.getId())
+                .externalId(question.getExternalId())
+                .text(question.getText())
+                .questionImagePath(questionImageService.toPublicUrl(question.getQuestionImagePath()))
+                .difficultyLevel(question.getDifficultyLevel())
+                .topicId(topic.getId())
+                .topicName(topic.getName())
+                .correctOptionId(question.getCorrectOptionId())
+                .instituteId(question.getInstituteId())
+                .questionType(question.getQuestionType())
+                .marks(question.getMarks())
+                .negativeMarks(question.getNegativeMarks())
+                .explanation(question.getExplanation())
+                .textFormat(question.getTextFormat())
+                .options(options.stream()
+                        .map(option -> toDto(option, question.getId()))
+                        .toList())
+                .createdAt(question.getCreatedAt())
+                .updatedAt(question.getUpdatedAt())
+                .createdBy(question.getCreatedBy())
+                .updatedBy(question.getUpdatedBy())
+                .build();
+    }
+
+    private OptionResponseDto toDto(Option option, Long questionId) {
+        return OptionResponseDto.builder()
+                .id(option.getId())
+                .text(option.getText())
+                .optionImagePath(questionImageService.toPublicUrl(option.getOptionImagePath()))
+                .questionId(questionId)
+                .optionOrder(option.getOptionOrder())
+                .isCorrect(option.isCorrect())
+                .createdAt(option.getCreatedAt())
+                .updatedAt(option.getUpdatedAt())
+                .createdBy(option.getCreatedBy())
+                .updatedBy(option.getUpdatedBy())
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.request.CreateQuestionRequestDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.enums.TextFormat;
+import com.testpire.testpire.repository.QuestionBulkRepository.ImportedOption;
+import com.testpire.testpire.repository.QuestionBulkRepository.ImportedQuestion;
+import com.testpire.testpire.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persists validated bulk-upload rows a chunk at a time. Each chunk is one transaction with a fixed
+ * number of statements: one external-id lookup, the JDBC batches of
+ * {@link QuestionRepository#writeImportedQuestions} and the answer-key invalidation for updated
+ * questions. Writing returns ids only; the synchronous upload, which answers with the saved
+ * questions, reads them back with {@link #load}, while a background job never builds them.
+ *
+ * <p>If a chunk fails as a whole (e.g. a row trips a database constraint), it is rolled back and its
+ * rows are replayed one at a time through {@link QuestionService#createQuestion(CreateQuestionRequestDto, String)},
+ * attributed to the same actor as the bulk write, so only the offending rows are reported and the rest
+ * of the chunk is still imported.</p>
+ */
+@Component
+@Slf4j
+public class QuestionImportWriter {
+
+    private final QuestionRepository questionRepository;
+    private final QuestionDtoAssembler assembler;
+    private final AnswerKeyCacheService answerKeys;
+    private final QuestionService questionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public QuestionImportWriter(QuestionRepository questionRepository,
+                                QuestionDtoAssembler assembler,
+                                AnswerKeyCacheService answerKeys,
+                                QuestionService questionService,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${testpire.question-import.chunk-size:500}") int chunkSize) {
+        this.questionRepository = questionRepository;
+        this.assembler = assembler;
+        this.answerKeys = answerKeys;
+        this.questionService = questionService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /** A validated CSV row, with the 1-based file row number its errors are reported against. */
+    public record PendingQuestion(int rowNumber, CreateQuestionRequestDto request) {}
+
+    /**
+     * Writes every row and returns the ids of the saved questions in row order. Rows that fail are left
+     * out and reported in {@code errors} as {@code "Row N: message"}.
+     */
+    public List<Long> write(List<PendingQuestion> rows, String actor, List<String> errors) {
+        List<Long> written = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<PendingQuestion> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            try {
+                written.addAll(transactionTemplate.execute(status -> writeChunk(chunk, actor)));
+            } catch (RuntimeException e) {
+                log.warn("Bulk write of rows {}-{} failed ({}); retrying them one at a time",
+                        chunk.get(0).rowNumber(), chunk.get(chunk.size() - 1).rowNumber(), e.getMessage());
+                written.addAll(writeOneByOne(chunk, actor, errors));
+            }
+        }
+        return written;
+    }
+
+    /** The response DTOs of written questions, in the order of {@code ids}; one read per chunk. */
+    public List<QuestionResponseDto> load(List<Long> ids) {
+        List<QuestionResponseDto> dtos = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            dtos.addAll(transactionTemplate.execute(status -> {
+                Map<Long, Question> byId = questionRepository.findByIdIn(chunk).stream()
+                        .collect(Collectors.toMap(Question::getId, Function.identity()));
+                return assembler.toDtos(chunk.stream().map(byId::get).toList());
+            }));
+        }
+        return dtos;
+    }
+
+    private List<Long> writeChunk(List<PendingQuestion> chunk, String actor) {
+        Long instituteId = chunk.get(0).request().instituteId();
+        List<String> externalIds = chunk.stream().map(p -> p.request().externalId()).toList();
+        Map<String, Long> existing = new HashMap<>();
+        for (Object[] row : questionRepository.findIdsByInstituteIdAndExternalIdIn(instituteId, externalIds)) {
+            existing.put((String) row[0], (Long) row[1]);
+        }
+
+        List<ImportedQuestion> imported = chunk.stream()
+                .map(p -> toImported(p.request(), existing.get(p.request().externalId())))
+                .toList();
+        List<Long> ids = questionRepository.writeImportedQuestions(imported, actor);
+        answerKeys.invalidateByQuestions(existing.values());
+        log.debug("Imported {} question(s) ({} updated) for institute {}", ids.size(), existing.size(), instituteId);
+        return ids;
+    }
+
+    private List<Long> writeOneByOne(List<PendingQuestion> chunk, String actor, List<String> errors) {
+        List<Long> written = new ArrayList<>(chunk.size());
+        for (PendingQuestion pending : chunk) {
+            try {
+                written.add(questionService.createQuestion(pending.request(), actor).getId());
+            } catch (Exception e) {
+                log.error("Error processing row {}: {}", pending.rowNumber(), e.getMessage());
+                errors.add(String.format("Row %d: %s", pending.rowNumber(), e.getMessage()));
+            }
+        }
+        return written;
+    }
+
+    private static ImportedQuestion toImported(CreateQuestionRequestDto request, Long existingId) {
+        List<ImportedOption> options = request.options().stream()
+                .map(o -> new ImportedOption(o.text(), o.optionImagePath(), Boolean.TRUE.equals(o.isCorrect())))
+                .toList();
+        return new ImportedQuestion(existingId, request.externalId(), request.text(), request.questionImagePath(),
+                request.difficultyLevel(), request.topicId(), request.instituteId(), request.questionType(),
+                request.marks(), request.negativeMarks(), request.explanation(),
+                request.textFormat() != null ? request.textFormat() : TextFormat.PLAIN, options);
+    }
+}
@@ -6,18 +6,23 @@ import com.testpire.testpire.dto.request.QuestionSearchRequestDto;
 import com.testpire.testpire.dto.request.UpdateQuestionRequestDto;
 import com.testpire.testpire.dto.response.QuestionListResponseDto;
 import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.dto.response.QuestionSummaryDto;
 import com.testpire.testpire.entity.Institute;
 import com.testpire.testpire.entity.Option;
 import com.testpire.testpire.entity.Question;
 import com.testpire.testpire.entity.Topic;
 import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionView;
 import com.testpire.testpire.enums.TextFormat;
 import com.testpire.testpire.repository.InstituteRepository;
 import com.testpire.testpire.repository.OptionRepository;
 import com.testpire.testpire.repository.QuestionRepository;
+import com.testpire.testpire.repository.QuestionRepositoryCustom.SummaryRow;
 import com.testpire.testpire.repository.TestAttemptAnswerRepository;
 import com.testpire.testpire.repository.TestQuestionRepository;
 import com.testpire.testpire.repository.TopicRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.QuestionSpecification;
 import com.testpire.testpire.util.RequestUtils;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +34,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,12 +48,22 @@ public class QuestionService {
     private final OptionRepository optionRepository;
     private final TopicRepository topicRepository;
     private final InstituteRepository instituteRepository;
-    private final QuestionImageService questionImageService;
     private final TestQuestionRepository testQuestionRepository;
     private final TestAttemptAnswerRepository testAttemptAnswerRepository;
+    private final AnswerKeyCacheService answerKeys;
+    private final QuestionDtoAssembler questionDtoAssembler;
 
     @Transactional
     public QuestionResponseDto createQuestion(CreateQuestionRequestDto request) {
+        return createQuestion(request, getCurrentUsername());
+    }
+
+    /**
+     * Creates (or, by external id, updates) a question on behalf of {@code actor}. Used off the request
+     * thread, e.g. by upload jobs, where there is no current user to attribute the write to.
+     */
+    @Transactional
+    public QuestionResponseDto createQuestion(CreateQuestionRequestDto request, String actor) {
         // When an external id is supplied (bulk CSV upload), re-uploading the same id updates the
         // existing question in place rather than creating a duplicate — keeping the upload idempotent.
         if (request.externalId() != null && !request.externalId().isBlank()) {
@@ -55,7 +71,7 @@ public class QuestionService {
                     .findByInstituteIdAndExternalId(
                             request.instituteId(), request.externalId());
             if (existing.isPresent()) {
-                return updateQuestionFromRequest(existing.get(), request);
+                return updateQuestionFromRequest(existing.get(), request, actor);
             }
         }
 
@@ -76,7 +92,7 @@ public class QuestionService {
                 .negativeMarks(request.negativeMarks())
                 .explanation(request.explanation())
                 .textFormat(request.textFormat() != null ? request.textFormat() : TextFormat.PLAIN)
-                .createdBy(getCurrentUsername())
+                .createdBy(actor)
                 .build();
 
         question = questionRepository.save(question);
@@ -87,7 +103,7 @@ public class QuestionService {
             question.setExternalId(resolveInstituteCode(request.instituteId()) + "_" + question.getId());
         }
 
-        rebuildOptions(question, request.options());
+        rebuildOptions(question, request.options(), actor);
 
         log.info("Successfully created question with ID: {}", question.getId());
         return convertToResponseDto(question);
@@ -105,7 +121,8 @@ public class QuestionService {
      * Updates an existing question (matched by external id) in place from a create request: scalar
      * fields are overwritten and options are fully replaced. Used by the idempotent bulk-upload path.
      */
-    private QuestionResponseDto updateQuestionFromRequest(Question question, CreateQuestionRequestDto request) {
+    private QuestionResponseDto updateQuestionFromRequest(Question question, CreateQuestionRequestDto request,
+                                                          String actor) {
         log.info("Updating existing question {} (externalId: {}) from bulk upload",
                 question.getId(), request.externalId());
 
@@ -120,10 +137,11 @@ public class QuestionService {
         question.setNegativeMarks(request.negativeMarks());
         question.setExplanation(request.explanation());
         question.setTextFormat(request.textFormat() != null ? request.textFormat() : TextFormat.PLAIN);
-        question.setUpdatedBy(getCurrentUsername());
+        question.setUpdatedBy(actor);
         question = questionRepository.save(question);
 
-        rebuildOptions(question, request.options());
+        rebuildOptions(question, request.options(), actor);
+        answerKeys.invalidateByQuestion(question.getId());
 
         log.info("Successfully updated question with ID: {}", question.getId());
         return convertToResponseDto(question);
@@ -142,7 +160,7 @@ public class QuestionService {
      * Hard-deletes any existing options for the question, persists the supplied options, and updates
      * {@code correctOptionId}. Shared by the create and idempotent-update paths.
      */
-    private void rebuildOptions(Question question, List<CreateOptionRequestDto> optionRequests) {
+    private void rebuildOptions(Question question, List<CreateOptionRequestDto> optionRequests, String actor) {
         List<Option> existingOptions =
                 optionRepository.findByQuestionIdOrderByOptionOrder(question.getId());
         if (!existingOptions.isEmpty()) {
@@ -155,7 +173,7 @@ public class QuestionService {
                         .optionImagePath(optionRequest.optionImagePath())
                         .question(question)
                         .isCorrect(optionRequest.isCorrect())
-                        .createdBy(getCurrentUsername())
+                        .createdBy(actor)
                         .build())
                 .toList();
         options = optionRepository.saveAll(options);
@@ -191,47 +209,9 @@ public class QuestionService {
     }
 
     private QuestionResponseDto convertToResponseDto(Question question) {
-        List<Option> options = optionRepository.findByQuestionIdOrderByOptionOrder(question.getId());
-
-        return QuestionResponseDto.builder()
-                .id(question.getId())
-                .externalId(question.getExternalId())
-                .text(question.getText())
-                .questionImagePath(questionImageService.toPublicUrl(question.getQuestionImagePath()))
-                .difficultyLevel(question.getDifficultyLevel())
-                .topicId(question.getTopic().getId())
-                .topicName(question.getTopic().getName())
-                .correctOptionId(question.getCorrectOptionId())
-                .instituteId(question.getInstituteId())
-                .questionType(question.getQuestionType())
-                .marks(question.getMarks())
-                .negativeMarks(question.getNegativeMarks())
-                .explanation(question.getExplanation())
-                .textFormat(question.getTextFormat())
-                .options(options.stream()
-                        .map(this::convertOptionToResponseDto)
-                        .toList())
-                .createdAt(question.getCreatedAt())
-                .updatedAt(question.getUpdatedAt())
-                .createdBy(question.getCreatedBy())
-                .updatedBy(question.getUpdatedBy())
-                .build();
+        return questionDtoAssembler.toDto(question);
     }
 
-    private com.testpire.testpire.dto.response.OptionResponseDto convertOptionToResponseDto(Option option) {
-        return com.testpire.testpire.dto.response.OptionResponseDto.builder()
-                .id(option.getId())
-                .text(option.getText())
-                .optionImagePath(questionImageService.toPublicUrl(option.getOptionImagePath()))
-                .questionId(option.getQuestion().getId())
-                .optionOrder(option.getOptionOrder())
-                .isCorrect(option.isCorrect())
-                .createdAt(option.getCreatedAt())
-                .updatedAt(option.getUpdatedAt())
-                .createdBy(option.getCreatedBy())
-                .updatedBy(option.getUpdatedBy())
-                .build();
-    }
 
     @Transactional
     public QuestionResponseDto updateQuestion(Long id, UpdateQuestionRequestDto request) {
@@ -277,6 +257,7 @@ public class QuestionService {
 
         question.setCorrectOptionId(correctOption.getId());
         question = questionRepository.save(question);
+        answerKeys.invalidateByQuestion(id);
 
         log.info("Successfully updated question with ID: {}", id);
         return convertToResponseDto(question);
@@ -312,16 +293,20 @@ public class QuestionService {
         return convertToResponseDto(findQuestionScoped(id));
     }
 
-    public QuestionListResponseDto getQuestionsByTopic(Long topicId, Long instituteId) {
+    @Transactional(readOnly = true)
+    public QuestionListResponseDto getQuestionsByTopic(Long topicId, Long instituteId, QuestionView view) {
         log.info("Getting questions for topic: {} in institute: {}", topicId, instituteId);
 
+        if (view == QuestionView.SUMMARY) {
+            return summaryList(QuestionSpecification.hasTopicId(topicId)
+                    .and(QuestionSpecification.hasInstituteId(instituteId)));
+        }
+
         List<Question> questions = (instituteId != null)
                 ? questionRepository.findByTopicIdAndInstituteId(topicId, instituteId)
                 : questionRepository.findByTopicId(topicId);
         
-        List<QuestionResponseDto> questionDtos = questions.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+        List<QuestionResponseDto> questionDtos = questionDtoAssembler.toDtos(questions);
 
         return QuestionListResponseDto.builder()
                 .questions(questionDtos)
@@ -329,14 +314,17 @@ public class QuestionService {
                 .build();
     }
 
-    public QuestionListResponseDto getQuestionsByInstitute(Long instituteId) {
+    @Transactional(readOnly = true)
+    public QuestionListResponseDto getQuestionsByInstitute(Long instituteId, QuestionView view) {
         log.info("Getting questions for institute: {}", instituteId);
 
+        if (view == QuestionView.SUMMARY) {
+            return summaryList(QuestionSpecification.hasInstituteId(instituteId));
+        }
+
         List<Question> questions = questionRepository.findByInstituteId(instituteId);
         
-        List<QuestionResponseDto> questionDtos = questions.stream()
-                .map(this::convertToResponseDto)
-                .toList();
+        List<QuestionResponseDto> questionDtos = questionDtoAssembler.toDtos(questions);
 
         return QuestionListResponseDto.builder()
                 .questions(questionDtos)
@@ -352,16 +340,36 @@ public class QuestionService {
         // Build specification
         Specification<Question> spec = buildSpecification(request);
 
-        // Create pageable
+        boolean ranked = request.getSearchMode().isRanked() && StringUtils.hasText(request.getSearchText());
+        if (request.getCursor() != null && ranked) {
+            throw new IllegalArgumentException("Cursor paging is not available for relevance-ranked search; use page and size");
+        }
+        if (request.getView() == QuestionView.SUMMARY) {
+            return searchSummaries(spec, request, ranked);
+        }
+        if (request.getCursor() != null) {
+            KeysetPage<Question> page = KeysetPagination.fetch(questionRepository, spec, request.getSortBy(),
+                    request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            return QuestionListResponseDto.builder()
+                    .questions(questionDtoAssembler.toDtos(page.content()))
+                    .totalCount(page.totalCount())
+                    .nextCursor(page.nextCursor())
+                    .build();
+        }
+
+        // Create pageable; ranked modes order inside the specification, so the page itself is unsorted
         Pageable pageable = createPageable(request);
+        if (ranked) {
+            spec = spec.and(QuestionSpecification.orderedByRelevance(
+                    request.getSearchText(), request.getSearchMode(), pageable.getSort()));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
 
         // Execute search
         Page<Question> questionPage = questionRepository.findAll(spec, pageable);
 
         // Convert to DTOs
-        List<QuestionResponseDto> questionDtos = questionPage.getContent().stream()
-                .map(this::convertToResponseDto)
-                .toList();
+        List<QuestionResponseDto> questionDtos = questionDtoAssembler.toDtos(questionPage.getContent());
 
         return QuestionListResponseDto.builder()
                 .questions(questionDtos)
@@ -369,13 +377,68 @@ public class QuestionService {
                 .build();
     }
 
+    /**
+     * {@code view=summary} search: the same filters, sorting and paging as the full view, but the rows
+     * are selected as {@link QuestionSummaryDto} columns, with no entities or options loaded.
+     */
+    private QuestionListResponseDto searchSummaries(Specification<Question> spec, QuestionSearchRequestDto request,
+                                                    boolean ranked) {
+        if (request.getCursor() != null) {
+            Sort.Direction direction = Sort.Direction.fromString(request.getSortDirection());
+            String field = request.getSortBy();
+            int size = request.getSize();
+            if (size < 1) {
+                throw new IllegalArgumentException("Page size must be at least 1");
+            }
+            List<SummaryRow> rows = questionRepository.findSummaries(
+                    KeysetPagination.seek(spec, field, direction, request.getCursor()),
+                    PageRequest.of(0, size + 1, KeysetPagination.sort(field, direction)));
+            boolean hasMore = rows.size() > size;
+            List<SummaryRow> content = hasMore ? rows.subList(0, size) : rows;
+            String nextCursor = null;
+            if (hasMore) {
+                SummaryRow last = content.get(size - 1);
+                nextCursor = KeysetPagination.cursorAt(field, direction, last.sortKey(), last.summary().id()).encode();
+            }
+            return QuestionListResponseDto.builder()
+                    .summaries(content.stream().map(SummaryRow::summary).toList())
+                    .totalCount(request.isIncludeTotal() ? questionRepository.count(spec) : null)
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+
+        Pageable pageable = createPageable(request);
+        if (ranked) {
+            spec = spec.and(QuestionSpecification.orderedByRelevance(
+                    request.getSearchText(), request.getSearchMode(), pageable.getSort()));
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        }
+        List<QuestionSummaryDto> summaries = questionRepository.findSummaries(spec, pageable).stream()
+                .map(SummaryRow::summary)
+                .toList();
+        return QuestionListResponseDto.builder()
+                .summaries(summaries)
+                .totalCount(questionRepository.count(spec))
+                .build();
+    }
+
+    private QuestionListResponseDto summaryList(Specification<Question> spec) {
+        List<QuestionSummaryDto> summaries = questionRepository.findSummaries(spec, Pageable.unpaged()).stream()
+                .map(SummaryRow::summary)
+                .toList();
+        return QuestionListResponseDto.builder()
+                .summaries(summaries)
+                .totalCount((long) summaries.size())
+                .build();
+    }
+
     private Specification<Question> buildSpecification(QuestionSearchRequestDto request) {
         return Specification.where(QuestionSpecification.hasInstituteId(request.getInstituteId()))
                 .and(QuestionSpecification.hasCourseId(request.getCourseId()))
                 .and(QuestionSpecification.hasSubjectId(request.getSubjectId()))
                 .and(QuestionSpecification.hasChapterId(request.getChapterId()))
                 .and(QuestionSpecification.hasTopicId(request.getTopicId()))
-                .and(QuestionSpecification.hasTextContaining(request.getSearchText()))
+                .and(QuestionSpecification.matchesSearchText(request.getSearchText(), request.getSearchMode()))
                 .and(QuestionSpecification.hasDifficultyLevel(request.getDifficultyLevel()))
                 .and(QuestionSpecification.hasQuestionType(request.getQuestionType()))
                 .and(QuestionSpecification.hasMarksRange(request.getMinMarks(), request.getMaxMarks()))
@@ -1,5 +1,7 @@
 package com.testpire.testpire.service;
 
+import com.testpire.testpire.service.DependencyBulkheads.BulkheadFullException;
+import com.testpire.testpire.service.DependencyBulkheads.Dependency;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -19,9 +21,11 @@ import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignReques
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.URL;
+import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.time.Duration;
 import java.util.Base64;
@@ -30,7 +34,8 @@ import java.util.Optional;
 /**
  * Low-level S3 access: writes bytes under a caller-supplied key and returns that key
  * (never a full URL). URL construction lives in {@link #buildPublicUrl(String)} so the
- * stored value stays portable across bucket/region/CDN changes.
+ * stored value stays portable across bucket/region/CDN changes. Every network call runs under a
+ * {@link DependencyBulkheads} permit: S3 calls under {@code S3}, image downloads under {@code URL_FETCH}.
  */
 @Service
 @Slf4j
@@ -41,14 +46,20 @@ public class S3Service {
     private final String bucketName;
     private final String region;
     private final String publicBaseUrl;
+    private final DependencyBulkheads bulkheads;
+    private final int urlFetchTimeoutMillis;
 
     public S3Service(@Value("${aws.s3.bucket-name}") String bucketName,
                      @Value("${aws.region}") String region,
                      @Value("${aws.s3.public-base-url:}") String publicBaseUrl,
-                     AwsCredentialsProvider awsCredentialsProvider) {
+                     AwsCredentialsProvider awsCredentialsProvider,
+                     DependencyBulkheads bulkheads,
+                     @Value("${testpire.bulkhead.url-fetch.timeout-ms:10000}") int urlFetchTimeoutMillis) {
         this.bucketName = bucketName;
         this.region = region;
         this.publicBaseUrl = publicBaseUrl;
+        this.bulkheads = bulkheads;
+        this.urlFetchTimeoutMillis = urlFetchTimeoutMillis;
 
         this.s3Client = S3Client.builder()
                 .region(Region.of(region))
@@ -99,10 +110,11 @@ public class S3Service {
     /** HEAD an object; empty if it does not exist. Used to verify a client actually uploaded. */
     public Optional<HeadObjectResponse> headObject(String key) {
         try {
-            return Optional.of(s3Client.headObject(HeadObjectRequest.builder()
+            HeadObjectRequest request = HeadObjectRequest.builder()
                     .bucket(bucketName)
                     .key(key)
-                    .build()));
+                    .build();
+            return Optional.of(bulkheads.call(Dependency.S3, () -> s3Client.headObject(request)));
         } catch (NoSuchKeyException e) {
             return Optional.empty();
         }
@@ -110,10 +122,11 @@ public class S3Service {
 
     /** Delete an object. Best-effort: a missing object is not an error. */
     public void deleteObject(String key) {
-        s3Client.deleteObject(DeleteObjectRequest.builder()
+        DeleteObjectRequest request = DeleteObjectRequest.builder()
                 .bucket(bucketName)
                 .key(key)
-                .build());
+                .build();
+        bulkheads.call(Dependency.S3, () -> s3Client.deleteObject(request));
         log.info("Deleted object from S3: {}", key);
     }
 
@@ -126,8 +139,8 @@ public class S3Service {
                 .contentLength((long) bytes.length)
                 .build();
 
-        s3Client.putObject(putObjectRequest,
-                RequestBody.fromInputStream(new ByteArrayInputStream(bytes), bytes.length));
+        bulkheads.call(Dependency.S3, () -> s3Client.putObject(putObjectRequest,
+                RequestBody.fromInputStream(new ByteArrayInputStream(bytes), bytes.length)));
 
         log.info("Uploaded object to S3: {}", key);
         return key;
@@ -145,6 +158,8 @@ public class S3Service {
 
             String key = String.format("%s/%s.%s", folder, fileName, getFileExtension(imageType));
             return putObject(imageBytes, key, imageType);
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to upload image to S3", e);
             throw new IOException("Failed to upload image to S3: " + e.getMessage(), e);
@@ -153,21 +168,22 @@ public class S3Service {
 
     /**
      * Download an image from an external URL and store it under {@code folder/<fileName>.<ext>}.
-     * Returns the S3 key. The host is validated to block SSRF against internal addresses.
+     * Returns the S3 key. The host is validated to block SSRF against internal addresses, and the
+     * download is bounded by {@code testpire.bulkhead.url-fetch.timeout-ms} for connect and for each read.
      */
     public String uploadImageFromUrl(String imageUrl, String folder, String fileName) throws IOException {
         try {
             validateExternalUrl(imageUrl);
 
             URL url = URI.create(imageUrl).toURL();
-            byte[] imageBytes = url.openStream().readAllBytes();
+            byte[] imageBytes = bulkheads.call(Dependency.URL_FETCH, () -> download(url));
 
             String fileExtension = getFileExtensionFromUrl(imageUrl);
             String key = String.format("%s/%s.%s", folder, fileName, fileExtension);
 
             // contentType is best-effort here; the extension drives client rendering.
             return putObject(imageBytes, key, "application/octet-stream");
-        } catch (IOException e) {
+        } catch (IOException | BulkheadFullException e) {
             log.error("Failed to upload image from URL to S3", e);
             throw e;
         } catch (Exception e) {
@@ -176,6 +192,15 @@ public class S3Service {
         }
     }
 
+    private byte[] download(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        connection.setConnectTimeout(urlFetchTimeoutMillis);
+        connection.setReadTimeout(urlFetchTimeoutMillis);
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
     /** Build the public URL for a stored key. Honors {@code aws.s3.public-base-url} when set. */
     public String buildPublicUrl(String key) {
         String base = (publicBaseUrl != null && !publicBaseUrl.isBlank())
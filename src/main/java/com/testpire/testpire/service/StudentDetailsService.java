@@ -8,6 +8,8 @@ import com.testpire.testpire.entity.StudentDetails;
 import com.testpire.testpire.entity.User;
 import com.testpire.testpire.enums.Gender;
 import com.testpire.testpire.repository.StudentDetailsRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.StudentSpecification;
 import com.testpire.testpire.util.RequestUtils;
 import lombok.RequiredArgsConstructor;
@@ -185,6 +187,14 @@ public class StudentDetailsService {
                 .and(StudentSpecification.createdBefore(request.getCreatedBefore()))
                 .and(StudentSpecification.createdBy(request.getCreatedBy()));
 
+        if (request.getCursor() != null) {
+            KeysetPage<StudentDetails> page = KeysetPagination.fetch(studentDetailsRepository, spec, request.getSortBy(),
+                request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            List<StudentResponseDto> studentDtos = toResponsesWithEnrollments(page.content());
+            return StudentListResponseDto.success(studentDtos, studentDtos.size(), 0,
+                page.totalCount() == null ? null : page.totalCount().intValue(), page.nextCursor());
+        }
+
         Sort sort = Sort.by(Sort.Direction.fromString(request.getSortDirection()), request.getSortBy());
         Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), sort);
 
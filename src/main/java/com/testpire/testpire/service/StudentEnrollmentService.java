@@ -37,6 +37,7 @@ public class StudentEnrollmentService {
     private final StudentEnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
     private final BatchRepository batchRepository;
+    private final EligibilityCacheService eligibilityCache;
 
     /**
      * Replaces the student's full enrollment set so it matches {@code requested}: courses present in
@@ -80,6 +81,7 @@ public class StudentEnrollmentService {
                 enrollmentRepository.delete(e);
             }
         }
+        eligibilityCache.invalidateStudent(studentUserId);
         log.info("Synced {} enrollment(s) for student {}", desired.size(), studentUserId);
     }
 
@@ -101,6 +103,7 @@ public class StudentEnrollmentService {
                 .instituteId(instituteId)
                 .createdBy(actor)
                 .build());
+        eligibilityCache.invalidateStudent(studentUserId);
         log.info("Enrolled student {} into course {} / batch {}", studentUserId, courseId, batchId);
     }
 
@@ -3,6 +3,8 @@ package com.testpire.testpire.service;
 import com.testpire.testpire.dto.request.CreateSubjectRequestDto;
 import com.testpire.testpire.dto.request.SubjectSearchRequestDto;
 import com.testpire.testpire.dto.request.UpdateSubjectRequestDto;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.SubjectSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -21,7 +23,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -32,6 +36,7 @@ public class SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final CourseRepository courseRepository;
+    private final CurriculumTreeCacheService curriculumTrees;
 
     @Transactional
     public SubjectResponseDto createSubject(CreateSubjectRequestDto request) {
@@ -65,6 +70,7 @@ public class SubjectService {
             course.getSubjects().add(savedSubject);
             courseRepository.save(course);
         }
+        curriculumTrees.invalidate(savedSubject.getInstituteId());
 
         log.info("Subject created successfully with ID: {}", savedSubject.getId());
         return SubjectResponseDto.fromEntity(savedSubject);
@@ -91,6 +97,7 @@ public class SubjectService {
         existingSubject.setUpdatedBy(RequestUtils.getCurrentUsername());
 
         Subject updatedSubject = subjectRepository.save(existingSubject);
+        curriculumTrees.invalidate(updatedSubject.getInstituteId());
         log.info("Subject updated successfully with ID: {}", updatedSubject.getId());
         return SubjectResponseDto.fromEntity(updatedSubject);
     }
@@ -102,13 +109,14 @@ public class SubjectService {
         Subject subject = findSubjectScoped(id);
 
         subjectRepository.delete(subject);
+        curriculumTrees.invalidate(subject.getInstituteId());
         log.info("Subject deleted successfully with ID: {}", id);
     }
 
     @Transactional(readOnly = true)
     public SubjectResponseDto getSubjectById(Long id, Set<String> includes) {
         Subject subject = findSubjectScoped(id);
-        return SubjectResponseDto.fromEntity(subject, includes);
+        return toDto(subject, includes, new HashMap<>());
     }
 
     /**
@@ -128,7 +136,7 @@ public class SubjectService {
     public SubjectResponseDto getSubjectByCode(String code, Long instituteId, Set<String> includes) {
         Subject subject = subjectRepository.findByCodeAndInstituteId(code, instituteId)
                 .orElseThrow(() -> new IllegalArgumentException("Subject not found with code: " + code));
-        return SubjectResponseDto.fromEntity(subject, includes);
+        return toDto(subject, includes, new HashMap<>());
     }
 
     @Transactional(readOnly = true)
@@ -137,6 +145,15 @@ public class SubjectService {
 
         // Build specification
         Specification<Subject> spec = buildSpecification(request);
+        Map<Long, CurriculumTree> trees = new HashMap<>();
+
+        if (request.getCursor() != null) {
+            KeysetPage<Subject> page = KeysetPagination.fetch(subjectRepository, spec, request.getSortBy(),
+                    request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            return SubjectListResponseDto.of(page.content().stream()
+                    .map(subject -> toDto(subject, includes, trees))
+                    .toList(), page.totalCount(), page.nextCursor());
+        }
 
         // Create pageable
         Pageable pageable = createPageable(request);
@@ -146,12 +163,23 @@ public class SubjectService {
 
         // Convert to DTOs
         List<SubjectResponseDto> subjectDtos = subjectPage.getContent().stream()
-                .map(subject -> SubjectResponseDto.fromEntity(subject, includes))
+                .map(subject -> toDto(subject, includes, trees))
                 .toList();
 
         return SubjectListResponseDto.of(subjectDtos, subjectPage.getTotalElements());
     }
 
+    /**
+     * The subject with its course ids, and its chapters when {@code includes} asks for them, both read
+     * from the institute's {@link CurriculumTree} instead of the lazy collections. {@code trees} holds
+     * the trees already fetched by this request.
+     */
+    private SubjectResponseDto toDto(Subject subject, Set<String> includes, Map<Long, CurriculumTree> trees) {
+        CurriculumTree tree = trees.computeIfAbsent(subject.getInstituteId(), curriculumTrees::get);
+        SubjectResponseDto dto = SubjectResponseDto.fromEntity(subject, tree.courseIdsOf(subject.getId()));
+        return includes.contains("chapters") ? dto.withChapters(tree.chaptersOf(subject.getId(), includes)) : dto;
+    }
+
     private Specification<Subject> buildSpecification(SubjectSearchRequestDto request) {
         return Specification.where(SubjectSpecification.hasInstituteId(request.getInstituteId()))
                 .and(SubjectSpecification.hasCourseId(request.getCourseId()))
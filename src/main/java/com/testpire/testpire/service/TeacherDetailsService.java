@@ -6,6 +6,8 @@ import com.testpire.testpire.dto.response.TeacherResponseDto;
 import com.testpire.testpire.entity.TeacherDetails;
 import com.testpire.testpire.entity.User;
 import com.testpire.testpire.repository.TeacherDetailsRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.TeacherSpecification;
 import com.testpire.testpire.util.RequestUtils;
 import lombok.RequiredArgsConstructor;
@@ -143,6 +145,16 @@ public class TeacherDetailsService {
                 .and(TeacherSpecification.createdBefore(request.getCreatedBefore()))
                 .and(TeacherSpecification.createdBy(request.getCreatedBy()));
         
+        if (request.getCursor() != null) {
+            KeysetPage<TeacherDetails> page = KeysetPagination.fetch(teacherDetailsRepository, spec, request.getSortBy(),
+                request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            List<TeacherResponseDto> teacherDtos = page.content().stream()
+                    .map(details -> TeacherResponseDto.fromEntity(details.getUser(), details))
+                    .toList();
+            return TeacherListResponseDto.success(teacherDtos, teacherDtos.size(), 0,
+                page.totalCount() == null ? null : page.totalCount().intValue(), page.nextCursor());
+        }
+        
         // Create pageable
         Sort sort = Sort.by(
             Sort.Direction.fromString(request.getSortDirection()),
@@ -154,27 +166,6 @@ public class TeacherDetailsService {
         Page<TeacherDetails> page = teacherDetailsRepository.findAll(spec, pageable);
         log.info("Found {} teachers out of {} total", page.getContent().size(), page.getTotalElements());
         
-        // Additional debug: Check if there are any teachers at all
-        long totalCount = teacherDetailsRepository.count();
-        log.info("Total teachers in database: {}", totalCount);
-        
-        if (totalCount == 0) {
-            log.warn("No teachers found in database at all!");
-        } else {
-            // Check if there are teachers with the correct role
-            List<TeacherDetails> allTeachers = teacherDetailsRepository.findAll();
-            long teacherRoleCount = allTeachers.stream()
-                .filter(t -> t.getUser().getRole().name().equals("TEACHER"))
-                .count();
-            log.info("Teachers with TEACHER role: {}", teacherRoleCount);
-            
-            // Check if there are teachers with the correct institute ID
-            long instituteCount = allTeachers.stream()
-                .filter(t -> t.getUser().getInstituteId().equals(request.getInstituteId()))
-                .count();
-            log.info("Teachers with institute ID {}: {}", request.getInstituteId(), instituteCount);
-        }
-        
         // Convert to DTOs
         List<TeacherResponseDto> teacherDtos = page.getContent().stream()
                 .map(details -> TeacherResponseDto.fromEntity(details.getUser(), details))
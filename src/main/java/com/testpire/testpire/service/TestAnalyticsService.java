@@ -0,0 +1,273 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto;
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto.Percentiles;
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto.QuestionStat;
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto.ScoreBucket;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.repository.TestStatsRepository;
+import com.testpire.testpire.repository.TestStatsRepository.BucketCount;
+import com.testpire.testpire.repository.TestStatsRepository.QuestionTotals;
+import com.testpire.testpire.repository.TestStatsRepository.TestTotals;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental per-test analytics. Grading reports each attempt's outcome here; once the grading
+ * transaction commits it is folded into an in-memory delta, and every {@code flush-interval-ms} all
+ * deltas are added to the V32 aggregate tables in one batch per table. Batching keeps thousands of
+ * attempts graded at the same deadline from queueing on one {@code test_stats} row lock.
+ *
+ * <p>Reads are O(questions): three primary-key reads plus the cached {@link AnswerKey} for question
+ * order. Deltas not yet flushed on other nodes show up within one flush interval. A crash loses at
+ * most one interval of deltas, and {@link #rebuild} recomputes a test exactly from the raw tables.</p>
+ */
+@Service
+@Slf4j
+public class TestAnalyticsService {
+
+    /** Histogram resolution: bucket {@code b} holds scores in [b, b+1) twentieths of the test's max score. */
+    static final int SCORE_BUCKETS = 20;
+
+    private static final BigDecimal[] PERCENTILES = {
+            new BigDecimal("0.25"), new BigDecimal("0.50"), new BigDecimal("0.75"), new BigDecimal("0.90")};
+
+    private final TestStatsRepository statsRepository;
+    private final TestService testService;
+    private final AnswerKeyCacheService answerKeys;
+
+    /** Committed but unflushed outcomes, by test. Guarded by {@code this}. */
+    private Map<Long, TestDelta> pending = new HashMap<>();
+
+    public TestAnalyticsService(TestStatsRepository statsRepository, TestService testService,
+                                AnswerKeyCacheService answerKeys) {
+        this.statsRepository = statsRepository;
+        this.testService = testService;
+        this.answerKeys = answerKeys;
+    }
+
+    /**
+     * Records a graded attempt. The aggregates are additive, so call this exactly once per attempt:
+     * only from the transaction whose {@code TestAttemptRepository.finalizeIfInProgress} moved it out
+     * of IN_PROGRESS. Inside a transaction it only counts once that transaction commits, so a
+     * rolled-back grade never reaches the aggregates.
+     */
+    public void recordGraded(Long testId, BigDecimal score, BigDecimal maxScore, Boolean passed,
+                             List<QuestionOutcome> outcomes) {
+        Runnable fold = () -> fold(testId, score, maxScore, passed, outcomes);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fold.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fold.run();
+            }
+        });
+    }
+
+    private synchronized void fold(Long testId, BigDecimal score, BigDecimal maxScore, Boolean passed,
+                                   List<QuestionOutcome> outcomes) {
+        TestDelta delta = pending.computeIfAbsent(testId, id -> new TestDelta());
+        delta.attempts++;
+        if (Boolean.TRUE.equals(passed)) {
+            delta.passed++;
+        }
+        delta.scoreSum = delta.scoreSum.add(score);
+        delta.buckets[bucketOf(score, maxScore)]++;
+        for (QuestionOutcome o : outcomes) {
+            if (o.isCorrect() == null) {
+                continue; // unanswered: counts toward graded attempts only
+            }
+            QuestionDelta q = delta.questions.computeIfAbsent(o.questionId(), id -> new QuestionDelta());
+            q.attempted++;
+            if (o.isCorrect()) {
+                q.correct++;
+            }
+            q.marksSum = q.marksSum.add(o.awarded());
+        }
+    }
+
+    static int bucketOf(BigDecimal score, BigDecimal maxScore) {
+        if (maxScore == null || maxScore.signum() <= 0 || score.signum() <= 0) {
+            return 0;
+        }
+        int bucket = score.multiply(BigDecimal.valueOf(SCORE_BUCKETS))
+                .divide(maxScore, 0, RoundingMode.FLOOR).intValue();
+        return Math.min(bucket, SCORE_BUCKETS - 1);
+    }
+
+    /** Held while writing so a {@link #rebuild} never interleaves with a half-applied flush. */
+    @Scheduled(fixedDelayString = "${testpire.analytics.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, TestDelta> batch = pending;
+        pending = new HashMap<>();
+        List<TestTotals> tests = new ArrayList<>();
+        List<BucketCount> buckets = new ArrayList<>();
+        List<QuestionTotals> questions = new ArrayList<>();
+        batch.forEach((testId, d) -> {
+            tests.add(new TestTotals(testId, d.attempts, d.passed, d.scoreSum));
+            for (int b = 0; b < SCORE_BUCKETS; b++) {
+                if (d.buckets[b] > 0) {
+                    buckets.add(new BucketCount(testId, b, d.buckets[b]));
+                }
+            }
+            d.questions.forEach((questionId, q) ->
+                    questions.add(new QuestionTotals(testId, questionId, q.attempted, q.correct, q.marksSum)));
+        });
+        try {
+            statsRepository.add(tests, buckets, questions);
+            log.debug("Flushed analytics deltas of {} test(s)", batch.size());
+        } catch (RuntimeException e) {
+            batch.forEach((testId, d) -> pending.merge(testId, d, TestDelta::plus));
+            log.error("Analytics flush failed; deltas kept for the next flush", e);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /** Analytics of a test (institute-scoped), including this node's unflushed deltas. */
+    public TestAnalyticsResponseDto getAnalytics(Long testId) {
+        Test test = testService.findScoped(testId);
+        flush();
+        TestTotals totals = statsRepository.findTotals(testId)
+                .orElse(new TestTotals(testId, 0, 0, BigDecimal.ZERO));
+        long[] counts = new long[SCORE_BUCKETS];
+        for (BucketCount b : statsRepository.findBuckets(testId)) {
+            counts[b.bucket()] = b.attempts();
+        }
+        Map<Long, QuestionTotals> byQuestion = statsRepository.findQuestionTotals(testId).stream()
+                .collect(Collectors.toMap(QuestionTotals::questionId, Function.identity()));
+
+        long graded = totals.gradedAttempts();
+        BigDecimal maxScore = test.getTotalMarks() == null ? BigDecimal.ZERO : test.getTotalMarks();
+        AnswerKey key = answerKeys.get(test);
+        List<QuestionStat> questions = new ArrayList<>(key.size());
+        for (int i = 0; i < key.size(); i++) {
+            long questionId = key.questionId(i);
+            QuestionTotals q = byQuestion.get(questionId);
+            long attempted = q == null ? 0 : q.attempted();
+            long correct = q == null ? 0 : q.correct();
+            questions.add(new QuestionStat(questionId, attempted, correct,
+                    ratio(attempted, graded), ratio(correct, attempted), ratio(correct, graded),
+                    q == null || graded == 0 ? null : q.marksSum().divide(BigDecimal.valueOf(graded), 2, RoundingMode.HALF_UP)));
+        }
+        return new TestAnalyticsResponseDto(test.getId(), test.getTotalMarks(), graded, totals.passedAttempts(),
+                ratio(totals.passedAttempts(), graded),
+                graded == 0 ? null : totals.scoreSum().divide(BigDecimal.valueOf(graded), 2, RoundingMode.HALF_UP),
+                percentiles(counts, graded, maxScore),
+                histogram(counts, maxScore),
+                questions);
+    }
+
+    /**
+     * Recomputes the test's aggregates from the raw attempt tables (repair after a crash or a change
+     * to the test's total marks). This node's pending deltas are flushed first so they are not
+     * counted twice; deltas still pending on other nodes may be.
+     */
+    public TestAnalyticsResponseDto rebuild(Long testId) {
+        testService.findScoped(testId);
+        synchronized (this) {
+            flush();
+            statsRepository.rebuild(testId, SCORE_BUCKETS);
+        }
+        log.info("Rebuilt analytics of test {}", testId);
+        return getAnalytics(testId);
+    }
+
+    static Percentiles percentiles(long[] counts, long total, BigDecimal maxScore) {
+        if (total == 0) {
+            return new Percentiles(null, null, null, null);
+        }
+        BigDecimal[] values = new BigDecimal[PERCENTILES.length];
+        for (int p = 0; p < PERCENTILES.length; p++) {
+            BigDecimal target = PERCENTILES[p].multiply(BigDecimal.valueOf(total));
+            long before = 0;
+            int b = 0;
+            while (b < SCORE_BUCKETS - 1 && BigDecimal.valueOf(before + counts[b]).compareTo(target) < 0) {
+                before += counts[b];
+                b++;
+            }
+            // Linear interpolation inside the bucket the target rank falls in.
+            BigDecimal within = counts[b] == 0 ? BigDecimal.ZERO
+                    : target.subtract(BigDecimal.valueOf(before)).divide(BigDecimal.valueOf(counts[b]), 6, RoundingMode.HALF_UP);
+            values[p] = bucketEdge(maxScore, b).add(within.multiply(bucketEdge(maxScore, 1)))
+                    .min(maxScore).setScale(2, RoundingMode.HALF_UP);
+        }
+        return new Percentiles(values[0], values[1], values[2], values[3]);
+    }
+
+    private static List<ScoreBucket> histogram(long[] counts, BigDecimal maxScore) {
+        List<ScoreBucket> buckets = new ArrayList<>(SCORE_BUCKETS);
+        for (int b = 0; b < SCORE_BUCKETS; b++) {
+            buckets.add(new ScoreBucket(bucketEdge(maxScore, b).setScale(2, RoundingMode.HALF_UP),
+                    bucketEdge(maxScore, b + 1).setScale(2, RoundingMode.HALF_UP), counts[b]));
+        }
+        return buckets;
+    }
+
+    private static BigDecimal bucketEdge(BigDecimal maxScore, int bucket) {
+        return maxScore.multiply(BigDecimal.valueOf(bucket))
+                .divide(BigDecimal.valueOf(SCORE_BUCKETS), 6, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal ratio(long numerator, long denominator) {
+        return denominator == 0 ? null
+                : BigDecimal.valueOf(numerator).divide(BigDecimal.valueOf(denominator), 4, RoundingMode.HALF_UP);
+    }
+
+    /** One question's grade within an attempt; {@code isCorrect} is null when it was left unanswered. */
+    public record QuestionOutcome(long questionId, Boolean isCorrect, BigDecimal awarded) {}
+
+    private static final class TestDelta {
+        private long attempts;
+        private long passed;
+        private BigDecimal scoreSum = BigDecimal.ZERO;
+        private final long[] buckets = new long[SCORE_BUCKETS];
+        private final Map<Long, QuestionDelta> questions = new HashMap<>();
+
+        TestDelta plus(TestDelta other) {
+            attempts += other.attempts;
+            passed += other.passed;
+            scoreSum = scoreSum.add(other.scoreSum);
+            for (int b = 0; b < SCORE_BUCKETS; b++) {
+                buckets[b] += other.buckets[b];
+            }
+            other.questions.forEach((questionId, q) -> questions.merge(questionId, q, QuestionDelta::plus));
+            return this;
+        }
+    }
+
+    private static final class QuestionDelta {
+        private long attempted;
+        private long correct;
+        private BigDecimal marksSum = BigDecimal.ZERO;
+
+        QuestionDelta plus(QuestionDelta other) {
+            attempted += other.attempted;
+            correct += other.correct;
+            marksSum = marksSum.add(other.marksSum);
+            return this;
+        }
+    }
+}
@@ -37,6 +37,7 @@ public class TestAssignmentService {
     private final CourseRepository courseRepository;
     private final BatchRepository batchRepository;
     private final UserRepository userRepository;
+    private final EligibilityCacheService eligibilityCache;
 
     @Transactional
     public TestAssignmentResponseDto assign(Long testId, AssignTestRequestDto request) {
@@ -68,6 +69,7 @@ public class TestAssignmentService {
                 .assignedBy(RequestUtils.getCurrentUsername())
                 .build();
         TestAssignment saved = assignmentRepository.save(assignment);
+        eligibilityCache.invalidateInstitute(test.getInstituteId());
         log.info("Test {} assigned to {} {} (institute {})",
                 testId, request.targetType(), request.targetId(), test.getInstituteId());
         return TestAssignmentResponseDto.fromEntity(saved, targetName);
@@ -94,6 +96,7 @@ public class TestAssignmentService {
                 .orElseThrow(() -> new IllegalArgumentException("Assignment not found with ID: " + assignmentId));
         log.debug("Found assignment {}: {} {} for test {}", assignmentId, assignment.getTargetType(), assignment.getTargetId(), testId);
         assignmentRepository.delete(assignment);
+        eligibilityCache.invalidateInstitute(test.getInstituteId());
         log.info("Assignment {} removed from test {}", assignmentId, testId);
     }
 
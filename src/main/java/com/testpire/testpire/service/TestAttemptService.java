@@ -5,41 +5,52 @@ import com.testpire.testpire.dto.response.AttemptQuestionResponseDto;
 import com.testpire.testpire.dto.response.AttemptSummaryResponseDto;
 import com.testpire.testpire.dto.response.TestAttemptResponseDto;
 import com.testpire.testpire.dto.response.TestResultResponseDto;
-import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
 import com.testpire.testpire.entity.Question;
 import com.testpire.testpire.entity.Test;
 import com.testpire.testpire.entity.TestAssignment;
 import com.testpire.testpire.entity.TestAttempt;
 import com.testpire.testpire.entity.TestAttemptAnswer;
 import com.testpire.testpire.entity.TestQuestion;
-import com.testpire.testpire.entity.User;
 import com.testpire.testpire.enums.AttemptStatus;
 import com.testpire.testpire.enums.TestStatus;
-import com.testpire.testpire.repository.OptionRepository;
 import com.testpire.testpire.repository.TestAttemptAnswerRepository;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerGrade;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerUpsert;
 import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestAttemptRepositoryCustom.ResultKey;
 import com.testpire.testpire.repository.TestQuestionRepository;
 import com.testpire.testpire.repository.TestRepository;
-import com.testpire.testpire.repository.UserRepository;
+import com.testpire.testpire.service.TestAnalyticsService.QuestionOutcome;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
  * Drives a student's test attempt: start (eligibility + timer), save answers, submit, and auto-grade
- * objective questions. Timing is server-enforced — an attempt carries a hard {@code expiresAt}, and
- * any read of an over-time IN_PROGRESS attempt finalizes it (lazy expiry; no scheduler in v1).
+ * objective questions. Timing is server-enforced — an attempt carries a hard {@code expiresAt}.
+ * {@link AttemptDeadlineSweeper} auto-submits over-time IN_PROGRESS attempts in the background, and
+ * any read of one the sweeper has not reached yet still finalizes it (lazy expiry). Whichever path
+ * finalizes an attempt first wins: the IN_PROGRESS -> final transition is a conditional update
+ * ({@link TestAttemptRepository#finalizeIfInProgress}), and only its winner grades.
  *
  * <p>Grading is all-or-nothing per question: an answer is correct iff the set of selected options
  * exactly equals the set of correct options. Correct answers earn the effective marks; wrong/answered
@@ -55,10 +66,16 @@ public class TestAttemptService {
     private final TestQuestionRepository testQuestionRepository;
     private final TestAttemptRepository attemptRepository;
     private final TestAttemptAnswerRepository answerRepository;
-    private final OptionRepository optionRepository;
     private final TestResolutionService resolutionService;
     private final TestService testService;
-    private final UserRepository userRepository;
+    private final AnswerKeyCacheService answerKeys;
+    private final AnswerWriteBehindBuffer answerBuffer;
+    private final TransactionTemplate transactionTemplate;
+    private final TestAnalyticsService analytics;
+    private final HotPathMetrics metrics;
+
+    /** Upper bound on {@link #getResults} page size. */
+    static final int MAX_RESULTS_PAGE_SIZE = 1000;
 
     // --- Start / resume ----------------------------------------------------
 
@@ -117,10 +134,22 @@ public class TestAttemptService {
 
     // --- Save a single answer ---------------------------------------------
 
-    @Transactional
+    /**
+     * Saves one answer. In write-behind mode ({@link AnswerWriteBehindBuffer}) an attempt already
+     * tracked on this node is validated and buffered without touching the DB or opening a
+     * transaction; otherwise the attempt is loaded, checked and either tracked + buffered or upserted.
+     */
     public void saveAnswer(Long attemptId, Long studentUserId, SubmitAnswerRequestDto dto) {
         log.debug("saveAnswer: attempt={}, student={}, question={}, options={}",
                 attemptId, studentUserId, dto.questionId(), dto.selectedOptionIds());
+        if (answerBuffer.isEnabled() && answerBuffer.offer(attemptId, studentUserId, dto)) {
+            log.debug("Answer buffered: attempt={}, question={}", attemptId, dto.questionId());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> saveAnswerNow(attemptId, studentUserId, dto));
+    }
+
+    private void saveAnswerNow(Long attemptId, Long studentUserId, SubmitAnswerRequestDto dto) {
         TestAttempt attempt = loadOwnAttempt(attemptId, studentUserId);
         Test test = loadStudentTest(attempt.getTestId(), attempt.getInstituteId());
         if (finalizeIfExpired(attempt, test)) {
@@ -129,7 +158,16 @@ public class TestAttemptService {
         if (attempt.getStatus() != AttemptStatus.IN_PROGRESS) {
             throw new IllegalStateException("This attempt is no longer in progress");
         }
-        upsertAnswer(attempt, test, dto);
+        if (answerBuffer.isEnabled()) {
+            answerBuffer.track(attempt, answerKeys.get(test));
+            if (answerBuffer.offer(attemptId, studentUserId, dto)) {
+                log.debug("Answer buffered: attempt={}, question={}", attemptId, dto.questionId());
+                return;
+            }
+        }
+        AnswerUpsert answer = toUpsert(attempt, answerKeys.get(test), dto, Instant.now());
+        answerRepository.upsertAnswer(answer.attemptId(), answer.questionId(), answer.selectedOptionIds(),
+                answer.answeredAt());
         log.debug("Answer saved: attempt={}, question={}", attemptId, dto.questionId());
     }
 
@@ -150,13 +188,23 @@ public class TestAttemptService {
             log.debug("Attempt {} expired before explicit submit — returning auto-submitted response", attemptId);
             return buildAttemptResponse(attempt, test); // deadline passed; graded as auto-submitted
         }
-        if (answers != null) {
+        Instant submittedAt = Instant.now();
+        // Claim the transition before writing any answers, so a concurrent submit changes nothing.
+        if (!claimFinalization(attempt, AttemptStatus.GRADED, submittedAt)) {
+            log.debug("Attempt {} finalized concurrently — returning idempotent response", attemptId);
+            return buildAttemptResponse(attempt, test);
+        }
+        // Land any write-behind answers first so the batched answers below (newer) win.
+        answerBuffer.drain(attemptId);
+        if (answers != null && !answers.isEmpty()) {
             log.debug("Processing {} batched answer(s) for attempt {}", answers.size(), attemptId);
-            for (SubmitAnswerRequestDto ans : answers) {
-                upsertAnswer(attempt, test, ans);
-            }
+            AnswerKey key = answerKeys.get(test);
+            Instant now = Instant.now();
+            answerRepository.upsertAnswers(answers.stream()
+                    .map(ans -> toUpsert(attempt, key, ans, now))
+                    .toList());
         }
-        grade(attempt, test, AttemptStatus.GRADED, Instant.now());
+        grade(attempt, test, AttemptStatus.GRADED, submittedAt);
         log.info("Student {} submitted attempt {} (score {}/{})",
                 studentUserId, attemptId, attempt.getScore(), attempt.getMaxScore());
         return buildAttemptResponse(attempt, test);
@@ -226,91 +274,277 @@ public class TestAttemptService {
     }
 
     /**
-     * Staff view of every student's marks for a test (institute-scoped via {@link TestService}). One
-     * row per attempt (so multi-attempt tests list each try), ordered by student then attempt number.
-     * Stale in-progress attempts are finalized lazily so their scores are accurate.
+     * Staff view of students' marks for a test (institute-scoped via {@link TestService}), one keyset
+     * page at a time. One row per attempt (so multi-attempt tests list each try), ordered by student
+     * then attempt number. {@code cursor} is the previous page's {@code nextCursor} (null for the
+     * first page). Stale in-progress attempts on the page are finalized lazily so their scores are
+     * accurate. For a full dump use {@link TestResultsExporter}.
      */
     @Transactional
-    public TestResultResponseDto getResults(Long testId) {
-        log.debug("getResults: test={}", testId);
+    public TestResultResponseDto getResults(Long testId, String cursor, int limit) {
+        log.debug("getResults: test={}, cursor={}, limit={}", testId, cursor, limit);
         Test test = testService.findScoped(testId); // staff institute scoping + existence
-        List<TestAttempt> attempts = attemptRepository.findByTestId(testId);
-        log.debug("Test {} has {} attempt(s) total", testId, attempts.size());
-        for (TestAttempt a : attempts) {
-            finalizeIfExpired(a, test);
+        int pageSize = Math.max(1, Math.min(limit, MAX_RESULTS_PAGE_SIZE));
+        List<StudentResult> rows = new ArrayList<>(
+                attemptRepository.findResultsPage(testId, decodeResultCursor(cursor), pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows.remove(pageSize);
         }
-        Set<Long> studentIds = attempts.stream().map(TestAttempt::getStudentUserId).collect(Collectors.toSet());
-        Map<Long, User> users = userRepository.findAllById(studentIds).stream()
-                .collect(Collectors.toMap(User::getId, u -> u));
-
-        List<TestResultResponseDto.StudentResult> rows = attempts.stream()
-                .sorted((x, y) -> {
-                    int c = x.getStudentUserId().compareTo(y.getStudentUserId());
-                    return c != 0 ? c : x.getAttemptNumber().compareTo(y.getAttemptNumber());
-                })
-                .map(a -> {
-                    User u = users.get(a.getStudentUserId());
-                    String name = u == null ? null : (u.getFirstName() + " " + u.getLastName()).trim();
-                    return new TestResultResponseDto.StudentResult(
-                            a.getStudentUserId(),
-                            u == null ? null : u.getUsername(),
-                            name,
-                            a.getId(), a.getAttemptNumber(), a.getStatus(),
-                            a.getScore(), a.getMaxScore(), a.getPassed(), a.getSubmittedAt());
-                })
-                .toList();
+        finalizeExpiredRows(rows, test);
+        log.debug("Test {} results page: {} row(s), hasMore={}", testId, rows.size(), hasMore);
 
+        String nextCursor = hasMore ? encodeResultCursor(rows.get(rows.size() - 1)) : null;
         return new TestResultResponseDto(test.getId(), test.getTitle(), test.getTotalMarks(),
-                test.getPassingMarks(), rows.size(), rows);
+                test.getPassingMarks(), rows.size(), rows, nextCursor);
+    }
+
+    /** Auto-submits the page's over-time IN_PROGRESS attempts and replaces their rows with the graded state. */
+    private void finalizeExpiredRows(List<StudentResult> rows, Test test) {
+        List<Long> inProgress = rows.stream()
+                .filter(r -> r.status() == AttemptStatus.IN_PROGRESS)
+                .map(StudentResult::attemptId)
+                .toList();
+        if (inProgress.isEmpty()) {
+            return;
+        }
+        Map<Long, TestAttempt> finalized = attemptRepository.findAllById(inProgress).stream()
+                .filter(a -> finalizeIfExpired(a, test))
+                .collect(Collectors.toMap(TestAttempt::getId, a -> a));
+        rows.replaceAll(r -> {
+            TestAttempt a = finalized.get(r.attemptId());
+            return a == null ? r : new StudentResult(r.studentUserId(), r.studentUsername(), r.studentName(),
+                    a.getId(), a.getAttemptNumber(), a.getStatus(),
+                    a.getScore(), a.getMaxScore(), a.getPassed(), a.getSubmittedAt());
+        });
+    }
+
+    private static String encodeResultCursor(StudentResult last) {
+        String key = last.studentUserId() + ":" + last.attemptNumber();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ResultKey decodeResultCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            return new ResultKey(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid results cursor");
+        }
+    }
+
+    // --- Deadline sweep ----------------------------------------------------
+
+    /**
+     * Auto-submits up to {@code limit} expired IN_PROGRESS attempts, oldest deadline first, exactly as
+     * {@code finalizeIfExpired} would. Each attempt is its own transaction: claim one row (row-locked,
+     * skipping rows another sweeper holds), win its transition and grade it. An attempt that fails to
+     * grade rolls back alone and stays IN_PROGRESS, held out of the sweep for an exponentially growing
+     * backoff so it does not stall everyone behind it; only after {@code retry.maxFailures()} failures
+     * in a row is it marked GRADING_FAILED (see {@link #regrade}). One whose test is gone is marked
+     * VOIDED. Called in a loop by {@link AttemptDeadlineSweeper}.
+     */
+    public SweptBatch autoSubmitExpired(int limit, GradingRetry retry) {
+        Instant now = Instant.now();
+        // In write-behind mode, leave other nodes time to flush answers saved just before the deadline.
+        Instant cutoff = now.minus(answerBuffer.settleTime());
+        Map<Long, Optional<Test>> tests = new HashMap<>();
+        int claimed = 0;
+        int graded = 0;
+        Duration maxLag = Duration.ZERO;
+        while (claimed < limit) {
+            AtomicReference<TestAttempt> next = new AtomicReference<>();
+            boolean won;
+            try {
+                won = Boolean.TRUE.equals(transactionTemplate.execute(tx -> autoSubmitNext(cutoff, tests, next)));
+            } catch (RuntimeException e) {
+                if (next.get() == null) {
+                    throw e; // the claim itself failed: nothing to skip, leave it to the next sweep
+                }
+                recordGradingFailure(next.get(), retry, e);
+                won = false;
+            }
+            TestAttempt attempt = next.get();
+            if (attempt == null) {
+                break; // nothing left to claim
+            }
+            claimed++;
+            if (!won) {
+                continue; // failed, voided or finalized elsewhere: not swept by this batch
+            }
+            graded++;
+            Duration lag = Duration.between(attempt.getExpiresAt(), now);
+            if (lag.compareTo(maxLag) > 0) {
+                maxLag = lag;
+            }
+        }
+        log.debug("Deadline sweep batch: claimed {}, auto-submitted {} attempt(s), max lag {}", claimed, graded, maxLag);
+        return new SweptBatch(claimed, graded, maxLag);
+    }
+
+    /**
+     * One sweep transaction: claims the next expired attempt into {@code claimed} and finalizes it.
+     * Returns true only if this transaction auto-submitted and graded it.
+     */
+    private boolean autoSubmitNext(Instant cutoff, Map<Long, Optional<Test>> tests,
+                                   AtomicReference<TestAttempt> claimed) {
+        List<TestAttempt> next = attemptRepository.claimExpired(cutoff, 1);
+        if (next.isEmpty()) {
+            return false;
+        }
+        TestAttempt attempt = next.get(0);
+        claimed.set(attempt);
+        Optional<Test> test = tests.computeIfAbsent(attempt.getTestId(), testRepository::findById);
+        if (test.isEmpty()) {
+            // Test hard-deleted out from under the attempt: nothing to grade against, but it must leave
+            // IN_PROGRESS or it is re-claimed on every sweep.
+            attemptRepository.finalizeIfInProgress(attempt.getId(), AttemptStatus.VOIDED, attempt.getExpiresAt());
+            log.warn("Attempt {} voided: its test {} no longer exists", attempt.getId(), attempt.getTestId());
+            return false;
+        }
+        if (!claimFinalization(attempt, AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt())) {
+            return false;
+        }
+        grade(attempt, test.get(), AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt());
+        return true;
+    }
+
+    /**
+     * Records, in a transaction of its own, that auto-submitting {@code attempt} threw. Most causes are
+     * transient (a lock timeout, a dropped connection), so the attempt stays IN_PROGRESS and is retried
+     * after a backoff; once {@code retry.maxFailures()} attempts in a row have failed it is marked
+     * GRADING_FAILED for staff to {@link #regrade}.
+     */
+    private void recordGradingFailure(TestAttempt attempt, GradingRetry retry, RuntimeException cause) {
+        int failures = attempt.getGradingFailures() + 1;
+        if (failures >= retry.maxFailures()) {
+            log.error("Auto-submit of attempt {} failed {} times; marking it {}",
+                    attempt.getId(), failures, AttemptStatus.GRADING_FAILED, cause);
+            transactionTemplate.executeWithoutResult(tx -> attemptRepository.finalizeIfInProgress(
+                    attempt.getId(), AttemptStatus.GRADING_FAILED, attempt.getExpiresAt()));
+            return;
+        }
+        Instant retryAt = retry.retryAt(failures, Instant.now());
+        log.warn("Auto-submit of attempt {} failed ({} of {}); retrying after {}",
+                attempt.getId(), failures, retry.maxFailures(), retryAt, cause);
+        transactionTemplate.executeWithoutResult(tx -> attemptRepository.deferGrading(
+                attempt.getId(), failures, retryAt));
+    }
+
+    /**
+     * Outcome of one sweep batch: attempts claimed, those of them this batch auto-submitted and graded
+     * ({@code count}), and the largest deadline-to-grading delay among the graded ones.
+     */
+    public record SweptBatch(int claimed, int count, Duration maxLag) {}
+
+    /**
+     * How the sweep retries an attempt whose auto-submit threw: after {@code backoff}, doubling per
+     * consecutive failure, until {@code maxFailures} failures mark it GRADING_FAILED.
+     */
+    public record GradingRetry(int maxFailures, Duration backoff) {
+
+        /** Capped so the shift cannot overflow; a handful of doublings is already hours. */
+        Instant retryAt(int failures, Instant now) {
+            return now.plus(backoff.multipliedBy(1L << Math.min(failures - 1, 16)));
+        }
+    }
+
+    // --- Regrade -----------------------------------------------------------
+
+    /**
+     * Staff retry of an attempt the deadline sweep gave up on (GRADING_FAILED): moves it back to
+     * AUTO_SUBMITTED and grades it again, in this transaction. Institute-scoped like
+     * {@link #getAttemptForStaff}. Any other status is rejected with {@link IllegalStateException}.
+     */
+    @Transactional
+    public TestAttemptResponseDto regrade(Long testId, Long attemptId) {
+        Test test = testService.findScoped(testId);
+        TestAttempt attempt = attemptRepository.findById(attemptId)
+                .filter(a -> a.getTestId().equals(testId))
+                .orElseThrow(() -> new IllegalArgumentException("Attempt not found with ID: " + attemptId));
+        if (attemptRepository.reopenFailedGrading(attemptId, AttemptStatus.AUTO_SUBMITTED) != 1) {
+            throw new IllegalStateException("Only an attempt whose grading failed can be regraded");
+        }
+        attempt.setGradingFailures(0);
+        attempt.setNextGradingAt(null);
+        grade(attempt, test, AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt());
+        log.info("Attempt {} regraded after failed auto-submit (score {}/{})",
+                attemptId, attempt.getScore(), attempt.getMaxScore());
+        return buildAttemptResponse(attempt, test, true);
     }
 
     // --- Grading -----------------------------------------------------------
 
     /**
-     * Finalizes an IN_PROGRESS attempt whose deadline has passed, grading whatever was saved.
+     * Finalizes an IN_PROGRESS attempt whose deadline has passed, grading whatever was saved. If the
+     * sweeper (or another request) finalizes it first, this one only reloads the finalized state.
      * @return true if the attempt was expired (and is now finalized), false otherwise.
      */
     private boolean finalizeIfExpired(TestAttempt attempt, Test test) {
         if (attempt.getStatus() == AttemptStatus.IN_PROGRESS
                 && attempt.getExpiresAt() != null
                 && Instant.now().isAfter(attempt.getExpiresAt())) {
-            grade(attempt, test, AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt());
-            log.info("Attempt {} auto-submitted (deadline {})", attempt.getId(), attempt.getExpiresAt());
+            if (claimFinalization(attempt, AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt())) {
+                grade(attempt, test, AttemptStatus.AUTO_SUBMITTED, attempt.getExpiresAt());
+                log.info("Attempt {} auto-submitted (deadline {})", attempt.getId(), attempt.getExpiresAt());
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Wins the attempt's IN_PROGRESS -> {@code finalStatus} transition for this transaction, or, if
+     * another transaction already finalized it, reloads {@code attempt} with that outcome. Must precede
+     * {@link #grade}: only the winner may grade, so an attempt is graded (and counted) exactly once.
+     */
+    private boolean claimFinalization(TestAttempt attempt, AttemptStatus finalStatus, Instant submittedAt) {
+        if (attemptRepository.finalizeIfInProgress(attempt.getId(), finalStatus, submittedAt) == 1) {
+            return true;
+        }
+        log.debug("Attempt {} was finalized by another transaction; not grading it again", attempt.getId());
+        attemptRepository.refresh(attempt);
+        return false;
+    }
+
+    /**
+     * Grades every question of the attempt against the test's cached {@link AnswerKey}: apart from one
+     * read of the saved answers and a single JDBC batch update of their grades, this is CPU-only. The
+     * caller must have won the transition ({@link #claimFinalization}).
+     */
     private void grade(TestAttempt attempt, Test test, AttemptStatus finalStatus, Instant submittedAt) {
-        List<TestQuestion> testQuestions = testQuestionRepository.findByTestIdOrderBySortOrderAsc(test.getId());
+        long start = System.nanoTime();
+        answerBuffer.drain(attempt.getId());
+        AnswerKey key = answerKeys.get(test);
         List<TestAttemptAnswer> answers = answerRepository.findByAttemptId(attempt.getId());
         log.debug("Grading attempt {}: {} questions, {} saved answer(s), negativeMarking={}, status->{}",
-                attempt.getId(), testQuestions.size(), answers.size(), test.isNegativeMarking(), finalStatus);
+                attempt.getId(), key.size(), answers.size(), test.isNegativeMarking(), finalStatus);
         Map<Long, TestAttemptAnswer> answerByQuestion = answers.stream()
                 .collect(Collectors.toMap(TestAttemptAnswer::getQuestionId, a -> a, (a, b) -> a));
 
         BigDecimal total = BigDecimal.ZERO;
-        for (TestQuestion tq : testQuestions) {
-            Long questionId = tq.getQuestion().getId();
+        List<AnswerGrade> grades = new ArrayList<>(answers.size());
+        List<QuestionOutcome> outcomes = new ArrayList<>(key.size());
+        for (int i = 0; i < key.size(); i++) {
+            long questionId = key.questionId(i);
             TestAttemptAnswer answer = answerByQuestion.get(questionId);
-            BigDecimal marks = TestService.effectiveMarks(tq);
-            BigDecimal negative = TestService.effectiveNegativeMarks(tq);
 
             Set<Long> selected = answer == null ? Set.of() : parseOptionIds(answer.getSelectedOptionIds());
-            Set<Long> correct = optionRepository.findCorrectOptionsByQuestionId(questionId).stream()
-                    .map(Option::getId).collect(Collectors.toSet());
-
-            GradedAnswer graded = gradeAnswer(selected, correct, marks, negative, test.isNegativeMarking());
+            GradedAnswer graded = gradeAnswer(selected, key.matches(i, selected),
+                    key.marks(i), key.negativeMarks(i), test.isNegativeMarking());
             log.debug("  question={}: selected={}, correct={}, awarded={}, isCorrect={}",
-                    questionId, selected, correct, graded.awarded(), graded.isCorrect());
+                    questionId, selected, key.correctOptionIds(i), graded.awarded(), graded.isCorrect());
             total = total.add(graded.awarded());
+            outcomes.add(new QuestionOutcome(questionId, graded.isCorrect(), graded.awarded()));
 
             if (answer != null) {
-                answer.setIsCorrect(graded.isCorrect());
-                answer.setMarksAwarded(graded.awarded());
-                answerRepository.save(answer);
+                grades.add(new AnswerGrade(answer, graded.isCorrect(), graded.awarded()));
             }
         }
+        answerRepository.batchUpdateGrades(grades);
         // Floor the attempt score at zero (negative marking cannot drive the total below 0).
         if (total.signum() < 0) {
             log.debug("Attempt {} raw score {} floored to 0", attempt.getId(), total);
@@ -322,6 +556,8 @@ public class TestAttemptService {
         attempt.setStatus(finalStatus);
         attempt.setSubmittedAt(submittedAt);
         attemptRepository.save(attempt);
+        analytics.recordGraded(test.getId(), total, test.getTotalMarks(), attempt.getPassed(), outcomes);
+        metrics.recordGrading(finalStatus, key.size(), System.nanoTime() - start);
         log.debug("Attempt {} graded: score={}/{}, passed={}, status={}",
                 attempt.getId(), total, test.getTotalMarks(), attempt.getPassed(), finalStatus);
     }
@@ -336,10 +572,16 @@ public class TestAttemptService {
      */
     static GradedAnswer gradeAnswer(Set<Long> selected, Set<Long> correct,
                                     BigDecimal marks, BigDecimal negative, boolean negativeMarking) {
+        return gradeAnswer(selected, selected != null && selected.equals(correct), marks, negative, negativeMarking);
+    }
+
+    /** As above, with the exact-match check already done (e.g. by {@link AnswerKey#matches}). */
+    static GradedAnswer gradeAnswer(Set<Long> selected, boolean exactMatch,
+                                    BigDecimal marks, BigDecimal negative, boolean negativeMarking) {
         if (selected == null || selected.isEmpty()) {
             return new GradedAnswer(null, BigDecimal.ZERO);
         }
-        if (selected.equals(correct)) {
+        if (exactMatch) {
             return new GradedAnswer(true, marks);
         }
         return new GradedAnswer(false, negativeMarking ? negative.negate() : BigDecimal.ZERO);
@@ -347,37 +589,11 @@ public class TestAttemptService {
 
     // --- helpers -----------------------------------------------------------
 
-    private void upsertAnswer(TestAttempt attempt, Test test, SubmitAnswerRequestDto dto) {
-        log.debug("upsertAnswer: attempt={}, question={}, options={}", attempt.getId(), dto.questionId(), dto.selectedOptionIds());
-        // The question must belong to this test.
-        TestQuestion tq = testQuestionRepository.findByTestIdAndQuestionId(test.getId(), dto.questionId())
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Question " + dto.questionId() + " is not part of this test"));
-        // Validate that any selected options actually belong to the question.
-        String csv = null;
-        if (dto.selectedOptionIds() != null && !dto.selectedOptionIds().isEmpty()) {
-            Set<Long> validOptionIds = optionRepository
-                    .findByQuestionIdOrderByOptionOrder(dto.questionId()).stream()
-                    .map(Option::getId).collect(Collectors.toSet());
-            for (Long optId : dto.selectedOptionIds()) {
-                if (!validOptionIds.contains(optId)) {
-                    throw new IllegalArgumentException(
-                            "Option " + optId + " does not belong to question " + dto.questionId());
-                }
-            }
-            csv = dto.selectedOptionIds().stream().distinct().map(String::valueOf)
-                    .collect(Collectors.joining(","));
-        }
-
-        TestAttemptAnswer answer = answerRepository
-                .findByAttemptIdAndQuestionId(attempt.getId(), dto.questionId())
-                .orElseGet(() -> TestAttemptAnswer.builder()
-                        .attempt(attempt)
-                        .questionId(dto.questionId())
-                        .build());
-        answer.setSelectedOptionIds(csv);
-        answer.setAnsweredAt(Instant.now());
-        answerRepository.save(answer);
+    /** Validates the answer against the test's answer key and converts it to its stored form. */
+    private AnswerUpsert toUpsert(TestAttempt attempt, AnswerKey key, SubmitAnswerRequestDto dto, Instant answeredAt) {
+        log.debug("Answer: attempt={}, question={}, options={}", attempt.getId(), dto.questionId(), dto.selectedOptionIds());
+        String csv = key.selectionCsv(dto.questionId(), dto.selectedOptionIds());
+        return new AnswerUpsert(attempt.getId(), dto.questionId(), csv, answeredAt);
     }
 
     private TestAttemptResponseDto buildAttemptResponse(TestAttempt attempt, Test test) {
@@ -390,11 +606,13 @@ public class TestAttemptService {
      * flag — used for the staff drill-down, which must always show the correct answers.
      */
     private TestAttemptResponseDto buildAttemptResponse(TestAttempt attempt, Test test, boolean alwaysReveal) {
-        boolean graded = attempt.getStatus() != AttemptStatus.IN_PROGRESS;
+        // GRADING_FAILED / VOIDED are finished but have no score: shown ungraded, never as a null result.
+        boolean graded = attempt.getStatus().isGraded();
         boolean reveal = graded && (alwaysReveal || test.isShowAnswers());
 
         Map<Long, TestAttemptAnswer> answerByQuestion = answerRepository.findByAttemptId(attempt.getId()).stream()
                 .collect(Collectors.toMap(TestAttemptAnswer::getQuestionId, a -> a, (a, b) -> a));
+        AnswerKey key = answerKeys.get(test);
 
         List<AttemptQuestionResponseDto> questions = new ArrayList<>();
         for (TestQuestion tq : testQuestionRepository.findByTestIdOrderBySortOrderAsc(test.getId())) {
@@ -407,12 +625,11 @@ public class TestAttemptService {
                         .toList();
             List<Long> selected = answer == null ? List.of()
                     : new ArrayList<>(parseOptionIds(answer.getSelectedOptionIds()));
-            List<Long> correctIds = reveal
-                    ? optionRepository.findCorrectOptionsByQuestionId(q.getId()).stream().map(Option::getId).toList()
-                    : null;
+            int index = key.indexOf(q.getId());
+            List<Long> correctIds = reveal ? key.correctOptionIds(index) : null;
             questions.add(new AttemptQuestionResponseDto(
                     q.getId(), q.getText(), q.getQuestionImagePath(), q.getQuestionType(),
-                    TestService.effectiveMarks(tq), tq.getSortOrder(), opts, selected,
+                    key.marks(index), tq.getSortOrder(), opts, selected,
                     reveal && answer != null ? answer.getIsCorrect() : null,
                     reveal && answer != null ? answer.getMarksAwarded() : null,
                     correctIds));
@@ -442,7 +659,7 @@ public class TestAttemptService {
                 .orElseThrow(() -> new IllegalArgumentException("Attempt not found with ID: " + attemptId));
     }
 
-    private static Set<Long> parseOptionIds(String csv) {
+    static Set<Long> parseOptionIds(String csv) {
         if (csv == null || csv.isBlank()) {
             return Set.of();
         }
@@ -4,12 +4,11 @@ import com.testpire.testpire.dto.response.AvailableTestResponseDto;
 import com.testpire.testpire.entity.StudentEnrollment;
 import com.testpire.testpire.entity.Test;
 import com.testpire.testpire.entity.TestAssignment;
-import com.testpire.testpire.entity.TestAttempt;
-import com.testpire.testpire.enums.AttemptStatus;
 import com.testpire.testpire.enums.TestStatus;
 import com.testpire.testpire.repository.StudentEnrollmentRepository;
 import com.testpire.testpire.repository.TestAssignmentRepository;
 import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestAttemptRepository.AttemptTally;
 import com.testpire.testpire.repository.TestRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +32,10 @@ import java.util.stream.Collectors;
  * <p>A test is available iff: it is PUBLISHED and active; "now" is inside the effective availability
  * window (the test window narrowed by the qualifying assignment's window); and the student has either
  * an in-progress attempt to resume or attempts remaining below {@code maxAttempts}.</p>
+ *
+ * <p>Resolved assignments are cached per student by {@link EligibilityCacheService}, and attempt
+ * usage for all candidate tests is one grouped query, so a warm dashboard read is two indexed
+ * queries (the test rows and the attempt tally) regardless of how many tests are assigned.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -46,14 +49,21 @@ public class TestResolutionService {
     private final TestAssignmentRepository assignmentRepository;
     private final TestRepository testRepository;
     private final TestAttemptRepository attemptRepository;
+    private final EligibilityCacheService eligibilityCache;
 
     /**
      * Active assignments (across all tests) that reach this student, keyed by testId. When more than
      * one assignment reaches the same test, the one with the widest effective window wins for display;
-     * any qualifying assignment is sufficient for eligibility.
+     * any qualifying assignment is sufficient for eligibility. Served from the eligibility cache when
+     * warm; the returned map and assignments are shared and must not be modified.
      */
     @Transactional(readOnly = true)
     public Map<Long, TestAssignment> resolveAssignmentsForStudent(Long studentUserId, Long instituteId) {
+        return eligibilityCache.get(studentUserId, instituteId,
+                () -> loadAssignmentsForStudent(studentUserId, instituteId));
+    }
+
+    private Map<Long, TestAssignment> loadAssignmentsForStudent(Long studentUserId, Long instituteId) {
         log.debug("resolveAssignments: student={}, institute={}", studentUserId, instituteId);
         List<StudentEnrollment> enrollments = enrollmentRepository.findByStudentUserId(studentUserId);
         Set<Long> courseIds = enrollments.stream().map(StudentEnrollment::getCourseId).collect(Collectors.toSet());
@@ -87,6 +97,8 @@ public class TestResolutionService {
         }
         Instant now = Instant.now();
         log.debug("Evaluating {} candidate test(s) for student {} at {}", byTest.size(), studentUserId, now);
+        Map<Long, AttemptTally> tallies = attemptRepository.tallyByStudentAndTests(studentUserId, byTest.keySet())
+                .stream().collect(Collectors.toMap(AttemptTally::getTestId, t -> t));
         List<AvailableTestResponseDto> result = new ArrayList<>();
         for (Test test : testRepository.findAllById(byTest.keySet())) {
             if (test.getStatus() != TestStatus.PUBLISHED) {
@@ -105,22 +117,20 @@ public class TestResolutionService {
                 continue;   // expired
             }
 
-            List<TestAttempt> attempts = attemptRepository.findByTestIdAndStudentUserId(test.getId(), studentUserId);
-            TestAttempt inProgress = attempts.stream()
-                    .filter(a -> a.getStatus() == AttemptStatus.IN_PROGRESS)
-                    .findFirst().orElse(null);
-            int used = attempts.size();
+            AttemptTally tally = tallies.get(test.getId());
+            Long inProgress = tally != null ? tally.getInProgressAttemptId() : null;
+            int used = tally != null ? (int) tally.getAttemptsUsed() : 0;
             boolean hasAttemptsLeft = used < test.getMaxAttempts();
             if (inProgress == null && !hasAttemptsLeft) {
                 log.debug("  test {} skipped: attempts exhausted ({}/{})", test.getId(), used, test.getMaxAttempts());
                 continue; // exhausted, nothing to resume
             }
             log.debug("  test {} included: attemptsUsed={}/{}, inProgressAttempt={}",
-                    test.getId(), used, test.getMaxAttempts(), inProgress != null ? inProgress.getId() : "none");
+                    test.getId(), used, test.getMaxAttempts(), inProgress != null ? inProgress : "none");
             result.add(new AvailableTestResponseDto(
                     test.getId(), test.getTitle(), test.getDescription(), test.getTotalMarks(),
                     test.getDurationMinutes(), test.getMaxAttempts(), used, from, until,
-                    inProgress != null ? inProgress.getId() : null));
+                    inProgress));
         }
         log.debug("getAvailableTests result for student {}: {} test(s)", studentUserId, result.size());
         return result;
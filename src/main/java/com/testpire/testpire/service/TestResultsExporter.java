@@ -0,0 +1,189 @@
+package com.testpire.testpire.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams every result row of a test as CSV or NDJSON straight from a JDBC cursor to the response, so
+ * exporting a 50k-attempt mock uses the same memory as a 50-attempt quiz. Rows come out in
+ * (student, attempt number) order, with the same columns as {@code GET /api/tests/{id}/results}.
+ *
+ * <p>Scores are exported as stored: expired attempts are finalized by {@link AttemptDeadlineSweeper},
+ * not here, so an attempt the sweeper has not reached yet still shows as IN_PROGRESS.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TestResultsExporter {
+
+    private static final String CSV_HEADER = "student_user_id,student_username,student_name,attempt_id,"
+            + "attempt_number,status,score,max_score,passed,submitted_at";
+
+    private static final JsonFactory JSON = new JsonFactory().setRootValueSeparator(null);
+
+    private final TestAttemptRepository attemptRepository;
+    private final TestService testService;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+            }
+        }
+    }
+
+    /**
+     * Resolves the test to export, institute-scoped like every other staff test read. Call it on the
+     * request thread, before handing {@link #export} to a streaming response.
+     */
+    public Test requireTest(Long testId) {
+        return testService.findScoped(testId);
+    }
+
+    /**
+     * Writes the test's results to {@code out}. {@code test} comes from {@link #requireTest}; this
+     * typically runs on the async thread of a streaming response.
+     */
+    @Transactional(readOnly = true)
+    public void export(Test test, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        LongAdder rows = new LongAdder();
+        try {
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write("\r\n");
+                attemptRepository.streamResults(test.getId(), r -> {
+                    writeCsvRow(writer, r);
+                    rows.increment();
+                });
+            } else {
+                JsonGenerator json = JSON.createGenerator(writer);
+                attemptRepository.streamResults(test.getId(), r -> {
+                    writeJsonLine(json, r);
+                    rows.increment();
+                });
+                json.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} result row(s) of test {} as {}", rows.sum(), test.getId(), format);
+    }
+
+    private static void writeCsvRow(Writer w, StudentResult r) {
+        try {
+            w.write(String.valueOf(r.studentUserId()));
+            w.write(',');
+            w.write(csv(r.studentUsername()));
+            w.write(',');
+            w.write(csv(r.studentName()));
+            w.write(',');
+            w.write(String.valueOf(r.attemptId()));
+            w.write(',');
+            w.write(String.valueOf(r.attemptNumber()));
+            w.write(',');
+            w.write(r.status().name());
+            w.write(',');
+            w.write(plain(r.score()));
+            w.write(',');
+            w.write(plain(r.maxScore()));
+            w.write(',');
+            w.write(r.passed() == null ? "" : r.passed().toString());
+            w.write(',');
+            w.write(r.submittedAt() == null ? "" : r.submittedAt().toString());
+            w.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJsonLine(JsonGenerator g, StudentResult r) {
+        try {
+            g.writeStartObject();
+            g.writeNumberField("studentUserId", r.studentUserId());
+            g.writeStringField("studentUsername", r.studentUsername());
+            g.writeStringField("studentName", r.studentName());
+            g.writeNumberField("attemptId", r.attemptId());
+            g.writeNumberField("attemptNumber", r.attemptNumber());
+            g.writeStringField("status", r.status().name());
+            g.writeFieldName("score");
+            writeDecimal(g, r.score());
+            g.writeFieldName("maxScore");
+            writeDecimal(g, r.maxScore());
+            g.writeFieldName("passed");
+            if (r.passed() == null) {
+                g.writeNull();
+            } else {
+                g.writeBoolean(r.passed());
+            }
+            g.writeStringField("submittedAt", r.submittedAt() == null ? null : r.submittedAt().toString());
+            g.writeEndObject();
+            g.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator g, BigDecimal value) throws IOException {
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value);
+        }
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "" : value.toPlainString();
+    }
+
+    /** RFC 4180 field: quoted only when it contains a comma, quote or line break; null is empty. */
+    static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
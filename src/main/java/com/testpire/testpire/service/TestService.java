@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,7 +30,8 @@ import java.util.Optional;
  *
  * <p>Question mutations (add/remove/reorder/re-mark) are only allowed while the test is in
  * {@code DRAFT}; publishing freezes the question set so in-flight attempts stay consistent. The
- * derived {@code totalMarks} is recomputed on every question change.</p>
+ * derived {@code totalMarks} is recomputed on every question change. Publishing also builds the
+ * test's {@link AnswerKey}, which every edit invalidates.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -39,6 +41,7 @@ public class TestService {
     private final TestRepository testRepository;
     private final TestQuestionRepository testQuestionRepository;
     private final QuestionRepository questionRepository;
+    private final AnswerKeyCacheService answerKeys;
 
     @Transactional
     public TestResponseDto createTest(CreateTestRequestDto request) {
@@ -93,6 +96,7 @@ public class TestService {
         test.setUpdatedBy(RequestUtils.getCurrentUsername());
 
         Test saved = testRepository.save(test);
+        answerKeys.invalidate(id);
         log.info("Test updated with ID: {}", saved.getId());
         return toDetail(saved);
     }
@@ -101,6 +105,7 @@ public class TestService {
     public void deleteTest(Long id) {
         Test test = findScoped(id);
         testRepository.delete(test);
+        answerKeys.invalidate(id);
         log.info("Test deleted with ID: {}", id);
     }
 
@@ -159,6 +164,7 @@ public class TestService {
             }
         }
         recomputeTotalMarks(test);
+        answerKeys.invalidate(testId);
         log.info("Added/updated {} question(s) on test {}", request.questions().size(), testId);
         return toDetail(findScoped(testId));
     }
@@ -171,6 +177,7 @@ public class TestService {
                 .orElseThrow(() -> new IllegalArgumentException("Question " + questionId + " is not on this test"));
         testQuestionRepository.delete(tq);
         recomputeTotalMarks(test);
+        answerKeys.invalidate(testId);
         log.info("Removed question {} from test {}", questionId, testId);
         return toDetail(findScoped(testId));
     }
@@ -191,7 +198,9 @@ public class TestService {
         recomputeTotalMarks(test);
         test.setStatus(TestStatus.PUBLISHED);
         test.setUpdatedBy(RequestUtils.getCurrentUsername());
-        testRepository.save(test);
+        // Flush so updatedAt is final before it is stamped on the answer key as its version.
+        testRepository.saveAndFlush(test);
+        answerKeys.rebuild(test);
         log.info("Test {} published", testId);
         return toDetail(test);
     }
@@ -221,6 +230,8 @@ public class TestService {
                 .map(TestService::effectiveMarks)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         test.setTotalMarks(total);
+        // The question list changed even if the total did not: move the version the test's ETag is built from.
+        test.setUpdatedAt(Instant.now());
         testRepository.save(test);
     }
 
@@ -3,6 +3,8 @@ package com.testpire.testpire.service;
 import com.testpire.testpire.dto.request.CreateTopicRequestDto;
 import com.testpire.testpire.dto.request.TopicSearchRequestDto;
 import com.testpire.testpire.dto.request.UpdateTopicRequestDto;
+import com.testpire.testpire.repository.specification.KeysetPagination;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
 import com.testpire.testpire.repository.specification.TopicSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -31,6 +33,7 @@ public class TopicService {
 
     private final TopicRepository topicRepository;
     private final ChapterRepository chapterRepository;
+    private final CurriculumTreeCacheService curriculumTrees;
 
     @Transactional
     public TopicResponseDto createTopic(CreateTopicRequestDto request) {
@@ -64,6 +67,7 @@ public class TopicService {
                 .build();
 
         Topic savedTopic = topicRepository.save(topic);
+        curriculumTrees.invalidate(savedTopic.getInstituteId());
         log.info("Topic created successfully with ID: {}", savedTopic.getId());
         return TopicResponseDto.fromEntity(savedTopic);
     }
@@ -90,6 +94,7 @@ public class TopicService {
         existingTopic.setUpdatedBy(RequestUtils.getCurrentUsername());
 
         Topic updatedTopic = topicRepository.save(existingTopic);
+        curriculumTrees.invalidate(updatedTopic.getInstituteId());
         log.info("Topic updated successfully with ID: {}", updatedTopic.getId());
         return TopicResponseDto.fromEntity(updatedTopic);
     }
@@ -101,6 +106,7 @@ public class TopicService {
         Topic topic = findTopicScoped(id);
 
         topicRepository.delete(topic);
+        curriculumTrees.invalidate(topic.getInstituteId());
         log.info("Topic deleted successfully with ID: {}", id);
     }
 
@@ -157,7 +163,7 @@ public class TopicService {
                 request.getSearchText()
         );
 
-        return new TopicListResponseDto(topicDtos, totalCount.intValue());
+        return TopicListResponseDto.of(topicDtos, totalCount.longValue());
     }
 
     @Transactional(readOnly = true)
@@ -167,6 +173,14 @@ public class TopicService {
         // Build specification
         Specification<Topic> spec = buildSpecification(request);
 
+        if (request.getCursor() != null) {
+            KeysetPage<Topic> page = KeysetPagination.fetch(topicRepository, spec, request.getSortBy(),
+                    request.getSortDirection(), request.getCursor(), request.getSize(), request.isIncludeTotal());
+            return TopicListResponseDto.of(page.content().stream()
+                    .map(TopicResponseDto::fromEntity)
+                    .toList(), page.totalCount(), page.nextCursor());
+        }
+
         // Create pageable
         Pageable pageable = createPageable(request);
 
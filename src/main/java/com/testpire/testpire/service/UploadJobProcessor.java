@@ -0,0 +1,250 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.CurriculumUploadResponseDto;
+import com.testpire.testpire.entity.UploadJob;
+import com.testpire.testpire.enums.UploadJobStatus;
+import com.testpire.testpire.repository.UploadJobErrorRepository;
+import com.testpire.testpire.repository.UploadJobRepository;
+import com.testpire.testpire.util.CsvReader;
+import com.testpire.testpire.util.CsvRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Runs one claimed {@link UploadJob} from its spooled file. Rows are imported in chunks of
+ * {@code chunk-size}; after each chunk one transaction adds its counts to the job, moves the
+ * heartbeat and appends its errors. A resumed job skips the rows it already committed.
+ *
+ * <p>While a chunk is being imported the heartbeat is also moved on a timer, every third of
+ * {@code stale-after-ms}, so a slow chunk (e.g. one replayed row by row) is never mistaken for a dead
+ * worker; only a worker that stopped running lets its job go stale.</p>
+ *
+ * <p>Both import paths are idempotent (questions are upserted by external id, curriculum entities
+ * are created only if their code is absent), so a chunk that was written but whose progress never
+ * committed is simply imported again on resume. Its errors are recorded once, because they are
+ * written with the progress.</p>
+ */
+@Service
+@Slf4j
+public class UploadJobProcessor {
+
+    private final UploadJobRepository jobs;
+    private final UploadJobErrorRepository jobErrors;
+    private final CsvUploadService questionUploads;
+    private final CurriculumUploadService curriculumUploads;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    private final Duration heartbeatInterval;
+    private volatile boolean stopping;
+
+    public UploadJobProcessor(UploadJobRepository jobs,
+                              UploadJobErrorRepository jobErrors,
+                              CsvUploadService questionUploads,
+                              CurriculumUploadService curriculumUploads,
+                              TransactionTemplate transactionTemplate,
+                              TaskScheduler taskScheduler,
+                              @Value("${testpire.upload-jobs.chunk-size:500}") int chunkSize,
+                              @Value("${testpire.upload-jobs.stale-after-ms:600000}") long staleAfterMillis) {
+        this.jobs = jobs;
+        this.jobErrors = jobErrors;
+        this.questionUploads = questionUploads;
+        this.curriculumUploads = curriculumUploads;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.staleAfter = Duration.ofMillis(staleAfterMillis);
+        this.heartbeatInterval = Duration.ofMillis(Math.max(1, staleAfterMillis / 3));
+    }
+
+    /** Running jobs whose heartbeat is older than this are presumed dead and may be claimed again. */
+    Instant staleBefore(Instant now) {
+        return now.minus(staleAfter);
+    }
+
+    /**
+     * Makes running jobs stop after their current chunk, leaving them RUNNING; they are resumed once
+     * their heartbeat goes stale. Chunks are never cut short, since each one commits as a whole.
+     */
+    void stop() {
+        stopping = true;
+    }
+
+    /** Claims the job and runs it to the end. Does nothing if the job is finished or another worker holds it. */
+    public void run(Long jobId) {
+        Instant now = Instant.now();
+        if (jobs.claim(jobId, now, staleBefore(now)) == 0) {
+            log.debug("Upload job {} is not claimable; skipping", jobId);
+            return;
+        }
+        UploadJob job = jobs.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Upload job " + jobId + " vanished after its claim"));
+        int claim = job.getClaimCount();
+        if (job.getProcessedRows() > 0) {
+            log.info("Resuming upload job {} after {} of {} row(s)", jobId, job.getProcessedRows(), job.getTotalRows());
+        }
+
+        try {
+            if (!process(job, claim)) {
+                log.info("Upload job {} stopped for shutdown; it resumes from its last committed chunk", jobId);
+                return;
+            }
+            jobs.finish(jobId, claim, UploadJobStatus.COMPLETED, null, Instant.now());
+            log.info("Upload job {} ({}) completed", jobId, job.getKind());
+        } catch (LostClaimException e) {
+            log.warn("Upload job {} was claimed by another worker; stopping", jobId);
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.error("Upload job {} failed", jobId, e);
+            jobs.finish(jobId, claim, UploadJobStatus.FAILED, e.getMessage(), Instant.now());
+        }
+        deleteSpool(job);
+    }
+
+    /** Imports every row not yet committed; false if stopped before the end of the file. */
+    private boolean process(UploadJob job, int claim) throws IOException {
+        ChunkImporter importer = importerFor(job);
+        int committed = job.getProcessedRows();
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(Path.of(job.getSpoolPath()), StandardCharsets.UTF_8))) {
+            csv.next(); // header, validated when the file was spooled
+
+            List<CsvRow> chunk = new ArrayList<>(chunkSize);
+            int dataRows = 0;
+            while (csv.next()) {
+                CsvRow row = new CsvRow((int) csv.recordNumber(), csv.toArray());
+                if (dataRows++ < committed) {
+                    importer.skip(row);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    commitChunk(job.getId(), claim, importer, chunk);
+                    chunk.clear();
+                    if (stopping) {
+                        return false;
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(job.getId(), claim, importer, chunk);
+            }
+        }
+        return true;
+    }
+
+    private void commitChunk(Long jobId, int claim, ChunkImporter importer, List<CsvRow> chunk) {
+        List<String> errors = new ArrayList<>();
+        int failed;
+        ScheduledFuture<?> heartbeat = taskScheduler.scheduleAtFixedRate(() -> heartbeat(jobId, claim),
+                Instant.now().plus(heartbeatInterval), heartbeatInterval);
+        try {
+            failed = importer.importChunk(chunk, errors);
+        } finally {
+            heartbeat.cancel(false);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jobs.recordChunk(jobId, claim, chunk.size(), chunk.size() - failed, failed, Instant.now()) == 0) {
+                throw new LostClaimException();
+            }
+            jobErrors.appendAll(jobId, errors);
+        });
+        log.debug("Upload job {}: committed rows {}-{} ({} failed)",
+                jobId, chunk.get(0).rowNumber(), chunk.get(chunk.size() - 1).rowNumber(), failed);
+    }
+
+    /** Runs on the scheduler; a lost claim is only logged here and stops the job at its next commit. */
+    private void heartbeat(Long jobId, int claim) {
+        try {
+            if (jobs.heartbeat(jobId, claim, Instant.now()) == 0) {
+                log.warn("Upload job {} was claimed by another worker during a chunk", jobId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not move the heartbeat of upload job {}", jobId, e);
+        }
+    }
+
+    private ChunkImporter importerFor(UploadJob job) {
+        return switch (job.getKind()) {
+            case QUESTIONS -> new QuestionChunkImporter(job, questionUploads.institutePrefix(job.getInstituteId()));
+            case CURRICULUM -> new CurriculumChunkImporter(job);
+        };
+    }
+
+    private void deleteSpool(UploadJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getSpoolPath()));
+        } catch (IOException e) {
+            log.warn("Could not delete spooled file {} of upload job {}", job.getSpoolPath(), job.getId(), e);
+        }
+    }
+
+    /** Kind-specific import of one chunk; returns how many of its rows failed and adds their errors. */
+    private interface ChunkImporter {
+
+        /** Sees a row committed before a resume, for state that spans the whole file. */
+        default void skip(CsvRow row) {
+        }
+
+        int importChunk(List<CsvRow> rows, List<String> errors);
+    }
+
+    private final class QuestionChunkImporter implements ChunkImporter {
+
+        private final UploadJob job;
+        private final String institutePrefix;
+        // Duplicate Question Ids are rejected across the whole file, not only within a chunk.
+        private final Set<String> seenRawIds = new HashSet<>();
+
+        QuestionChunkImporter(UploadJob job, String institutePrefix) {
+            this.job = job;
+            this.institutePrefix = institutePrefix;
+        }
+
+        @Override
+        public void skip(CsvRow row) {
+            questionUploads.rememberQuestionId(row, seenRawIds);
+        }
+
+        @Override
+        public int importChunk(List<CsvRow> rows, List<String> errors) {
+            return questionUploads.importRows(rows, job.getInstituteId(), institutePrefix, seenRawIds,
+                    job.getCreatedBy(), errors).failed();
+        }
+    }
+
+    private final class CurriculumChunkImporter implements ChunkImporter {
+
+        private final UploadJob job;
+
+        CurriculumChunkImporter(UploadJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public int importChunk(List<CsvRow> rows, List<String> errors) {
+            CurriculumUploadResponseDto result = curriculumUploads.importRows(rows, job.getInstituteId(), job.getCreatedBy());
+            errors.addAll(result.errors());
+            return result.errors().size();
+        }
+    }
+
+    /** Another worker re-claimed the job (our heartbeat went stale); this worker must stop. */
+    private static final class LostClaimException extends RuntimeException {
+    }
+}
@@ -0,0 +1,207 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.UploadJobErrorListResponseDto;
+import com.testpire.testpire.dto.response.UploadJobResponseDto;
+import com.testpire.testpire.entity.UploadJob;
+import com.testpire.testpire.entity.UploadJobError;
+import com.testpire.testpire.enums.UploadJobKind;
+import com.testpire.testpire.repository.UploadJobErrorRepository;
+import com.testpire.testpire.repository.UploadJobRepository;
+import com.testpire.testpire.util.CsvReader;
+import com.testpire.testpire.util.RequestUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous bulk uploads. {@link #submit} validates the CSV header, spools the file to
+ * {@code spool-dir}, queues a job and returns at once; a pool of {@code workers} threads with a
+ * {@code queue-capacity} backlog runs jobs through {@link UploadJobProcessor}. Jobs that do not fit
+ * in the backlog stay QUEUED in the database.
+ *
+ * <p>Every {@code poll-interval-ms} the dispatcher hands queued jobs, and running jobs whose
+ * heartbeat is stale, to free workers. That is how jobs are resumed after a restart: a job left
+ * RUNNING by a stopped node goes stale and continues from its last committed chunk. The spool
+ * directory must be shared by every node that may pick up a job.</p>
+ */
+@Service
+@Slf4j
+public class UploadJobService {
+
+    private static final int MAX_ERROR_PAGE_SIZE = 500;
+
+    private final UploadJobRepository jobs;
+    private final UploadJobErrorRepository jobErrors;
+    private final UploadJobProcessor processor;
+    private final CsvUploadService questionUploads;
+    private final Path spoolDir;
+    private final ThreadPoolExecutor workers;
+    // Jobs handed to this node's pool and not yet finished there, so polling does not queue them twice.
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public UploadJobService(UploadJobRepository jobs,
+                            UploadJobErrorRepository jobErrors,
+                            UploadJobProcessor processor,
+                            CsvUploadService questionUploads,
+                            @Value("${testpire.upload-jobs.spool-dir:${java.io.tmpdir}/testpire-upload-jobs}") String spoolDir,
+                            @Value("${testpire.upload-jobs.workers:2}") int workerCount,
+                            @Value("${testpire.upload-jobs.queue-capacity:16}") int queueCapacity) {
+        this.jobs = jobs;
+        this.jobErrors = jobErrors;
+        this.processor = processor;
+        this.questionUploads = questionUploads;
+        this.spoolDir = Path.of(spoolDir);
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "upload-job-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Spools the file and queues a job for it. A bad header is rejected here with
+     * {@link IllegalArgumentException}, as the synchronous uploads reject it, instead of failing the job.
+     */
+    public UploadJobResponseDto submit(UploadJobKind kind, MultipartFile file, Long instituteId, String createdBy)
+            throws IOException {
+        if (instituteId == null) {
+            throw new IllegalArgumentException("Institute ID is required");
+        }
+        Files.createDirectories(spoolDir);
+        Path spooled = Files.createTempFile(spoolDir, "upload-", ".csv");
+        int rows;
+        try {
+            rows = spool(kind, file, spooled);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        UploadJob job = jobs.save(UploadJob.builder()
+                .instituteId(instituteId)
+                .kind(kind)
+                .fileName(file.getOriginalFilename())
+                .spoolPath(spooled.toAbsolutePath().toString())
+                .totalRows(rows)
+                .createdBy(createdBy)
+                .build());
+        log.info("Queued {} upload job {} for institute {} ({} row(s))", kind, job.getId(), instituteId, rows);
+        dispatch(job.getId());
+        return UploadJobResponseDto.fromEntity(job, 0);
+    }
+
+    /**
+     * Copies the upload to {@code target}, then checks its header; returns the number of non-blank data
+     * records. Records, not lines, are counted, since a quoted field may span lines.
+     */
+    private int spool(UploadJobKind kind, MultipartFile file, Path target) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (CsvReader csv = new CsvReader(Files.newBufferedReader(target, StandardCharsets.UTF_8))) {
+            if (!csv.next()) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            switch (kind) {
+                case QUESTIONS -> questionUploads.validateHeader(csv.toArray());
+                case CURRICULUM -> CurriculumUploadService.validateHeader(csv.toArray());
+            }
+            int rows = 0;
+            while (csv.next()) {
+                rows++;
+            }
+            return rows;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public UploadJobResponseDto getJob(Long id) {
+        UploadJob job = findScoped(id);
+        return UploadJobResponseDto.fromEntity(job, jobErrors.countByJobId(id));
+    }
+
+    @Transactional(readOnly = true)
+    public UploadJobErrorListResponseDto getErrors(Long id, int page, int size) {
+        findScoped(id);
+        int pageSize = Math.clamp(size, 1, MAX_ERROR_PAGE_SIZE);
+        Page<UploadJobError> errors = jobErrors.findByJobIdOrderByIdAsc(id, PageRequest.of(Math.max(page, 0), pageSize));
+        return new UploadJobErrorListResponseDto(
+                errors.getContent().stream().map(UploadJobError::getMessage).toList(),
+                errors.getNumber(), pageSize, errors.getTotalElements());
+    }
+
+    /** Hands queued and stale jobs to free workers (see the class comment). */
+    @Scheduled(fixedDelayString = "${testpire.upload-jobs.poll-interval-ms:10000}",
+            initialDelayString = "${testpire.upload-jobs.initial-delay-ms:15000}")
+    public void dispatchPending() {
+        int free = workers.getQueue().remainingCapacity();
+        if (free == 0) {
+            return;
+        }
+        List<Long> claimable = jobs.findClaimableIds(processor.staleBefore(Instant.now()), PageRequest.of(0, free));
+        claimable.forEach(this::dispatch);
+    }
+
+    private void dispatch(Long jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    processor.run(jobId);
+                } catch (RuntimeException e) {
+                    log.error("Upload job {} could not be run; it will be retried", jobId, e);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(jobId);
+            log.info("Upload workers are busy; job {} stays queued", jobId);
+        }
+    }
+
+    /**
+     * Loads a job scoped to the caller's institute. Non-SUPER_ADMIN users only see their JWT
+     * institute's jobs (others read as not-found); SUPER_ADMIN (null) sees all.
+     */
+    private UploadJob findScoped(Long id) {
+        Long instituteId = RequestUtils.getCurrentUserInstituteId();
+        return (instituteId != null
+                ? jobs.findByIdAndInstituteId(id, instituteId)
+                : jobs.findById(id))
+                .orElseThrow(() -> new IllegalArgumentException("Upload job not found with ID: " + id));
+    }
+
+    /** Running jobs stop after their current chunk and are resumed by a later poll, here or on another node. */
+    @PreDestroy
+    void shutdown() {
+        processor.stop();
+        workers.shutdown();
+    }
+}
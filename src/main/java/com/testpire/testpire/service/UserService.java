@@ -22,6 +22,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final InstituteService instituteService;
     private final CognitoService cognitoService;
+    private final IdentityCacheService identityCache;
 
     public User createUser(String username, String firstName, String lastName,
                            UserRole role, Long instituteId, String cognitoUserId, String createdBy) {
@@ -110,6 +111,8 @@ public class UserService {
             throw new IllegalArgumentException("Institute not found with ID: " + request.instituteId());
         }
 
+        // Drop cached identities under the old principals (captured before they change) once this commits.
+        identityCache.invalidate(existingUser.getCognitoUserId(), existingUser.getUsername());
         existingUser.setUsername(request.username());
         existingUser.setEmail(request.email());
         existingUser.setFirstName(request.firstName());
@@ -128,6 +131,8 @@ public class UserService {
         User existingUser = userRepository.findById(user.getId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + user.getId()));
 
+        identityCache.invalidate(existingUser.getCognitoUserId(), existingUser.getUsername());
+
         // Update the user entity
         existingUser.setFirstName(user.getFirstName());
         existingUser.setLastName(user.getLastName());
@@ -149,6 +154,7 @@ public class UserService {
         // (cascades to student/teacher details, enrollments, and test attempts via FK ON DELETE CASCADE).
         cognitoService.deleteUser(user.getUsername());
         userRepository.delete(user);
+        identityCache.invalidate(user.getCognitoUserId(), user.getUsername());
         log.info("User deleted successfully with ID: {}", id);
     }
 
@@ -0,0 +1,237 @@
+package com.testpire.testpire.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming RFC 4180 CSV reader shared by the question and curriculum importers.
+ *
+ * <p>Input is read through one fixed char buffer and each record is parsed into a reused char array
+ * plus field end offsets, so reading a row allocates nothing until a field is asked for as a
+ * {@code String}. Quoted fields may contain commas, line breaks and escaped quotes ({@code ""}).
+ * Records end at LF, CRLF or CR. Blank lines are skipped and not counted.</p>
+ *
+ * <p>Like the per-line parsers it replaces, a quote anywhere in a field opens a quoted section rather
+ * than being rejected, and fields are returned untrimmed. A leading UTF-8 byte order mark is
+ * dropped. A record longer than {@code maxRecordChars}, which in practice means a quote left open,
+ * fails with an {@link IOException} instead of reading the rest of the file into memory.</p>
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_RECORD_CHARS = 1 << 20;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Reader in;
+    private final char[] buf;
+    private final int maxRecordChars;
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private boolean started;
+
+    // The current record: all field text back to back, field i spanning [ends[i - 1], ends[i]).
+    private char[] chars = new char[1024];
+    private int length;
+    private int[] ends = new int[32];
+    private int fieldCount;
+    private boolean sawQuote;
+    private long recordNumber;
+
+    public CsvReader(Reader in) {
+        this(in, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_RECORD_CHARS);
+    }
+
+    public CsvReader(Reader in, int bufferSize, int maxRecordChars) {
+        this.in = in;
+        this.buf = new char[Math.max(bufferSize, 1)];
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /** Advances to the next non-blank record; false at the end of the input. */
+    public boolean next() throws IOException {
+        while (readRecord()) {
+            if (!isBlank()) {
+                recordNumber++;
+                return true;
+            }
+        }
+        fieldCount = 0;
+        return false;
+    }
+
+    /** 1-based number of the current record among the non-blank ones; the header is record 1. */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    public String field(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of a record with " + fieldCount + " field(s)");
+        }
+        int start = index == 0 ? 0 : ends[index - 1];
+        return new String(chars, start, ends[index] - start);
+    }
+
+    /** The current record's fields as new strings. */
+    public String[] toArray() {
+        String[] fields = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            fields[i] = field(i);
+        }
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean readRecord() throws IOException {
+        length = 0;
+        fieldCount = 0;
+        sawQuote = false;
+        if (pos == limit && !fill()) {
+            return false;
+        }
+        if (!started) {
+            started = true;
+            if (buf[pos] == BYTE_ORDER_MARK) {
+                pos++;
+            }
+        }
+        boolean quoted = false;
+        while (true) {
+            if (pos == limit && !fill()) {
+                endField(); // last record without a trailing line break, or a quote left open at EOF
+                return true;
+            }
+            int start = pos;
+            if (quoted) {
+                while (pos < limit && buf[pos] != '"') {
+                    pos++;
+                }
+                append(start, pos - start);
+                if (pos == limit) {
+                    continue;
+                }
+                pos++;
+                if (peek() == '"') {
+                    pos++;
+                    appendChar('"');
+                } else {
+                    quoted = false;
+                }
+            } else {
+                char c = 0;
+                while (pos < limit) {
+                    c = buf[pos];
+                    if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                        break;
+                    }
+                    pos++;
+                }
+                append(start, pos - start);
+                if (pos == limit) {
+                    continue;
+                }
+                pos++;
+                switch (c) {
+                    case ',' -> endField();
+                    case '"' -> {
+                        quoted = true;
+                        sawQuote = true;
+                    }
+                    case '\n' -> {
+                        endField();
+                        return true;
+                    }
+                    default -> { // '\r', alone or as part of CRLF
+                        if (peek() == '\n') {
+                            pos++;
+                        }
+                        endField();
+                        return true;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isBlank() {
+        if (fieldCount != 1 || sawQuote) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        pos = 0;
+        limit = n;
+        return true;
+    }
+
+    private void append(int from, int count) throws IOException {
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(count);
+        System.arraycopy(buf, from, chars, length, count);
+        length += count;
+    }
+
+    private void appendChar(char c) throws IOException {
+        ensureCapacity(1);
+        chars[length++] = c;
+    }
+
+    private void ensureCapacity(int extra) throws IOException {
+        int needed = length + extra;
+        if (needed > maxRecordChars) {
+            throw new IOException("CSV record " + (recordNumber + 1) + " is longer than " + maxRecordChars
+                    + " characters; is a quote left open?");
+        }
+        if (needed > chars.length) {
+            char[] grown = new char[Math.min(Math.max(needed, chars.length * 2), maxRecordChars)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+
+    private void endField() {
+        if (fieldCount == ends.length) {
+            int[] grown = new int[ends.length * 2];
+            System.arraycopy(ends, 0, grown, 0, fieldCount);
+            ends = grown;
+        }
+        ends[fieldCount++] = length;
+    }
+}
@@ -0,0 +1,8 @@
+package com.testpire.testpire.util;
+
+/**
+ * One non-blank data row of an uploaded CSV. {@code rowNumber} is the row's 1-based position in the
+ * file counting the header as row 1 and skipping blank lines, which is the number upload errors
+ * are reported against.
+ */
+public record CsvRow(int rowNumber, String[] columns) {}
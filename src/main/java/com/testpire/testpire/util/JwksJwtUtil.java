@@ -4,7 +4,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.testpire.testpire.dto.UserDto;
 import com.testpire.testpire.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -19,10 +23,15 @@ import java.io.InputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -37,12 +46,43 @@ public class JwksJwtUtil {
     @Value("${aws.cognito.region}")
     private String region;
 
+    @Value("${testpire.jwt-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
     private Map<String, PublicKey> publicKeys;
+    /** One thread-safe parser per signing key, built once instead of per token. */
+    private Map<String, JwtParser> parsers;
+    private String expectedIssuer;
+    /** SHA-256(token) -> verified claims, each entry expiring at the token's own {@code exp}. */
+    private Cache<String, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
         loadJwksKeys();
+        expectedIssuer = "https://cognito-idp." + region + ".amazonaws.com/" + userPoolId;
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        long nanos = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+                        return Math.max(nanos, 0L);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     private void loadJwksKeys() {
@@ -55,14 +95,14 @@ public class JwksJwtUtil {
             JsonNode keys = jwks.get("keys");
             
             publicKeys = new java.util.HashMap<>();
+            parsers = new java.util.HashMap<>();
             
             for (JsonNode key : keys) {
                 String kid = key.get("kid").asText();
                 String n = key.get("n").asText();
                 String e = key.get("e").asText();
                 
-                PublicKey publicKey = createPublicKey(n, e);
-                publicKeys.put(kid, publicKey);
+                registerKey(kid, createPublicKey(n, e));
                 
                 log.info("Loaded public key with kid: {}", kid);
             }
@@ -75,6 +115,15 @@ public class JwksJwtUtil {
         }
     }
 
+    /** Registers a signing key and its pre-built parser under {@code kid}. */
+    void registerKey(String kid, PublicKey publicKey) {
+        publicKeys.put(kid, publicKey);
+        parsers.put(kid, Jwts.parserBuilder()
+                .setSigningKey(publicKey)
+                .setAllowedClockSkewSeconds(300) // 5 minutes tolerance
+                .build());
+    }
+
     private PublicKey createPublicKey(String n, String e) {
         try {
             byte[] nBytes = Base64.getUrlDecoder().decode(n);
@@ -93,83 +142,89 @@ public class JwksJwtUtil {
         }
     }
 
-    public String extractUsername(String token) {
-        try {
-            Claims claims = extractAllClaims(token);
-            
-            // Try to get username from 'cognito:username' claim first, then fallback to 'sub'
-            String username = claims.get("cognito:username", String.class);
-            if (username == null) {
-                username = claims.getSubject();
-            }
-            
-            log.info("Extracted username from JWT: {}", username);
-            return username;
-        } catch (Exception e) {
-            log.error("Error extracting username from token", e);
-            throw new RuntimeException("Failed to extract username from JWT token", e);
+    /**
+     * Verify-once entry point: validates the token (signature, expiry, issuer, audience) and returns
+     * its immutable claims, or empty if it is not acceptable. Verified tokens are cached by SHA-256
+     * hash until their {@code exp}, so repeated requests carrying the same bearer token skip parsing
+     * and RSA verification entirely. Rejected tokens are never cached.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            log.error("Token is null or empty");
+            return Optional.empty();
+        }
+        String key = tokenHash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
         }
+        VerifiedToken verified = verifyUncached(token);
+        if (verified != null && verified.expiresAt() != null) {
+            verifiedTokens.put(key, verified);
+        }
+        return Optional.ofNullable(verified);
     }
 
-    public boolean isTokenValid(String token) {
+    /** Full parse + RSA verification + issuer/audience checks, bypassing the cache. Null if invalid. */
+    VerifiedToken verifyUncached(String token) {
         try {
-            if (token == null || token.trim().isEmpty()) {
-                log.error("Token is null or empty");
-                return false;
-            }
-
-            // Check token format
-            String[] chunks = token.split("\\.");
-            if (chunks.length != 3) {
+            // Check token format (header.payload.signature) without a regex split
+            int first = token.indexOf('.');
+            int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+            if (second < 0 || token.indexOf('.', second + 1) >= 0) {
                 log.error("Invalid JWT token format");
-                return false;
+                return null;
             }
 
-            // Extract and validate claims
+            // Extract and validate claims (expiration is already checked in extractAllClaims)
             Claims claims = extractAllClaims(token);
-            
-            // Additional validation (expiration is already checked in extractAllClaims)
+
             // Check issuer
             String issuer = claims.getIssuer();
-            String expectedIssuer = "https://cognito-idp." + region + ".amazonaws.com/" + userPoolId;
             if (issuer == null || !issuer.equals(expectedIssuer)) {
                 log.error("Invalid issuer: {} (expected: {})", issuer, expectedIssuer);
-                return false;
+                return null;
             }
-            
+
             // Check audience
             String audience = claims.getAudience();
             if (audience == null || !audience.equals(appClientId)) {
                 log.error("Invalid audience: {} (expected: {})", audience, appClientId);
-                return false;
+                return null;
             }
-            
-            log.info("Token validation successful");
-            return true;
-        } catch (io.jsonwebtoken.ExpiredJwtException e) {
-            log.error("Token has expired: {}", e.getMessage());
-            return false;
+
+            log.debug("Token validation successful");
+            return VerifiedToken.from(claims);
         } catch (Exception e) {
             log.error("Error validating token: {}", e.getMessage(), e);
-            return false;
+            return null;
         }
     }
 
+    public String extractUsername(String token) {
+        String username = verify(token)
+                .map(VerifiedToken::username)
+                .orElseThrow(() -> new RuntimeException("Failed to extract username from JWT token"));
+        log.info("Extracted username from JWT: {}", username);
+        return username;
+    }
+
+    public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
     public UserDto extractUserFromToken(String token) {
         try {
-            Claims claims = extractAllClaims(token);
+            VerifiedToken verified = verify(token)
+                    .orElseThrow(() -> new RuntimeException("Invalid or expired token"));
             
             // Extract user information
-            String username = claims.get("cognito:username", String.class);
-            if (username == null) {
-                username = claims.getSubject();
-            }
-            
-            String email = claims.get("email", String.class);
-            String firstName = claims.get("given_name", String.class);
-            String lastName = claims.get("family_name", String.class);
-            String roleStr = claims.get("custom:roles", String.class);
-            String instituteIdStr = claims.get("custom:instituteId", String.class);
+            String username = verified.username();
+            String email = verified.claim("email");
+            String firstName = verified.claim("given_name");
+            String lastName = verified.claim("family_name");
+            String roleStr = verified.claim("custom:roles");
+            String instituteIdStr = verified.claim("custom:instituteId");
             
             // Parse role
             UserRole role = UserRole.STUDENT; // default
@@ -200,26 +255,31 @@ public class JwksJwtUtil {
         }
     }
 
+    private static String tokenHash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private Claims extractAllClaims(String token) {
         try {
             // Extract header to get kid
-            String[] chunks = token.split("\\.");
-            String header = new String(Base64.getUrlDecoder().decode(chunks[0]));
+            String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                    StandardCharsets.UTF_8);
             
             JsonNode headerJson = objectMapper.readTree(header);
             String kid = headerJson.get("kid").asText();
             
             // Get the public key for this kid
-            PublicKey publicKey = publicKeys.get(kid);
-            if (publicKey == null) {
+            if (!parsers.containsKey(kid)) {
                 throw new RuntimeException("No public key found for kid: " + kid);
             }
             
             // Parse and verify the token with clock skew tolerance
-            return Jwts.parserBuilder()
-                    .setSigningKey(publicKey)
-                    .setAllowedClockSkewSeconds(300) // 5 minutes tolerance
-                    .build()
+            return parsers.get(kid)
                     .parseClaimsJws(token)
                     .getBody();
                     
@@ -0,0 +1,46 @@
+package com.testpire.testpire.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature, expiry, issuer and audience were verified by
+ * {@link JwksJwtUtil#verify}. Holds a private copy of the claims, so one instance can be cached and
+ * shared across concurrent requests carrying the same bearer token.
+ *
+ * @param username  the principal: {@code cognito:username}, falling back to {@code sub}
+ * @param issuedAt  {@code iat}; null if the token has none
+ * @param expiresAt {@code exp}; null if the token has none
+ * @param tokenId   {@code jti}; null if the token has none
+ */
+public record VerifiedToken(String username, Instant issuedAt, Instant expiresAt, String tokenId,
+                            Map<String, Object> claims) {
+
+    public VerifiedToken {
+        claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    public static VerifiedToken from(Claims claims) {
+        String username = claims.get("cognito:username", String.class);
+        if (username == null) {
+            username = claims.getSubject();
+        }
+        return new VerifiedToken(username, toInstant(claims.getIssuedAt()), toInstant(claims.getExpiration()),
+                claims.getId(), claims);
+    }
+
+    /** A claim as a string (non-string values are stringified), or null if absent. */
+    public String claim(String name) {
+        Object value = claims.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
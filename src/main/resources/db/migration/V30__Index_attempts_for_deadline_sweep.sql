@@ -0,0 +1,7 @@
+-- Supports the scheduled deadline sweeper (AttemptDeadlineSweeper), which repeatedly claims
+-- IN_PROGRESS attempts past their deadline:
+--   SELECT ... WHERE status = 'IN_PROGRESS' AND expires_at < now() ORDER BY expires_at LIMIT n FOR UPDATE SKIP LOCKED
+-- With (status, expires_at) the claim is an index range scan in deadline order instead of a scan of
+-- every attempt ever taken.
+
+CREATE INDEX IF NOT EXISTS idx_test_attempts_status_expires_at ON test_attempts (status, expires_at);
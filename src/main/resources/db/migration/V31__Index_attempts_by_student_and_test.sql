@@ -0,0 +1,3 @@
+-- Attempt lookups are always "this student's attempts on these tests" (available-tests dashboard,
+-- attempt start). A composite index serves the grouped tally in one range scan per student.
+CREATE INDEX IF NOT EXISTS idx_test_attempts_student_test ON test_attempts (student_user_id, test_id);
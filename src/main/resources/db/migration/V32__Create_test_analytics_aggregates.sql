@@ -0,0 +1,46 @@
+-- Incrementally maintained analytics per test (TestAnalyticsService). Every graded attempt adds to
+-- these counters, so the analytics endpoint reads O(questions) rows instead of scanning
+-- test_attempt_answers. They can always be recomputed from the raw tables (POST .../analytics/rebuild).
+
+-- ---------------------------------------------------------------------------
+-- test_stats  (one row per test with at least one graded attempt)
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS test_stats (
+    test_id         BIGINT PRIMARY KEY,
+    graded_attempts BIGINT NOT NULL DEFAULT 0,
+    passed_attempts BIGINT NOT NULL DEFAULT 0,
+    score_sum       NUMERIC(14,2) NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_test_stats_test FOREIGN KEY (test_id) REFERENCES tests (id) ON DELETE CASCADE
+);
+
+-- ---------------------------------------------------------------------------
+-- test_score_buckets  (score histogram: bucket b counts attempts scoring in [b, b+1) / 20 of max)
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS test_score_buckets (
+    test_id  BIGINT NOT NULL,
+    bucket   SMALLINT NOT NULL,
+    attempts BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (test_id, bucket),
+    CONSTRAINT fk_test_score_buckets_test FOREIGN KEY (test_id) REFERENCES tests (id) ON DELETE CASCADE
+);
+
+-- ---------------------------------------------------------------------------
+-- test_question_stats  (per question of a test: answered / correct counts and marks awarded)
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS test_question_stats (
+    test_id     BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    attempted   BIGINT NOT NULL DEFAULT 0,
+    correct     BIGINT NOT NULL DEFAULT 0,
+    marks_sum   NUMERIC(14,2) NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (test_id, question_id),
+    CONSTRAINT fk_test_question_stats_test FOREIGN KEY (test_id) REFERENCES tests (id) ON DELETE CASCADE
+);
+
+COMMENT ON TABLE test_stats          IS 'Running totals over graded attempts of a test (analytics)';
+COMMENT ON TABLE test_score_buckets  IS 'Score histogram per test in 20 buckets of 5% of max score';
+COMMENT ON TABLE test_question_stats IS 'Per-question attempted/correct counters over graded attempts';
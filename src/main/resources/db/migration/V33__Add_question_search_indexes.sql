@@ -0,0 +1,43 @@
+-- Indexed search over the question bank (QuestionService.searchQuestionsWithSpecification).
+--
+-- searchMode=FTS matches a weighted tsvector (text A, explanation B, question_type C) against a
+-- websearch-style query through its GIN index and ranks by ts_rank_cd. searchMode=FUZZY matches
+-- typo-tolerant word similarity on the question text through a pg_trgm index. The trigram indexes
+-- also serve the default searchMode=LIKE path: each lower(col) LIKE '%term%' branch becomes a
+-- bitmap index scan (terms of 3+ characters) instead of a sequential scan of every question.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(text, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(explanation, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(question_type, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_questions_search_vector ON questions USING gin (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_questions_text_trgm ON questions USING gin (lower(text) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_questions_explanation_trgm ON questions USING gin (lower(explanation) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_questions_question_type_trgm ON questions USING gin (lower(question_type) gin_trgm_ops);
+
+-- JPA Criteria cannot emit the @@ / <% operators, so QuestionSpecification calls these wrappers.
+-- They are single-expression SQL functions, which the planner inlines: the operator (and so the
+-- index above) is what the query plan actually sees.
+
+CREATE OR REPLACE FUNCTION question_fts_match(doc tsvector, query text) RETURNS boolean
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$ SELECT doc @@ websearch_to_tsquery('english', query) $$;
+
+CREATE OR REPLACE FUNCTION question_fts_rank(doc tsvector, query text) RETURNS real
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+    AS $$ SELECT ts_rank_cd(doc, websearch_to_tsquery('english', query)) $$;
+
+-- STABLE, not IMMUTABLE: <% depends on the pg_trgm.word_similarity_threshold setting.
+CREATE OR REPLACE FUNCTION question_fuzzy_match(body text, query text) RETURNS boolean
+    LANGUAGE sql STABLE PARALLEL SAFE
+    AS $$ SELECT lower(query) <% lower(body) $$;
+
+CREATE OR REPLACE FUNCTION question_fuzzy_rank(body text, query text) RETURNS real
+    LANGUAGE sql STABLE PARALLEL SAFE
+    AS $$ SELECT word_similarity(lower(query), lower(body)) $$;
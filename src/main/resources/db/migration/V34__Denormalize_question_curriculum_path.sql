@@ -0,0 +1,175 @@
+-- Curriculum path of each question, denormalized so QuestionSpecification filters by course,
+-- subject or chapter with one indexed predicate instead of joining
+-- questions -> topics -> chapters -> subjects -> course_subjects (+ DISTINCT).
+--
+--   questions.chapter_id / subject_id : copied from the question's topic and its chapter
+--   question_courses                   : (question, course) for every course the question's subject is linked to
+--
+-- Triggers keep both in sync with every write path (JPA, bulk JDBC, manual SQL):
+--   * a question is inserted or moved to another topic
+--   * a topic is moved to another chapter, or a chapter to another subject
+--   * a course/subject link is added or removed (course_subjects)
+
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS chapter_id BIGINT;
+ALTER TABLE questions ADD COLUMN IF NOT EXISTS subject_id BIGINT;
+
+UPDATE questions q
+SET chapter_id = t.chapter_id,
+    subject_id = c.subject_id
+FROM topics t
+JOIN chapters c ON c.id = t.chapter_id
+WHERE t.id = q.topic_id;
+
+ALTER TABLE questions ALTER COLUMN chapter_id SET NOT NULL;
+ALTER TABLE questions ALTER COLUMN subject_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_questions_institute_chapter ON questions (institute_id, chapter_id);
+CREATE INDEX IF NOT EXISTS idx_questions_institute_subject ON questions (institute_id, subject_id);
+
+CREATE TABLE IF NOT EXISTS question_courses (
+    question_id BIGINT NOT NULL,
+    course_id   BIGINT NOT NULL,
+
+    CONSTRAINT pk_question_courses PRIMARY KEY (question_id, course_id),
+    CONSTRAINT fk_question_courses_question FOREIGN KEY (question_id) REFERENCES questions (id) ON DELETE CASCADE,
+    CONSTRAINT fk_question_courses_course   FOREIGN KEY (course_id)   REFERENCES courses (id)   ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_courses_course ON question_courses (course_id, question_id);
+
+INSERT INTO question_courses (question_id, course_id)
+SELECT q.id, cs.course_id
+FROM questions q
+JOIN course_subjects cs ON cs.subject_id = q.subject_id
+ON CONFLICT DO NOTHING;
+
+-- ---------------------------------------------------------------------------
+-- questions: derive chapter_id / subject_id from topic_id
+-- ---------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION set_question_curriculum_path()
+RETURNS TRIGGER AS $$
+BEGIN
+    SELECT t.chapter_id, c.subject_id
+    INTO NEW.chapter_id, NEW.subject_id
+    FROM topics t
+    JOIN chapters c ON c.id = t.chapter_id
+    WHERE t.id = NEW.topic_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_set_question_curriculum_path
+    BEFORE INSERT OR UPDATE OF topic_id ON questions
+    FOR EACH ROW
+    EXECUTE FUNCTION set_question_curriculum_path();
+
+-- ---------------------------------------------------------------------------
+-- questions -> question_courses, set-based per statement (bulk uploads insert thousands of rows)
+-- ---------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION add_inserted_question_courses()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO question_courses (question_id, course_id)
+    SELECT n.id, cs.course_id
+    FROM new_questions n
+    JOIN course_subjects cs ON cs.subject_id = n.subject_id
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_add_inserted_question_courses
+    AFTER INSERT ON questions
+    REFERENCING NEW TABLE AS new_questions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION add_inserted_question_courses();
+
+CREATE OR REPLACE FUNCTION refresh_moved_question_courses()
+RETURNS TRIGGER AS $$
+BEGIN
+    DELETE FROM question_courses qc
+    USING old_questions o
+    JOIN new_questions n ON n.id = o.id
+    WHERE qc.question_id = n.id
+      AND n.subject_id IS DISTINCT FROM o.subject_id;
+
+    INSERT INTO question_courses (question_id, course_id)
+    SELECT n.id, cs.course_id
+    FROM old_questions o
+    JOIN new_questions n ON n.id = o.id
+    JOIN course_subjects cs ON cs.subject_id = n.subject_id
+    WHERE n.subject_id IS DISTINCT FROM o.subject_id
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_refresh_moved_question_courses
+    AFTER UPDATE ON questions
+    REFERENCING OLD TABLE AS old_questions NEW TABLE AS new_questions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION refresh_moved_question_courses();
+
+-- ---------------------------------------------------------------------------
+-- topic moved to another chapter / chapter moved to another subject
+-- ---------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION propagate_topic_chapter()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.chapter_id IS DISTINCT FROM OLD.chapter_id THEN
+        UPDATE questions q
+        SET chapter_id = NEW.chapter_id,
+            subject_id = c.subject_id
+        FROM chapters c
+        WHERE c.id = NEW.chapter_id
+          AND q.topic_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_propagate_topic_chapter
+    AFTER UPDATE OF chapter_id ON topics
+    FOR EACH ROW
+    EXECUTE FUNCTION propagate_topic_chapter();
+
+CREATE OR REPLACE FUNCTION propagate_chapter_subject()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.subject_id IS DISTINCT FROM OLD.subject_id THEN
+        UPDATE questions SET subject_id = NEW.subject_id WHERE chapter_id = NEW.id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_propagate_chapter_subject
+    AFTER UPDATE OF subject_id ON chapters
+    FOR EACH ROW
+    EXECUTE FUNCTION propagate_chapter_subject();
+
+-- ---------------------------------------------------------------------------
+-- course/subject link added or removed
+-- ---------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION sync_course_subject_questions()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO question_courses (question_id, course_id)
+        SELECT q.id, NEW.course_id FROM questions q WHERE q.subject_id = NEW.subject_id
+        ON CONFLICT DO NOTHING;
+    ELSE
+        DELETE FROM question_courses qc
+        USING questions q
+        WHERE qc.course_id = OLD.course_id
+          AND q.id = qc.question_id
+          AND q.subject_id = OLD.subject_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trigger_sync_course_subject_questions
+    AFTER INSERT OR DELETE ON course_subjects
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_course_subject_questions();
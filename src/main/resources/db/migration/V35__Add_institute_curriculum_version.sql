@@ -0,0 +1,6 @@
+-- Version counter of an institute's curriculum (courses, subjects, chapters, topics and the
+-- course/subject links). CurriculumTreeCache serves include-style reads from an in-memory tree built
+-- at one version and rebuilds when this counter has moved on; it is also the ETag of those reads.
+-- Bumped by the curriculum write services inside their own transactions.
+
+ALTER TABLE institutes ADD COLUMN IF NOT EXISTS curriculum_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,50 @@
+-- Asynchronous bulk uploads (UploadJobService). The CSV is spooled to disk and a job row is queued;
+-- a bounded pool of workers imports it in chunks. Each committed chunk advances processed_rows, so a
+-- job interrupted by a restart resumes after its last committed chunk instead of starting over.
+
+-- ---------------------------------------------------------------------------
+-- upload_jobs
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS upload_jobs (
+    id                BIGSERIAL PRIMARY KEY,
+    institute_id      BIGINT       NOT NULL,
+    kind              VARCHAR(20)  NOT NULL,
+    status            VARCHAR(20)  NOT NULL DEFAULT 'QUEUED',
+    file_name         VARCHAR(255),
+    spool_path        TEXT         NOT NULL,
+    total_rows        INT          NOT NULL DEFAULT 0,
+    processed_rows    INT          NOT NULL DEFAULT 0,
+    succeeded_rows    INT          NOT NULL DEFAULT 0,
+    failed_rows       INT          NOT NULL DEFAULT 0,
+    -- Incremented by every claim; progress writes carry the claim they were made under, so a worker
+    -- that lost its job to a stale-heartbeat takeover cannot record progress any more.
+    claim_count       INT          NOT NULL DEFAULT 0,
+    heartbeat_at      TIMESTAMPTZ,
+    failure_reason    TEXT,
+    created_by        VARCHAR(255),
+    created_at        TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at        TIMESTAMPTZ  NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at        TIMESTAMPTZ,
+    finished_at       TIMESTAMPTZ,
+
+    CONSTRAINT fk_upload_jobs_institute FOREIGN KEY (institute_id) REFERENCES institutes (id) ON DELETE CASCADE
+);
+
+-- The dispatcher polls for QUEUED jobs and RUNNING jobs with a stale heartbeat.
+CREATE INDEX IF NOT EXISTS idx_upload_jobs_status_heartbeat ON upload_jobs (status, heartbeat_at);
+
+-- ---------------------------------------------------------------------------
+-- upload_job_errors  (row errors and warnings, in row order; paged by the status endpoint)
+-- ---------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS upload_job_errors (
+    id      BIGSERIAL PRIMARY KEY,
+    job_id  BIGINT NOT NULL,
+    message TEXT   NOT NULL,
+
+    CONSTRAINT fk_upload_job_errors_job FOREIGN KEY (job_id) REFERENCES upload_jobs (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_upload_job_errors_job_id ON upload_job_errors (job_id, id);
+
+COMMENT ON TABLE upload_jobs       IS 'Queued/running/finished asynchronous CSV uploads with chunk-level progress';
+COMMENT ON TABLE upload_job_errors IS 'Row-level errors and warnings of an upload job';
@@ -0,0 +1,9 @@
+-- Retry state of the deadline sweep's auto-submit (TestAttemptService.autoSubmitExpired). An attempt
+-- whose grading throws stays IN_PROGRESS with its consecutive failure count and is not claimed again
+-- before next_grading_at (exponential backoff); after too many failures it becomes GRADING_FAILED and
+-- waits for a staff regrade.
+
+ALTER TABLE test_attempts ADD COLUMN IF NOT EXISTS grading_failures INT NOT NULL DEFAULT 0;
+ALTER TABLE test_attempts ADD COLUMN IF NOT EXISTS next_grading_at  TIMESTAMPTZ;
+
+COMMENT ON COLUMN test_attempts.next_grading_at IS 'Deadline sweep skips the attempt until then after a failed auto-submit';
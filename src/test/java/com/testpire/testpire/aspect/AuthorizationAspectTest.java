@@ -0,0 +1,121 @@
+package com.testpire.testpire.aspect;
+
+import com.testpire.testpire.Controller.CourseController;
+import com.testpire.testpire.config.GlobalExceptionHandler;
+import com.testpire.testpire.dto.UserDto;
+import com.testpire.testpire.service.CourseService;
+import com.testpire.testpire.service.DependencyBulkheads;
+import com.testpire.testpire.service.DependencyBulkheads.Dependency;
+import com.testpire.testpire.service.HotPathMetrics;
+import com.testpire.testpire.service.IdentityCacheService;
+import com.testpire.testpire.service.PermissionService;
+import com.testpire.testpire.util.JwksJwtUtil;
+import com.testpire.testpire.util.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link AuthorizationAspect} in front of a real controller: only authentication failures become a
+ * 401, while a saturated Cognito bulkhead during identity resolution surfaces as 503 + Retry-After.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthorizationAspectTest {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    JwksJwtUtil jwtUtil;
+
+    @Mock
+    IdentityCacheService identityCache;
+
+    @Mock
+    PermissionService permissionService;
+
+    @Mock
+    CourseService courseService;
+
+    private DependencyBulkheads bulkheads;
+    private ExecutorService callers;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        bulkheads = new DependencyBulkheads(new SimpleMeterRegistry(), 1, 1, 1, 50);
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new CourseController(courseService, jwtUtil));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new AuthorizationAspect(jwtUtil, identityCache, permissionService,
+                new HotPathMetrics(new SimpleMeterRegistry())));
+        mockMvc = MockMvcBuilders.standaloneSetup((Object) proxyFactory.getProxy())
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(jwtUtil.verify(TOKEN)).thenReturn(Optional.of(
+                new VerifiedToken("student-1", Instant.now(), null, null, Map.of())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void saturatedCognitoBulkhead_returns503WithRetryAfter() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        callers.submit(() -> bulkheads.call(Dependency.COGNITO, () -> {
+            holding.countDown();
+            release.await();
+            return null;
+        }));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+        // A cache miss falls through to Cognito, as IdentityCacheService does via CognitoService.getUser.
+        when(identityCache.resolve(any())).thenAnswer(inv -> bulkheads.call(Dependency.COGNITO,
+                () -> (UserDto) null));
+
+        try {
+            mockMvc.perform(get("/api/courses/1").header("Authorization", "Bearer " + TOKEN))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.success").value(false));
+        } finally {
+            release.countDown();
+        }
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void unresolvableIdentity_returns401() throws Exception {
+        when(identityCache.resolve(any())).thenThrow(new RuntimeException("Error getting user: not found"));
+
+        mockMvc.perform(get("/api/courses/1").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Authentication failed."));
+        verifyNoInteractions(courseService);
+    }
+}
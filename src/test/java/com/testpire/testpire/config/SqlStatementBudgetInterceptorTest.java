@@ -0,0 +1,114 @@
+package com.testpire.testpire.config;
+
+import com.testpire.testpire.annotation.SqlStatementBudget;
+import com.testpire.testpire.constants.ApplicationConstants;
+import com.testpire.testpire.service.HotPathMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.testpire.testpire.config.SqlStatementMatchers.countStatements;
+import static com.testpire.testpire.config.SqlStatementMatchers.statementCount;
+import static com.testpire.testpire.config.SqlStatementMatchers.withinStatementBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class SqlStatementBudgetInterceptorTest {
+
+    // Stands in for Hibernate, which calls the inspector once per statement it prepares.
+    private static final SqlStatementCounter HIBERNATE = new SqlStatementCounter();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SqlStatementBudgetInterceptor interceptor =
+                new SqlStatementBudgetInterceptor(new HotPathMetrics(registry), 5, 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(new QueryingController()).addInterceptors(interceptor).build();
+    }
+
+    @Test
+    void requestWithinBudgetIsCountedAndPasses() throws Exception {
+        mockMvc.perform(get("/distinct/2"))
+                .andExpect(statementCount(2))
+                .andExpect(withinStatementBudget());
+
+        assertThat(registry.get(ApplicationConstants.Metrics.SQL_STATEMENTS_PER_REQUEST)
+                .tag("handler", "QueryingController.distinct").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void requestOverBudgetFailsTheBudgetAssertion() throws Exception {
+        assertThatThrownBy(() -> mockMvc.perform(get("/distinct/6")).andExpect(withinStatementBudget()))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("6 statement(s)");
+        assertThat(registry.get(ApplicationConstants.Metrics.SQL_BUDGET_EXCEEDED)
+                .tag("handler", "QueryingController.distinct").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void oneStatementRepeatedPerRowIsFlaggedEvenWithinBudget() throws Exception {
+        assertThatThrownBy(() -> mockMvc.perform(get("/repeated/3")).andExpect(withinStatementBudget()))
+                .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void requestTheInterceptorNeverSawFailsTheBudgetAssertion() throws Exception {
+        MockMvc uncounted = MockMvcBuilders.standaloneSetup(new QueryingController()).build();
+
+        assertThatThrownBy(() -> uncounted.perform(get("/distinct/1")).andExpect(withinStatementBudget()))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("SqlStatementBudgetInterceptor");
+    }
+
+    @Test
+    void annotatedHandlerUsesItsOwnBudget() throws Exception {
+        mockMvc.perform(get("/bulk/20"))
+                .andExpect(statementCount(20))
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    void countsStatementsOutsideRequests() throws Exception {
+        assertThat(countStatements(() -> {
+            HIBERNATE.inspect("select 1");
+            HIBERNATE.inspect("select 2");
+        })).isEqualTo(2);
+        // Nothing is counted once the tally is closed.
+        HIBERNATE.inspect("select 3");
+        assertThat(SqlStatementCounter.current()).isZero();
+    }
+
+    @RestController
+    static class QueryingController {
+
+        @GetMapping("/distinct/{n}")
+        String distinct(@PathVariable int n) {
+            for (int i = 0; i < n; i++) {
+                HIBERNATE.inspect("select * from questions where id = " + i);
+            }
+            return "ok";
+        }
+
+        @GetMapping("/repeated/{n}")
+        String repeated(@PathVariable int n) {
+            for (int i = 0; i < n; i++) {
+                HIBERNATE.inspect("select * from options where question_id = ?");
+            }
+            return "ok";
+        }
+
+        @SqlStatementBudget(50)
+        @GetMapping("/bulk/{n}")
+        String bulk(@PathVariable int n) {
+            return distinct(n);
+        }
+    }
+}
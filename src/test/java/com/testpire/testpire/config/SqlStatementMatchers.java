@@ -0,0 +1,68 @@
+package com.testpire.testpire.config;
+
+import com.testpire.testpire.config.SqlStatementCounter.Tally;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on SQL statement counts. MockMvc tests that install a {@link SqlStatementBudgetInterceptor}
+ * assert with the result matchers; other tests wrap the code under test in {@link #countStatements}.
+ *
+ * <p>Counts come from {@link SqlStatementCounter}, which Hibernate feeds as its statement inspector.
+ * Against mocked services nothing feeds it, so these only mean something where statements are
+ * actually prepared: the endpoint budgets are asserted against PostgreSQL by the {@code -Ploadtest}
+ * integration tests.</p>
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    /**
+     * The request was counted, stayed within its budget and repeated no statement up to the threshold.
+     * Fails on a request the interceptor never saw, so a test that lost its interceptor cannot pass silently.
+     */
+    public static ResultMatcher withinStatementBudget() {
+        return result -> {
+            int statements = counted(result);
+            assertThat(result.getRequest().getAttribute(SqlStatementBudgetInterceptor.OVER_BUDGET_ATTRIBUTE))
+                    .as("SQL statement budget of %s %s (%s statement(s))", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), statements)
+                    .isEqualTo(Boolean.FALSE);
+        };
+    }
+
+    public static ResultMatcher statementCount(int expected) {
+        return result -> assertThat(counted(result))
+                .as("SQL statements of %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isEqualTo(expected);
+    }
+
+    /** Runs {@code work} and returns the Hibernate statements it ran on this thread. */
+    public static int countStatements(ThrowingRunnable work) throws Exception {
+        SqlStatementCounter.begin();
+        Tally tally;
+        try {
+            work.run();
+        } finally {
+            tally = SqlStatementCounter.end();
+        }
+        return tally.count();
+    }
+
+    private static int counted(MvcResult result) {
+        Object count = result.getRequest().getAttribute(SqlStatementBudgetInterceptor.STATEMENT_COUNT_ATTRIBUTE);
+        assertThat(count)
+                .as("SQL statement count of %s %s; is a SqlStatementBudgetInterceptor installed?",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                .isInstanceOf(Integer.class);
+        return (Integer) count;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -1,9 +1,12 @@
 package com.testpire.testpire.controller;
 
 import com.testpire.testpire.Controller.CourseController;
+import com.testpire.testpire.aspect.ConditionalRequestAspect;
 import com.testpire.testpire.dto.response.CourseListResponseDto;
 import com.testpire.testpire.dto.response.CourseResponseDto;
+import com.testpire.testpire.enums.ETagSource;
 import com.testpire.testpire.service.CourseService;
+import com.testpire.testpire.service.ETagService;
 import com.testpire.testpire.util.JwksJwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
@@ -21,6 +25,8 @@ import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,12 +40,19 @@ class CourseControllerTest extends BaseControllerTest {
     @Mock
     JwksJwtUtil jwtUtil;
 
+    @Mock
+    ETagService eTagService;
+
     @InjectMocks
     CourseController courseController;
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(courseController).build();
+        // Standalone MockMvc applies no AOP; proxy the controller so @ConditionalGet is exercised.
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(courseController);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ConditionalRequestAspect(eTagService));
+        mockMvc = MockMvcBuilders.standaloneSetup((Object) proxyFactory.getProxy()).build();
     }
 
     private static CourseResponseDto sampleCourse() {
@@ -114,6 +127,54 @@ class CourseControllerTest extends BaseControllerTest {
                 .andExpect(jsonPath("$.data.code").value("PHY101"));
     }
 
+    @Test
+    void getCourseByCode_currentETag_returns304WithoutServiceCall() throws Exception {
+        when(eTagService.versionTag(ETagSource.CURRICULUM, null, 2L)).thenReturn("W/\"curriculum-2-7\"");
+
+        mockMvc.perform(get("/api/courses/code/PHY101").param("instituteId", "2")
+                        .header("If-None-Match", "W/\"curriculum-2-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"curriculum-2-7\""));
+
+        verify(courseService, never()).getCourseByCode(any(), any(), any());
+    }
+
+    @Test
+    void getCourseByCode_staleETag_returns200WithCurrentETag() throws Exception {
+        when(eTagService.versionTag(ETagSource.CURRICULUM, null, 2L)).thenReturn("W/\"curriculum-2-8\"");
+        when(courseService.getCourseByCode(eq("PHY101"), eq(2L), any())).thenReturn(sampleCourse());
+
+        mockMvc.perform(get("/api/courses/code/PHY101").param("instituteId", "2")
+                        .header("If-None-Match", "W/\"curriculum-2-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"curriculum-2-8\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    void getCourseById_noVersion_fallsBackToContentHash() throws Exception {
+        when(courseService.getCourseById(eq(1L), any())).thenReturn(sampleCourse());
+        when(eTagService.contentTag(any())).thenReturn("W/\"5d41402abc4b2a76\"");
+
+        mockMvc.perform(get("/api/courses/1").header("If-None-Match", "W/\"5d41402abc4b2a76\""))
+                .andExpect(status().isNotModified());
+
+        // Without a version the handler has to run before the body can be hashed.
+        verify(courseService).getCourseById(eq(1L), any());
+    }
+
+    @Test
+    void getCourseById_notFound_isNeverTagged() throws Exception {
+        when(courseService.getCourseById(eq(999L), any()))
+                .thenThrow(new IllegalArgumentException("Course not found with ID: 999"));
+
+        mockMvc.perform(get("/api/courses/999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("ETag"));
+
+        verify(eTagService, never()).contentTag(any());
+    }
+
     @Test
     void getCourseById_notFound_returns400() throws Exception {
         when(courseService.getCourseById(eq(999L), any()))
@@ -0,0 +1,93 @@
+package com.testpire.testpire.repository.specification;
+
+import com.testpire.testpire.entity.Course;
+import com.testpire.testpire.repository.CourseRepository;
+import com.testpire.testpire.repository.specification.KeysetPagination.KeysetPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KeysetPaginationTest {
+
+    private static final Instant T0 = Instant.parse("2025-06-01T10:15:30.123456Z");
+
+    @Mock
+    CourseRepository courseRepository;
+
+    private final Specification<Course> spec = (root, query, cb) -> cb.conjunction();
+
+    @Test
+    void cursor_roundTripsIncludingNullKeysAndSeparatorsInValues() {
+        KeysetCursor withValue = new KeysetCursor("name", Sort.Direction.ASC, "Physics | 101 :: A", 42L);
+        KeysetCursor nullKey = new KeysetCursor("user.createdAt", Sort.Direction.DESC, null, 7L);
+
+        assertThat(KeysetCursor.decode(withValue.encode())).isEqualTo(withValue);
+        assertThat(KeysetCursor.decode(nullKey.encode())).isEqualTo(nullKey);
+    }
+
+    @Test
+    void garbageCursor_isABadRequest() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void fullPage_returnsSizeRows_andACursorOnTheLastOne() {
+        when(courseRepository.findBy(any(), any())).thenReturn(List.of(course(3L, 0), course(2L, 1), course(1L, 2)));
+
+        KeysetPage<Course> page = KeysetPagination.fetch(courseRepository, spec, "createdAt", "desc", "", 2, false);
+
+        assertThat(page.content()).extracting(Course::getId).containsExactly(3L, 2L);
+        assertThat(KeysetCursor.decode(page.nextCursor()))
+                .isEqualTo(new KeysetCursor("createdAt", Sort.Direction.DESC, T0.plusSeconds(1).toString(), 2L));
+        assertThat(page.totalCount()).isNull();
+        verify(courseRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void lastPage_hasNoCursor_andCountsOnlyWhenAsked() {
+        when(courseRepository.findBy(any(), any())).thenReturn(List.of(course(1L, 2)));
+        when(courseRepository.count(any(Specification.class))).thenReturn(3L);
+
+        KeysetPage<Course> page = KeysetPagination.fetch(courseRepository, spec, "createdAt", "desc", null, 2, true);
+
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.totalCount()).isEqualTo(3L);
+    }
+
+    @Test
+    void cursorOfAnotherSort_isRejected() {
+        String cursor = new KeysetCursor("name", Sort.Direction.ASC, "Physics", 1L).encode();
+
+        assertThatThrownBy(() -> KeysetPagination.fetch(courseRepository, spec, "createdAt", "desc", cursor, 20, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different sort");
+    }
+
+    @Test
+    void sort_breaksTiesById() {
+        assertThat(KeysetPagination.sort("name", Sort.Direction.ASC))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id")));
+        assertThat(KeysetPagination.sort("id", Sort.Direction.DESC)).isEqualTo(Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    private static Course course(Long id, int secondsAfterT0) {
+        return Course.builder().id(id).name("Course " + id).code("C" + id).instituteId(1L)
+                .createdAt(T0.plusSeconds(secondsAfterT0)).build();
+    }
+}
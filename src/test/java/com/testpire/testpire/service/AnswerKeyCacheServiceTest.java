@@ -0,0 +1,106 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.entity.TestQuestion;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TestQuestionRepository;
+import com.testpire.testpire.repository.TestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshot contents, version-checked reuse and invalidation of {@link AnswerKeyCacheService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnswerKeyCacheServiceTest {
+
+    @Mock
+    private TestQuestionRepository testQuestionRepository;
+
+    @Mock
+    private OptionRepository optionRepository;
+
+    @Mock
+    private TestRepository testRepository;
+
+    private AnswerKeyCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AnswerKeyCacheService(testQuestionRepository, optionRepository, testRepository, 100);
+    }
+
+    private void stubPaper() {
+        Question q1 = Question.builder().id(101L).marks(4).negativeMarks(1).build();
+        Question q2 = Question.builder().id(102L).marks(4).negativeMarks(1).build();
+        when(testQuestionRepository.findByTestIdWithQuestions(10L)).thenReturn(List.of(
+                TestQuestion.builder().question(q1).sortOrder(0).build(),
+                TestQuestion.builder().question(q2).marks(new BigDecimal("2.00")).sortOrder(1).build()));
+        when(optionRepository.findByTestId(10L)).thenReturn(List.of(
+                Option.builder().id(11L).question(q1).isCorrect(true).build(),
+                Option.builder().id(12L).question(q1).isCorrect(false).build(),
+                Option.builder().id(22L).question(q2).isCorrect(false).build(),
+                Option.builder().id(23L).question(q2).isCorrect(true).build(),
+                Option.builder().id(21L).question(q2).isCorrect(true).build()));
+    }
+
+    @org.junit.jupiter.api.Test
+    void snapshot_holdsOrderEffectiveMarksAndSortedOptions() {
+        stubPaper();
+        AnswerKey key = cache.get(Test.builder().id(10L).build());
+
+        assertThat(key.size()).isEqualTo(2);
+        assertThat(key.questionId(0)).isEqualTo(101L);
+        assertThat(key.marks(1)).isEqualByComparingTo("2.00");
+        assertThat(key.negativeMarks(1)).isEqualByComparingTo("1");
+        assertThat(key.correctOptionIds(1)).containsExactly(21L, 23L);
+        assertThat(key.matches(1, Set.of(23L, 21L))).isTrue();
+        assertThat(key.matches(1, Set.of(21L))).isFalse();
+        assertThat(key.hasOption(0, 12L)).isTrue();
+        assertThat(key.hasOption(0, 22L)).isFalse();
+        assertThat(key.indexOf(999L)).isEqualTo(-1);
+    }
+
+    @org.junit.jupiter.api.Test
+    void sameTestVersion_isServedFromCache_newerVersionRebuilds() {
+        stubPaper();
+        Test test = Test.builder().id(10L).updatedAt(Instant.parse("2026-01-01T00:00:00Z")).build();
+
+        AnswerKey first = cache.get(test);
+        assertThat(cache.get(test)).isSameAs(first);
+        verify(optionRepository, times(1)).findByTestId(10L);
+
+        test.setUpdatedAt(Instant.parse("2026-01-01T00:05:00Z"));
+        assertThat(cache.get(test)).isNotSameAs(first);
+        verify(optionRepository, times(2)).findByTestId(10L);
+    }
+
+    @org.junit.jupiter.api.Test
+    void questionEdit_invalidatesAndBumpsEveryTestContainingIt() {
+        stubPaper();
+        Test test = Test.builder().id(10L).build();
+        AnswerKey first = cache.get(test);
+        when(testQuestionRepository.findTestIdsByQuestionId(101L)).thenReturn(List.of(10L));
+
+        cache.invalidateByQuestion(101L);
+
+        verify(testRepository).touchByQuestionId(eq(101L), any(Instant.class));
+        assertThat(cache.get(test)).isNotSameAs(first);
+    }
+}
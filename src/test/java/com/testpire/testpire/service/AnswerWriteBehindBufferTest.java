@@ -0,0 +1,205 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.request.SubmitAnswerRequestDto;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.TestAttempt;
+import com.testpire.testpire.entity.TestQuestion;
+import com.testpire.testpire.repository.TestAttemptAnswerRepository;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerUpsert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Validation, coalescing and draining of {@link AnswerWriteBehindBuffer}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnswerWriteBehindBufferTest {
+
+    private static final Long ATTEMPT = 1L;
+    private static final Long STUDENT = 5L;
+
+    @Mock
+    private TestAttemptAnswerRepository answerRepository;
+
+    private AnswerWriteBehindBuffer buffer;
+    private AnswerKey key;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new AnswerWriteBehindBuffer(answerRepository, true, 2000, 3);
+        Question q1 = Question.builder().id(101L).build();
+        Question q2 = Question.builder().id(102L).build();
+        key = AnswerKey.of(10L, Instant.now(),
+                List.of(TestQuestion.builder().question(q1).build(), TestQuestion.builder().question(q2).build()),
+                List.of(Option.builder().id(11L).question(q1).isCorrect(true).build(),
+                        Option.builder().id(12L).question(q1).build(),
+                        Option.builder().id(21L).question(q2).isCorrect(true).build()));
+    }
+
+    private TestAttempt attempt(Instant expiresAt) {
+        return attempt(ATTEMPT, expiresAt);
+    }
+
+    private TestAttempt attempt(Long id, Instant expiresAt) {
+        return TestAttempt.builder().id(id).testId(10L).studentUserId(STUDENT).expiresAt(expiresAt).build();
+    }
+
+    @Test
+    void untrackedAttempt_isNotBuffered() {
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)))).isFalse();
+    }
+
+    @Test
+    void repeatedAnswers_coalesceToTheLatestPerQuestion_inOneBatch() {
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)))).isTrue();
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(12L, 11L)))).isTrue();
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(102L, List.of()))).isTrue();
+        buffer.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AnswerUpsert>> batch = ArgumentCaptor.forClass(List.class);
+        verify(answerRepository, times(1)).batchUpsertAnswers(batch.capture());
+        assertThat(batch.getValue()).extracting(AnswerUpsert::questionId, AnswerUpsert::selectedOptionIds)
+                .containsExactlyInAnyOrder(
+                        tuple(101L, "12,11"),
+                        tuple(102L, null));
+        assertThat(buffer.stats().answersBuffered()).isEqualTo(3);
+        assertThat(buffer.stats().rowsFlushed()).isEqualTo(2);
+        assertThat(buffer.stats().pendingAnswers()).isZero();
+    }
+
+    @Test
+    void foreignOption_isRejectedLikeTheSynchronousPath() {
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+
+        assertThatThrownBy(() -> buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(21L))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong to question 101");
+        assertThatThrownBy(() -> buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(999L, List.of(11L))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffer.stats().pendingAnswers()).isZero();
+    }
+
+    @Test
+    void otherStudentOrPastDeadline_fallsBackToTheSynchronousPath() {
+        buffer.track(attempt(Instant.now().minusSeconds(1)), key);
+
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)))).isFalse();
+        assertThat(buffer.offer(ATTEMPT, 99L, new SubmitAnswerRequestDto(101L, List.of(11L)))).isFalse();
+    }
+
+    @Test
+    void drain_writesPendingAnswers_andStopsTracking() {
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+        buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)));
+
+        buffer.drain(ATTEMPT);
+
+        verify(answerRepository, times(1)).batchUpsertAnswers(any());
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(12L)))).isFalse();
+        buffer.flushAll();
+        verify(answerRepository, times(1)).batchUpsertAnswers(any());
+    }
+
+    @Test
+    void anAnswerArrivingWhileTheGradingTransactionIsOpen_isRefused_notSilentlyDiscarded() {
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+        buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.drain(ATTEMPT);
+            // Lands after the snapshot but before the commit: the caller must take the synchronous path.
+            assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(102L, List.of(21L)))).isFalse();
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(buffer.stats().trackedAttempts()).isZero();
+        assertThat(buffer.stats().answersBuffered()).isEqualTo(1);
+    }
+
+    @Test
+    void aRolledBackDrain_reopensTheAttempt_withItsAnswersPendingAgain() {
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+        buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.drain(ATTEMPT);
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(buffer.stats().pendingAnswers()).isEqualTo(1);
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(102L, List.of(21L)))).isTrue();
+    }
+
+    private static void completeTransaction(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.afterCompletion(status));
+    }
+
+    @Test
+    void aRowThatKeepsFailing_holdsBackOnlyItsAttempt_andIsDroppedAfterTheFailureLimit() {
+        Long deleted = 2L;
+        buffer.track(attempt(Instant.now().plusSeconds(600)), key);
+        buffer.track(attempt(deleted, Instant.now().plusSeconds(600)), key);
+        // The attempt was deleted under the buffer: any batch holding its row hits the FK.
+        doAnswer(inv -> {
+            List<AnswerUpsert> rows = inv.getArgument(0);
+            if (rows.stream().anyMatch(r -> r.attemptId().equals(deleted))) {
+                throw new DataIntegrityViolationException("fk_attempt_answers_attempt");
+            }
+            return null;
+        }).when(answerRepository).batchUpsertAnswers(any());
+
+        buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)));
+        buffer.offer(deleted, STUDENT, new SubmitAnswerRequestDto(101L, List.of(11L)));
+        buffer.flushAll();
+
+        assertThat(buffer.stats().rowsFlushed()).isEqualTo(1);
+        assertThat(buffer.stats().pendingAnswers()).isEqualTo(1);
+
+        buffer.flushAll();
+        buffer.flushAll();
+
+        assertThat(buffer.stats().pendingAnswers()).isZero();
+        assertThat(buffer.stats().answersDropped()).isEqualTo(1);
+        assertThat(buffer.offer(deleted, STUDENT, new SubmitAnswerRequestDto(102L, List.of(21L)))).isFalse();
+        assertThat(buffer.offer(ATTEMPT, STUDENT, new SubmitAnswerRequestDto(102L, List.of(21L)))).isTrue();
+    }
+
+    @Test
+    void disabledBuffer_neverFlushes() {
+        buffer = new AnswerWriteBehindBuffer(answerRepository, false, 2000, 3);
+
+        buffer.flushAll();
+
+        verify(answerRepository, never()).batchUpsertAnswers(any());
+        assertThat(buffer.settleTime()).isZero();
+    }
+}
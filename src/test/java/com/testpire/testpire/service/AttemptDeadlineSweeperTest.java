@@ -0,0 +1,87 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.service.TestAttemptService.SweptBatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch draining, batch budget and lag/throughput accounting of {@link AttemptDeadlineSweeper}.
+ */
+@ExtendWith(MockitoExtension.class)
+class AttemptDeadlineSweeperTest {
+
+    @Mock
+    private TestAttemptService attemptService;
+
+    private AttemptDeadlineSweeper sweeper;
+
+    @AfterEach
+    void tearDown() {
+        sweeper.shutdown();
+    }
+
+    @Test
+    void sweep_drainsFullBatchesUntilAShortOne_andRecordsLag() {
+        sweeper = new AttemptDeadlineSweeper(attemptService, true, 2, 1, 10, 5, 60_000);
+        when(attemptService.autoSubmitExpired(eq(2), any())).thenReturn(
+                new SweptBatch(2, 2, Duration.ofSeconds(40)),
+                new SweptBatch(2, 2, Duration.ofSeconds(25)),
+                new SweptBatch(1, 1, Duration.ofSeconds(5)));
+
+        sweeper.sweep();
+
+        verify(attemptService, times(3)).autoSubmitExpired(eq(2), any());
+        AttemptDeadlineSweeper.SweepStats stats = sweeper.stats();
+        assertThat(stats.sweeps()).isEqualTo(1);
+        assertThat(stats.attemptsSwept()).isEqualTo(5);
+        assertThat(stats.maxLagMillis()).isEqualTo(40_000);
+        assertThat(stats.last().attempts()).isEqualTo(5);
+    }
+
+    @Test
+    void sweep_stopsAtTheBatchBudget() {
+        sweeper = new AttemptDeadlineSweeper(attemptService, true, 2, 1, 3, 5, 60_000);
+        when(attemptService.autoSubmitExpired(eq(2), any())).thenReturn(new SweptBatch(2, 2, Duration.ZERO));
+
+        sweeper.sweep();
+
+        verify(attemptService, times(3)).autoSubmitExpired(eq(2), any());
+        assertThat(sweeper.stats().attemptsSwept()).isEqualTo(6);
+    }
+
+    @Test
+    void sweep_keepsDrainingPastAttemptsItCouldNotGrade_withoutCountingThem() {
+        sweeper = new AttemptDeadlineSweeper(attemptService, true, 2, 1, 10, 5, 60_000);
+        when(attemptService.autoSubmitExpired(eq(2), any())).thenReturn(
+                new SweptBatch(2, 0, Duration.ZERO),
+                new SweptBatch(1, 1, Duration.ofSeconds(3)));
+
+        sweeper.sweep();
+
+        verify(attemptService, times(2)).autoSubmitExpired(eq(2), any());
+        assertThat(sweeper.stats().attemptsSwept()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledSweeper_neverClaims() {
+        sweeper = new AttemptDeadlineSweeper(attemptService, false, 2, 1, 3, 5, 60_000);
+
+        sweeper.sweep();
+
+        verify(attemptService, never()).autoSubmitExpired(eq(2), any());
+        assertThat(sweeper.stats().last()).isNull();
+    }
+}
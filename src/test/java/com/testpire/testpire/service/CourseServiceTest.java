@@ -27,6 +27,9 @@ class CourseServiceTest {
     @Mock
     CourseRepository courseRepository;
 
+    @Mock
+    CurriculumTreeCacheService curriculumTrees;
+
     @InjectMocks
     CourseService courseService;
 
@@ -58,6 +61,7 @@ class CourseServiceTest {
         assertThat(result.id()).isEqualTo(1L);
         assertThat(result.code()).isEqualTo("PHY101");
         verify(courseRepository).save(any());
+        verify(curriculumTrees).invalidate(2L);
     }
 
     @Test
@@ -97,13 +101,15 @@ class CourseServiceTest {
     void getCourseById_withSubjectsInclude_nestsSubjectsButNotChapters() {
         Course course = entity(1L, "PHY101");
         Subject subject = Subject.builder().id(10L).name("Mechanics").code("MECH").instituteId(2L).build();
-        course.setSubjects(List.of(subject));
         when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(curriculumTrees.get(2L)).thenReturn(CurriculumTree.of(2L, 0L, List.of(subject),
+                List.<Object[]>of(new Object[]{1L, 10L}), List.of(), List.of()));
 
         CourseResponseDto result = courseService.getCourseById(1L, Set.of("subjects"));
 
         assertThat(result.subjects()).hasSize(1);
         assertThat(result.subjects().get(0).code()).isEqualTo("MECH");
+        assertThat(result.subjects().get(0).courseIds()).containsExactly(1L);
         // "chapters" not requested -> stays null even though subjects are expanded
         assertThat(result.subjects().get(0).chapters()).isNull();
     }
@@ -162,5 +168,6 @@ class CourseServiceTest {
         courseService.deleteCourse(1L);
 
         verify(courseRepository).delete(existing);
+        verify(curriculumTrees).invalidate(2L);
     }
 }
@@ -1,12 +1,11 @@
 package com.testpire.testpire.service;
 
-import com.testpire.testpire.dto.request.CreateQuestionRequestDto;
 import com.testpire.testpire.dto.response.BulkUploadResponseDto;
 import com.testpire.testpire.dto.response.QuestionResponseDto;
 import com.testpire.testpire.entity.Institute;
-import com.testpire.testpire.entity.Topic;
 import com.testpire.testpire.repository.InstituteRepository;
 import com.testpire.testpire.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -16,14 +15,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
 
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CsvUploadServiceTest {
@@ -33,25 +37,37 @@ class CsvUploadServiceTest {
                     + "Option1 Text,Option1 Image URL,Option1 IsCorrect,Option2 Text,Option2 Image URL,Option2 IsCorrect";
 
     @Mock
-    private QuestionService questionService;
+    private QuestionImportWriter questionImportWriter;
     @Mock
     private QuestionImageService questionImageService;
     @Mock
     private InstituteRepository instituteRepository;
     @Mock
     private TopicRepository topicRepository;
+    @Mock
+    private HotPathMetrics metrics;
 
     @InjectMocks
     private CsvUploadService service;
 
-    private BulkUploadResponseDto upload(String csv) {
-        lenient().when(questionService.createQuestion(any()))
-                .thenReturn(QuestionResponseDto.builder().id(1L).build());
+    @BeforeEach
+    void stubCollaborators() {
+        // The writer saves every row it is handed.
+        lenient().when(questionImportWriter.write(any(), any(), any())).thenAnswer(inv -> {
+            List<QuestionImportWriter.PendingQuestion> rows = inv.getArgument(0);
+            return rows.stream().map(r -> (long) r.rowNumber()).toList();
+        });
+        lenient().when(questionImportWriter.load(any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).stream()
+                .map(id -> QuestionResponseDto.builder().id(id).build())
+                .toList());
         lenient().when(instituteRepository.findById(anyLong()))
                 .thenReturn(Optional.of(Institute.builder().id(1L).code("INST").name("Test").build()));
         // Topic ID "5" used by the valid rows resolves to an existing topic in this institute.
-        lenient().when(topicRepository.findByIdAndInstituteId(anyLong(), anyLong()))
-                .thenReturn(Optional.of(Topic.builder().id(5L).build()));
+        lenient().when(topicRepository.findIdsByInstituteIdAndIdIn(anyLong(), any()))
+                .thenReturn(List.of(5L));
+    }
+
+    private BulkUploadResponseDto upload(String csv) {
         MockMultipartFile file = new MockMultipartFile(
                 "file", "q.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
         return service.processBulkUpload(file, 1L, "tester");
@@ -117,9 +133,57 @@ class CsvUploadServiceTest {
         String csv = HEADER + "\n\"Q1\",\"What is 2+2?\",\"\",\"EASY\",\"MCQ\",\"1\",\"0\",\"Math\",\"5\","
                 + "\"\",\"4\",\"\",\"true\",\"3\",\"\",\"false\"";
         upload(csv);
-        ArgumentCaptor<CreateQuestionRequestDto> captor = ArgumentCaptor.forClass(CreateQuestionRequestDto.class);
-        verify(questionService).createQuestion(captor.capture());
-        assertThat(captor.getValue().externalId()).isEqualTo("INST_Q1");
+        assertThat(writtenRows()).singleElement()
+                .extracting(r -> r.request().externalId()).isEqualTo("INST_Q1");
+    }
+
+    @Test
+    void resolvesTopicsOnceAndHandsValidRowsToTheWriterInOrder() {
+        String row = "\"Q\",\"\",\"EASY\",\"MCQ\",\"1\",\"0\",\"\",";
+        String options = ",\"\",\"4\",\"\",\"true\",\"3\",\"\",\"false\"";
+        when(topicRepository.findIdsByInstituteIdAndCodeIn(eq(1L), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"ALG", 7L}));
+        String csv = HEADER
+                + "\n\"Q1\"," + row + "\"5\"" + options
+                + "\n\"Q2\"," + row + "\"ALG\"" + options
+                + "\n\"Q3\"," + row + "\"9\"" + options
+                + "\n\"Q4\"," + row + "\"5\"" + options;
+
+        BulkUploadResponseDto result = upload(csv);
+
+        assertThat(result.totalProcessed()).isEqualTo(4);
+        assertThat(result.successfulUploads()).isEqualTo(3);
+        assertThat(result.failedUploads()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly("Row 4: Topic ID 9 does not exist.");
+        assertThat(writtenRows()).extracting(QuestionImportWriter.PendingQuestion::rowNumber).containsExactly(2, 3, 5);
+        assertThat(writtenRows()).extracting(r -> r.request().topicId()).containsExactly(5L, 7L, 5L);
+        verify(topicRepository).findIdsByInstituteIdAndIdIn(eq(1L), any());
+        verify(topicRepository).findIdsByInstituteIdAndCodeIn(eq(1L), any());
+        verifyNoMoreInteractions(topicRepository);
+    }
+
+    @Test
+    void countsRowsTheWriterCouldNotSaveAsFailed() {
+        String csv = HEADER + "\n\"Q1\",\"What is 2+2?\",\"\",\"EASY\",\"MCQ\",\"1\",\"0\",\"Math\",\"5\","
+                + "\"\",\"4\",\"\",\"true\",\"3\",\"\",\"false\"";
+        doAnswer(inv -> {
+            List<String> errors = inv.getArgument(2);
+            errors.add("Row 2: constraint violated");
+            return List.of();
+        }).when(questionImportWriter).write(any(), any(), any());
+
+        BulkUploadResponseDto result = upload(csv);
+
+        assertThat(result.successfulUploads()).isZero();
+        assertThat(result.failedUploads()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly("Row 2: constraint violated");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<QuestionImportWriter.PendingQuestion> writtenRows() {
+        ArgumentCaptor<List<QuestionImportWriter.PendingQuestion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(questionImportWriter).write(captor.capture(), eq("tester"), any());
+        return captor.getValue();
     }
 
     @Test
@@ -154,7 +218,7 @@ class CsvUploadServiceTest {
     @Test
     void rejectsUnknownTopicCode() {
         // A non-numeric Topic ID is treated as a topic code and resolved against the institute;
-        // an unknown code (no stub -> empty) is rejected.
+        // an unknown code (no stub -> no rows) is rejected.
         String csv = HEADER + "\n\"Q1\",\"Q\",\"\",\"EASY\",\"MCQ\",\"1\",\"0\",\"\",\"abc\","
                 + "\"\",\"4\",\"\",\"true\",\"3\",\"\",\"false\"";
         BulkUploadResponseDto result = upload(csv);
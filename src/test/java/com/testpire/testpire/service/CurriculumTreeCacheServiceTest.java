@@ -0,0 +1,101 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.ChapterResponseDto;
+import com.testpire.testpire.dto.response.SubjectResponseDto;
+import com.testpire.testpire.dto.response.TopicResponseDto;
+import com.testpire.testpire.entity.Chapter;
+import com.testpire.testpire.entity.Subject;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.repository.ChapterRepository;
+import com.testpire.testpire.repository.CourseRepository;
+import com.testpire.testpire.repository.InstituteRepository;
+import com.testpire.testpire.repository.SubjectRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CurriculumTreeCacheServiceTest {
+
+    @Mock InstituteRepository instituteRepository;
+    @Mock SubjectRepository subjectRepository;
+    @Mock CourseRepository courseRepository;
+    @Mock ChapterRepository chapterRepository;
+    @Mock TopicRepository topicRepository;
+
+    CurriculumTreeCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CurriculumTreeCacheService(instituteRepository, subjectRepository, courseRepository,
+                chapterRepository, topicRepository, 10);
+    }
+
+    @Test
+    void get_buildsTheWholeTreeInSetBasedQueries_andExpandsByIncludes() {
+        stubCurriculum(3L);
+
+        CurriculumTree tree = cache.get(2L);
+
+        List<SubjectResponseDto> subjects = tree.subjectsOf(1L, Set.of("subjects", "chapters", "topics"));
+        assertThat(subjects).extracting(SubjectResponseDto::code).containsExactly("MECH");
+        assertThat(subjects.get(0).courseIds()).containsExactly(1L);
+        List<ChapterResponseDto> chapters = subjects.get(0).chapters();
+        assertThat(chapters).extracting(ChapterResponseDto::code).containsExactly("KIN", "DYN");
+        assertThat(chapters.get(0).topics()).extracting(TopicResponseDto::code).containsExactly("VEL");
+        assertThat(tree.subjectsOf(1L, Set.of("subjects")).get(0).chapters()).isNull();
+        assertThat(tree.eTag()).isEqualTo("W/\"curriculum-2-3\"");
+    }
+
+    @Test
+    void get_servesTheCachedTreeUntilTheVersionMoves() {
+        stubCurriculum(3L);
+        CurriculumTree first = cache.get(2L);
+
+        assertThat(cache.get(2L)).isSameAs(first);
+        verify(subjectRepository, times(1)).findByInstituteIdOrderById(2L);
+
+        // Another node committed a curriculum change.
+        when(instituteRepository.findCurriculumVersion(2L)).thenReturn(Optional.of(4L));
+
+        assertThat(cache.get(2L).version()).isEqualTo(4L);
+        verify(subjectRepository, times(2)).findByInstituteIdOrderById(2L);
+    }
+
+    @Test
+    void invalidate_bumpsTheVersion() {
+        cache.invalidate(2L);
+
+        verify(instituteRepository).bumpCurriculumVersion(2L);
+    }
+
+    @Test
+    void unscopedReads_getNoETag() {
+        assertThat(cache.eTag(null)).isNull();
+    }
+
+    private void stubCurriculum(long version) {
+        Subject mech = Subject.builder().id(10L).name("Mechanics").code("MECH").instituteId(2L).build();
+        Chapter kin = Chapter.builder().id(20L).name("Kinematics").code("KIN").subject(mech).instituteId(2L).orderIndex(1).build();
+        Chapter dyn = Chapter.builder().id(21L).name("Dynamics").code("DYN").subject(mech).instituteId(2L).orderIndex(2).build();
+        Topic vel = Topic.builder().id(30L).name("Velocity").code("VEL").chapter(kin).instituteId(2L).build();
+
+        when(instituteRepository.findCurriculumVersion(2L)).thenReturn(Optional.of(version));
+        when(subjectRepository.findByInstituteIdOrderById(2L)).thenReturn(List.of(mech));
+        when(courseRepository.findSubjectLinksByInstituteId(2L)).thenReturn(List.<Object[]>of(new Object[]{1L, 10L}));
+        when(chapterRepository.findByInstituteIdOrderByOrderIndexAscIdAsc(2L)).thenReturn(List.of(kin, dyn));
+        when(topicRepository.findByInstituteIdOrderByOrderIndexAscIdAsc(2L)).thenReturn(List.of(vel));
+    }
+}
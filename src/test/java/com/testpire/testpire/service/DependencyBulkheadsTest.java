@@ -0,0 +1,109 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.constants.ApplicationConstants.Metrics;
+import com.testpire.testpire.service.DependencyBulkheads.BulkheadFullException;
+import com.testpire.testpire.service.DependencyBulkheads.Dependency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Permit accounting of {@link DependencyBulkheads}: permits come back on success and failure, a full
+ * bulkhead rejects after the acquire timeout, and dependencies are isolated from each other.
+ */
+class DependencyBulkheadsTest {
+
+    private SimpleMeterRegistry registry;
+    private DependencyBulkheads bulkheads;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        bulkheads = new DependencyBulkheads(registry, 2, 3, 1, 500);
+        callers = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void call_returnsResultAndReleasesPermit() {
+        String result = bulkheads.call(Dependency.COGNITO, () -> "ok");
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(bulkheads.available(Dependency.COGNITO)).isEqualTo(2);
+    }
+
+    @Test
+    void call_propagatesCheckedExceptionAndReleasesPermit() {
+        assertThatThrownBy(() -> bulkheads.call(Dependency.URL_FETCH, () -> {
+            throw new IOException("connect timed out");
+        })).isInstanceOf(IOException.class).hasMessage("connect timed out");
+
+        assertThat(bulkheads.available(Dependency.URL_FETCH)).isEqualTo(1);
+    }
+
+    @Test
+    void call_rejectsWhenSaturated_andLeavesOtherDependenciesAlone() throws Exception {
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = callers.submit(() -> hold(holding, release));
+        Future<?> second = callers.submit(() -> hold(holding, release));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkheads.call(Dependency.COGNITO, () -> "never runs"))
+                .isInstanceOf(BulkheadFullException.class)
+                .satisfies(e -> assertThat(((BulkheadFullException) e).getDependency()).isEqualTo(Dependency.COGNITO));
+        assertThat(bulkheads.call(Dependency.S3, () -> "s3 unaffected")).isEqualTo("s3 unaffected");
+        assertThat(registry.get(Metrics.BULKHEAD_IN_USE).tag(Metrics.TAG_DEPENDENCY, "cognito").gauge().value())
+                .isEqualTo(2.0);
+        assertThat(registry.get(Metrics.BULKHEAD_REJECTED).tag(Metrics.TAG_DEPENDENCY, "cognito").counter().count())
+                .isEqualTo(1.0);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(bulkheads.available(Dependency.COGNITO)).isEqualTo(2);
+    }
+
+    @Test
+    void call_waitsForAPermitFreedWithinTheTimeout() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = callers.submit(() -> hold(holding, release, Dependency.URL_FETCH));
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> waiter = callers.submit(() -> bulkheads.call(Dependency.URL_FETCH, () -> "fetched"));
+        release.countDown();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("fetched");
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private Void hold(CountDownLatch holding, CountDownLatch release) throws InterruptedException {
+        return hold(holding, release, Dependency.COGNITO);
+    }
+
+    private Void hold(CountDownLatch holding, CountDownLatch release, Dependency dependency)
+            throws InterruptedException {
+        return bulkheads.call(dependency, () -> {
+            holding.countDown();
+            release.await();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.ApiResponseDto;
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.enums.ETagSource;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ETagServiceTest {
+
+    @Mock
+    CurriculumTreeCacheService curriculumTrees;
+
+    @Mock
+    TestRepository testRepository;
+
+    @Mock
+    TestAttemptRepository attemptRepository;
+
+    @InjectMocks
+    ETagService eTagService;
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testTag_followsUpdatedAt() {
+        Instant updatedAt = Instant.parse("2026-03-01T10:15:30.123456Z");
+        when(testRepository.findUpdatedAtById(5L)).thenReturn(Optional.of(updatedAt));
+
+        assertThat(eTagService.versionTag(ETagSource.TEST, 5L, null))
+                .isEqualTo("W/\"test-5-" + updatedAt.getEpochSecond() + ".123456000\"");
+    }
+
+    @Test
+    void attemptTag_onlyForFinishedAttemptsOfTheCaller() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("currentUsername", "cognito-sub-1");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(attemptRepository.findVersion(9L, "cognito-sub-1"))
+                .thenReturn(Optional.of(version(AttemptStatus.GRADED)));
+        when(attemptRepository.findVersion(10L, "cognito-sub-1"))
+                .thenReturn(Optional.of(version(AttemptStatus.IN_PROGRESS)));
+
+        assertThat(eTagService.versionTag(ETagSource.ATTEMPT, 9L, null)).startsWith("W/\"attempt-9-GRADED-");
+        // Still changing with every saved answer: left to the content hash.
+        assertThat(eTagService.versionTag(ETagSource.ATTEMPT, 10L, null)).isNull();
+    }
+
+    @Test
+    void contentTag_isStableForEqualBodiesAndMovesWithTheBody() {
+        String first = eTagService.contentTag(ApiResponseDto.success("ok", List.of(1L, 2L)));
+
+        assertThat(first).startsWith("W/\"").hasSize(36);
+        assertThat(eTagService.contentTag(ApiResponseDto.success("ok", List.of(1L, 2L)))).isEqualTo(first);
+        assertThat(eTagService.contentTag(ApiResponseDto.success("ok", List.of(1L, 3L)))).isNotEqualTo(first);
+        assertThat(eTagService.versionTag(ETagSource.CONTENT, null, null)).isNull();
+        verifyNoInteractions(testRepository, attemptRepository, curriculumTrees);
+    }
+
+    private static TestAttemptRepository.AttemptVersion version(AttemptStatus status) {
+        return new TestAttemptRepository.AttemptVersion() {
+            @Override
+            public AttemptStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Instant getTestUpdatedAt() {
+                return Instant.parse("2026-03-01T10:15:30Z");
+            }
+        };
+    }
+}
@@ -0,0 +1,160 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.UserDto;
+import com.testpire.testpire.entity.User;
+import com.testpire.testpire.enums.UserRole;
+import com.testpire.testpire.repository.UserRepository;
+import com.testpire.testpire.util.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Resolution order (claims -> users table -> Cognito), caching per token, and invalidation semantics
+ * of {@link IdentityCacheService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdentityCacheServiceTest {
+
+    private static final String SUB = "7f1c-uuid";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ObjectProvider<CognitoService> cognitoProvider;
+
+    @Mock
+    private CognitoService cognitoService;
+
+    private IdentityCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new IdentityCacheService(userRepository, cognitoProvider, 100, 300, 86400);
+    }
+
+    private static VerifiedToken token(Instant issuedAt, String role, String instituteId) {
+        Map<String, Object> claims = new HashMap<>();
+        if (role != null) {
+            claims.put("custom:roles", role);
+        }
+        if (instituteId != null) {
+            claims.put("custom:instituteId", instituteId);
+        }
+        return new VerifiedToken(SUB, issuedAt, issuedAt.plusSeconds(3600),
+                "jti-" + issuedAt.getEpochSecond(), claims);
+    }
+
+    @Test
+    void identityClaims_resolveWithoutAnyLookup_andRepeatHitsTheCache() {
+        VerifiedToken token = token(Instant.now(), "TEACHER", "7");
+
+        UserDto first = cache.resolve(token);
+        UserDto second = cache.resolve(token);
+
+        assertThat(first.role()).isEqualTo(UserRole.TEACHER);
+        assertThat(first.instituteId()).isEqualTo(7L);
+        assertThat(second).isSameAs(first);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+        assertThat(cache.stats().claimLoads()).isEqualTo(1);
+        verify(userRepository, never()).findByCognitoUserId(anyString());
+    }
+
+    @Test
+    void missingRoleClaim_fallsBackToUsersTable_notToCognito() {
+        when(userRepository.findByCognitoUserId(SUB)).thenReturn(Optional.of(User.builder()
+                .id(1L).username("a@b.com").email("a@b.com").firstName("A").lastName("B")
+                .role(UserRole.STUDENT).instituteId(3L).cognitoUserId(SUB).build()));
+
+        UserDto user = cache.resolve(token(Instant.now(), null, null));
+
+        assertThat(user.username()).isEqualTo(SUB);
+        assertThat(user.role()).isEqualTo(UserRole.STUDENT);
+        assertThat(user.instituteId()).isEqualTo(3L);
+        assertThat(cache.stats().localLoads()).isEqualTo(1);
+        verify(cognitoProvider, never()).getObject();
+    }
+
+    @Test
+    void malformedRoleClaim_isNotTrusted() {
+        when(userRepository.findByCognitoUserId(SUB)).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(SUB)).thenReturn(Optional.empty());
+        when(cognitoProvider.getObject()).thenReturn(cognitoService);
+        when(cognitoService.getUser(SUB)).thenReturn(
+                new UserDto(SUB, "", "", "", UserRole.INST_ADMIN, 9L));
+
+        UserDto user = cache.resolve(token(Instant.now(), "NOT_A_ROLE", "9"));
+
+        assertThat(user.role()).isEqualTo(UserRole.INST_ADMIN);
+        assertThat(cache.stats().cognitoLoads()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_distrustsClaimsOfTokensIssuedBeforeTheMutation() {
+        VerifiedToken oldToken = token(Instant.now().minusSeconds(60), "TEACHER", "7");
+        cache.resolve(oldToken);
+
+        cache.invalidate(SUB);
+        // Deleted user: gone from the DB and from Cognito.
+        when(userRepository.findByCognitoUserId(SUB)).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(SUB)).thenReturn(Optional.empty());
+        when(cognitoProvider.getObject()).thenReturn(cognitoService);
+        when(cognitoService.getUser(SUB)).thenThrow(new RuntimeException("User does not exist"));
+
+        assertThatThrownBy(() -> cache.resolve(oldToken)).isInstanceOf(RuntimeException.class);
+        verify(cognitoService, times(1)).getUser(SUB);
+    }
+
+    @Test
+    void invalidate_insideATransaction_takesEffectOnlyOnCommit() {
+        VerifiedToken oldToken = token(Instant.now().minusSeconds(60), "TEACHER", "7");
+        cache.resolve(oldToken);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(SUB);
+            // Not committed yet: the users row still holds the old state, so the entry must stay.
+            assertThat(cache.resolve(oldToken).role()).isEqualTo(UserRole.TEACHER);
+            assertThat(cache.stats().hits()).isEqualTo(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(userRepository.findByCognitoUserId(SUB)).thenReturn(Optional.of(User.builder()
+                .id(1L).username("a@b.com").email("a@b.com").firstName("A").lastName("B")
+                .role(UserRole.STUDENT).instituteId(7L).cognitoUserId(SUB).build()));
+
+        assertThat(cache.resolve(oldToken).role()).isEqualTo(UserRole.STUDENT);
+        assertThat(cache.stats().localLoads()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_stillTrustsTokensIssuedAfterTheMutation() {
+        cache.invalidate(SUB);
+
+        UserDto user = cache.resolve(token(Instant.now().plusSeconds(5), "STUDENT", "3"));
+
+        assertThat(user.role()).isEqualTo(UserRole.STUDENT);
+        assertThat(cache.stats().claimLoads()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,79 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.OptionResponseDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.Topic;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TopicRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * A page of questions is assembled with one options query however many rows it has, and no topic
+ * lookups when the finder already fetched the topics.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionDtoAssemblerTest {
+
+    @Mock
+    OptionRepository optionRepository;
+
+    @Mock
+    TopicRepository topicRepository;
+
+    @Mock
+    QuestionImageService questionImageService;
+
+    @InjectMocks
+    QuestionDtoAssembler assembler;
+
+    @Test
+    void pageOfQuestions_loadsAllOptionsInOneQuery() {
+        Topic topic = Topic.builder().id(7L).name("Kinematics").build();
+        List<Question> questions = LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> Question.builder().id(id).text("Q" + id).topic(topic).instituteId(1L).build())
+                .toList();
+        List<Long> ids = questions.stream().map(Question::getId).toList();
+        when(optionRepository.findByQuestionIdIn(ids)).thenReturn(List.of(
+                option(11L, questions.get(0), 1), option(12L, questions.get(0), 2), option(21L, questions.get(1), 1)));
+
+        List<QuestionResponseDto> dtos = assembler.toDtos(questions);
+
+        assertThat(dtos).extracting(QuestionResponseDto::getId).containsExactlyElementsOf(ids);
+        assertThat(dtos.get(0).getOptions()).extracting(OptionResponseDto::id).containsExactly(11L, 12L);
+        assertThat(dtos.get(1).getOptions()).extracting(OptionResponseDto::questionId).containsExactly(2L);
+        assertThat(dtos.get(2).getOptions()).isEmpty();
+        assertThat(dtos).extracting(QuestionResponseDto::getTopicName).containsOnly("Kinematics");
+
+        verify(optionRepository, times(1)).findByQuestionIdIn(ids);
+        verify(optionRepository, never()).findByQuestionIdOrderByOptionOrder(anyLong());
+        verifyNoInteractions(topicRepository);
+    }
+
+    @Test
+    void emptyPage_runsNoQueries() {
+        assertThat(assembler.toDtos(List.of())).isEmpty();
+
+        verifyNoInteractions(optionRepository, topicRepository);
+    }
+
+    private static Option option(Long id, Question question, int order) {
+        return Option.builder().id(id).text("Option " + id).question(question).optionOrder(order).build();
+    }
+}
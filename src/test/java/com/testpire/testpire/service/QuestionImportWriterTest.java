@@ -0,0 +1,140 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.request.CreateOptionRequestDto;
+import com.testpire.testpire.dto.request.CreateQuestionRequestDto;
+import com.testpire.testpire.dto.response.QuestionResponseDto;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.repository.QuestionBulkRepository.ImportedQuestion;
+import com.testpire.testpire.repository.QuestionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionImportWriterTest {
+
+    @Mock
+    QuestionRepository questionRepository;
+
+    @Mock
+    QuestionDtoAssembler assembler;
+
+    @Mock
+    AnswerKeyCacheService answerKeys;
+
+    @Mock
+    QuestionService questionService;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    QuestionImportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new QuestionImportWriter(questionRepository, assembler, answerKeys, questionService,
+                transactionTemplate, 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().when(questionRepository.findByIdIn(any())).thenAnswer(inv -> {
+            List<Long> ids = new ArrayList<>(inv.<List<Long>>getArgument(0));
+            return ids.reversed().stream().map(id -> Question.builder().id(id).build()).toList();
+        });
+        lenient().when(assembler.toDtos(any())).thenAnswer(inv -> inv.<List<Question>>getArgument(0).stream()
+                .map(q -> QuestionResponseDto.builder().id(q.getId()).build())
+                .toList());
+    }
+
+    @Test
+    void writesOneBatchPerChunkAndReturnsIdsInRowOrder() {
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{"INST_Q1", 100L});
+        when(questionRepository.findIdsByInstituteIdAndExternalIdIn(eq(1L), anyList()))
+                .thenReturn(existing, List.of());
+        when(questionRepository.writeImportedQuestions(anyList(), eq("tester")))
+                .thenReturn(List.of(100L, 101L), List.of(102L));
+
+        List<String> errors = new ArrayList<>();
+        List<Long> written = writer.write(rows(3), "tester", errors);
+
+        assertThat(written).containsExactly(100L, 101L, 102L);
+        assertThat(errors).isEmpty();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ImportedQuestion>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(questionRepository, times(2)).writeImportedQuestions(chunks.capture(), eq("tester"));
+        // The row matched by external id is written as an update of the existing question.
+        assertThat(chunks.getAllValues().get(0)).extracting(ImportedQuestion::id).containsExactly(100L, null);
+        assertThat(chunks.getAllValues().get(1)).extracting(ImportedQuestion::externalId).containsExactly("INST_Q3");
+        verify(answerKeys).invalidateByQuestions(argThat(ids -> ids.size() == 1 && ids.contains(100L)));
+        verify(questionService, never()).createQuestion(any(), any());
+        // Writing never reads the questions back; only load does.
+        verify(questionRepository, never()).findByIdIn(any());
+        verify(assembler, never()).toDtos(any());
+    }
+
+    @Test
+    void loadReadsOneChunkAtATimeAndKeepsTheGivenOrder() {
+        List<QuestionResponseDto> loaded = writer.load(List.of(102L, 100L, 101L));
+
+        assertThat(loaded).extracting(QuestionResponseDto::getId).containsExactly(102L, 100L, 101L);
+        verify(questionRepository).findByIdIn(List.of(102L, 100L));
+        verify(questionRepository).findByIdIn(List.of(101L));
+    }
+
+    @Test
+    void failedChunkIsReplayedRowByRowAndOnlyBadRowsAreReported() {
+        when(questionRepository.findIdsByInstituteIdAndExternalIdIn(eq(1L), anyList())).thenReturn(List.of());
+        when(questionRepository.writeImportedQuestions(anyList(), eq("tester")))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        List<QuestionImportWriter.PendingQuestion> pending = rows(2);
+        // Replayed rows are attributed to the upload's actor, not to whoever runs the worker thread.
+        when(questionService.createQuestion(pending.get(0).request(), "tester"))
+                .thenReturn(QuestionResponseDto.builder().id(7L).build());
+        when(questionService.createQuestion(pending.get(1).request(), "tester"))
+                .thenThrow(new IllegalArgumentException("Topic not found with ID: 5"));
+
+        List<String> errors = new ArrayList<>();
+        List<Long> written = writer.write(pending, "tester", errors);
+
+        assertThat(written).containsExactly(7L);
+        assertThat(errors).containsExactly("Row 3: Topic not found with ID: 5");
+    }
+
+    private static List<QuestionImportWriter.PendingQuestion> rows(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new QuestionImportWriter.PendingQuestion(i + 1, CreateQuestionRequestDto.builder()
+                        .externalId("INST_Q" + i)
+                        .text("Question " + i)
+                        .difficultyLevel(DifficultyLevel.EASY)
+                        .questionType("MCQ")
+                        .topicId(5L)
+                        .instituteId(1L)
+                        .options(List.of(
+                                CreateOptionRequestDto.builder().text("4").isCorrect(true).build(),
+                                CreateOptionRequestDto.builder().text("3").isCorrect(false).build()))
+                        .build()))
+                .toList();
+    }
+}
@@ -0,0 +1,142 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.request.PaginationRequestDto;
+import com.testpire.testpire.dto.request.QuestionCriteriaDto;
+import com.testpire.testpire.dto.request.QuestionSearchRequestDto;
+import com.testpire.testpire.dto.request.SortingRequestDto;
+import com.testpire.testpire.dto.response.QuestionListResponseDto;
+import com.testpire.testpire.dto.response.QuestionSummaryDto;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.enums.DifficultyLevel;
+import com.testpire.testpire.enums.QuestionSearchMode;
+import com.testpire.testpire.enums.QuestionView;
+import com.testpire.testpire.repository.QuestionRepository;
+import com.testpire.testpire.repository.QuestionRepositoryCustom.SummaryRow;
+import com.testpire.testpire.repository.specification.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search-mode plumbing of the advanced question search: ranked modes order inside the specification,
+ * so the page handed to the repository must be unsorted; LIKE keeps the requested sort. The summary
+ * view selects columns through {@code findSummaries} and never touches entities.
+ */
+@ExtendWith(MockitoExtension.class)
+class QuestionServiceTest {
+
+    @Mock
+    QuestionRepository questionRepository;
+
+    @Mock
+    QuestionDtoAssembler questionDtoAssembler;
+
+    @InjectMocks
+    QuestionService questionService;
+
+    @Test
+    void likeSearch_pagesWithTheRequestedSort() {
+        Pageable pageable = search(null, "newton");
+
+        assertThat(pageable.getSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "createdAt"));
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+    }
+
+    @Test
+    void fullTextSearch_ranksInTheSpecification_andPagesUnsorted() {
+        Pageable pageable = search(QuestionSearchMode.FTS, "newton laws");
+
+        assertThat(pageable.getSort().isUnsorted()).isTrue();
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(50);
+    }
+
+    @Test
+    void rankedModeWithoutText_keepsTheRequestedSort() {
+        Pageable pageable = search(QuestionSearchMode.FUZZY, "  ");
+
+        assertThat(pageable.getSort().isSorted()).isTrue();
+    }
+
+    @Test
+    void searchMode_defaultsToLike() {
+        assertThat(new QuestionSearchRequestDto().getSearchMode()).isEqualTo(QuestionSearchMode.LIKE);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summaryView_selectsColumnsOnly_andNeverLoadsEntities() {
+        QuestionSummaryDto row = new QuestionSummaryDto(5L, "EXT-5", "What is", DifficultyLevel.EASY, 4, 7L, "Kinematics");
+        when(questionRepository.findSummaries(any(Specification.class), any(Pageable.class)))
+                .thenReturn(List.of(new SummaryRow(row, Instant.parse("2025-06-01T10:15:30Z"))));
+        when(questionRepository.count(any(Specification.class))).thenReturn(1L);
+
+        QuestionListResponseDto result = questionService.searchQuestionsWithSpecification(QuestionSearchRequestDto.builder()
+                .criteria(QuestionCriteriaDto.builder().instituteId(1L).build())
+                .view(QuestionView.SUMMARY)
+                .build());
+
+        assertThat(result.summaries()).containsExactly(row);
+        assertThat(result.questions()).isNull();
+        assertThat(result.totalCount()).isEqualTo(1L);
+        verify(questionRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+        verifyNoInteractions(questionDtoAssembler);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void summaryView_keysetPage_cursorsOnTheSelectedSortKey() {
+        Instant createdAt = Instant.parse("2025-06-01T10:15:30Z");
+        when(questionRepository.findSummaries(any(Specification.class), any(Pageable.class))).thenReturn(List.of(
+                new SummaryRow(new QuestionSummaryDto(9L, null, "a", DifficultyLevel.EASY, 1, 7L, "T"), createdAt),
+                new SummaryRow(new QuestionSummaryDto(8L, null, "b", DifficultyLevel.EASY, 1, 7L, "T"), createdAt)));
+
+        QuestionListResponseDto result = questionService.searchQuestionsWithSpecification(QuestionSearchRequestDto.builder()
+                .criteria(QuestionCriteriaDto.builder().instituteId(1L).build())
+                .pagination(PaginationRequestDto.builder().size(1).cursor("").includeTotal(false).build())
+                .view(QuestionView.SUMMARY)
+                .build());
+
+        assertThat(result.summaries()).extracting(QuestionSummaryDto::id).containsExactly(9L);
+        assertThat(KeysetCursor.decode(result.nextCursor()))
+                .isEqualTo(new KeysetCursor("createdAt", Sort.Direction.DESC, createdAt.toString(), 9L));
+        assertThat(result.totalCount()).isNull();
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(questionRepository).findSummaries(any(Specification.class), pageable.capture());
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Pageable search(QuestionSearchMode mode, String text) {
+        Page<Question> empty = new PageImpl<>(List.of());
+        when(questionRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(empty);
+
+        questionService.searchQuestionsWithSpecification(QuestionSearchRequestDto.builder()
+                .criteria(QuestionCriteriaDto.builder().instituteId(1L).searchText(text).searchMode(mode).build())
+                .pagination(PaginationRequestDto.builder().page(2).size(50).build())
+                .sorting(SortingRequestDto.builder().field("createdAt").direction("asc").build())
+                .build());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(questionRepository).findAll(any(Specification.class), pageable.capture());
+        return pageable.getValue();
+    }
+}
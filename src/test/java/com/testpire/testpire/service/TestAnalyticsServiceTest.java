@@ -0,0 +1,119 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.TestAnalyticsResponseDto.Percentiles;
+import com.testpire.testpire.repository.TestStatsRepository;
+import com.testpire.testpire.repository.TestStatsRepository.BucketCount;
+import com.testpire.testpire.repository.TestStatsRepository.QuestionTotals;
+import com.testpire.testpire.repository.TestStatsRepository.TestTotals;
+import com.testpire.testpire.service.TestAnalyticsService.QuestionOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Delta accumulation, batched flushing and histogram math of {@link TestAnalyticsService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class TestAnalyticsServiceTest {
+
+    private static final BigDecimal MAX = new BigDecimal("20");
+
+    @Mock
+    private TestStatsRepository statsRepository;
+
+    private TestAnalyticsService analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new TestAnalyticsService(statsRepository, null, null);
+    }
+
+    @Test
+    void gradedAttempts_areCoalescedIntoOneBatchPerTable() {
+        analytics.recordGraded(10L, new BigDecimal("20"), MAX, true, List.of(
+                new QuestionOutcome(101L, true, new BigDecimal("4")),
+                new QuestionOutcome(102L, null, BigDecimal.ZERO)));
+        analytics.recordGraded(10L, new BigDecimal("3"), MAX, false, List.of(
+                new QuestionOutcome(101L, false, new BigDecimal("-1")),
+                new QuestionOutcome(102L, true, new BigDecimal("4"))));
+
+        analytics.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TestTotals>> tests = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BucketCount>> buckets = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuestionTotals>> questions = ArgumentCaptor.forClass(List.class);
+        verify(statsRepository, times(1)).add(tests.capture(), buckets.capture(), questions.capture());
+
+        assertThat(tests.getValue()).singleElement().satisfies(t -> {
+            assertThat(t.gradedAttempts()).isEqualTo(2);
+            assertThat(t.passedAttempts()).isEqualTo(1);
+            assertThat(t.scoreSum()).isEqualByComparingTo("23");
+        });
+        // 20/20 lands in the top bucket, 3/20 in bucket 3.
+        assertThat(buckets.getValue()).extracting(BucketCount::bucket, BucketCount::attempts)
+                .containsExactly(tuple(3, 1L), tuple(19, 1L));
+        assertThat(questions.getValue()).extracting(QuestionTotals::questionId, QuestionTotals::attempted, QuestionTotals::correct)
+                .containsExactlyInAnyOrder(tuple(101L, 2L, 1L), tuple(102L, 1L, 1L));
+
+        analytics.flush();
+        verify(statsRepository, times(1)).add(anyList(), anyList(), anyList());
+    }
+
+    @Test
+    void failedFlush_keepsDeltasForTheNextOne() {
+        analytics.recordGraded(10L, new BigDecimal("5"), MAX, null, List.of());
+        doThrow(new RuntimeException("db down")).doNothing().when(statsRepository).add(any(), any(), any());
+
+        analytics.flush();
+        analytics.flush();
+
+        verify(statsRepository, times(2)).add(any(), any(), any());
+    }
+
+    @Test
+    void nothingGraded_neverWrites() {
+        analytics.flush();
+        verify(statsRepository, never()).add(any(), any(), any());
+    }
+
+    @Test
+    void percentiles_interpolateWithinHistogramBuckets() {
+        long[] counts = new long[TestAnalyticsService.SCORE_BUCKETS];
+        counts[10] = 50;   // scores in [10, 11)
+        counts[15] = 50;   // scores in [15, 16)
+
+        Percentiles p = TestAnalyticsService.percentiles(counts, 100, MAX);
+
+        assertThat(p.p25()).isEqualByComparingTo("10.50");
+        assertThat(p.p50()).isEqualByComparingTo("11.00");
+        assertThat(p.p75()).isEqualByComparingTo("15.50");
+        assertThat(p.p90()).isEqualByComparingTo("15.80");
+        assertThat(TestAnalyticsService.percentiles(counts, 0, MAX).p50()).isNull();
+    }
+
+    @Test
+    void bucketOf_clampsFullMarksAndZeroMax() {
+        assertThat(TestAnalyticsService.bucketOf(new BigDecimal("19.99"), MAX)).isEqualTo(19);
+        assertThat(TestAnalyticsService.bucketOf(MAX, MAX)).isEqualTo(19);
+        assertThat(TestAnalyticsService.bucketOf(BigDecimal.ZERO, MAX)).isZero();
+        assertThat(TestAnalyticsService.bucketOf(new BigDecimal("5"), BigDecimal.ZERO)).isZero();
+    }
+}
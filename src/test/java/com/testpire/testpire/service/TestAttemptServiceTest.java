@@ -1,21 +1,95 @@
 package com.testpire.testpire.service;
 
+import com.testpire.testpire.constants.ApplicationConstants;
+import com.testpire.testpire.dto.request.SubmitAnswerRequestDto;
+import com.testpire.testpire.dto.response.AttemptQuestionResponseDto;
+import com.testpire.testpire.dto.response.TestAttemptResponseDto;
+import com.testpire.testpire.dto.response.TestResultResponseDto;
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
+import com.testpire.testpire.entity.Option;
+import com.testpire.testpire.entity.Question;
+import com.testpire.testpire.entity.TestAttempt;
+import com.testpire.testpire.entity.TestAttemptAnswer;
+import com.testpire.testpire.entity.TestQuestion;
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.enums.TestStatus;
+import com.testpire.testpire.repository.OptionRepository;
+import com.testpire.testpire.repository.TestAttemptAnswerRepository;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerGrade;
+import com.testpire.testpire.repository.TestAttemptAnswerRepositoryCustom.AnswerUpsert;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestAttemptRepositoryCustom.ResultKey;
+import com.testpire.testpire.repository.TestQuestionRepository;
+import com.testpire.testpire.repository.TestRepository;
+import com.testpire.testpire.service.TestAnalyticsService.QuestionOutcome;
 import com.testpire.testpire.service.TestAttemptService.GradedAnswer;
+import com.testpire.testpire.service.TestAttemptService.GradingRetry;
+import com.testpire.testpire.service.TestAttemptService.SweptBatch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for the objective auto-grading math ({@link TestAttemptService#gradeAnswer}). Covers the
- * all-or-nothing rule for single- and multi-select, negative marking, and the unanswered case.
+ * all-or-nothing rule for single- and multi-select, negative marking, and the unanswered case, plus
+ * the statement count of grading a whole attempt, and that an attempt finalized concurrently is never
+ * graded twice.
  */
+@ExtendWith(MockitoExtension.class)
 class TestAttemptServiceTest {
 
     private static final BigDecimal MARKS = new BigDecimal("4.00");
     private static final BigDecimal NEGATIVE = new BigDecimal("1.00");
+    private static final GradingRetry RETRY = new GradingRetry(3, Duration.ofMinutes(1));
+
+    @Mock private TestRepository testRepository;
+    @Mock private TestQuestionRepository testQuestionRepository;
+    @Mock private TestAttemptRepository attemptRepository;
+    @Mock private TestAttemptAnswerRepository answerRepository;
+    @Mock private OptionRepository optionRepository;
+    @Mock private TestService testService;
+    @Mock private TestAnalyticsService analytics;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TestAttemptService service;
+
+    @BeforeEach
+    void setUp() {
+        AnswerKeyCacheService answerKeys =
+                new AnswerKeyCacheService(testQuestionRepository, optionRepository, testRepository, 100);
+        AnswerWriteBehindBuffer answerBuffer = new AnswerWriteBehindBuffer(answerRepository, false, 0, 3);
+        service = new TestAttemptService(testRepository, testQuestionRepository, attemptRepository,
+                answerRepository, null, testService, answerKeys, answerBuffer, new TransactionTemplate(transactionManager), analytics,
+                new HotPathMetrics(meterRegistry));
+    }
 
     @Test
     void correctSingleSelect_awardsFullMarks() {
@@ -66,4 +140,307 @@ class TestAttemptServiceTest {
         assertThat(g.isCorrect()).isNull();
         assertThat(g.awarded()).isEqualByComparingTo(BigDecimal.ZERO);
     }
+
+    @Test
+    void submit_gradesAndRevealsFromOneAnswerKeyAndOneBatchWrite() {
+        TestAttempt attempt = stubInProgressAttempt(true);
+        TestAttemptAnswer right = answer(attempt, 201L, 101L, "11");
+        TestAttemptAnswer wrong = answer(attempt, 202L, 102L, "21");
+        when(answerRepository.findByAttemptId(1L)).thenReturn(List.of(right, wrong));
+
+        TestAttemptResponseDto response = service.submit(1L, 5L, null);
+
+        // 180 questions or 3: grading and the reveal share one answer key, and all grades are one batch write.
+        verify(testQuestionRepository, times(1)).findByTestIdWithQuestions(10L);
+        verify(optionRepository, times(1)).findByTestId(10L);
+        verify(optionRepository, never()).findCorrectOptionsByQuestionId(anyLong());
+        verify(answerRepository, never()).save(any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AnswerGrade>> grades = ArgumentCaptor.forClass(List.class);
+        verify(answerRepository, times(1)).batchUpdateGrades(grades.capture());
+
+        assertThat(grades.getValue()).extracting(AnswerGrade::isCorrect).containsExactly(true, false);
+        assertThat(grades.getValue()).extracting(AnswerGrade::marksAwarded)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(MARKS, NEGATIVE.negate());
+        assertThat(attempt.getScore()).isEqualByComparingTo("3");
+        assertThat(attempt.getPassed()).isTrue();
+        assertThat(attempt.getStatus()).isEqualTo(AttemptStatus.GRADED);
+        assertThat(response.questions()).extracting(AttemptQuestionResponseDto::correctOptionIds)
+                .containsExactly(List.of(11L), List.of(22L), List.of(31L));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<QuestionOutcome>> outcomes = ArgumentCaptor.forClass(List.class);
+        verify(analytics).recordGraded(eq(10L), any(BigDecimal.class), any(BigDecimal.class), eq(true), outcomes.capture());
+        assertThat(outcomes.getValue()).extracting(QuestionOutcome::isCorrect).containsExactly(true, false, null);
+        assertThat(meterRegistry.get(ApplicationConstants.Metrics.GRADING).tag("status", "graded").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(ApplicationConstants.Metrics.GRADED_QUESTIONS).tag("status", "graded")
+                .counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void submit_writesBatchedAnswersWithOneMultiRowUpsert() {
+        stubInProgressAttempt(false);
+        when(answerRepository.findByAttemptId(1L)).thenReturn(List.of());
+
+        service.submit(1L, 5L, List.of(
+                new SubmitAnswerRequestDto(101L, List.of(11L)),
+                new SubmitAnswerRequestDto(102L, List.of(22L, 21L, 22L)),
+                new SubmitAnswerRequestDto(103L, null)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AnswerUpsert>> rows = ArgumentCaptor.forClass(List.class);
+        verify(answerRepository, times(1)).upsertAnswers(rows.capture());
+        assertThat(rows.getValue()).extracting(AnswerUpsert::questionId, AnswerUpsert::selectedOptionIds)
+                .containsExactly(tuple(101L, "11"), tuple(102L, "22,21"), tuple(103L, null));
+        verify(answerRepository, never()).findByAttemptIdAndQuestionId(anyLong(), anyLong());
+        verify(answerRepository, never()).save(any());
+    }
+
+    @Test
+    void submit_rejectsAnOptionOfAnotherQuestion_beforeWritingAnything() {
+        stubInProgressAttempt(false);
+
+        assertThatThrownBy(() -> service.submit(1L, 5L, List.of(
+                new SubmitAnswerRequestDto(101L, List.of(11L)),
+                new SubmitAnswerRequestDto(102L, List.of(11L)))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option 11 does not belong to question 102");
+        verify(answerRepository, never()).upsertAnswers(any());
+    }
+
+    @Test
+    void getAttempt_afterTheSweeperFinalizedItConcurrently_reloadsInsteadOfGradingAgain() {
+        TestAttempt attempt = stubInProgressAttempt(false);
+        attempt.setExpiresAt(Instant.now().minusSeconds(5));
+        // The sweeper holds the row and commits first: our conditional transition changes nothing.
+        when(attemptRepository.finalizeIfInProgress(eq(1L), eq(AttemptStatus.AUTO_SUBMITTED), any())).thenReturn(0);
+        doAnswer(inv -> {
+            attempt.setStatus(AttemptStatus.AUTO_SUBMITTED);
+            attempt.setScore(new BigDecimal("8"));
+            return null;
+        }).when(attemptRepository).refresh(attempt);
+
+        TestAttemptResponseDto response = service.getAttempt(1L, 5L);
+
+        assertThat(response.status()).isEqualTo(AttemptStatus.AUTO_SUBMITTED);
+        assertThat(response.score()).isEqualByComparingTo("8");
+        verify(answerRepository, never()).batchUpdateGrades(any());
+        verify(attemptRepository, never()).save(any());
+        verify(analytics, never()).recordGraded(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getAttempt_whoseGradingFailed_isShownUngraded_evenWhenAnswersAreRevealed() {
+        TestAttempt attempt = stubInProgressAttempt(true);
+        attempt.setStatus(AttemptStatus.GRADING_FAILED);
+        attempt.setExpiresAt(Instant.now().minusSeconds(600));
+
+        TestAttemptResponseDto response = service.getAttempt(1L, 5L);
+
+        assertThat(response.status()).isEqualTo(AttemptStatus.GRADING_FAILED);
+        assertThat(response.score()).isNull();
+        assertThat(response.maxScore()).isNull();
+        assertThat(response.passed()).isNull();
+        assertThat(response.questions()).extracting(AttemptQuestionResponseDto::correctOptionIds).containsOnlyNulls();
+    }
+
+    @Test
+    void submit_losingTheTransitionToAConcurrentSubmit_writesAndGradesNothing() {
+        TestAttempt attempt = stubInProgressAttempt(false);
+        when(attemptRepository.finalizeIfInProgress(eq(1L), eq(AttemptStatus.GRADED), any())).thenReturn(0);
+        doAnswer(inv -> {
+            attempt.setStatus(AttemptStatus.GRADED);
+            return null;
+        }).when(attemptRepository).refresh(attempt);
+
+        TestAttemptResponseDto response = service.submit(1L, 5L, List.of(new SubmitAnswerRequestDto(101L, List.of(12L))));
+
+        assertThat(response.status()).isEqualTo(AttemptStatus.GRADED);
+        verify(answerRepository, never()).upsertAnswers(any());
+        verify(answerRepository, never()).batchUpdateGrades(any());
+        verify(analytics, never()).recordGraded(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void autoSubmitExpired_countsOnlyTheAttemptsWhoseTransitionItWon() {
+        com.testpire.testpire.entity.Test test = stubPaper(false);
+        Instant deadline = Instant.now().minusSeconds(60);
+        TestAttempt won = expiredAttempt(1L, deadline);
+        TestAttempt finalizedElsewhere = expiredAttempt(2L, deadline);
+        when(attemptRepository.claimExpired(any(), eq(1)))
+                .thenReturn(List.of(won), List.of(finalizedElsewhere), List.of());
+        when(testRepository.findById(10L)).thenReturn(Optional.of(test));
+        when(attemptRepository.finalizeIfInProgress(eq(1L), any(), any())).thenReturn(1);
+        when(attemptRepository.finalizeIfInProgress(eq(2L), any(), any())).thenReturn(0);
+
+        SweptBatch batch = service.autoSubmitExpired(5, RETRY);
+
+        assertThat(batch.claimed()).isEqualTo(2);
+        assertThat(batch.count()).isEqualTo(1);
+        // Analytics aggregates are additive: an attempt graded twice would be counted twice.
+        verify(analytics, times(1)).recordGraded(eq(10L), any(), any(), any(), any());
+        verify(answerRepository, never()).findByAttemptId(2L);
+    }
+
+    @Test
+    void autoSubmitExpired_leavesAnAttemptThatFailsToGradeInProgress_backsOff_andKeepsSweeping() {
+        com.testpire.testpire.entity.Test test = stubPaper(false);
+        Instant deadline = Instant.now().minusSeconds(60);
+        TestAttempt poison = expiredAttempt(1L, deadline);
+        TestAttempt next = expiredAttempt(2L, deadline);
+        when(attemptRepository.claimExpired(any(), eq(1))).thenReturn(List.of(poison), List.of(next), List.of());
+        when(testRepository.findById(10L)).thenReturn(Optional.of(test));
+        when(attemptRepository.finalizeIfInProgress(anyLong(), any(), any())).thenReturn(1);
+        when(answerRepository.findByAttemptId(1L)).thenThrow(new IllegalStateException("corrupt answer row"));
+
+        Instant failedAt = Instant.now();
+        SweptBatch batch = service.autoSubmitExpired(5, RETRY);
+
+        assertThat(batch.claimed()).isEqualTo(2);
+        assertThat(batch.count()).isEqualTo(1);
+        // A lock timeout or dropped connection looks the same: retry later rather than give up on the exam.
+        ArgumentCaptor<Instant> retryAt = ArgumentCaptor.forClass(Instant.class);
+        verify(attemptRepository).deferGrading(eq(1L), eq(1), retryAt.capture());
+        assertThat(retryAt.getValue()).isAfterOrEqualTo(failedAt.plus(RETRY.backoff()));
+        verify(attemptRepository, never()).finalizeIfInProgress(1L, AttemptStatus.GRADING_FAILED, deadline);
+        verify(transactionManager).rollback(any());
+        verify(analytics, times(1)).recordGraded(eq(10L), any(), any(), any(), any());
+        assertThat(next.getStatus()).isEqualTo(AttemptStatus.AUTO_SUBMITTED);
+    }
+
+    @Test
+    void autoSubmitExpired_marksGradingFailedOnlyAfterTheLastAllowedFailure() {
+        com.testpire.testpire.entity.Test test = stubPaper(false);
+        Instant deadline = Instant.now().minusSeconds(600);
+        TestAttempt poison = expiredAttempt(1L, deadline);
+        poison.setGradingFailures(RETRY.maxFailures() - 1);
+        when(attemptRepository.claimExpired(any(), eq(1))).thenReturn(List.of(poison), List.of());
+        when(testRepository.findById(10L)).thenReturn(Optional.of(test));
+        when(attemptRepository.finalizeIfInProgress(anyLong(), any(), any())).thenReturn(1);
+        when(answerRepository.findByAttemptId(1L)).thenThrow(new IllegalStateException("corrupt answer row"));
+
+        assertThat(service.autoSubmitExpired(5, RETRY).count()).isZero();
+
+        verify(attemptRepository).finalizeIfInProgress(1L, AttemptStatus.GRADING_FAILED, deadline);
+        verify(attemptRepository, never()).deferGrading(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void regrade_gradesAGradingFailedAttemptAgain() {
+        com.testpire.testpire.entity.Test test = stubPaper(false);
+        Instant deadline = Instant.now().minusSeconds(600);
+        TestAttempt failed = expiredAttempt(1L, deadline);
+        failed.setStatus(AttemptStatus.GRADING_FAILED);
+        failed.setGradingFailures(RETRY.maxFailures());
+        when(testService.findScoped(10L)).thenReturn(test);
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(failed));
+        when(attemptRepository.reopenFailedGrading(1L, AttemptStatus.AUTO_SUBMITTED)).thenReturn(1);
+        when(answerRepository.findByAttemptId(1L)).thenReturn(List.of(answer(failed, 1L, 101L, "11")));
+
+        TestAttemptResponseDto response = service.regrade(10L, 1L);
+
+        assertThat(response.status()).isEqualTo(AttemptStatus.AUTO_SUBMITTED);
+        assertThat(response.score()).isEqualByComparingTo("4");
+        assertThat(failed.getGradingFailures()).isZero();
+        verify(analytics, times(1)).recordGraded(eq(10L), any(), any(), any(), any());
+    }
+
+    @Test
+    void regrade_refusesAnAttemptThatDidNotFailGrading() {
+        when(testService.findScoped(10L)).thenReturn(com.testpire.testpire.entity.Test.builder().id(10L).build());
+        when(attemptRepository.findById(1L)).thenReturn(Optional.of(expiredAttempt(1L, Instant.now())));
+        when(attemptRepository.reopenFailedGrading(1L, AttemptStatus.AUTO_SUBMITTED)).thenReturn(0);
+
+        assertThatThrownBy(() -> service.regrade(10L, 1L)).isInstanceOf(IllegalStateException.class);
+        verify(analytics, never()).recordGraded(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void autoSubmitExpired_voidsAnAttemptWhoseTestIsGone() {
+        Instant deadline = Instant.now().minusSeconds(60);
+        when(attemptRepository.claimExpired(any(), eq(1))).thenReturn(List.of(expiredAttempt(1L, deadline)), List.of());
+        when(testRepository.findById(10L)).thenReturn(Optional.empty());
+
+        SweptBatch batch = service.autoSubmitExpired(5, RETRY);
+
+        assertThat(batch.claimed()).isEqualTo(1);
+        assertThat(batch.count()).isZero();
+
+        verify(attemptRepository).finalizeIfInProgress(1L, AttemptStatus.VOIDED, deadline);
+        verify(analytics, never()).recordGraded(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getResults_pagesByKeyset_andHandsBackACursorForTheNextPage() {
+        com.testpire.testpire.entity.Test test = com.testpire.testpire.entity.Test.builder().id(10L).title("Mock").build();
+        when(testService.findScoped(10L)).thenReturn(test);
+        when(attemptRepository.findResultsPage(10L, null, 3)).thenReturn(List.of(
+                result(5L, 1), result(5L, 2), result(7L, 1)));
+        when(attemptRepository.findResultsPage(10L, new ResultKey(5L, 2), 3)).thenReturn(List.of(result(7L, 1)));
+
+        TestResultResponseDto first = service.getResults(10L, null, 2);
+        assertThat(first.results()).extracting(StudentResult::attemptNumber).containsExactly(1, 2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        TestResultResponseDto second = service.getResults(10L, first.nextCursor(), 2);
+        assertThat(second.results()).extracting(StudentResult::studentUserId).containsExactly(7L);
+        assertThat(second.nextCursor()).isNull();
+        verify(attemptRepository, never()).findByTestId(anyLong());
+
+        assertThatThrownBy(() -> service.getResults(10L, "not-a-cursor", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid results cursor");
+    }
+
+    private static StudentResult result(Long studentUserId, int attemptNumber) {
+        return new StudentResult(studentUserId, "s" + studentUserId, "S " + studentUserId, studentUserId * 10 + attemptNumber,
+                attemptNumber, AttemptStatus.GRADED, BigDecimal.ONE, BigDecimal.TEN, false, Instant.now());
+    }
+
+    /** Attempt 1 of student 5 on published test 10 (see {@link #stubPaper}). */
+    private TestAttempt stubInProgressAttempt(boolean showAnswers) {
+        com.testpire.testpire.entity.Test test = stubPaper(showAnswers);
+        TestAttempt attempt = TestAttempt.builder().id(1L).testId(10L).studentUserId(5L).instituteId(3L)
+                .status(AttemptStatus.IN_PROGRESS).expiresAt(Instant.now().plusSeconds(600)).build();
+
+        when(attemptRepository.findByIdAndStudentUserId(1L, 5L)).thenReturn(Optional.of(attempt));
+        when(testRepository.findByIdAndInstituteId(10L, 3L)).thenReturn(Optional.of(test));
+        lenient().when(attemptRepository.finalizeIfInProgress(eq(1L), any(), any())).thenReturn(1);
+        return attempt;
+    }
+
+    /** Published test 10 of institute 3: questions 101-103, 4/-1 marks, one correct option each. */
+    private com.testpire.testpire.entity.Test stubPaper(boolean showAnswers) {
+        com.testpire.testpire.entity.Test test = com.testpire.testpire.entity.Test.builder()
+                .id(10L).instituteId(3L).status(TestStatus.PUBLISHED).negativeMarking(true).showAnswers(showAnswers)
+                .totalMarks(new BigDecimal("12")).passingMarks(new BigDecimal("3")).build();
+        List<TestQuestion> paper = List.of(testQuestion(101L, 1), testQuestion(102L, 2), testQuestion(103L, 3));
+        when(testQuestionRepository.findByTestIdWithQuestions(10L)).thenReturn(paper);
+        lenient().when(testQuestionRepository.findByTestIdOrderBySortOrderAsc(10L)).thenReturn(paper);
+        when(optionRepository.findByTestId(10L)).thenReturn(List.of(
+                option(11L, 101L, true), option(12L, 101L, false),
+                option(21L, 102L, false), option(22L, 102L, true),
+                option(31L, 103L, true), option(32L, 103L, false)));
+        return test;
+    }
+
+    private static TestAttempt expiredAttempt(Long id, Instant deadline) {
+        return TestAttempt.builder().id(id).testId(10L).studentUserId(id + 4).instituteId(3L)
+                .status(AttemptStatus.IN_PROGRESS).expiresAt(deadline).build();
+    }
+
+    private static TestQuestion testQuestion(Long questionId, int sortOrder) {
+        Question q = Question.builder().id(questionId).text("Q" + questionId).marks(4).negativeMarks(1).build();
+        return TestQuestion.builder().question(q).sortOrder(sortOrder).build();
+    }
+
+    private static TestAttemptAnswer answer(TestAttempt attempt, Long id, Long questionId, String csv) {
+        return TestAttemptAnswer.builder().id(id).attempt(attempt).questionId(questionId).selectedOptionIds(csv).build();
+    }
+
+    private static Option option(Long optionId, Long questionId, boolean correct) {
+        return Option.builder().id(optionId).question(Question.builder().id(questionId).build()).isCorrect(correct).build();
+    }
 }
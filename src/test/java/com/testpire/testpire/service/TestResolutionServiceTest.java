@@ -0,0 +1,115 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.AvailableTestResponseDto;
+import com.testpire.testpire.entity.StudentEnrollment;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.entity.TestAssignment;
+import com.testpire.testpire.enums.AssignmentTargetType;
+import com.testpire.testpire.enums.TestStatus;
+import com.testpire.testpire.repository.StudentEnrollmentRepository;
+import com.testpire.testpire.repository.TestAssignmentRepository;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import com.testpire.testpire.repository.TestAttemptRepository.AttemptTally;
+import com.testpire.testpire.repository.TestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cached eligibility and the single grouped attempt tally behind the available-tests dashboard.
+ */
+@ExtendWith(MockitoExtension.class)
+class TestResolutionServiceTest {
+
+    private static final Long STUDENT = 5L;
+    private static final Long INSTITUTE = 3L;
+
+    @Mock private StudentEnrollmentRepository enrollmentRepository;
+    @Mock private TestAssignmentRepository assignmentRepository;
+    @Mock private TestRepository testRepository;
+    @Mock private TestAttemptRepository attemptRepository;
+
+    private EligibilityCacheService eligibilityCache;
+    private TestResolutionService service;
+
+    @BeforeEach
+    void setUp() {
+        eligibilityCache = new EligibilityCacheService(100, 60);
+        service = new TestResolutionService(enrollmentRepository, assignmentRepository, testRepository,
+                attemptRepository, eligibilityCache);
+        when(enrollmentRepository.findByStudentUserId(STUDENT)).thenReturn(List.of(
+                StudentEnrollment.builder().studentUserId(STUDENT).courseId(7L).batchId(70L).build()));
+        when(assignmentRepository.findForStudentTargets(eq(INSTITUTE), any(), any(), eq(STUDENT))).thenReturn(List.of(
+                assignment(10L, AssignmentTargetType.COURSE, 7L),
+                assignment(20L, AssignmentTargetType.BATCH, 70L),
+                assignment(30L, AssignmentTargetType.STUDENT, STUDENT)));
+    }
+
+    @org.junit.jupiter.api.Test
+    void dashboard_tallysAttemptsForAllTestsInOneQuery() {
+        when(testRepository.findAllById(Set.of(10L, 20L, 30L))).thenReturn(List.of(
+                published(10L, 1), published(20L, 2), published(30L, 1)));
+        when(attemptRepository.tallyByStudentAndTests(STUDENT, Set.of(10L, 20L, 30L))).thenReturn(List.of(
+                tally(10L, 1, null),     // exhausted, nothing to resume -> hidden
+                tally(20L, 1, 99L)));    // one in progress -> resumable
+
+        List<AvailableTestResponseDto> available = service.getAvailableTestsForStudent(STUDENT, INSTITUTE);
+
+        assertThat(available).extracting(AvailableTestResponseDto::testId).containsExactly(20L, 30L);
+        assertThat(available.get(0).inProgressAttemptId()).isEqualTo(99L);
+        assertThat(available.get(1).attemptsUsed()).isZero();
+        verify(attemptRepository, times(1)).tallyByStudentAndTests(any(), any());
+        verify(attemptRepository, never()).findByTestIdAndStudentUserId(anyLong(), anyLong());
+    }
+
+    @org.junit.jupiter.api.Test
+    void eligibility_isResolvedOnce_untilTheStudentsEnrollmentsChange() {
+        assertThat(service.resolveAssignmentsForStudent(STUDENT, INSTITUTE)).containsOnlyKeys(10L, 20L, 30L);
+        service.resolveAssignmentsForStudent(STUDENT, INSTITUTE);
+        verify(enrollmentRepository, times(1)).findByStudentUserId(STUDENT);
+
+        eligibilityCache.invalidateStudent(STUDENT);
+        service.resolveAssignmentsForStudent(STUDENT, INSTITUTE);
+        verify(enrollmentRepository, times(2)).findByStudentUserId(STUDENT);
+    }
+
+    @org.junit.jupiter.api.Test
+    void assignmentChange_invalidatesTheWholeInstitute() {
+        service.resolveAssignmentsForStudent(STUDENT, INSTITUTE);
+
+        eligibilityCache.invalidateInstitute(INSTITUTE);
+        service.resolveAssignmentsForStudent(STUDENT, INSTITUTE);
+
+        verify(assignmentRepository, times(2)).findForStudentTargets(eq(INSTITUTE), any(), any(), eq(STUDENT));
+    }
+
+    private static TestAssignment assignment(Long testId, AssignmentTargetType type, Long targetId) {
+        return TestAssignment.builder().id(testId * 10).testId(testId).instituteId(INSTITUTE)
+                .targetType(type).targetId(targetId).build();
+    }
+
+    private static Test published(Long id, int maxAttempts) {
+        return Test.builder().id(id).instituteId(INSTITUTE).status(TestStatus.PUBLISHED).maxAttempts(maxAttempts).build();
+    }
+
+    private static AttemptTally tally(Long testId, long used, Long inProgressAttemptId) {
+        return new AttemptTally() {
+            @Override public Long getTestId() { return testId; }
+            @Override public long getAttemptsUsed() { return used; }
+            @Override public Long getInProgressAttemptId() { return inProgressAttemptId; }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.TestResultResponseDto.StudentResult;
+import com.testpire.testpire.entity.Test;
+import com.testpire.testpire.enums.AttemptStatus;
+import com.testpire.testpire.repository.TestAttemptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * CSV/NDJSON encoding of {@link TestResultsExporter}; rows are fed as the JDBC cursor would.
+ */
+@ExtendWith(MockitoExtension.class)
+class TestResultsExporterTest {
+
+    @Mock
+    private TestAttemptRepository attemptRepository;
+
+    private TestResultsExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new TestResultsExporter(attemptRepository, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(StudentResult... rows) {
+        doAnswer(inv -> {
+            Consumer<StudentResult> sink = inv.getArgument(1);
+            for (StudentResult r : rows) {
+                sink.accept(r);
+            }
+            return null;
+        }).when(attemptRepository).streamResults(eq(10L), any(Consumer.class));
+    }
+
+    private String export(TestResultsExporter.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(Test.builder().id(10L).build(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @org.junit.jupiter.api.Test
+    void csv_quotesOnlyFieldsThatNeedIt() throws Exception {
+        stubRows(
+                new StudentResult(5L, "asha", "Asha \"A\" Rao, Jr", 100L, 1, AttemptStatus.GRADED,
+                        new BigDecimal("7.50"), new BigDecimal("12.00"), true, Instant.parse("2026-03-01T10:00:00Z")),
+                new StudentResult(6L, null, null, 101L, 1, AttemptStatus.IN_PROGRESS, null, null, null, null));
+
+        assertThat(export(TestResultsExporter.Format.CSV)).isEqualTo(
+                "student_user_id,student_username,student_name,attempt_id,attempt_number,status,score,max_score,passed,submitted_at\r\n"
+                        + "5,asha,\"Asha \"\"A\"\" Rao, Jr\",100,1,GRADED,7.50,12.00,true,2026-03-01T10:00:00Z\r\n"
+                        + "6,,,101,1,IN_PROGRESS,,,,\r\n");
+    }
+
+    @org.junit.jupiter.api.Test
+    void ndjson_writesOneObjectPerLine() throws Exception {
+        stubRows(
+                new StudentResult(5L, "asha", "Asha Rao", 100L, 1, AttemptStatus.GRADED,
+                        new BigDecimal("7.50"), new BigDecimal("12.00"), true, Instant.parse("2026-03-01T10:00:00Z")),
+                new StudentResult(6L, "ben", "Ben", 101L, 2, AttemptStatus.IN_PROGRESS, null, null, null, null));
+
+        assertThat(export(TestResultsExporter.Format.NDJSON).split("\n")).containsExactly(
+                "{\"studentUserId\":5,\"studentUsername\":\"asha\",\"studentName\":\"Asha Rao\",\"attemptId\":100,"
+                        + "\"attemptNumber\":1,\"status\":\"GRADED\",\"score\":7.50,\"maxScore\":12.00,\"passed\":true,"
+                        + "\"submittedAt\":\"2026-03-01T10:00:00Z\"}",
+                "{\"studentUserId\":6,\"studentUsername\":\"ben\",\"studentName\":\"Ben\",\"attemptId\":101,"
+                        + "\"attemptNumber\":2,\"status\":\"IN_PROGRESS\",\"score\":null,\"maxScore\":null,\"passed\":null,"
+                        + "\"submittedAt\":null}");
+    }
+
+    @org.junit.jupiter.api.Test
+    void unknownFormat_isRejected() {
+        assertThat(TestResultsExporter.Format.from(" NdJson ")).isEqualTo(TestResultsExporter.Format.NDJSON);
+        assertThatThrownBy(() -> TestResultsExporter.Format.from("xlsx"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("xlsx");
+    }
+}
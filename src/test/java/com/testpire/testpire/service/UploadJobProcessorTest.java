@@ -0,0 +1,197 @@
+package com.testpire.testpire.service;
+
+import com.testpire.testpire.dto.response.CurriculumUploadResponseDto;
+import com.testpire.testpire.entity.UploadJob;
+import com.testpire.testpire.enums.UploadJobKind;
+import com.testpire.testpire.enums.UploadJobStatus;
+import com.testpire.testpire.repository.UploadJobErrorRepository;
+import com.testpire.testpire.repository.UploadJobRepository;
+import com.testpire.testpire.util.CsvRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UploadJobProcessorTest {
+
+    @Mock
+    UploadJobRepository jobs;
+
+    @Mock
+    UploadJobErrorRepository jobErrors;
+
+    @Mock
+    CsvUploadService questionUploads;
+
+    @Mock
+    CurriculumUploadService curriculumUploads;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    @Mock
+    ScheduledFuture<?> heartbeat;
+
+    @TempDir
+    Path spoolDir;
+
+    UploadJobProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        processor = new UploadJobProcessor(jobs, jobErrors, questionUploads, curriculumUploads,
+                transactionTemplate, taskScheduler, 2, 600_000);
+        lenient().doReturn(heartbeat).when(taskScheduler)
+                .scheduleAtFixedRate(any(Runnable.class), any(Instant.class), any(Duration.class));
+    }
+
+    @Test
+    void resumedJobSkipsCommittedRowsAndRecordsEachChunk() throws Exception {
+        // Header, then rows 2..6; a blank line does not count as a row.
+        Path file = spool("Subject Code", "S1,Maths", "S2,Physics", "", "S3,Chemistry", "S4,Biology", "S5,History");
+        UploadJob job = job(UploadJobKind.CURRICULUM, file, 2);
+        claimable(job);
+        committing();
+        when(jobs.recordChunk(eq(7L), eq(3), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+        when(curriculumUploads.importRows(anyList(), eq(1L), eq("teacher")))
+                .thenReturn(curriculumResult(List.of("Row 4: Subject Name is required.")))
+                .thenReturn(curriculumResult(List.of()));
+
+        processor.run(7L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CsvRow>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(curriculumUploads, times(2)).importRows(chunks.capture(), eq(1L), eq("teacher"));
+        assertThat(chunks.getAllValues().get(0)).extracting(CsvRow::rowNumber).containsExactly(4, 5);
+        assertThat(chunks.getAllValues().get(1)).extracting(CsvRow::rowNumber).containsExactly(6);
+        verify(jobs).recordChunk(eq(7L), eq(3), eq(2), eq(1), eq(1), any());
+        verify(jobs).recordChunk(eq(7L), eq(3), eq(1), eq(1), eq(0), any());
+        verify(jobErrors).appendAll(7L, List.of("Row 4: Subject Name is required."));
+        verify(jobs).finish(eq(7L), eq(3), eq(UploadJobStatus.COMPLETED), isNull(), any());
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void heartbeatMovesOnATimerWhileAChunkIsImported() throws Exception {
+        Path file = spool("Subject Code", "S1,Maths");
+        claimable(job(UploadJobKind.CURRICULUM, file, 0));
+        committing();
+        when(jobs.recordChunk(eq(7L), eq(3), anyInt(), anyInt(), anyInt(), any())).thenReturn(1);
+        when(curriculumUploads.importRows(anyList(), eq(1L), eq("teacher"))).thenReturn(curriculumResult(List.of()));
+        when(jobs.heartbeat(eq(7L), eq(3), any())).thenReturn(1);
+
+        processor.run(7L);
+
+        ArgumentCaptor<Runnable> beat = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).scheduleAtFixedRate(beat.capture(), any(Instant.class), eq(Duration.ofMillis(200_000)));
+        beat.getValue().run();
+        verify(jobs).heartbeat(eq(7L), eq(3), any());
+        verify(heartbeat).cancel(false);
+    }
+
+    @Test
+    void stopsWithoutFinishingWhenAnotherWorkerTookTheJob() throws Exception {
+        Path file = spool("Question Id", "Q1,a", "Q2,b", "Q3,c");
+        UploadJob job = job(UploadJobKind.QUESTIONS, file, 1);
+        claimable(job);
+        committing();
+        when(questionUploads.institutePrefix(1L)).thenReturn("INST");
+        when(questionUploads.importRows(anyList(), eq(1L), eq("INST"), any(), eq("teacher"), anyList()))
+                .thenReturn(new CsvUploadService.ImportResult(List.of(), 0));
+        when(jobs.recordChunk(eq(7L), eq(3), anyInt(), anyInt(), anyInt(), any())).thenReturn(0);
+
+        processor.run(7L);
+
+        // The committed row still counts towards duplicate detection.
+        verify(questionUploads).rememberQuestionId(any(CsvRow.class), any());
+        verify(jobErrors, never()).appendAll(any(), anyList());
+        verify(jobs, never()).finish(any(), anyInt(), any(), any(), any());
+        assertThat(file).exists();
+    }
+
+    @Test
+    void missingSpoolFileFailsTheJob() {
+        UploadJob job = job(UploadJobKind.CURRICULUM, spoolDir.resolve("gone.csv"), 0);
+        claimable(job);
+
+        processor.run(7L);
+
+        verify(jobs).finish(eq(7L), eq(3), eq(UploadJobStatus.FAILED), anyString(), any());
+    }
+
+    @Test
+    void jobThatCannotBeClaimedIsLeftAlone() {
+        when(jobs.claim(eq(7L), any(), any())).thenReturn(0);
+
+        processor.run(7L);
+
+        verify(jobs, never()).findById(any());
+    }
+
+    private void claimable(UploadJob job) {
+        when(jobs.claim(eq(7L), any(), any())).thenReturn(1);
+        when(jobs.findById(7L)).thenReturn(Optional.of(job));
+    }
+
+    private void committing() {
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private Path spool(String... lines) throws Exception {
+        return Files.write(spoolDir.resolve("upload.csv"), List.of(lines));
+    }
+
+    private static UploadJob job(UploadJobKind kind, Path file, int processedRows) {
+        return UploadJob.builder()
+                .id(7L)
+                .instituteId(1L)
+                .kind(kind)
+                .spoolPath(file.toString())
+                .totalRows(5)
+                .processedRows(processedRows)
+                .claimCount(3)
+                .createdBy("teacher")
+                .build();
+    }
+
+    private static CurriculumUploadResponseDto curriculumResult(List<String> errors) {
+        return CurriculumUploadResponseDto.builder().errors(errors).build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.testpire.testpire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainRecords() throws IOException {
+        assertThat(read("a,b,c\nd,,f\n")).containsExactly(List.of("a", "b", "c"), List.of("d", "", "f"));
+    }
+
+    @Test
+    void keepsCommasLineBreaksAndEscapedQuotesInsideQuotes() throws IOException {
+        assertThat(read("\"Solve:\nx, y\",\"He said \"\"hi\"\"\"\r\nnext,row"))
+                .containsExactly(List.of("Solve:\nx, y", "He said \"hi\""), List.of("next", "row"));
+    }
+
+    @Test
+    void acceptsLfCrlfAndBareCrLineEndings() throws IOException {
+        assertThat(read("a\r\nb\rc\nd")).containsExactly(List.of("a"), List.of("b"), List.of("c"), List.of("d"));
+    }
+
+    @Test
+    void skipsBlankLinesWithoutNumberingThem() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("header\n\n   \nfirst\n\"\"\n"));
+        List<Long> numbers = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        while (csv.next()) {
+            numbers.add(csv.recordNumber());
+            values.add(csv.field(0));
+        }
+        // A quoted empty field is a record, not a blank line.
+        assertThat(numbers).containsExactly(1L, 2L, 3L);
+        assertThat(values).containsExactly("header", "first", "");
+    }
+
+    @Test
+    void recordsSpanningBufferRefillsAreIntact() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"long \"\"quoted\"\"\nvalue\",tail\r\nx,y"), 3, 1024);
+        assertThat(csv.next()).isTrue();
+        assertThat(csv.toArray()).containsExactly("long \"quoted\"\nvalue", "tail");
+        assertThat(csv.next()).isTrue();
+        assertThat(csv.toArray()).containsExactly("x", "y");
+        assertThat(csv.next()).isFalse();
+    }
+
+    @Test
+    void dropsLeadingByteOrderMarkAndKeepsSurroundingSpaces() throws IOException {
+        assertThat(read("\uFEFFQuestion Id, Text \n")).containsExactly(List.of("Question Id", " Text "));
+    }
+
+    @Test
+    void failsOnRecordLongerThanTheLimit() {
+        CsvReader csv = new CsvReader(new StringReader("ok\n\"never closed,\n" + "x".repeat(100)), 16, 32);
+        assertThatThrownBy(() -> {
+            while (csv.next()) {
+                // drain
+            }
+        }).isInstanceOf(IOException.class).hasMessageContaining("CSV record 2");
+    }
+
+    private static List<List<String>> read(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader csv = new CsvReader(new StringReader(text))) {
+            while (csv.next()) {
+                records.add(List.of(csv.toArray()));
+            }
+        }
+        return records;
+    }
+}